@@ -1,6 +1,9 @@
+import com.android.build.api.variant.BuildConfigField
+
 plugins {
     alias(libs.plugins.android.application)
     alias(libs.plugins.google.services)
+    alias(libs.plugins.baselineprofile)
 }
 
 android {
@@ -8,12 +11,18 @@ android {
     compileSdk = 35
 
     defaultConfig {
-        applicationId = "com.example.brainboard.wear"
+        // Must match the phone app's package for the Wearable Data Layer to connect them
+        applicationId = "com.example.brainboardmobile"
         minSdk = 30
         targetSdk = 35
         versionCode = 1
         versionName = "1.0"
 
+        buildConfigField("boolean", "FAKE_DATA", "false")
+
+        testInstrumentationRunner = "androidx.test.runner.AndroidJUnitRunner"
+        // Microbenchmarks in androidTest run against the debuggable test build
+        testInstrumentationRunnerArguments["androidx.benchmark.suppressErrors"] = "DEBUGGABLE,EMULATOR"
     }
 
     buildTypes {
@@ -24,6 +33,13 @@ android {
                 "proguard-rules.pro"
             )
         }
+        // Release-like build on seeded local data, measured by :macrobenchmark
+        create("benchmark") {
+            initWith(getByName("release"))
+            signingConfig = signingConfigs.getByName("debug")
+            matchingFallbacks += listOf("release")
+            buildConfigField("boolean", "FAKE_DATA", "true")
+        }
     }
     compileOptions {
         sourceCompatibility = JavaVersion.VERSION_11
@@ -33,9 +49,27 @@ android {
     viewBinding {
         enable = true
     }
+
+    buildFeatures {
+        buildConfig = true
+    }
+}
+
+// Release builds regenerate the baseline profile on the producer module's managed device
+// and bundle it (saved under src/release/generated/baselineProfiles)
+baselineProfile {
+    automaticGenerationDuringBuild = true
+}
+
+androidComponents {
+    // Baseline profiles are generated on the same seeded data the benchmarks use
+    onVariants(selector().withBuildType("nonMinifiedRelease")) { variant ->
+        variant.buildConfigFields.put("FAKE_DATA", BuildConfigField("boolean", "true", null))
+    }
 }
 
 dependencies {
+    implementation(project(":shared"))
     implementation(libs.mpandroidchart)
     implementation(libs.play.services.wearable)
     implementation(libs.appcompat)
@@ -43,6 +77,16 @@ dependencies {
     implementation(libs.activity)
     implementation(libs.constraintlayout)
     implementation(libs.wear)
+    implementation(libs.wear.tiles)
+    implementation(libs.wear.protolayout)
+    implementation(libs.wear.complications.data.source)
+    implementation(libs.guava)
     implementation(libs.firebase.auth)
     implementation(libs.firebase.firestore)
+    implementation(libs.profileinstaller)
+    implementation(libs.tracing)
+    testImplementation(libs.junit)
+    androidTestImplementation(libs.ext.junit)
+    androidTestImplementation(libs.benchmark.junit4)
+    baselineProfile(project(":baselineprofile"))
 }
\ No newline at end of file
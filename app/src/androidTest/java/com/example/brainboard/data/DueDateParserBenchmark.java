@@ -0,0 +1,57 @@
+package com.example.brainboard.data;
+
+import androidx.benchmark.BenchmarkState;
+import androidx.benchmark.junit4.BenchmarkRule;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.TimeZone;
+
+import static org.junit.Assert.assertNotNull;
+
+/**
+ * DueDateParserBenchmark.java
+ *
+ * Times DueDateParser.parse() over typical task titles. The add-task screen parses on
+ * every keystroke, so one parse has to stay far below a frame.
+ *
+ * Notes:
+ * - Runs in the debuggable androidTest build (errors suppressed in build.gradle.kts), so
+ *   read the results relative to earlier runs rather than as absolute numbers.
+ * - DueDateParserTest checks the parsed dates; this class only measures them.
+ *   DueDateParserJvmBenchmark runs the same loop on the JVM without a device.
+ */
+@RunWith(AndroidJUnit4.class)
+public class DueDateParserBenchmark {
+
+    private static final TimeZone UTC = TimeZone.getTimeZone("UTC");
+    // Wednesday 14/10/2026 10:00 UTC, as in DueDateParserTest
+    private static final long NOW = 1_791_972_000_000L;
+    private static final String[] INPUTS = {
+            "Finish essay tomorrow at 5pm", "call mom in 2 hours", "quiz next Monday",
+            "exam 05/01/2027 at 8:15am", "essay 12th of November"
+    };
+
+    @Rule
+    public BenchmarkRule benchmarkRule = new BenchmarkRule();
+
+    @Test
+    public void parseWithDate() {
+        BenchmarkState state = benchmarkRule.getState();
+        int i = 0;
+        while (state.keepRunning()) {
+            assertNotNull(DueDateParser.parse(INPUTS[i++ % INPUTS.length], NOW, UTC));
+        }
+    }
+
+    @Test
+    public void parseWithoutDate() {
+        BenchmarkState state = benchmarkRule.getState();
+        while (state.keepRunning()) {
+            DueDateParser.parse("Read chapter 4", NOW, UTC);
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.example.brainboard.data;
+
+import androidx.benchmark.BenchmarkState;
+import androidx.benchmark.junit4.BenchmarkRule;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+
+import com.example.brainboard.shared.data.RecurrenceRule;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+import static org.junit.Assert.assertTrue;
+
+/**
+ * RecurrenceRuleBenchmark.java
+ *
+ * Times RecurrenceRule.cursor() for a series that started decades before the window, the
+ * case where a cursor must jump to the window instead of stepping through every
+ * occurrence.
+ *
+ * Notes:
+ * - Runs in the debuggable androidTest build (errors suppressed in build.gradle.kts), so
+ *   read the results relative to earlier runs rather than as absolute numbers.
+ * - RecurrenceRuleTest checks the occurrences; this class only measures them.
+ */
+@RunWith(AndroidJUnit4.class)
+public class RecurrenceRuleBenchmark {
+
+    private static final ZoneId LONDON = ZoneId.of("Europe/London");
+    private static final long FIRST = at(2000, 1, 1, 7, 30);
+    private static final long FROM = at(2026, 10, 19, 0, 0);
+
+    @Rule
+    public BenchmarkRule benchmarkRule = new BenchmarkRule();
+
+    @Test
+    public void dailyCursorToFarWindow() {
+        RecurrenceRule rule = RecurrenceRule.daily(3);
+        BenchmarkState state = benchmarkRule.getState();
+        while (state.keepRunning()) {
+            assertTrue(rule.cursor(FIRST, FROM, LONDON).next() >= FROM);
+        }
+    }
+
+    @Test
+    public void weeklyCursorToFarWindow() {
+        RecurrenceRule rule = RecurrenceRule.parse("FREQ=WEEKLY;INTERVAL=2;BYDAY=TU,TH");
+        BenchmarkState state = benchmarkRule.getState();
+        while (state.keepRunning()) {
+            assertTrue(rule.cursor(FIRST, FROM, LONDON).next() >= FROM);
+        }
+    }
+
+    private static long at(int year, int month, int day, int hour, int minute) {
+        return LocalDateTime.of(year, month, day, hour, minute).atZone(LONDON).toInstant().toEpochMilli();
+    }
+}
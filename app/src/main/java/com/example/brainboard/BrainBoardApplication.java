@@ -0,0 +1,18 @@
+package com.example.brainboard;
+
+import android.app.Application;
+
+/**
+ * BrainBoardApplication.java
+ *
+ * Application class for the BrainBoard wear app.
+ *
+ * Startup:
+ * - Deliberately does no work in onCreate(): Firebase is no longer auto-initialized by its
+ *   content provider, and FirestoreProvider initializes it lazily after the hub
+ *   (MainActivity) has rendered its first frame.
+ * - Keep this class light; anything added here delays the first frame of every
+ *   entry point, including the Tile and complication services.
+ */
+public class BrainBoardApplication extends Application {
+}
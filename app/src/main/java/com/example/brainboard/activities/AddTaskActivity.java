@@ -1,20 +1,33 @@
 package com.example.brainboard.activities;
 
+import android.Manifest;
 import android.app.Activity;
-import android.app.AlarmManager;
 import android.app.DatePickerDialog;
-import android.app.PendingIntent;
 import android.app.TimePickerDialog;
 import android.content.Intent;
+import android.content.pm.PackageManager;
 import android.os.Bundle;
 import android.speech.RecognizerIntent;
 import android.widget.Toast;
 
 import androidx.annotation.Nullable;
 
-import com.example.brainboard.notifications.NotificationReceiver;
+import com.example.brainboard.BuildConfig;
+import com.example.brainboard.R;
+import com.example.brainboard.data.DueDateParser;
+import com.example.brainboard.data.TaskRepository;
+import com.example.brainboard.models.TaskModel;
+import com.example.brainboard.notifications.ReminderScheduler;
 import com.example.brainboard.databinding.ActivityAddTaskBinding;
-import com.google.firebase.firestore.FirebaseFirestore;
+import com.example.brainboard.firebase.FirestoreProvider;
+import com.example.brainboard.firebase.TaskFields;
+import com.example.brainboard.shared.data.DueDates;
+import com.example.brainboard.shared.metrics.FirestoreMetrics;
+import com.example.brainboard.shared.speech.VoiceInput;
+import com.example.brainboard.sync.DataLayerPaths;
+import com.example.brainboard.sync.PhoneSyncClient;
+import com.example.brainboard.sync.SyncedTaskStore;
+import com.google.firebase.firestore.DocumentReference;
 
 import java.text.SimpleDateFormat;
 import java.util.*;
@@ -24,10 +37,15 @@ import java.util.*;
  *
  * This activity allows users to create a new study task in the BrainBoard app.
  * Features:
- * - Users can input tasks via text or voice recognition.
- * - Users can pick a due date and time using a date and time picker dialog.
- * - Tasks are saved to Firebase Firestore under the logged-in user's UID.
- * - A notification is scheduled 1 hour before the task is due using AlarmManager.
+ * - Users can input tasks via text or voice recognition. Voice runs in the activity
+ *   (VoiceInput, on-device when available) and streams partial text into the input;
+ *   the system RecognizerIntent UI is only used where no recognizer service exists.
+ * - Users can pick a due date and time using a date and time picker dialog, or say it:
+ *   a phrase like "tomorrow at 5pm" or "in 2 hours" in the spoken (or typed) title is
+ *   parsed locally (DueDateParser), removed from the title and pre-fills the due time.
+ * - Tasks are sent to the paired phone over the Wearable Data Layer, which saves them
+ *   to Firestore; without a reachable phone they are saved to Firestore directly.
+ * - A notification is scheduled 1 hour before the task is due (ReminderScheduler).
  *
  * Firebase:
  * - Firestore is used to store tasks in the format:
@@ -37,13 +55,13 @@ import java.util.*;
  * - A local notification is triggered via a BroadcastReceiver (NotificationReceiver).
  *
  * Prerequisites:
- * - Firebase must be initialized and user must be authenticated.
- * - Global UID is fetched from MainActivity.getGlobalUid().
+ * - Either the phone has synced tasks to this watch, or Firebase must be initialized
+ *   and the global UID is fetched from MainActivity.getGlobalUid().
  *
  * Dependencies:
  * - ViewBinding (ActivityAddTaskBinding)
  * - Firebase Firestore
- * - AlarmManager for notifications
+ * - ReminderScheduler (AlarmManager) for notifications
  * - Android speech recognition APIs
  */
 
@@ -52,9 +70,10 @@ public class AddTaskActivity extends Activity {
 
     private ActivityAddTaskBinding binding;
     private static final int VOICE_RECOGNITION_REQUEST_CODE = 101;
+    private static final int MIC_PERMISSION_REQUEST_CODE = 102;
     private final Calendar calendar = Calendar.getInstance();
     private String formattedDateTime = null;
-    private FirebaseFirestore db;
+    private VoiceInput voiceInput;
 
     @Override
     protected void onCreate(Bundle savedInstanceState) {
@@ -62,17 +81,34 @@ public class AddTaskActivity extends Activity {
         binding = ActivityAddTaskBinding.inflate(getLayoutInflater());
         setContentView(binding.getRoot());
 
-        db = FirebaseFirestore.getInstance();
-
-        // Check if UID is available
+        // Check if UID is available (not needed when the phone syncs for us)
         String uid = MainActivity.getGlobalUid();
-        if (uid == null || uid.isEmpty()) {
+        if ((uid == null || uid.isEmpty()) && !SyncedTaskStore.hasSnapshot(this) && !BuildConfig.FAKE_DATA) {
             Toast.makeText(this, "UID not set. Please login first.", Toast.LENGTH_SHORT).show();
             finish();
             return;
         }
 
-        binding.voiceInputButton.setOnClickListener(view -> startVoiceRecognition());
+        voiceInput = new VoiceInput(this, new VoiceInput.Callback() {
+            @Override
+            public void onPartialText(String text) {
+                showSpokenText(text);
+            }
+
+            @Override
+            public void onFinalText(String text) {
+                showSpokenText(text);
+                applyDueDatePhrase(text);
+                binding.voiceInputButton.setText(R.string.voice_input);
+            }
+
+            @Override
+            public void onError(String message) {
+                binding.voiceInputButton.setText(R.string.voice_input);
+                Toast.makeText(AddTaskActivity.this, message, Toast.LENGTH_SHORT).show();
+            }
+        });
+        binding.voiceInputButton.setOnClickListener(view -> toggleVoiceInput());
         binding.pickDateTimeButton.setOnClickListener(view -> showDatePicker());
 
         binding.saveTaskButton.setOnClickListener(view -> {
@@ -81,63 +117,102 @@ public class AddTaskActivity extends Activity {
                 Toast.makeText(this, "Please enter or speak a task", Toast.LENGTH_SHORT).show();
                 return;
             }
+            if (formattedDateTime == null && applyDueDatePhrase(task)) {
+                task = binding.taskInput.getText().toString().trim();
+            }
             if (formattedDateTime == null) {
                 Toast.makeText(this, "Please pick due date and time", Toast.LENGTH_SHORT).show();
                 return;
             }
 
             String taskId = UUID.randomUUID().toString();
-            saveTaskToFirestore(taskId, task, formattedDateTime);
-            scheduleNotification(taskId, task, formattedDateTime);
+            String title = task;
+            String dueTime = formattedDateTime;
+            PhoneSyncClient.sendToPhone(this, DataLayerPaths.TASK_ADD,
+                    PhoneSyncClient.taskPayload(taskId, title, dueTime),
+                    () -> saveTaskToFirestore(taskId, title, dueTime));
+            TaskModel saved = new TaskModel(taskId, title, dueTime, false);
+            ReminderScheduler.schedule(this, saved);
+            TaskRepository.upsert(this, saved);
             Toast.makeText(this, "Task saved!", Toast.LENGTH_SHORT).show();
             finish();
         });
     }
 
     private void saveTaskToFirestore(String taskId, String title, String dueTime) {
-        String uid = MainActivity.getGlobalUid();
+        String uid = MainActivity.getGlobalUid(this);
         if (uid == null || uid.isEmpty()) {
             Toast.makeText(this, "UID not set. Please login.", Toast.LENGTH_SHORT).show();
             return;
         }
 
-        Map<String, Object> taskMap = new HashMap<>();
-        taskMap.put("taskId", taskId);
-        taskMap.put("title", title);
-        taskMap.put("dueDateTime", dueTime);
-        taskMap.put("completed", false);
-        taskMap.put("timestamp", com.google.firebase.firestore.FieldValue.serverTimestamp());
-
-        db.collection("users")
+        Map<String, Object> data = TaskFields.forCreate(new TaskModel(taskId, title, dueTime, false));
+        DocumentReference ref = FirestoreProvider.get(this).collection("users")
                 .document(uid)
                 .collection("tasks")
-                .document(taskId)
-                .set(taskMap)
+                .document(taskId);
+        FirestoreMetrics.trackWrite("addTask.save", 1, data, ref.set(data))
                 .addOnSuccessListener(unused -> {})
                 .addOnFailureListener(e -> e.printStackTrace());
     }
 
-    private void scheduleNotification(String taskId, String taskTitle, String dueTime) {
-        try {
-            SimpleDateFormat sdf = new SimpleDateFormat("dd/MM/yyyy HH:mm:ss.SSS", Locale.getDefault());
-            long dueMillis = sdf.parse(dueTime).getTime();
-            long triggerTime = dueMillis - 60 * 60 * 1000;
+    @Override
+    protected void onDestroy() {
+        if (voiceInput != null) voiceInput.destroy();
+        super.onDestroy();
+    }
 
-            if (triggerTime <= System.currentTimeMillis()) {
-                triggerTime = System.currentTimeMillis() + 3000;
-            }
+    /** Starts or stops the in-activity recognizer; the system voice UI is only a fallback. */
+    private void toggleVoiceInput() {
+        if (voiceInput.isListening()) {
+            voiceInput.stop();
+            return;
+        }
+        if (!VoiceInput.isAvailable(this)) {
+            startVoiceRecognition();
+            return;
+        }
+        if (checkSelfPermission(Manifest.permission.RECORD_AUDIO) != PackageManager.PERMISSION_GRANTED) {
+            requestPermissions(new String[]{Manifest.permission.RECORD_AUDIO}, MIC_PERMISSION_REQUEST_CODE);
+            return;
+        }
+        voiceInput.start();
+        binding.voiceInputButton.setText(R.string.listening);
+    }
 
-            Intent intent = new Intent(this, NotificationReceiver.class);
-            intent.putExtra("taskTitle", taskTitle);
-            intent.putExtra("taskId", taskId);
+    private void showSpokenText(String text) {
+        binding.taskInput.setText(text);
+        binding.taskInput.setSelection(text.length());
+    }
 
-            PendingIntent pendingIntent = PendingIntent.getBroadcast(
-                    this, taskId.hashCode(), intent, PendingIntent.FLAG_IMMUTABLE);
+    /**
+     * Pre-fills the due time from a date phrase in {@code text} and leaves only the rest
+     * as the title. Returns false when the text names no date or time.
+     */
+    private boolean applyDueDatePhrase(String text) {
+        DueDateParser.Result result = DueDateParser.parse(text, System.currentTimeMillis());
+        if (result == null) return false;
 
-            AlarmManager alarmManager = (AlarmManager) getSystemService(ALARM_SERVICE);
-            alarmManager.setExact(AlarmManager.RTC_WAKEUP, triggerTime, pendingIntent);
-        } catch (Exception e) {
-            e.printStackTrace();
+        calendar.setTimeInMillis(result.dueMillis);
+        formattedDateTime = new SimpleDateFormat(DueDates.WEAR_FORMAT, Locale.getDefault())
+                .format(calendar.getTime());
+        binding.dueTimeText.setText("Due: " + formattedDateTime);
+        if (!result.title.isEmpty()) {
+            showSpokenText(result.title);
+        }
+        return true;
+    }
+
+    @Override
+    public void onRequestPermissionsResult(int requestCode, String[] permissions, int[] grantResults) {
+        super.onRequestPermissionsResult(requestCode, permissions, grantResults);
+        if (requestCode != MIC_PERMISSION_REQUEST_CODE) return;
+
+        if (grantResults.length > 0 && grantResults[0] == PackageManager.PERMISSION_GRANTED) {
+            toggleVoiceInput();
+        } else {
+            // The system voice UI records on its own behalf and needs no permission
+            startVoiceRecognition();
         }
     }
 
@@ -162,6 +237,7 @@ public class AddTaskActivity extends Activity {
             ArrayList<String> matches = data.getStringArrayListExtra(RecognizerIntent.EXTRA_RESULTS);
             if (matches != null && !matches.isEmpty()) {
                 binding.taskInput.setText(matches.get(0));
+                applyDueDatePhrase(matches.get(0));
             }
         }
     }
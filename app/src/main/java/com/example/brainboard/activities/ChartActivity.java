@@ -2,10 +2,18 @@ package com.example.brainboard.activities;
 
 import android.app.Activity;
 import android.os.Bundle;
+import android.os.Handler;
+import android.os.Looper;
 import android.util.Log;
 import android.widget.Toast;
 
+import androidx.tracing.Trace;
+
+import com.example.brainboard.data.TaskRepository;
 import com.example.brainboard.databinding.ActivityChartBinding;
+import com.example.brainboard.metrics.TraceSections;
+import com.example.brainboard.models.TaskModel;
+import com.example.brainboard.shared.data.Occurrences;
 import com.github.mikephil.charting.charts.BarChart;
 import com.github.mikephil.charting.components.Legend;
 import com.github.mikephil.charting.components.XAxis;
@@ -13,14 +21,16 @@ import com.github.mikephil.charting.data.BarData;
 import com.github.mikephil.charting.data.BarDataSet;
 import com.github.mikephil.charting.data.BarEntry;
 import com.github.mikephil.charting.formatter.IndexAxisValueFormatter;
-import com.google.firebase.firestore.FirebaseFirestore;
-import com.google.firebase.firestore.QueryDocumentSnapshot;
 
 import java.text.SimpleDateFormat;
+import java.time.ZoneId;
 import java.util.ArrayList;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 /**
  * ChartActivity.java
@@ -29,8 +39,11 @@ import java.util.Locale;
  * are due on each day.
  *
  * Features:
- * - Fetches all tasks from Firebase Firestore under the current user's UID.
- * - Extracts and groups tasks by date (day and month).
+ * - Reads all tasks from the shared TaskRepository snapshot, so opening the chart after
+ *   the task list costs no Firestore read, and redraws when the snapshot changes.
+ * - Extracts and groups tasks by date (day and month) on a background thread.
+ * - A recurring task counts once per open occurrence in the next CHART_WINDOW_DAYS days,
+ *   expanded lazily from its rule (data/Occurrences); its series is never materialized.
  * - Uses MPAndroidChart (BarChart) to display the number of tasks due per day.
  *
  * Visualization:
@@ -40,9 +53,16 @@ import java.util.Locale;
  *
  * Dependencies:
  * - ViewBinding (ActivityChartBinding)
- * - Firebase Firestore
+ * - TaskRepository (shared task snapshot)
  * - MPAndroidChart library for chart rendering
  *
+ * Benchmarking:
+ * - The "benchmark" build (BuildConfig.FAKE_DATA) charts the seeded FakeTaskSource dataset.
+ * - The time from onCreate to the chart being drawn is emitted as the async trace
+ *   section "ChartActivity.render", measured by the :macrobenchmark module; grouping and
+ *   drawing inside it are the sections "ChartActivity.aggregate" and
+ *   "ChartActivity.drawBarChart" (see TraceSections).
+ *
  * Prerequisites:
  * - User must be authenticated; UID is obtained from MainActivity.getGlobalUid()
  */
@@ -50,67 +70,120 @@ import java.util.Locale;
 
 public class ChartActivity extends Activity {
 
+    public static final String RENDER_TRACE = TraceSections.CHART_RENDER;
+    // Days of occurrences a recurring task contributes, starting today
+    private static final int CHART_WINDOW_DAYS = 14;
+    private static final long DAY_MILLIS = 24L * 60 * 60 * 1000;
+
     private ActivityChartBinding binding;
-    private FirebaseFirestore db;
+    private boolean rendered;
+    private final TaskRepository.Listener repositoryListener = new TaskRepository.Listener() {
+        @Override
+        public void onTasksChanged(List<TaskModel> tasks) {
+            showTasks(tasks);
+        }
+
+        @Override
+        public void onLoadFailed(String message) {
+            Toast.makeText(ChartActivity.this, message, Toast.LENGTH_SHORT).show();
+            Log.e("ChartError", message);
+            if (!rendered) {
+                rendered = true;
+                Trace.endAsyncSection(RENDER_TRACE, 0);
+            }
+        }
+    };
     private final HashMap<String, Integer> dateCountMap = new HashMap<>();
+    private final ExecutorService chartExecutor = Executors.newSingleThreadExecutor();
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
     private final SimpleDateFormat formatter = new SimpleDateFormat("yyyy-MM-dd", Locale.getDefault());
+    // Only used on chartExecutor
     private final SimpleDateFormat displayFormatter = new SimpleDateFormat("dd/MM", Locale.getDefault());
 
     @Override
     protected void onCreate(Bundle savedInstanceState) {
         super.onCreate(savedInstanceState);
+        Trace.beginAsyncSection(RENDER_TRACE, 0);
         binding = ActivityChartBinding.inflate(getLayoutInflater());
         setContentView(binding.getRoot());
 
+        TaskRepository.observe(this, repositoryListener);
+    }
+
+    @Override
+    protected void onDestroy() {
+        TaskRepository.removeListener(repositoryListener);
+        chartExecutor.shutdown();
+        super.onDestroy();
+    }
 
-        db = FirebaseFirestore.getInstance();
-        fetchTasks();
+    private void showTasks(List<TaskModel> tasks) {
+        // Group by day off the main thread; only drawing happens on it
+        chartExecutor.execute(() -> {
+            HashMap<String, Integer> counts = new HashMap<>();
+            ZoneId zone = ZoneId.systemDefault();
+            long windowStart = Occurrences.startOfDay(System.currentTimeMillis(), zone);
+            long windowEnd = windowStart + CHART_WINDOW_DAYS * DAY_MILLIS;
+            Trace.beginSection(TraceSections.CHART_AGGREGATE);
+            try {
+                for (TaskModel task : tasks) {
+                    if (task.getRecurrence() == null) {
+                        countDueDate(counts, task.getDueDateTime());
+                        continue;
+                    }
+                    // At most one occurrence per day, so the window bounds the expansion
+                    for (long due : Occurrences.openBetween(task, windowStart, windowEnd, CHART_WINDOW_DAYS, zone)) {
+                        countDay(counts, displayFormatter.format(new Date(due)));
+                    }
+                }
+            } finally {
+                Trace.endSection();
+            }
+            mainHandler.post(() -> {
+                if (isDestroyed()) return;
+                dateCountMap.clear();
+                dateCountMap.putAll(counts);
+                drawBarChart();
+            });
+        });
     }
 
-    private void fetchTasks() {
-        String uid = MainActivity.getGlobalUid();
+    private static void countDueDate(HashMap<String, Integer> counts, String due) {
+        if (due == null) return;
+        try {
+            String[] parts = due.split(" "); // split at space between date and time
+            String dateOnly = parts[0]; // "dd/MM/yyyy"
+
+            // Reformat from dd/MM/yyyy to dd/MM
+            String[] dateParts = dateOnly.split("/");
+            String dayMonth = dateParts[0] + "/" + dateParts[1]; // "dd/MM"
 
-        if (uid == null || uid.isEmpty()) {
-            Toast.makeText(this, "UID not set. Please login first.", Toast.LENGTH_SHORT).show();
-            return;
+            countDay(counts, dayMonth);
+        } catch (Exception e) {
+            Log.e("ChartParse", "Date parse error: " + due, e);
         }
+    }
 
-        db.collection("users")
-                .document(uid)
-                .collection("tasks")
-                .get()
-                .addOnSuccessListener(querySnapshot -> {
-                    for (QueryDocumentSnapshot doc : querySnapshot) {
-                        Log.d("FirestoreDoc", doc.getData().toString());
-                        String due = doc.getString("dueDateTime");
-                        if (due != null) {
-                            try {
-                                String[] parts = due.split(" "); // split at space between date and time
-                                String dateOnly = parts[0]; // "dd/MM/yyyy"
-
-                                // Reformat from dd/MM/yyyy to dd/MM
-                                String[] dateParts = dateOnly.split("/");
-                                String dayMonth = dateParts[0] + "/" + dateParts[1]; // "dd/MM"
-
-                                dateCountMap.put(dayMonth, dateCountMap.getOrDefault(dayMonth, 0) + 1);
-                            } catch (Exception e) {
-                                Log.e("ChartParse", "Date parse error: " + due, e);
-                            }
-                        }
+    private static void countDay(HashMap<String, Integer> counts, String dayMonth) {
+        counts.put(dayMonth, counts.getOrDefault(dayMonth, 0) + 1);
+    }
 
+    private void drawBarChart() {
+        Trace.beginSection(TraceSections.CHART_DRAW);
+        try {
+            buildBarChart();
+        } finally {
+            Trace.endSection();
+        }
 
-                    }
-                    Log.d("ChartData", "Date Count Map: " + dateCountMap.toString());
-
-                    drawBarChart();
-                })
-                .addOnFailureListener(e -> {
-                    Toast.makeText(this, "Failed to fetch tasks", Toast.LENGTH_SHORT).show();
-                    Log.e("ChartError", "Firestore error", e);
-                });
+        if (!rendered) {
+            rendered = true;
+            Trace.endAsyncSection(RENDER_TRACE, 0);
+            reportFullyDrawn();
+        }
     }
 
-    private void drawBarChart() {
+    private void buildBarChart() {
         ArrayList<BarEntry> entries = new ArrayList<>();
         ArrayList<String> labels = new ArrayList<>();
 
@@ -1,12 +1,12 @@
 package com.example.brainboard.activities;
 
+import android.Manifest;
 import android.app.Activity;
-import android.app.AlarmManager;
 import android.app.DatePickerDialog;
-import android.app.PendingIntent;
 import android.app.TimePickerDialog;
 import android.content.Intent;
 import android.content.SharedPreferences;
+import android.content.pm.PackageManager;
 import android.os.Bundle;
 import android.speech.RecognizerIntent;
 import android.util.Log;
@@ -14,9 +14,18 @@ import android.widget.Toast;
 
 import androidx.annotation.Nullable;
 
-import com.example.brainboard.notifications.NotificationReceiver;
+import com.example.brainboard.R;
+import com.example.brainboard.data.TaskRepository;
+import com.example.brainboard.models.TaskModel;
+import com.example.brainboard.notifications.ReminderScheduler;
 import com.example.brainboard.databinding.ActivityEditTaskBinding;
-import com.google.firebase.firestore.FirebaseFirestore;
+import com.example.brainboard.firebase.FirestoreProvider;
+import com.example.brainboard.firebase.TaskFields;
+import com.example.brainboard.shared.metrics.FirestoreMetrics;
+import com.example.brainboard.shared.speech.VoiceInput;
+import com.example.brainboard.sync.DataLayerPaths;
+import com.example.brainboard.sync.PhoneSyncClient;
+import com.google.firebase.firestore.DocumentReference;
 
 import java.text.SimpleDateFormat;
 import java.util.*;
@@ -27,10 +36,17 @@ import java.util.*;
  * This activity allows users to edit an existing task in the BrainBoard app.
  * Features:
  * - Loads the original task data (title, due time, task ID) passed via Intent.
- * - Lets users update task details via text or voice input.
+ * - Lets users update task details via text or voice input; voice runs in the activity
+ *   (VoiceInput) and streams partial text into the title field.
  * - Users can reschedule the task's due date and time using date & time pickers.
- * - Updates both local SharedPreferences and remote Firestore.
- * - Reschedules notification to trigger 1 hour before the updated due time.
+ * - Updates local SharedPreferences and sends the edit to the paired phone over the
+ *   Wearable Data Layer; without a reachable phone Firestore is updated directly.
+ * - Only the fields that changed are sent, via update() rather than set(), so the task's
+ *   "timestamp" (list ordering) and completion state are preserved. Saving without
+ *   changes writes nothing.
+ * - Reschedules notification to trigger 1 hour before the updated due time, or before
+ *   the next open occurrence of a recurring task (ReminderScheduler). A recurring task
+ *   keeps its rule; a new due time moves the whole series.
  *
  * Task Format:
  * - Passed and saved in the format: "title||dueDateTime||taskId"
@@ -39,7 +55,7 @@ import java.util.*;
  * - ViewBinding (ActivityEditTaskBinding)
  * - Firebase Firestore
  * - SharedPreferences (for local task cache)
- * - AlarmManager and BroadcastReceiver for notifications
+ * - ReminderScheduler for notifications
  *
  * Prerequisites:
  * - User must be authenticated and UID must be available from MainActivity.getGlobalUid()
@@ -50,6 +66,7 @@ public class EditTaskActivity extends Activity {
 
     private ActivityEditTaskBinding binding;
     private static final int SPEECH_REQUEST_CODE = 200;
+    private static final int MIC_PERMISSION_REQUEST_CODE = 201;
     private final Calendar calendar = Calendar.getInstance();
 
     private String originalTaskEntry;
@@ -57,8 +74,7 @@ public class EditTaskActivity extends Activity {
     private String originalDueTime;
     private String originalTaskId;
     private String formattedDateTime;
-
-    private FirebaseFirestore db;
+    private VoiceInput voiceInput;
 
     @Override
     protected void onCreate(Bundle savedInstanceState) {
@@ -66,8 +82,6 @@ public class EditTaskActivity extends Activity {
         binding = ActivityEditTaskBinding.inflate(getLayoutInflater());
         setContentView(binding.getRoot());
 
-        db = FirebaseFirestore.getInstance();
-
         // Extract original data
         originalTaskEntry = getIntent().getStringExtra("oldTask");
         if (originalTaskEntry != null && originalTaskEntry.contains("||")) {
@@ -81,7 +95,25 @@ public class EditTaskActivity extends Activity {
         }
 
         // Voice input
-        binding.voiceEditButton.setOnClickListener(v -> startVoiceRecognition());
+        voiceInput = new VoiceInput(this, new VoiceInput.Callback() {
+            @Override
+            public void onPartialText(String text) {
+                showSpokenText(text);
+            }
+
+            @Override
+            public void onFinalText(String text) {
+                showSpokenText(text);
+                binding.voiceEditButton.setText(R.string.voice_input);
+            }
+
+            @Override
+            public void onError(String message) {
+                binding.voiceEditButton.setText(R.string.voice_input);
+                Toast.makeText(EditTaskActivity.this, message, Toast.LENGTH_SHORT).show();
+            }
+        });
+        binding.voiceEditButton.setOnClickListener(v -> toggleVoiceInput());
 
         // Time Picker
         binding.pickDateTimeButton.setOnClickListener(v -> showDatePicker());
@@ -99,10 +131,23 @@ public class EditTaskActivity extends Activity {
                 return;
             }
 
-            String updatedEntry = updatedTitle + "||" + formattedDateTime + "||" + originalTaskId;
-            updateTaskLocally(originalTaskEntry, updatedEntry);
-            updateTaskInFirestore(updatedTitle, formattedDateTime);
-            scheduleNotification(updatedTitle, formattedDateTime);
+            TaskModel original = findOriginalTask();
+            // A recurring task stays a series; its new due time moves every occurrence
+            TaskModel updated = new TaskModel(originalTaskId, updatedTitle, formattedDateTime, original.isCompleted(),
+                    original.getRecurrence(), original.getCompletedOccurrences());
+
+            // Only changed fields travel to the phone / Firestore
+            String changedTitle = updatedTitle.equals(original.getTitle()) ? null : updatedTitle;
+            String changedDue = formattedDateTime.equals(original.getDueDateTime()) ? null : formattedDateTime;
+            if (changedTitle != null || changedDue != null) {
+                String updatedEntry = updatedTitle + "||" + formattedDateTime + "||" + originalTaskId;
+                updateTaskLocally(originalTaskEntry, updatedEntry);
+                PhoneSyncClient.sendToPhone(this, DataLayerPaths.TASK_UPDATE,
+                        PhoneSyncClient.taskPayload(originalTaskId, changedTitle, changedDue),
+                        () -> updateTaskInFirestore(original, updated));
+                ReminderScheduler.schedule(this, updated);
+                TaskRepository.upsert(this, updated);
+            }
 
             Toast.makeText(this, "Task updated", Toast.LENGTH_SHORT).show();
             finish();
@@ -118,25 +163,67 @@ public class EditTaskActivity extends Activity {
         prefs.edit().putStringSet("taskList", updatedSet).apply();
     }
 
-    private void updateTaskInFirestore(String title, String dueTime) {
-        String uid = MainActivity.getGlobalUid();
-        if (uid == null || uid.isEmpty()) return;
+    private TaskModel findOriginalTask() {
+        TaskModel known = TaskRepository.find(originalTaskId);
+        return known != null ? known : new TaskModel(originalTaskId, originalTitle, originalDueTime, false);
+    }
 
-        Map<String, Object> taskMap = new HashMap<>();
-        taskMap.put("title", title);
-        taskMap.put("dueDateTime", dueTime);
-        taskMap.put("taskId", originalTaskId);
-        taskMap.put("completed", false);
+    private void updateTaskInFirestore(TaskModel original, TaskModel updated) {
+        String uid = MainActivity.getGlobalUid(this);
+        if (uid == null || uid.isEmpty()) return;
 
-        db.collection("users")
+        Map<String, Object> changes = TaskFields.diff(original, updated);
+        DocumentReference ref = FirestoreProvider.get(this).collection("users")
                 .document(uid)
                 .collection("tasks")
-                .document(originalTaskId)
-                .set(taskMap)
+                .document(originalTaskId);
+        FirestoreMetrics.trackWrite("editTask.save", 1, changes, ref.update(changes))
                 .addOnSuccessListener(unused -> Log.d("EditTask", "Firestore task updated"))
                 .addOnFailureListener(e -> Log.e("EditTask", "Firestore update failed", e));
     }
 
+    @Override
+    protected void onDestroy() {
+        if (voiceInput != null) voiceInput.destroy();
+        super.onDestroy();
+    }
+
+    /** Starts or stops the in-activity recognizer; the system voice UI is only a fallback. */
+    private void toggleVoiceInput() {
+        if (voiceInput.isListening()) {
+            voiceInput.stop();
+            return;
+        }
+        if (!VoiceInput.isAvailable(this)) {
+            startVoiceRecognition();
+            return;
+        }
+        if (checkSelfPermission(Manifest.permission.RECORD_AUDIO) != PackageManager.PERMISSION_GRANTED) {
+            requestPermissions(new String[]{Manifest.permission.RECORD_AUDIO}, MIC_PERMISSION_REQUEST_CODE);
+            return;
+        }
+        voiceInput.start();
+        binding.voiceEditButton.setText(R.string.listening);
+    }
+
+    private void showSpokenText(String text) {
+        binding.taskEditInput.setText(text);
+        binding.taskEditInput.setSelection(text.length());
+    }
+
+    @Override
+    public void onRequestPermissionsResult(int requestCode, String[] permissions, int[] grantResults) {
+        super.onRequestPermissionsResult(requestCode, permissions, grantResults);
+        if (requestCode != MIC_PERMISSION_REQUEST_CODE) return;
+
+        if (grantResults.length > 0 && grantResults[0] == PackageManager.PERMISSION_GRANTED) {
+            toggleVoiceInput();
+        } else {
+            // The system voice UI records on its own behalf and needs no permission
+            startVoiceRecognition();
+        }
+    }
+
     private void startVoiceRecognition() {
         Intent intent = new Intent(RecognizerIntent.ACTION_RECOGNIZE_SPEECH);
         intent.putExtra(RecognizerIntent.EXTRA_LANGUAGE_MODEL, RecognizerIntent.LANGUAGE_MODEL_FREE_FORM);
@@ -180,25 +267,4 @@ public class EditTaskActivity extends Activity {
             binding.dueTimeText.setText("Due: " + formattedDateTime);
         }, calendar.get(Calendar.HOUR_OF_DAY), calendar.get(Calendar.MINUTE), true).show();
     }
-
-    private void scheduleNotification(String taskTitle, String dueTime) {
-        try {
-            SimpleDateFormat sdf = new SimpleDateFormat("dd/MM/yyyy HH:mm:ss.SSS", Locale.getDefault());
-            long dueMillis = sdf.parse(dueTime).getTime();
-            long triggerTime = dueMillis - (60 * 60 * 1000);
-            if (triggerTime <= System.currentTimeMillis()) {
-                triggerTime = System.currentTimeMillis() + 5000;
-            }
-
-            Intent intent = new Intent(this, NotificationReceiver.class);
-            intent.putExtra("taskTitle", taskTitle);
-            intent.putExtra("taskId", originalTaskId);
-
-            PendingIntent pendingIntent = PendingIntent.getBroadcast(this, originalTaskId.hashCode(), intent, PendingIntent.FLAG_IMMUTABLE);
-            AlarmManager alarmManager = (AlarmManager) getSystemService(ALARM_SERVICE);
-            alarmManager.setExact(AlarmManager.RTC_WAKEUP, triggerTime, pendingIntent);
-        } catch (Exception e) {
-            e.printStackTrace();
-        }
-    }
 }
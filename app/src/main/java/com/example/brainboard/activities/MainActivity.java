@@ -1,9 +1,12 @@
 package com.example.brainboard.activities;
 
+import android.content.Context;
 import android.content.Intent;
 import android.content.SharedPreferences;
 import android.os.Bundle;
+import android.os.Looper;
 import android.view.Gravity;
+import android.view.View;
 import android.view.ViewGroup;
 import android.widget.Button;
 import android.widget.EditText;
@@ -14,7 +17,10 @@ import androidx.appcompat.app.AlertDialog;
 import androidx.appcompat.app.AppCompatActivity;
 import androidx.wear.widget.BoxInsetLayout;
 
+import com.example.brainboard.BuildConfig;
+import com.example.brainboard.data.TaskRepository;
 import com.example.brainboard.databinding.ActivityMainBinding;
+import com.example.brainboard.firebase.FirestoreProvider;
 
 /**
  * MainActivity.java
@@ -29,11 +35,17 @@ import com.example.brainboard.databinding.ActivityMainBinding;
  *     - TimerActivity: Focus timer for study sessions
  *     - FactActivity: Display a fun fact with a random image
  *     - ChartActivity: Visualize task data with a bar chart
+ *     - MetricsActivity: Firestore latency and read/write counts (debug builds only)
  * - Manual login system using UID input, saved to SharedPreferences and global memory
  *
+ * Startup:
+ * - Renders without touching Firebase; FirestoreProvider.warmUp() initializes it on a
+ *   background thread once the first frame is done and the main thread is idle.
+ *
  * UID Management:
  * - UID is stored using SharedPreferences under key "firebase_uid"
  * - A static `getGlobalUid()` method is used by other activities to retrieve the UID
+ * - Changing the UID invalidates TaskRepository, so no screen keeps the old user's tasks
  * - UID input is handled via a popup dialog with input validation
  *
  * Dependencies:
@@ -86,7 +98,20 @@ public class MainActivity extends AppCompatActivity {
             startActivity(new Intent(MainActivity.this, ChartActivity.class));
         });
 
+        // Firestore cost breakdown, debug builds only
+        if (BuildConfig.DEBUG) {
+            binding.metricsButton.setVisibility(View.VISIBLE);
+            binding.metricsButton.setOnClickListener(v ->
+                    startActivity(new Intent(MainActivity.this, MetricsActivity.class)));
+        }
+
         binding.loginButton.setOnClickListener(v -> showLoginPopup());
+
+        // Initialize Firebase only once the hub has drawn and the main thread is idle
+        Looper.myQueue().addIdleHandler(() -> {
+            FirestoreProvider.warmUp(this);
+            return false;
+        });
     }
 
     private void showLoginPopup() {
@@ -125,12 +150,15 @@ public class MainActivity extends AppCompatActivity {
                     if (uid.isEmpty()) {
                         Toast.makeText(this, "UID cannot be empty", Toast.LENGTH_SHORT).show();
                     } else {
+                        boolean changed = !uid.equals(getGlobalUid(this));
                         // Save to both global and SharedPreferences
                         globalUid = uid;
                         getSharedPreferences(PREF_NAME, MODE_PRIVATE)
                                 .edit()
                                 .putString(KEY_UID, uid)
                                 .apply();
+                        // A different account: drop the previous user's tasks everywhere
+                        if (changed) TaskRepository.invalidate(this);
                         Toast.makeText(this, "Saved UID: " + uid, Toast.LENGTH_SHORT).show();
                     }
                 })
@@ -145,4 +173,15 @@ public class MainActivity extends AppCompatActivity {
     public static String getGlobalUid() {
         return globalUid;
     }
+
+    /**
+     * Same as getGlobalUid(), but falls back to SharedPreferences when the process was
+     * started without MainActivity (alarms, services, receivers).
+     */
+    public static String getGlobalUid(Context context) {
+        if (globalUid == null) {
+            globalUid = context.getSharedPreferences(PREF_NAME, MODE_PRIVATE).getString(KEY_UID, null);
+        }
+        return globalUid;
+    }
 }
@@ -0,0 +1,56 @@
+package com.example.brainboard.activities;
+
+import android.os.Bundle;
+import android.widget.Toast;
+
+import androidx.appcompat.app.AppCompatActivity;
+
+import com.example.brainboard.databinding.ActivityMetricsBinding;
+import com.example.brainboard.shared.metrics.FirestoreMetrics;
+
+import java.io.File;
+
+/**
+ * MetricsActivity.java
+ *
+ * Debug screen for FirestoreMetrics on the watch: per-operation calls, latency
+ * percentiles, server vs cache reads, writes and payload sizes since launch.
+ *
+ * Features:
+ * - Save writes the report to a file (Android/data/<package>/files/metrics/) for adb pull.
+ * - Reset starts a new measuring window.
+ *
+ * Notes:
+ * - Only reachable from MainActivity in debug builds.
+ */
+public class MetricsActivity extends AppCompatActivity {
+
+    private ActivityMetricsBinding binding;
+
+    @Override
+    protected void onCreate(Bundle savedInstanceState) {
+        super.onCreate(savedInstanceState);
+        binding = ActivityMetricsBinding.inflate(getLayoutInflater());
+        setContentView(binding.getRoot());
+
+        binding.resetMetricsButton.setOnClickListener(v -> {
+            FirestoreMetrics.reset();
+            showReport();
+        });
+        binding.saveMetricsButton.setOnClickListener(v -> {
+            File file = FirestoreMetrics.writeReport(this);
+            Toast.makeText(this, file != null ? "Saved " + file.getName() : "Could not save metrics",
+                    Toast.LENGTH_SHORT).show();
+        });
+    }
+
+    @Override
+    protected void onResume() {
+        super.onResume();
+        showReport();
+    }
+
+    private void showReport() {
+        binding.metricsText.setText(FirestoreMetrics.report());
+    }
+}
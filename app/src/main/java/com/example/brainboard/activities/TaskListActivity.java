@@ -1,22 +1,28 @@
 package com.example.brainboard.activities;
 
+import android.Manifest;
 import android.app.Activity;
+import android.content.Intent;
+import android.content.pm.PackageManager;
 import android.os.Bundle;
-import android.util.Log;
+import android.speech.RecognizerIntent;
 import android.view.View;
 import android.widget.Toast;
 
 import androidx.wear.widget.WearableLinearLayoutManager;
 
+import com.example.brainboard.R;
 import com.example.brainboard.adapters.TaskAdapter;
+import com.example.brainboard.data.TaskRepository;
 import com.example.brainboard.databinding.ActivityTaskListBinding;
-import com.google.firebase.FirebaseApp;
-import com.google.firebase.firestore.FirebaseFirestore;
-import com.google.firebase.firestore.Query;
-import com.google.firebase.firestore.QueryDocumentSnapshot;
+import com.example.brainboard.models.TaskModel;
+import com.example.brainboard.shared.speech.VoiceInput;
+import com.example.brainboard.sync.PhoneSyncClient;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Locale;
+import java.util.Set;
 
 /**
  * TaskListActivity.java
@@ -24,36 +30,61 @@ import java.util.List;
  * Displays a scrollable list of the user's tasks in the BrainBoard app using a WearOS-friendly UI.
  *
  * Features:
- * - Fetches task data from Firebase Firestore under the current user's UID.
+ * - Shows the shared in-memory snapshot from TaskRepository, so returning to the list
+ *   (or coming from ChartActivity) costs no network read.
+ * - The repository is filled from the task snapshot pushed by the paired phone
+ *   (SyncedTaskStore) when available, otherwise from one Firebase Firestore query.
+ * - Asks the phone for a fresh snapshot on every resume.
  * - Each task entry includes title, due date/time, and task ID.
  * - Shows tasks in reverse chronological order (most recent first).
  * - Uses a custom RecyclerView adapter (TaskAdapter) for display.
  * - Displays a message when there are no tasks to show.
+ * - Voice search: the spoken query (streamed by VoiceInput, filtering as partial text
+ *   arrives) filters the list through TaskRepository.search()
+ *   (in-memory title index, prefix and substring matches); tapping the button again clears it.
+ * - The "benchmark" build (BuildConfig.FAKE_DATA) shows the seeded FakeTaskSource dataset instead.
  *
  * UI:
  * - RecyclerView with WearableLinearLayoutManager for optimized WearOS interaction.
  * - Text view fallback when no tasks exist.
  *
  * Data Format:
- * - Tasks are loaded into a list as formatted strings: "title||dueDateTime||taskId"
+ * - The adapter binds the repository's TaskModel list directly; decoding happens off the
+ *   main thread in TaskRepository, so a new snapshot only costs a list copy here.
  *
  * Dependencies:
  * - ViewBinding (ActivityTaskListBinding)
- * - Firebase Firestore
- * - FirebaseApp initialization
+ * - TaskRepository (shared task snapshot)
+ * - Wearable Data Layer (PhoneSyncClient)
  * - Wearable UI components (WearableLinearLayoutManager)
  *
  * Prerequisites:
- * - User must be authenticated; UID is obtained from MainActivity.getGlobalUid()
+ * - Phone app installed and signed in, or UID obtained from MainActivity.getGlobalUid()
  */
 
 
 public class TaskListActivity extends Activity {
 
+    private static final int SEARCH_REQUEST_CODE = 300;
+    private static final int MIC_PERMISSION_REQUEST_CODE = 301;
+
     private ActivityTaskListBinding binding;
     private TaskAdapter taskAdapter;
-    private final List<String> taskList = new ArrayList<>();
-    private FirebaseFirestore db;
+    private final List<TaskModel> taskList = new ArrayList<>();
+    private List<TaskModel> allTasks = new ArrayList<>();
+    private String searchQuery = "";
+    private VoiceInput voiceInput;
+    private final TaskRepository.Listener repositoryListener = new TaskRepository.Listener() {
+        @Override
+        public void onTasksChanged(List<TaskModel> tasks) {
+            showTaskModels(tasks);
+        }
+
+        @Override
+        public void onLoadFailed(String message) {
+            Toast.makeText(TaskListActivity.this, message, Toast.LENGTH_SHORT).show();
+        }
+    };
 
     @Override
     protected void onCreate(Bundle savedInstanceState) {
@@ -61,66 +92,137 @@ public class TaskListActivity extends Activity {
         binding = ActivityTaskListBinding.inflate(getLayoutInflater());
         setContentView(binding.getRoot());
 
-        FirebaseApp.initializeApp(this);
-        db = FirebaseFirestore.getInstance();
-
         binding.taskRecyclerView.setLayoutManager(new WearableLinearLayoutManager(this));
 
         taskAdapter = new TaskAdapter(taskList, this);
         binding.taskRecyclerView.setAdapter(taskAdapter);
 
-        fetchTasksFromFirestore();
+        voiceInput = new VoiceInput(this, new VoiceInput.Callback() {
+            @Override
+            public void onPartialText(String text) {
+                // Filter as the user speaks
+                setSearchQuery(text.trim());
+            }
+
+            @Override
+            public void onFinalText(String text) {
+                setSearchQuery(text.trim());
+            }
+
+            @Override
+            public void onError(String message) {
+                setSearchQuery(searchQuery);
+                Toast.makeText(TaskListActivity.this, message, Toast.LENGTH_SHORT).show();
+            }
+        });
+        binding.voiceSearchButton.setOnClickListener(v -> {
+            if (voiceInput.isListening()) {
+                voiceInput.stop();
+            } else if (searchQuery.isEmpty()) {
+                toggleVoiceSearch();
+            } else {
+                setSearchQuery("");
+            }
+        });
     }
 
     @Override
     protected void onResume(){
         super.onResume();
-        fetchTasksFromFirestore();
+        PhoneSyncClient.requestSnapshot(this);
+        TaskRepository.observe(this, repositoryListener);
     }
 
-    private void fetchTasksFromFirestore() {
-        String uid = MainActivity.getGlobalUid();
+    @Override
+    protected void onPause() {
+        TaskRepository.removeListener(repositoryListener);
+        super.onPause();
+    }
 
-        if (uid == null || uid.isEmpty()) {
-            Toast.makeText(this, "UID not set. Please login first.", Toast.LENGTH_SHORT).show();
+    @Override
+    protected void onDestroy() {
+        if (voiceInput != null) voiceInput.destroy();
+        super.onDestroy();
+    }
+
+    /** Listens in the activity when possible; the system voice UI is only a fallback. */
+    private void toggleVoiceSearch() {
+        if (!VoiceInput.isAvailable(this)) {
+            startVoiceSearch();
+            return;
+        }
+        if (checkSelfPermission(Manifest.permission.RECORD_AUDIO) != PackageManager.PERMISSION_GRANTED) {
+            requestPermissions(new String[]{Manifest.permission.RECORD_AUDIO}, MIC_PERMISSION_REQUEST_CODE);
             return;
         }
+        voiceInput.start();
+        binding.voiceSearchButton.setText(R.string.listening);
+    }
+
+    @Override
+    public void onRequestPermissionsResult(int requestCode, String[] permissions, int[] grantResults) {
+        super.onRequestPermissionsResult(requestCode, permissions, grantResults);
+        if (requestCode != MIC_PERMISSION_REQUEST_CODE) return;
+
+        if (grantResults.length > 0 && grantResults[0] == PackageManager.PERMISSION_GRANTED) {
+            toggleVoiceSearch();
+        } else {
+            startVoiceSearch();
+        }
+    }
+
+    private void startVoiceSearch() {
+        Intent intent = new Intent(RecognizerIntent.ACTION_RECOGNIZE_SPEECH);
+        intent.putExtra(RecognizerIntent.EXTRA_LANGUAGE_MODEL, RecognizerIntent.LANGUAGE_MODEL_FREE_FORM);
+        intent.putExtra(RecognizerIntent.EXTRA_LANGUAGE, Locale.getDefault());
+        intent.putExtra(RecognizerIntent.EXTRA_PROMPT, "Search tasks...");
+        try {
+            startActivityForResult(intent, SEARCH_REQUEST_CODE);
+        } catch (Exception e) {
+            Toast.makeText(this, "Voice input not supported", Toast.LENGTH_SHORT).show();
+        }
+    }
 
-        db.collection("users")
-                .document(uid)
-                .collection("tasks").orderBy("timestamp", Query.Direction.DESCENDING)
-                .get()
-                .addOnSuccessListener(querySnapshot -> {
-                    taskList.clear();
-
-                    for (QueryDocumentSnapshot doc : querySnapshot) {
-                        String title = doc.getString("title");
-                        String due = doc.getString("dueDateTime");
-                        String taskId = doc.getString("taskId");
-
-                        if (title != null && due != null && taskId != null) {
-                            String entry = title + "||" + due + "||" + taskId;
-                            taskList.add(entry);
-                            Log.d("FirebaseTask", "Loaded: " + entry);
-                        } else {
-                            Log.w("FirebaseTask", "Missing fields in: " + doc.getId());
-                        }
-                    }
-
-                    if (taskList.isEmpty()) {
-                        binding.noTasksText.setVisibility(View.VISIBLE);
-                        binding.taskRecyclerView.setVisibility(View.GONE);
-                    } else {
-                        binding.noTasksText.setVisibility(View.GONE);
-                        binding.taskRecyclerView.setVisibility(View.VISIBLE);
-                    }
-
-                    taskAdapter.notifyDataSetChanged();
-                })
-                .addOnFailureListener(e -> {
-                    Toast.makeText(this, "Error fetching tasks", Toast.LENGTH_SHORT).show();
-                    Log.e("FirebaseTask", "Fetch error", e);
-                });
+    @Override
+    protected void onActivityResult(int requestCode, int resultCode, Intent data) {
+        super.onActivityResult(requestCode, resultCode, data);
+        if (requestCode == SEARCH_REQUEST_CODE && resultCode == RESULT_OK && data != null) {
+            ArrayList<String> results = data.getStringArrayListExtra(RecognizerIntent.EXTRA_RESULTS);
+            if (results != null && !results.isEmpty()) {
+                setSearchQuery(results.get(0).trim());
+            }
+        }
+    }
+
+    private void setSearchQuery(String query) {
+        searchQuery = query;
+        binding.voiceSearchButton.setText(query.isEmpty() ? getString(R.string.voice_search) : "✕ " + query);
+        showTaskModels(allTasks);
+    }
+
+    private void showTaskModels(List<TaskModel> tasks) {
+        allTasks = tasks;
+        taskList.clear();
+        if (searchQuery.isEmpty()) {
+            taskList.addAll(tasks);
+        } else {
+            Set<String> matches = TaskRepository.search(searchQuery);
+            for (TaskModel task : tasks) {
+                if (matches.contains(task.getTaskId())) taskList.add(task);
+            }
+        }
+        showTasks();
+    }
+
+    private void showTasks() {
+        if (taskList.isEmpty()) {
+            binding.noTasksText.setVisibility(View.VISIBLE);
+            binding.taskRecyclerView.setVisibility(View.GONE);
+        } else {
+            binding.noTasksText.setVisibility(View.GONE);
+            binding.taskRecyclerView.setVisibility(View.VISIBLE);
+        }
 
+        taskAdapter.notifyDataSetChanged();
     }
 }
@@ -1,12 +1,21 @@
 package com.example.brainboard.activities;
 
-import android.app.Activity;
 import android.os.Bundle;
-import android.os.CountDownTimer;
+import android.os.Handler;
+import android.os.Looper;
+import android.view.View;
 import android.widget.Toast;
 import android.app.AlertDialog;
 
+import androidx.activity.ComponentActivity;
+import androidx.activity.OnBackPressedCallback;
+import androidx.wear.ambient.AmbientLifecycleObserver;
+
 import com.example.brainboard.databinding.ActivityTimerBinding;
+import com.example.brainboard.timer.FocusSessionLog;
+import com.example.brainboard.timer.FocusTimer;
+
+import java.util.Locale;
 
 /**
  * TimerActivity.java
@@ -18,27 +27,60 @@ import com.example.brainboard.databinding.ActivityTimerBinding;
  * - Displays countdown in MM:SS format.
  * - Alerts the user with a Toast when the session completes.
  * - Confirms before exiting if the timer is currently running.
+ * - Optionally linked to a task via Intent extras "taskId" and "taskTitle"; the session
+ *   is then counted toward that task's focus time (see FocusSessionLog).
+ * - While a session runs, the title shown is the running session's task (FocusTimer),
+ *   even if the screen was reopened from another task or from the notification; the
+ *   extras only pick the task for the next session.
+ * - Shows today's focus total and the shown task's total under the button.
  *
  * Timer Logic:
- * - Uses Android's CountDownTimer for precise countdown management.
- * - Resets to 25 minutes after each completion or stop.
+ * - The session lives in FocusTimer as an elapsedRealtime deadline, not in this activity.
+ * - Remaining time is computed on demand from the deadline, so the display never drifts.
+ * - Completion is delivered by an alarm even if this activity is destroyed.
  *
  * UI:
  * - Uses ViewBinding (ActivityTimerBinding)
  * - Timer text and button dynamically update based on state.
+ * - Interactive mode refreshes once per second while visible.
+ * - Ambient mode refreshes only on the system's once-per-minute ambient update.
  *
  * Lifecycle Handling:
- * - Cancels timer onDestroy to avoid memory leaks.
+ * - Display refreshes stop in onPause; the session itself keeps running.
  * - Prompts user via AlertDialog before navigating back while timer is active.
  */
 
 
-public class TimerActivity extends Activity {
+public class TimerActivity extends ComponentActivity {
 
     private ActivityTimerBinding binding;
-    private CountDownTimer countDownTimer;
-    private boolean isRunning = false;
-    private long timeLeftInMillis = 25 * 60 * 1000; // 25 minutes
+    private final Handler handler = new Handler(Looper.getMainLooper());
+    private final Runnable tick = this::refresh;
+    private AmbientLifecycleObserver ambientObserver;
+    private boolean visible = false;
+    private boolean wasRunning;
+    private boolean taskDisplayStale = true;
+    private String taskId;
+    private String taskTitle;
+
+    private final AmbientLifecycleObserver.AmbientLifecycleCallback ambientCallback =
+            new AmbientLifecycleObserver.AmbientLifecycleCallback() {
+                @Override
+                public void onEnterAmbient(AmbientLifecycleObserver.AmbientDetails ambientDetails) {
+                    handler.removeCallbacks(tick);
+                    refresh();
+                }
+
+                @Override
+                public void onUpdateAmbient() {
+                    refresh();
+                }
+
+                @Override
+                public void onExitAmbient() {
+                    refresh();
+                }
+            };
 
     @Override
     protected void onCreate(Bundle savedInstanceState) {
@@ -46,10 +88,15 @@ public class TimerActivity extends Activity {
         binding = ActivityTimerBinding.inflate(getLayoutInflater());
         setContentView(binding.getRoot());
 
-        updateTimerDisplay();
+        taskId = getIntent().getStringExtra("taskId");
+        taskTitle = getIntent().getStringExtra("taskTitle");
+
+        ambientObserver = new AmbientLifecycleObserver(this, ambientCallback);
+        getLifecycle().addObserver(ambientObserver);
+        getOnBackPressedDispatcher().addCallback(this, backCallback);
 
         binding.startStopButton.setOnClickListener(v -> {
-            if (isRunning) {
+            if (FocusTimer.isRunning(this)) {
                 stopTimer();
             } else {
                 startTimer();
@@ -57,65 +104,104 @@ public class TimerActivity extends Activity {
         });
     }
 
-    private void startTimer() {
-        countDownTimer = new CountDownTimer(timeLeftInMillis, 1000) {
-            @Override
-            public void onTick(long millisUntilFinished) {
-                timeLeftInMillis = millisUntilFinished;
-                updateTimerDisplay();
-            }
+    @Override
+    protected void onResume() {
+        super.onResume();
+        visible = true;
+        // A session may have ended (alarm) or been started elsewhere while paused
+        taskDisplayStale = true;
+        refresh();
+    }
 
-            @Override
-            public void onFinish() {
-                isRunning = false;
-                binding.startStopButton.setText("Start");
-                Toast.makeText(TimerActivity.this, "Session complete!", Toast.LENGTH_SHORT).show();
-                timeLeftInMillis = 25 * 60 * 1000; // Reset
-                updateTimerDisplay();
-            }
-        }.start();
+    @Override
+    protected void onPause() {
+        visible = false;
+        handler.removeCallbacks(tick);
+        super.onPause();
+    }
 
-        isRunning = true;
-        binding.startStopButton.setText("Stop");
+    private void startTimer() {
+        FocusTimer.start(this, FocusTimer.DEFAULT_DURATION_MILLIS, taskId, taskTitle);
+        refresh();
     }
 
     private void stopTimer() {
-        countDownTimer.cancel();
-        isRunning = false;
-        binding.startStopButton.setText("Start");
-        timeLeftInMillis = 25 * 60 * 1000; // Reset
-        updateTimerDisplay();
+        FocusTimer.stop(this);
+        refresh();
     }
 
-    private void updateTimerDisplay() {
-        int minutes = (int) (timeLeftInMillis / 1000) / 60;
-        int seconds = (int) (timeLeftInMillis / 1000) % 60;
-        String timeFormatted = String.format("%02d:%02d", minutes, seconds);
-        binding.timerText.setText(timeFormatted);
-    }
+    /** Recomputes the display from the stored deadline and schedules the next refresh. */
+    private void refresh() {
+        handler.removeCallbacks(tick);
+        long remaining = FocusTimer.getRemainingMillis(this);
 
-    @Override
-    public void onBackPressed() {
-        if (isRunning) {
-            new AlertDialog.Builder(this)
-                    .setTitle("Timer is running")
-                    .setMessage("Do you want to stop the timer and go back?")
-                    .setPositiveButton("Yes", (dialog, which) -> {
-                        stopTimer();
-                        finish();
-                    })
-                    .setNegativeButton("No", (dialog, which) -> dialog.dismiss())
-                    .show();
-        } else {
-            super.onBackPressed(); // Normal behavior
+        if (remaining == 0 && FocusTimer.complete(this)) {
+            Toast.makeText(this, "Session complete!", Toast.LENGTH_SHORT).show();
+            remaining = -1;
+        }
+
+        boolean running = remaining > 0;
+        binding.startStopButton.setText(running ? "Stop" : "Start");
+        updateTimerDisplay(running ? remaining : FocusTimer.DEFAULT_DURATION_MILLIS);
+        if (taskDisplayStale || running != wasRunning) {
+            // Task and totals only change when a session starts or ends
+            taskDisplayStale = false;
+            wasRunning = running;
+            updateTaskDisplay(running);
+        }
+
+        if (running && visible && !ambientObserver.isAmbient()) {
+            // Wake up right after the next whole second elapses
+            long delay = remaining % 1000;
+            handler.postDelayed(tick, delay == 0 ? 1000 : delay);
         }
     }
 
-    @Override
-    protected void onDestroy() {
-        if (countDownTimer != null) {
-            countDownTimer.cancel();
+    /** Shows the running session's task, or the task the next session would be linked to. */
+    private void updateTaskDisplay(boolean running) {
+        String shownId = running ? FocusTimer.getTaskId(this) : taskId;
+        String shownTitle = running ? FocusTimer.getTaskTitle(this) : taskTitle;
+        binding.focusTaskText.setText(shownTitle);
+        binding.focusTaskText.setVisibility(shownTitle != null ? View.VISIBLE : View.GONE);
+
+        String totals = "Today " + formatFocusTime(FocusSessionLog.getDayTotalSeconds(this, System.currentTimeMillis()));
+        if (shownId != null) {
+            totals += "\nThis task " + formatFocusTime(FocusSessionLog.getTaskTotalSeconds(this, shownId));
         }
-        super.onDestroy();
+        binding.focusTotalsText.setText(totals);
+    }
+
+    private static String formatFocusTime(long seconds) {
+        long minutes = seconds / 60;
+        if (minutes < 60) return minutes + "m";
+        return String.format(Locale.US, "%dh %02dm", minutes / 60, minutes % 60);
     }
+
+    private void updateTimerDisplay(long timeLeftInMillis) {
+        // Round up so the display reads 25:00 at start and 00:01 during the final second
+        long totalSeconds = (timeLeftInMillis + 999) / 1000;
+        int minutes = (int) (totalSeconds / 60);
+        int seconds = (int) (totalSeconds % 60);
+        String timeFormatted = String.format("%02d:%02d", minutes, seconds);
+        binding.timerText.setText(timeFormatted);
+    }
+
+    private final OnBackPressedCallback backCallback = new OnBackPressedCallback(true) {
+        @Override
+        public void handleOnBackPressed() {
+            if (FocusTimer.isRunning(TimerActivity.this)) {
+                new AlertDialog.Builder(TimerActivity.this)
+                        .setTitle("Timer is running")
+                        .setMessage("Do you want to stop the timer and go back?")
+                        .setPositiveButton("Yes", (dialog, which) -> {
+                            stopTimer();
+                            finish();
+                        })
+                        .setNegativeButton("No", (dialog, which) -> dialog.dismiss())
+                        .show();
+            } else {
+                finish(); // Normal behavior
+            }
+        }
+    };
 }
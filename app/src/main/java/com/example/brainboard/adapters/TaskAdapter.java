@@ -9,13 +9,30 @@ import android.widget.Toast;
 
 import androidx.annotation.NonNull;
 import androidx.recyclerview.widget.RecyclerView;
+import androidx.tracing.Trace;
 
 import com.example.brainboard.activities.EditTaskActivity;
 import com.example.brainboard.activities.MainActivity;
+import com.example.brainboard.activities.TimerActivity;
+import com.example.brainboard.data.TaskRepository;
 import com.example.brainboard.databinding.ItemTaskBinding;
-import com.google.firebase.firestore.FirebaseFirestore;
-
+import com.example.brainboard.models.TaskModel;
+import com.example.brainboard.firebase.FirestoreProvider;
+import com.example.brainboard.metrics.TraceSections;
+import com.example.brainboard.shared.data.DueDates;
+import com.example.brainboard.shared.data.Occurrences;
+import com.example.brainboard.shared.data.RecurrenceRule;
+import com.example.brainboard.shared.metrics.FirestoreMetrics;
+import com.example.brainboard.sync.DataLayerPaths;
+import com.example.brainboard.sync.PhoneSyncClient;
+import com.google.firebase.firestore.DocumentReference;
+
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 
 /**
  * TaskAdapter.java
@@ -23,20 +40,30 @@ import java.util.List;
  * RecyclerView Adapter used in TaskListActivity to display a list of user tasks.
  *
  * Features:
- * - Binds task data (title, due time, task ID) to each list item view.
+ * - Binds task data (title, due time, task ID) to each list item view. A recurring task
+ *   is one row showing its next open occurrence (data/Occurrences) and its rule.
  * - Allows users to:
+ *     - Start a focus session for a task by tapping its text (TimerActivity)
  *     - Edit a task via EditTaskActivity
- *     - Delete a task from Firestore with confirmation dialog
+ *     - Delete a task with confirmation dialog, via the paired phone when reachable
+ *       and directly from Firestore otherwise
+ * - Deletes are optimistic: the task leaves TaskRepository on confirm and is restored
+ *   at its old position if the Firestore delete fails.
+ * - Item IDs are stable per taskId, and handlers act on the bound task instead of a
+ *   captured position, so a list change never redirects a tap to another row.
  *
  * Data Format:
- * - Each task is passed as a string in the format: "title||dueDateTime||taskId"
+ * - Binds TaskModel objects directly; the "title||dueDateTime||taskId" string expected by
+ *   EditTaskActivity is only built when the edit button is tapped.
  *
  * Firebase:
  * - Handles deletion of tasks from Firestore based on user UID from MainActivity.
+ * - Deletions are applied to TaskRepository right away; TaskListActivity redraws from it.
  *
  * UI:
  * - Uses ViewBinding (ItemTaskBinding) for each item layout.
  * - Buttons for editing and deleting tasks are attached with listeners.
+ * - Each bind is traced as TraceSections.BIND ("TaskAdapter.bind").
  *
  * Dependencies:
  * - Firebase Firestore
@@ -47,12 +74,15 @@ import java.util.List;
 
 public class TaskAdapter extends RecyclerView.Adapter<TaskAdapter.TaskViewHolder> {
 
-    private final List<String> taskList;
+    private final List<TaskModel> taskList;
     private final Context context;
+    // taskId -> RecyclerView item ID, assigned on first sight and kept for the adapter's lifetime
+    private final Map<String, Long> itemIds = new HashMap<>();
 
-    public TaskAdapter(List<String> taskList, Context context) {
+    public TaskAdapter(List<TaskModel> taskList, Context context) {
         this.taskList = taskList;
         this.context = context;
+        setHasStableIds(true);
     }
 
     public static class TaskViewHolder extends RecyclerView.ViewHolder {
@@ -63,17 +93,23 @@ public class TaskAdapter extends RecyclerView.Adapter<TaskAdapter.TaskViewHolder
             this.binding = binding;
         }
 
-        public void bind(String task, int position, List<String> taskList, Context context, TaskAdapter adapter) {
-            String[] parts = task.split("\\|\\|");
-            String title = parts[0];
-            String dueTime = parts.length > 1 ? parts[1] : "No Time";
-            String taskId = parts.length > 2 ? parts[2] : String.valueOf(title.hashCode());
+        public void bind(TaskModel task, Context context) {
+            String title = task.getTitle();
+            String dueTime = task.getDueDateTime() != null ? task.getDueDateTime() : "No Time";
+            String taskId = task.getTaskId();
+
+            binding.taskText.setText(title + "\nDue: " + dueText(task, dueTime));
 
-            binding.taskText.setText(title + "\nDue: " + dueTime);
+            binding.taskText.setOnClickListener(v -> {
+                Intent intent = new Intent(context, TimerActivity.class);
+                intent.putExtra("taskId", taskId);
+                intent.putExtra("taskTitle", title);
+                context.startActivity(intent);
+            });
 
             binding.editTaskButton.setOnClickListener(v -> {
                 Intent intent = new Intent(context, EditTaskActivity.class);
-                intent.putExtra("oldTask", task);
+                intent.putExtra("oldTask", title + "||" + dueTime + "||" + taskId);
                 context.startActivity(intent);
             });
 
@@ -82,33 +118,51 @@ public class TaskAdapter extends RecyclerView.Adapter<TaskAdapter.TaskViewHolder
                         .setTitle("Delete Task")
                         .setMessage("Are you sure you want to delete this task?")
                         .setPositiveButton("Yes", (dialog, which) -> {
-                            String uid = MainActivity.getGlobalUid();
-
-                            if (uid != null && !uid.isEmpty()) {
-                                FirebaseFirestore.getInstance()
-                                        .collection("users")
-                                        .document(uid)
-                                        .collection("tasks")
-                                        .document(taskId)
-                                        .delete()
-                                        .addOnSuccessListener(unused -> {
-                                            taskList.remove(position);
-                                            adapter.notifyItemRemoved(position);
-                                            Toast.makeText(context, "Task deleted", Toast.LENGTH_SHORT).show();
-                                            Log.d("FirestoreDelete", "Deleted task: " + taskId);
-                                        })
-                                        .addOnFailureListener(e -> {
-                                            Log.e("FirestoreDelete", "Failed to delete task: " + taskId, e);
-                                            Toast.makeText(context, "Failed to delete task", Toast.LENGTH_SHORT).show();
-                                        });
-                            } else {
-                                Toast.makeText(context, "UID not set. Cannot delete task.", Toast.LENGTH_SHORT).show();
-                            }
+                            // Optimistic: the row goes now and comes back if the delete fails
+                            int index = TaskRepository.remove(context, taskId);
+                            PhoneSyncClient.sendToPhone(context, DataLayerPaths.TASK_DELETE,
+                                    PhoneSyncClient.taskPayload(taskId, null, null),
+                                    () -> deleteFromFirestore(task, index, context));
                         })
                         .setNegativeButton("Cancel", null)
                         .show();
             });
         }
+
+        /** A recurring task shows its next open occurrence and rule instead of the series start. */
+        private static String dueText(TaskModel task, String dueTime) {
+            RecurrenceRule rule = RecurrenceRule.parse(task.getRecurrence());
+            if (rule == null) return dueTime;
+            long next = Occurrences.nextOpen(task, System.currentTimeMillis());
+            String when = next < 0 ? "Ended" : new SimpleDateFormat(DueDates.MOBILE_FORMAT, Locale.getDefault()).format(new Date(next));
+            return when + "\n\u21bb " + rule.describe();
+        }
+
+        private static void deleteFromFirestore(TaskModel task, int index, Context context) {
+            String taskId = task.getTaskId();
+            String uid = MainActivity.getGlobalUid(context);
+
+            if (uid != null && !uid.isEmpty()) {
+                DocumentReference ref = FirestoreProvider.get(context)
+                        .collection("users")
+                        .document(uid)
+                        .collection("tasks")
+                        .document(taskId);
+                FirestoreMetrics.trackWrite("taskList.delete", 1, null, ref.delete())
+                        .addOnSuccessListener(unused -> {
+                            Toast.makeText(context, "Task deleted", Toast.LENGTH_SHORT).show();
+                            Log.d("FirestoreDelete", "Deleted task: " + taskId);
+                        })
+                        .addOnFailureListener(e -> {
+                            Log.e("FirestoreDelete", "Failed to delete task: " + taskId, e);
+                            TaskRepository.restore(context, task, index);
+                            Toast.makeText(context, "Failed to delete task", Toast.LENGTH_SHORT).show();
+                        });
+            } else {
+                TaskRepository.restore(context, task, index);
+                Toast.makeText(context, "UID not set. Cannot delete task.", Toast.LENGTH_SHORT).show();
+            }
+        }
     }
 
     @NonNull
@@ -121,7 +175,23 @@ public class TaskAdapter extends RecyclerView.Adapter<TaskAdapter.TaskViewHolder
 
     @Override
     public void onBindViewHolder(@NonNull TaskViewHolder holder, int position) {
-        holder.bind(taskList.get(position), position, taskList, context, this);
+        Trace.beginSection(TraceSections.BIND);
+        try {
+            holder.bind(taskList.get(position), context);
+        } finally {
+            Trace.endSection();
+        }
+    }
+
+    @Override
+    public long getItemId(int position) {
+        String taskId = taskList.get(position).getTaskId();
+        Long id = itemIds.get(taskId);
+        if (id == null) {
+            id = (long) itemIds.size();
+            itemIds.put(taskId, id);
+        }
+        return id;
     }
 
     @Override
@@ -0,0 +1,523 @@
+package com.example.brainboard.data;
+
+import java.util.Calendar;
+import java.util.TimeZone;
+
+/**
+ * DueDateParser.java
+ *
+ * Extracts a due date and time from a spoken or typed task title, e.g.
+ * "finish essay tomorrow at 5pm" -> title "finish essay", due tomorrow 17:00.
+ *
+ * Supported Phrases:
+ * - Relative: "in 20 minutes", "in 2 hours", "in an hour", "in half an hour", "in 3 days",
+ *   "in 2 weeks" (also "2h", "30min" after "in")
+ * - Days: "today", "tonight", "tomorrow", "day after tomorrow", "next week",
+ *   weekdays with optional "this"/"next" ("monday", "next fri")
+ * - Dates: "12/05", "12/05/2027" (day first), "may 12", "12 may", "12th of may", optional year
+ * - Times: "at 5", "5pm", "5 pm", "5:30", "17:00", "noon", "midnight",
+ *   "morning" (9:00), "afternoon" (15:00), "evening" (19:00), "tonight" (20:00)
+ *
+ * Rules:
+ * - A date without a time is due at 9:00; a time without a date is today, or tomorrow
+ *   if that time has already passed. "today at 8am" after 8am also means tomorrow, and
+ *   "today" or "this morning" after its default hour means 23:59 today, so the result is
+ *   never in the past.
+ * - Days that do not exist ("31/02", "june 31") are rejected: parse() returns null.
+ * - An hour from 1 to 7 without am/pm is read as afternoon, with or without minutes
+ *   ("at 5", "5:30"); a zero-padded hour ("05:30") is taken as 24-hour time.
+ * - Plain numbers are never taken as times unless introduced by "at" or written with
+ *   am/pm or a colon, so "read chapter 4" keeps its number.
+ * - "in N days/weeks" keeps the 9:00 default instead of the current time of day.
+ * - Weekday abbreviations ("sat", "wed") only count after "on", "this" or "next", so a
+ *   title like "SAT practice" is left alone.
+ * - The matched words, plus leading "on"/"at"/"by"/"due"/"in", are removed from the title.
+ *
+ * Performance:
+ * - A single hand-written pass over the text: words are located by index, compared
+ *   in place against a fixed vocabulary and numbers are read digit by digit, so parsing
+ *   allocates only the scanner, one Calendar and the resulting title (no regex, no
+ *   substrings). DueDateParserJvmBenchmark (a main() under src/test) times the parse
+ *   loop on the JVM, DueDateParserBenchmark (androidTest) on a watch.
+ */
+public final class DueDateParser {
+
+    /** A due time found in the text, and the text with the date phrase removed. */
+    public static final class Result {
+        public final long dueMillis;
+        public final String title;
+
+        Result(long dueMillis, String title) {
+            this.dueMillis = dueMillis;
+            this.title = title;
+        }
+    }
+
+    private static final String[] WEEKDAYS = {"sunday", "monday", "tuesday", "wednesday", "thursday", "friday", "saturday"};
+    private static final String[] MONTHS = {"january", "february", "march", "april", "may", "june",
+            "july", "august", "september", "october", "november", "december"};
+    private static final String[] CONNECTORS = {"on", "at", "by", "due", "in"};
+
+    private static final long MINUTE = 60_000L;
+    private static final long HOUR = 60 * MINUTE;
+    private static final long DAY = 24 * HOUR;
+    private static final int DEFAULT_HOUR = 9;
+    private static final int MAX_TOKENS = 64;
+
+    private DueDateParser() {}
+
+    /** Parses in the default time zone. */
+    public static Result parse(String text, long nowMillis) {
+        return parse(text, nowMillis, TimeZone.getDefault());
+    }
+
+    /** Returns null when the text contains no date or time phrase, or names a day that does not exist. */
+    public static Result parse(String text, long nowMillis, TimeZone zone) {
+        if (text == null || text.isEmpty()) return null;
+        Scanner scanner = new Scanner(text);
+        if (!scanner.scan()) return null;
+        long due = scanner.resolve(nowMillis, zone);
+        if (due < 0) return null;
+        return new Result(due, scanner.remainingTitle());
+    }
+
+    /** Tokenizes once into index pairs, then matches phrases token by token. */
+    private static final class Scanner {
+        private final String text;
+        private final int[] starts = new int[MAX_TOKENS];
+        private final int[] ends = new int[MAX_TOKENS];
+        private final boolean[] consumed = new boolean[MAX_TOKENS];
+        private int count;
+
+        // Parsed components; -1 when absent
+        private long relativeMillis = -1;
+        private int dayOffset = -1;
+        private int weekday = -1;
+        private boolean nextWeekday;
+        private int day = -1;
+        private int month = -1;
+        private int year = -1;
+        private int hour = -1;
+        private int minute;
+        private int defaultHour = DEFAULT_HOUR;
+
+        // Scratch results of the number readers
+        private int number;
+        private int numberEnd;
+
+        Scanner(String text) {
+            this.text = text;
+            tokenize();
+        }
+
+        private void tokenize() {
+            int i = 0;
+            int length = text.length();
+            while (i < length && count < MAX_TOKENS) {
+                while (i < length && !isTokenChar(text.charAt(i))) i++;
+                if (i >= length) break;
+                int start = i;
+                while (i < length && isTokenChar(text.charAt(i))) i++;
+                // Keep ':' and '/' inside tokens only ("5:30", "12/05"), never at the edges
+                int end = i;
+                while (end > start && !Character.isLetterOrDigit(text.charAt(end - 1))) end--;
+                if (end > start) {
+                    starts[count] = start;
+                    ends[count] = end;
+                    count++;
+                }
+            }
+        }
+
+        private static boolean isTokenChar(char c) {
+            return Character.isLetterOrDigit(c) || c == ':' || c == '/';
+        }
+
+        boolean scan() {
+            boolean found = false;
+            int i = 0;
+            while (i < count) {
+                int matched = match(i);
+                if (matched > 0) {
+                    found = true;
+                    consume(i, matched);
+                    i += matched;
+                } else {
+                    i++;
+                }
+            }
+            return found;
+        }
+
+        private int match(int i) {
+            int n;
+            if ((n = matchRelative(i)) > 0) return n;
+            if ((n = matchDayWord(i)) > 0) return n;
+            if ((n = matchWeekday(i)) > 0) return n;
+            if ((n = matchMonthDate(i)) > 0) return n;
+            if ((n = matchNumericDate(i)) > 0) return n;
+            return matchTime(i);
+        }
+
+        private void consume(int i, int n) {
+            for (int k = i; k < i + n; k++) consumed[k] = true;
+            for (int k = i - 1; k >= 0 && !consumed[k] && isAny(k, CONNECTORS); k--) consumed[k] = true;
+        }
+
+        // "in 2 hours", "in an hour", "in half an hour", "in 30min"
+        private int matchRelative(int i) {
+            if (!is(i, "in") || i + 1 >= count) return 0;
+            int j = i + 1;
+            long amount;
+            if (is(j, "half") && (is(j + 1, "an") || is(j + 1, "a")) && is(j + 2, "hour")) {
+                relativeMillis = 30 * MINUTE;
+                return 4;
+            }
+            if (is(j, "a") || is(j, "an")) {
+                amount = 1;
+                j++;
+            } else if (readNumber(j, starts[j])) {
+                amount = number;
+                if (numberEnd < ends[j]) {
+                    // "2h", "30min": the unit is glued to the number
+                    long unit = unitMillis(j, numberEnd);
+                    if (unit < 0) return 0;
+                    setRelative(amount, unit);
+                    return 2;
+                }
+                j++;
+            } else {
+                return 0;
+            }
+            if (j >= count) return 0;
+            long unit = unitMillis(j, starts[j]);
+            if (unit < 0) return 0;
+            setRelative(amount, unit);
+            return j - i + 1;
+        }
+
+        private void setRelative(long amount, long unit) {
+            if (unit >= DAY) {
+                dayOffset = (int) (amount * unit / DAY);
+            } else {
+                relativeMillis = amount * unit;
+            }
+        }
+
+        private long unitMillis(int token, int from) {
+            if (matchesFrom(token, from, "minutes", "minute", "mins", "min", "m")) return MINUTE;
+            if (matchesFrom(token, from, "hours", "hour", "hrs", "hr", "h")) return HOUR;
+            if (matchesFrom(token, from, "days", "day", "d")) return DAY;
+            if (matchesFrom(token, from, "weeks", "week", "w")) return 7 * DAY;
+            return -1;
+        }
+
+        // "today", "tonight", "tomorrow", "day after tomorrow", "next week"
+        private int matchDayWord(int i) {
+            if (is(i, "today")) {
+                dayOffset = 0;
+                return 1;
+            }
+            if (is(i, "tonight")) {
+                dayOffset = 0;
+                defaultHour = 20;
+                return 1;
+            }
+            if (is(i, "tomorrow") || is(i, "tmrw")) {
+                dayOffset = 1;
+                return 1;
+            }
+            if (is(i, "day") && is(i + 1, "after") && is(i + 2, "tomorrow")) {
+                dayOffset = 2;
+                return 3;
+            }
+            if (is(i, "next") && is(i + 1, "week")) {
+                dayOffset = 7;
+                return 2;
+            }
+            return 0;
+        }
+
+        // "monday", "this fri", "next tuesday"
+        private int matchWeekday(int i) {
+            int j = i;
+            boolean next = false;
+            if (is(j, "next")) {
+                next = true;
+                j++;
+            } else if (is(j, "this")) {
+                j++;
+            }
+            int found = indexOfName(j, WEEKDAYS);
+            if (found < 0) return 0;
+            boolean abbreviated = ends[j] - starts[j] < WEEKDAYS[found].length();
+            if (abbreviated && j == i && !(i > 0 && is(i - 1, "on"))) return 0;
+            weekday = found;
+            nextWeekday = next;
+            return j - i + 1;
+        }
+
+        // "may 12", "may 12th 2027", "12 may", "12th of may"
+        private int matchMonthDate(int i) {
+            int m = indexOfName(i, MONTHS);
+            if (m >= 0 && dayNumber(i + 1)) {
+                month = m;
+                day = number;
+                return 2 + optionalYear(i + 2);
+            }
+            if (!dayNumber(i)) return 0;
+            int d = number;
+            int j = is(i + 1, "of") ? i + 2 : i + 1;
+            m = indexOfName(j, MONTHS);
+            if (m < 0) return 0;
+            day = d;
+            month = m;
+            return j - i + 1 + optionalYear(j + 1);
+        }
+
+        private int optionalYear(int i) {
+            if (i < count && readNumber(i, starts[i]) && numberEnd == ends[i] && number >= 2000 && number < 2100) {
+                year = number;
+                return 1;
+            }
+            return 0;
+        }
+
+        /** A 1-31 day, optionally with an ordinal suffix ("12th"). */
+        private boolean dayNumber(int i) {
+            if (i >= count || !readNumber(i, starts[i])) return false;
+            int value = number;
+            if (numberEnd < ends[i] && !matchesFrom(i, numberEnd, "st", "nd", "rd", "th")) return false;
+            number = value;
+            return value >= 1 && value <= 31;
+        }
+
+        // "12/05" or "12/05/2027", day first
+        private int matchNumericDate(int i) {
+            if (!readNumber(i, starts[i]) || numberEnd >= ends[i] || text.charAt(numberEnd) != '/') return 0;
+            int d = number;
+            if (!readNumber(i, numberEnd + 1)) return 0;
+            int m = number;
+            int y = -1;
+            if (numberEnd < ends[i]) {
+                if (text.charAt(numberEnd) != '/' || !readNumber(i, numberEnd + 1) || numberEnd != ends[i]) return 0;
+                y = number < 100 ? 2000 + number : number;
+            }
+            if (d < 1 || d > 31 || m < 1 || m > 12) return 0;
+            day = d;
+            month = m - 1;
+            year = y;
+            return 1;
+        }
+
+        // "at 5", "5pm", "5 pm", "5:30", "at 17:00", "noon", "midnight", "morning"
+        private int matchTime(int i) {
+            int j = i;
+            boolean at = is(j, "at");
+            if (at) j++;
+            if (j >= count) return 0;
+
+            if (is(j, "noon") || is(j, "midday")) return setTime(12, 0, j - i + 1);
+            if (is(j, "midnight")) return setTime(23, 59, j - i + 1);
+
+            int partOfDay = partOfDay(j);
+            int lead = 0;
+            if (partOfDay < 0 && (is(j, "the") || is(j, "this"))) {
+                // "in the evening", "this morning"
+                partOfDay = partOfDay(j + 1);
+                lead = 1;
+            }
+            if (partOfDay >= 0) {
+                defaultHour = partOfDay;
+                if (dayOffset < 0 && weekday < 0 && day < 0) dayOffset = 0;
+                return j - i + 1 + lead;
+            }
+
+            if (!readNumber(j, starts[j])) return 0;
+            int h = number;
+            boolean oneDigitHour = numberEnd - starts[j] == 1;
+            int m = 0;
+            boolean colon = false;
+            int pos = numberEnd;
+            if (pos < ends[j] && text.charAt(pos) == ':') {
+                if (!readNumber(j, pos + 1) || numberEnd - pos - 1 != 2) return 0;
+                m = number;
+                colon = true;
+                pos = numberEnd;
+            }
+
+            int meridiem = 0; // 1 = am, 2 = pm
+            int used = j - i + 1;
+            if (pos < ends[j]) {
+                meridiem = meridiemAt(j, pos);
+                if (meridiem == 0) return 0;
+            } else if (j + 1 < count) {
+                meridiem = meridiemAt(j + 1, starts[j + 1]);
+                if (meridiem != 0) used++;
+            }
+
+            if (!at && !colon && meridiem == 0) return 0;
+            if (m > 59) return 0;
+            if (meridiem != 0) {
+                if (h < 1 || h > 12) return 0;
+                if (h == 12) h = 0;
+                if (meridiem == 2) h += 12;
+            } else {
+                if (h > 23) return 0;
+                // "at 5" and "5:30" mean afternoon; "05:30" is already 24-hour
+                if (h >= 1 && h <= 7 && (!colon || oneDigitHour)) h += 12;
+            }
+            return setTime(h, m, used);
+        }
+
+        private int setTime(int h, int m, int used) {
+            hour = h;
+            minute = m;
+            return used;
+        }
+
+        private int partOfDay(int i) {
+            if (is(i, "morning")) return 9;
+            if (is(i, "afternoon")) return 15;
+            if (is(i, "evening")) return 19;
+            return -1;
+        }
+
+        private int meridiemAt(int token, int from) {
+            if (matchesFrom(token, from, "am")) return 1;
+            if (matchesFrom(token, from, "pm")) return 2;
+            return 0;
+        }
+
+        /** Reads digits of token {@code i} from {@code from} into number/numberEnd. */
+        private boolean readNumber(int i, int from) {
+            if (i >= count) return false;
+            int pos = from;
+            int value = 0;
+            while (pos < ends[i] && pos - from < 5) {
+                char c = text.charAt(pos);
+                if (c < '0' || c > '9') break;
+                value = value * 10 + (c - '0');
+                pos++;
+            }
+            if (pos == from) return false;
+            number = value;
+            numberEnd = pos;
+            return true;
+        }
+
+        long resolve(long nowMillis, TimeZone zone) {
+            if (relativeMillis >= 0) {
+                return nowMillis + relativeMillis;
+            }
+
+            Calendar cal = Calendar.getInstance(zone);
+            cal.setTimeInMillis(nowMillis);
+            boolean hasDate = dayOffset >= 0 || weekday >= 0 || day >= 0;
+
+            if (day >= 0) {
+                int currentYear = cal.get(Calendar.YEAR);
+                if (!setDate(cal, year >= 0 ? year : currentYear)) return -1;
+            } else if (weekday >= 0) {
+                int today = cal.get(Calendar.DAY_OF_WEEK) - 1;
+                int delta = (weekday - today + 7) % 7;
+                if (delta == 0 && nextWeekday) delta = 7;
+                cal.add(Calendar.DAY_OF_MONTH, delta);
+            } else if (dayOffset > 0) {
+                cal.add(Calendar.DAY_OF_MONTH, dayOffset);
+            }
+
+            cal.set(Calendar.HOUR_OF_DAY, hour >= 0 ? hour : defaultHour);
+            cal.set(Calendar.MINUTE, hour >= 0 ? minute : 0);
+            cal.set(Calendar.SECOND, 0);
+            cal.set(Calendar.MILLISECOND, 0);
+
+            if (cal.getTimeInMillis() <= nowMillis) {
+                if (!hasDate || (dayOffset == 0 && hour >= 0)) {
+                    cal.add(Calendar.DAY_OF_MONTH, 1); // "(today) at 5pm" after 5pm means tomorrow
+                } else if (dayOffset == 0) {
+                    // "today" or "this morning" after its default hour: end of today
+                    cal.set(Calendar.HOUR_OF_DAY, 23);
+                    cal.set(Calendar.MINUTE, 59);
+                    if (cal.getTimeInMillis() <= nowMillis) cal.add(Calendar.DAY_OF_MONTH, 1);
+                } else if (weekday >= 0) {
+                    cal.add(Calendar.DAY_OF_MONTH, 7);
+                } else if (day >= 0 && year < 0 && isBeforeToday(cal, nowMillis, zone)) {
+                    // "12 may" in June means next year
+                    if (!setDate(cal, cal.get(Calendar.YEAR) + 1)) return -1;
+                }
+            }
+            return cal.getTimeInMillis();
+        }
+
+        /** Moves {@code cal} to day/month of {@code y}; false if that day does not exist ("31/02"). */
+        private boolean setDate(Calendar cal, int y) {
+            cal.set(y, month, 1);
+            if (day > cal.getActualMaximum(Calendar.DAY_OF_MONTH)) return false;
+            cal.set(Calendar.DAY_OF_MONTH, day);
+            return true;
+        }
+
+        private static boolean isBeforeToday(Calendar cal, long nowMillis, TimeZone zone) {
+            Calendar today = Calendar.getInstance(zone);
+            today.setTimeInMillis(nowMillis);
+            return cal.get(Calendar.YEAR) < today.get(Calendar.YEAR)
+                    || (cal.get(Calendar.YEAR) == today.get(Calendar.YEAR)
+                    && cal.get(Calendar.DAY_OF_YEAR) < today.get(Calendar.DAY_OF_YEAR));
+        }
+
+        /** The original text without consumed tokens, whitespace collapsed. */
+        String remainingTitle() {
+            StringBuilder out = new StringBuilder(text.length());
+            int from = 0;
+            for (int k = 0; k < count; k++) {
+                if (!consumed[k]) continue;
+                appendTrimmed(out, from, starts[k]);
+                from = ends[k];
+            }
+            appendTrimmed(out, from, text.length());
+            return out.toString();
+        }
+
+        private void appendTrimmed(StringBuilder out, int from, int to) {
+            while (from < to && Character.isWhitespace(text.charAt(from))) from++;
+            while (to > from && Character.isWhitespace(text.charAt(to - 1))) to--;
+            if (from >= to) return;
+            if (out.length() > 0) out.append(' ');
+            out.append(text, from, to);
+        }
+
+        private boolean is(int i, String word) {
+            return i < count && ends[i] - starts[i] == word.length()
+                    && text.regionMatches(true, starts[i], word, 0, word.length());
+        }
+
+        private boolean isAny(int i, String[] words) {
+            for (String word : words) {
+                if (is(i, word)) return true;
+            }
+            return false;
+        }
+
+        /** True if the rest of token {@code i} from {@code from} equals one of {@code words}. */
+        private boolean matchesFrom(int i, int from, String... words) {
+            int length = ends[i] - from;
+            for (String word : words) {
+                if (length == word.length() && text.regionMatches(true, from, word, 0, length)) return true;
+            }
+            return false;
+        }
+
+        /** Index of the full name or its 3+ letter prefix ("fri", "sept"), or -1. */
+        private int indexOfName(int i, String[] names) {
+            if (i >= count) return -1;
+            int length = ends[i] - starts[i];
+            if (length < 3) return -1;
+            for (int k = 0; k < names.length; k++) {
+                String name = names[k];
+                if (length <= name.length() && text.regionMatches(true, starts[i], name, 0, length)) return k;
+            }
+            return -1;
+        }
+    }
+}
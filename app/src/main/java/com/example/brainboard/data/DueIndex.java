@@ -0,0 +1,138 @@
+package com.example.brainboard.data;
+
+import com.example.brainboard.models.TaskModel;
+import com.example.brainboard.shared.data.Occurrences;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * DueIndex.java
+ *
+ * Ordered index of open tasks by due time, so "what's next" questions never scan and
+ * re-parse every task's dueDateTime string.
+ *
+ * Queries (n = open tasks, k = results):
+ * - next(from, k): the k soonest tasks due at or after {@code from}, O(log n + k); what
+ *   UpcomingTasksCache is rebuilt from (TaskRepository, SyncedTaskStore).
+ *
+ * Updates:
+ * - put()/remove() move a single task in O(log n); completed tasks and tasks without a
+ *   parseable due date are simply left out.
+ * - sync() diffs a full list against the index: a task is re-parsed and re-inserted only
+ *   when its due string, title or completed flag changed.
+ * - A recurring task is indexed once, at its next open occurrence (Occurrences.nextOpen);
+ *   it is re-expanded on every put() and sync(), since that depends on the current day
+ *   and on which occurrences were completed.
+ *
+ * Notes:
+ * - All methods are synchronized; writers and readers may live on different threads.
+ */
+public class DueIndex {
+
+    public static class Entry {
+        public final String taskId;
+        public final String title;
+        public final long dueMillis;
+        final String dueDateTime;
+
+        Entry(String taskId, String title, String dueDateTime, long dueMillis) {
+            this.taskId = taskId;
+            this.title = title;
+            this.dueDateTime = dueDateTime;
+            this.dueMillis = dueMillis;
+        }
+    }
+
+    // Equal due times are ordered by taskId so no entry shadows another in the set
+    private final TreeSet<Entry> byDue = new TreeSet<>((a, b) -> {
+        int order = Long.compare(a.dueMillis, b.dueMillis);
+        return order != 0 ? order : a.taskId.compareTo(b.taskId);
+    });
+    private final Map<String, Entry> byId = new HashMap<>();
+    // Tasks seen but not indexed (completed or no due date), so sync() can skip them unchanged
+    private final Map<String, TaskModel> skipped = new HashMap<>();
+
+    /** Indexes, moves or drops one task after an add, edit or completion. */
+    public synchronized void put(TaskModel task) {
+        String taskId = task.getTaskId();
+        if (taskId == null || isCurrent(task)) return;
+
+        remove(taskId);
+        long due = Occurrences.nextOpen(task, System.currentTimeMillis());
+        if (due < 0) {
+            skipped.put(taskId, task);
+            return;
+        }
+        Entry entry = new Entry(taskId, task.getTitle(), task.getDueDateTime(), due);
+        byId.put(taskId, entry);
+        byDue.add(entry);
+    }
+
+    public synchronized void remove(String taskId) {
+        skipped.remove(taskId);
+        Entry entry = byId.remove(taskId);
+        if (entry != null) byDue.remove(entry);
+    }
+
+    /** Makes the index match {@code tasks}, touching only added, changed and removed tasks. */
+    public synchronized void sync(List<TaskModel> tasks) {
+        Set<String> present = new HashSet<>();
+        for (TaskModel task : tasks) {
+            if (task.getTaskId() == null) continue;
+            present.add(task.getTaskId());
+            put(task);
+        }
+        for (String taskId : new ArrayList<>(byId.keySet())) {
+            if (!present.contains(taskId)) remove(taskId);
+        }
+        skipped.keySet().retainAll(present);
+    }
+
+    public synchronized void clear() {
+        byDue.clear();
+        byId.clear();
+        skipped.clear();
+    }
+
+    /** Number of open tasks with a due date. */
+    public synchronized int size() {
+        return byId.size();
+    }
+
+    /** Up to {@code limit} open tasks due at or after {@code fromMillis}, soonest first. */
+    public synchronized List<Entry> next(long fromMillis, int limit) {
+        List<Entry> result = new ArrayList<>(Math.min(limit, byDue.size()));
+        for (Entry entry : byDue.tailSet(probe(fromMillis), true)) {
+            if (result.size() >= limit) break;
+            result.add(entry);
+        }
+        return result;
+    }
+
+    /** True if the task is already indexed (or skipped) with the same due, title and state. */
+    private boolean isCurrent(TaskModel task) {
+        if (task.getRecurrence() != null) return false;
+        Entry entry = byId.get(task.getTaskId());
+        if (entry != null) {
+            return !task.isCompleted()
+                    && Objects.equals(entry.dueDateTime, task.getDueDateTime())
+                    && Objects.equals(entry.title, task.getTitle());
+        }
+        TaskModel previous = skipped.get(task.getTaskId());
+        return previous != null
+                && previous.isCompleted() == task.isCompleted()
+                && Objects.equals(previous.getDueDateTime(), task.getDueDateTime());
+    }
+
+    /** Sorts before every real entry due at {@code millis} (task IDs are never empty). */
+    private static Entry probe(long millis) {
+        return new Entry("", null, null, millis);
+    }
+}
@@ -0,0 +1,53 @@
+package com.example.brainboard.data;
+
+import com.example.brainboard.models.TaskModel;
+import com.example.brainboard.shared.data.DueDates;
+
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * FakeTaskSource.java
+ *
+ * Generates a deterministic local task dataset for the "benchmark" build type
+ * (BuildConfig.FAKE_DATA), so macrobenchmarks and baseline profile runs exercise the
+ * real screens without a network connection, a paired phone or a signed-in user.
+ *
+ * Dataset:
+ * - TASK_COUNT tasks titled "Study task #n", due at spread-out times over the next 60 days.
+ * - Every seventh task is marked completed.
+ */
+public final class FakeTaskSource {
+
+    public static final int TASK_COUNT = 1500;
+
+    private static List<TaskModel> tasks;
+
+    private FakeTaskSource() {}
+
+    public static synchronized List<TaskModel> getTasks() {
+        if (tasks == null) {
+            tasks = generate(TASK_COUNT);
+        }
+        return tasks;
+    }
+
+    public static List<TaskModel> generate(int count) {
+        SimpleDateFormat sdf = new SimpleDateFormat(DueDates.WEAR_FORMAT, Locale.getDefault());
+        Calendar calendar = Calendar.getInstance();
+        calendar.set(Calendar.SECOND, 0);
+        calendar.set(Calendar.MILLISECOND, 0);
+        long start = calendar.getTimeInMillis();
+
+        List<TaskModel> list = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            calendar.setTimeInMillis(start + (i * 7919L % (60 * 24 * 60)) * 60 * 1000);
+            list.add(new TaskModel("fake-" + i, "Study task #" + i,
+                    sdf.format(calendar.getTime()), i % 7 == 0));
+        }
+        return list;
+    }
+}
@@ -0,0 +1,454 @@
+package com.example.brainboard.data;
+
+import android.content.Context;
+import android.os.Handler;
+import android.os.Looper;
+import android.os.SystemClock;
+import android.util.Log;
+
+import androidx.tracing.Trace;
+
+import com.example.brainboard.BuildConfig;
+import com.example.brainboard.activities.MainActivity;
+import com.example.brainboard.firebase.FirestoreProvider;
+import com.example.brainboard.firebase.TaskCodec;
+import com.example.brainboard.firebase.TaskFields;
+import com.example.brainboard.metrics.TraceSections;
+import com.example.brainboard.models.TaskModel;
+import com.example.brainboard.notifications.ReminderScheduler;
+import com.example.brainboard.shared.data.TaskSearchIndex;
+import com.example.brainboard.shared.metrics.FirestoreMetrics;
+import com.example.brainboard.sync.SyncedTaskStore;
+import com.google.firebase.firestore.Query;
+import com.google.firebase.firestore.QueryDocumentSnapshot;
+import com.google.firebase.firestore.QuerySnapshot;
+import com.google.firebase.firestore.Source;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * TaskRepository.java
+ *
+ * Process-wide, in-memory snapshot of the user's open tasks (completed == false) shared
+ * by every wear screen; completed tasks are archived by the phone and never loaded here.
+ *
+ * Features:
+ * - Loads the snapshot once: from the phone's SyncedTaskStore when available, otherwise
+ *   from Firestore; later screens read it from memory.
+ * - Firestore reads are cache-first: the persisted local copy renders immediately and the
+ *   server result is reconciled into it, notifying listeners only when something differs.
+ *   A Firestore-backed snapshot older than REVALIDATE_AFTER_MILLIS is revalidated the same
+ *   way in the background when a screen observes it.
+ * - Follows new phone snapshots automatically.
+ * - Changed Firestore snapshots re-arm recurring task reminders (ReminderScheduler) on
+ *   the background executor.
+ * - Local writes (add, edit, delete) patch the snapshot in place and keep
+ *   UpcomingTasksCache in step, so no screen has to re-query after a change. Every cache
+ *   write runs on the background executor, in order with the full refreshes.
+ * - Deletes are optimistic: remove() runs before the write is sent, and restore() puts
+ *   the task back at its old position if the write fails.
+ * - invalidate() (on a UID change) drops the snapshot, the indexes, SyncedTaskStore and
+ *   UpcomingTasksCache, so nothing of the previous user's tasks stays on screen.
+ * - Keeps a TaskSearchIndex over task titles and a DueIndex over open tasks' due times:
+ *   local writes patch them per task, whole snapshots are diffed into them, both in order
+ *   on the background executor. Listeners hear about a new list only once the indexes
+ *   include it, so an active search never misses a task that was just added or renamed.
+ *   search() answers from memory; the DueIndex rebuilds UpcomingTasksCache (read by the
+ *   Tile and complication) without parsing every task.
+ *
+ * Usage:
+ * - observe()/removeListener() from onResume/onPause or onCreate/onDestroy;
+ *   get() for a one-shot read.
+ * - All methods must be called on the main thread; listeners are called there too.
+ *
+ * Threading:
+ * - Firestore results are delivered to a background executor, where documents are decoded
+ *   and diffed against the current snapshot; only the finished list is posted to the main thread.
+ * - Each stage is a trace section (TraceSections.DECODE, MERGE, REINDEX, PUBLISH) and the
+ *   snapshot size a trace counter, for Perfetto and :macrobenchmark.
+ *
+ * Notes:
+ * - The "benchmark" build (BuildConfig.FAKE_DATA) serves FakeTaskSource instead.
+ */
+public final class TaskRepository {
+
+    public interface Listener {
+        void onTasksChanged(List<TaskModel> tasks);
+
+        /** Called when a load fails; the current snapshot (if any) is kept. */
+        default void onLoadFailed(String message) {}
+    }
+
+    private static final String TAG = "TaskRepository";
+
+    private static final List<Listener> listeners = new CopyOnWriteArrayList<>();
+    private static final SyncedTaskStore.Listener syncListener = TaskRepository::onPhoneSnapshot;
+    private static final long REVALIDATE_AFTER_MILLIS = 5 * 60 * 1000;
+
+    private static final ExecutorService decodeExecutor = Executors.newSingleThreadExecutor();
+    private static final Handler mainHandler = new Handler(Looper.getMainLooper());
+    private static final TaskSearchIndex searchIndex = new TaskSearchIndex();
+    private static final DueIndex dueIndex = new DueIndex();
+
+    private static volatile List<TaskModel> tasks;
+    private static boolean loading;
+    // Bumped by invalidate(), so fetches started for the previous user are dropped
+    private static int generation;
+    private static boolean followingPhone;
+    private static boolean fromFirestore;
+    private static long lastServerRead;
+
+    private TaskRepository() {}
+
+    /** Current snapshot, or null before the first load. */
+    public static List<TaskModel> getTasks() {
+        return tasks;
+    }
+
+    /** Task with the given ID from the current snapshot, or null. */
+    public static TaskModel find(String taskId) {
+        if (tasks == null) return null;
+        int index = indexOf(tasks, taskId);
+        return index >= 0 ? tasks.get(index) : null;
+    }
+
+    /** IDs of tasks whose title matches {@code query} (prefix or substring of every word). */
+    public static Set<String> search(String query) {
+        return searchIndex.search(query);
+    }
+
+    /** Registers a listener, hands it the current snapshot and loads one if needed. */
+    public static void observe(Context context, Listener listener) {
+        listeners.add(listener);
+        if (tasks == null) {
+            load(context.getApplicationContext());
+            return;
+        }
+
+        listener.onTasksChanged(tasks);
+        if (fromFirestore && !loading
+                && SystemClock.elapsedRealtime() - lastServerRead > REVALIDATE_AFTER_MILLIS) {
+            // Stale-while-revalidate: keep showing the snapshot, reconcile in the background
+            fetchFromFirestore(context.getApplicationContext());
+        }
+    }
+
+    public static void removeListener(Listener listener) {
+        listeners.remove(listener);
+    }
+
+    /** Delivers the snapshot once, loading it first if needed. */
+    public static void get(Context context, Listener callback) {
+        observe(context, new Listener() {
+            @Override
+            public void onTasksChanged(List<TaskModel> tasks) {
+                removeListener(this);
+                callback.onTasksChanged(tasks);
+            }
+
+            @Override
+            public void onLoadFailed(String message) {
+                removeListener(this);
+                callback.onLoadFailed(message);
+            }
+        });
+    }
+
+    /** Applies a locally added or edited task to the snapshot. */
+    public static void upsert(Context context, TaskModel task) {
+        Context appContext = context.getApplicationContext();
+        Runnable reindex = () -> {
+            searchIndex.put(task.getTaskId(), task.getTitle());
+            dueIndex.put(task);
+            UpcomingTasksCache.upsert(appContext, task);
+        };
+        if (tasks == null) {
+            decodeExecutor.execute(reindex);
+            return;
+        }
+
+        List<TaskModel> updated = new ArrayList<>(tasks);
+        int index = indexOf(updated, task.getTaskId());
+        if (index >= 0) {
+            updated.set(index, task);
+        } else {
+            updated.add(0, task); // newest first, like the Firestore query
+        }
+        publish(updated, reindex);
+    }
+
+    /**
+     * Applies a locally deleted task to the snapshot. Returns its former index (for
+     * restore()), or -1 if it was not in the snapshot.
+     */
+    public static int remove(Context context, String taskId) {
+        Context appContext = context.getApplicationContext();
+        Runnable reindex = () -> {
+            searchIndex.remove(taskId);
+            dueIndex.remove(taskId);
+            UpcomingTasksCache.remove(appContext, taskId);
+        };
+        int index = tasks != null ? indexOf(tasks, taskId) : -1;
+        if (index < 0) {
+            decodeExecutor.execute(reindex);
+            return -1;
+        }
+
+        List<TaskModel> updated = new ArrayList<>(tasks);
+        updated.remove(index);
+        publish(updated, reindex);
+        return index;
+    }
+
+    /** Puts back a task whose optimistic removal failed to reach the backend. */
+    public static void restore(Context context, TaskModel task, int index) {
+        Context appContext = context.getApplicationContext();
+        Runnable reindex = () -> {
+            searchIndex.put(task.getTaskId(), task.getTitle());
+            dueIndex.put(task);
+            UpcomingTasksCache.upsert(appContext, task);
+        };
+        if (tasks == null || indexOf(tasks, task.getTaskId()) >= 0) {
+            decodeExecutor.execute(reindex);
+            return;
+        }
+
+        List<TaskModel> updated = new ArrayList<>(tasks);
+        updated.add(Math.max(0, Math.min(index, updated.size())), task);
+        publish(updated, reindex);
+    }
+
+    /**
+     * Drops everything known about the previous user (snapshot, indexes, the phone's
+     * synced copy and the Tile / complication summary) after the UID changed. Observers
+     * are handed an empty list; the next observe() loads the new user's tasks.
+     */
+    public static void invalidate(Context context) {
+        Context appContext = context.getApplicationContext();
+        generation++;
+        tasks = null;
+        loading = false;
+        fromFirestore = false;
+        SyncedTaskStore.clear(appContext);
+        decodeExecutor.execute(() -> {
+            searchIndex.clear();
+            dueIndex.clear();
+            UpcomingTasksCache.clear(appContext);
+        });
+        for (Listener listener : listeners) {
+            listener.onTasksChanged(Collections.emptyList());
+        }
+        if (!listeners.isEmpty()) load(appContext);
+    }
+
+    private static void load(Context context) {
+        if (!followingPhone) {
+            followingPhone = true;
+            SyncedTaskStore.addListener(syncListener);
+        }
+        if (loading) return;
+
+        if (BuildConfig.FAKE_DATA) {
+            publishSnapshot(FakeTaskSource.getTasks());
+            return;
+        }
+
+        List<TaskModel> synced = SyncedTaskStore.getTasks(context);
+        if (synced != null) {
+            onPhoneSnapshot(synced);
+        } else {
+            fetchFromFirestore(context);
+        }
+    }
+
+    /**
+     * Cache-first read: the locally persisted copy is shown at once (first load only), then
+     * the server result is reconciled into it and listeners hear about it only if it differs.
+     */
+    private static void fetchFromFirestore(Context context) {
+        String uid = MainActivity.getGlobalUid(context);
+        if (uid == null || uid.isEmpty()) {
+            fail("UID not set. Please login first.");
+            return;
+        }
+
+        Query query = FirestoreProvider.get(context).collection("users")
+                .document(uid)
+                .collection("tasks")
+                // Open tasks only; needs the (completed, timestamp desc) index in firestore.indexes.json
+                .whereEqualTo(TaskFields.COMPLETED, false)
+                .orderBy(TaskFields.TIMESTAMP, Query.Direction.DESCENDING);
+        int started = generation;
+        loading = true;
+
+        if (tasks == null) {
+            FirestoreMetrics.trackRead("repository.cacheFetch", query.get(Source.CACHE))
+                    .addOnSuccessListener(decodeExecutor, cached -> {
+                        if (cached.isEmpty()) return;
+                        List<TaskModel> decoded = decode(cached);
+                        mainHandler.post(() -> {
+                            // Ignore the cache if the server answered first
+                            if (started == generation && loading && tasks == null) {
+                                apply(context, merge(null, decoded));
+                            }
+                        });
+                    });
+        }
+
+        FirestoreMetrics.trackRead("repository.serverFetch", query.get(Source.SERVER))
+                .addOnSuccessListener(decodeExecutor, querySnapshot -> {
+                    List<TaskModel> base = tasks;
+                    List<TaskModel> decoded = decode(querySnapshot);
+                    List<TaskModel> merged = merge(base, decoded);
+                    mainHandler.post(() -> {
+                        if (started != generation) return;
+                        loading = false;
+                        lastServerRead = SystemClock.elapsedRealtime();
+                        // A local write may have landed while decoding; merge again against it
+                        apply(context, tasks == base ? merged : merge(tasks, decoded));
+                    });
+                })
+                .addOnFailureListener(e -> {
+                    if (started != generation) return;
+                    loading = false;
+                    Log.e(TAG, "Fetch error", e);
+                    if (tasks == null) {
+                        fail("Error fetching tasks");
+                    }
+                });
+    }
+
+    private static List<TaskModel> decode(QuerySnapshot querySnapshot) {
+        Trace.beginSection(TraceSections.DECODE);
+        try {
+            List<TaskModel> loaded = new ArrayList<>();
+            for (QueryDocumentSnapshot doc : querySnapshot) {
+                TaskModel task = TaskCodec.fromSnapshot(doc);
+                if (task.getTitle() != null && task.getDueDateTime() != null) {
+                    loaded.add(task);
+                } else {
+                    Log.w(TAG, "Missing fields in: " + doc.getId());
+                }
+            }
+            return loaded;
+        } finally {
+            Trace.endSection();
+        }
+    }
+
+    /**
+     * Merges a Firestore result into {@code base}, keeping unchanged task instances.
+     * Returns null when nothing differs. Safe to call off the main thread.
+     */
+    private static List<TaskModel> merge(List<TaskModel> base, List<TaskModel> fresh) {
+        Trace.beginSection(TraceSections.MERGE);
+        try {
+            Map<String, TaskModel> current = new HashMap<>();
+            if (base != null) {
+                for (TaskModel task : base) current.put(task.getTaskId(), task);
+            }
+
+            boolean changed = base == null || base.size() != fresh.size();
+            List<TaskModel> merged = new ArrayList<>(fresh.size());
+            for (int i = 0; i < fresh.size(); i++) {
+                TaskModel task = fresh.get(i);
+                TaskModel old = current.get(task.getTaskId());
+                TaskModel kept = old != null && sameContent(old, task) ? old : task;
+                merged.add(kept);
+                if (!changed && base.get(i) != kept) changed = true;
+            }
+            return changed ? merged : null;
+        } finally {
+            Trace.endSection();
+        }
+    }
+
+    private static void apply(Context context, List<TaskModel> merged) {
+        fromFirestore = true;
+        if (merged == null) return;
+
+        publishSnapshot(merged);
+        // Runs after the reindex queued above, so the cache is built from the updated due index
+        decodeExecutor.execute(() -> {
+            UpcomingTasksCache.refresh(context, dueIndex);
+            ReminderScheduler.scheduleRecurring(context, merged);
+        });
+    }
+
+    private static boolean sameContent(TaskModel a, TaskModel b) {
+        return a.isCompleted() == b.isCompleted()
+                && Objects.equals(a.getTitle(), b.getTitle())
+                && Objects.equals(a.getDueDateTime(), b.getDueDateTime())
+                && Objects.equals(a.getRecurrence(), b.getRecurrence())
+                && Objects.equals(a.getCompletedOccurrences(), b.getCompletedOccurrences());
+    }
+
+    private static void onPhoneSnapshot(List<TaskModel> snapshot) {
+        fromFirestore = false;
+        publishSnapshot(snapshot);
+    }
+
+    /** Publishes a whole snapshot, diffing it into the search and due indexes first. */
+    private static void publishSnapshot(List<TaskModel> snapshot) {
+        publish(snapshot, () -> {
+            Trace.beginSection(TraceSections.REINDEX);
+            try {
+                searchIndex.sync(snapshot);
+                dueIndex.sync(snapshot);
+            } finally {
+                Trace.endSection();
+            }
+        });
+    }
+
+    /**
+     * Makes {@code snapshot} current at once (later writes build on it), runs
+     * {@code reindex} on the background executor and only then notifies listeners, so a
+     * search never filters a list against an index that does not contain it yet. Skipped
+     * if a newer list was published meanwhile; that one is notified after its own reindex.
+     */
+    private static void publish(List<TaskModel> snapshot, Runnable reindex) {
+        List<TaskModel> current = Collections.unmodifiableList(snapshot);
+        tasks = current;
+        decodeExecutor.execute(() -> {
+            reindex.run();
+            mainHandler.post(() -> {
+                if (tasks == current) notifyListeners(current);
+            });
+        });
+    }
+
+    private static void notifyListeners(List<TaskModel> snapshot) {
+        Trace.beginSection(TraceSections.PUBLISH);
+        try {
+            Trace.setCounter(TraceSections.TASK_COUNT, snapshot.size());
+            for (Listener listener : listeners) {
+                listener.onTasksChanged(snapshot);
+            }
+        } finally {
+            Trace.endSection();
+        }
+    }
+
+    private static void fail(String message) {
+        for (Listener listener : listeners) {
+            listener.onLoadFailed(message);
+        }
+    }
+
+    private static int indexOf(List<TaskModel> list, String taskId) {
+        for (int i = 0; i < list.size(); i++) {
+            if (list.get(i).getTaskId().equals(taskId)) return i;
+        }
+        return -1;
+    }
+}
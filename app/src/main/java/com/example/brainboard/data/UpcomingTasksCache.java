@@ -0,0 +1,185 @@
+package com.example.brainboard.data;
+
+import android.content.ComponentName;
+import android.content.Context;
+import android.content.SharedPreferences;
+import android.util.Log;
+
+import androidx.wear.tiles.TileService;
+import androidx.wear.watchface.complications.datasource.ComplicationDataSourceUpdateRequester;
+
+import com.example.brainboard.models.TaskModel;
+import com.example.brainboard.shared.data.Occurrences;
+import com.example.brainboard.tiles.NextTaskComplicationService;
+import com.example.brainboard.tiles.UpcomingTaskTileService;
+
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * UpcomingTasksCache.java
+ *
+ * A small, locally persisted summary of the next tasks due, precomputed whenever the
+ * task list changes so the Tile and complication can render without launching an
+ * activity, initializing Firebase or touching the network.
+ *
+ * Features:
+ * - refresh(): rebuilds the summary from a DueIndex kept up to date by TaskRepository
+ *   (Firestore) or SyncedTaskStore (phone sync), without parsing any task.
+ * - upsert() / remove(): patches the summary after a local add, edit or delete.
+ * - read(): returns the cached entries that are still upcoming.
+ * - clear(): forgets the summary, e.g. when the signed-in user changed.
+ * - A recurring task contributes its next open occurrence only.
+ * - Requests a Tile and complication update only when the summary actually changed.
+ *
+ * Storage:
+ * - SharedPreferences ("upcoming_tasks") key "entries" holds a JSON array of
+ *   {taskId, title, dueMillis} sorted by due time.
+ *
+ * Notes:
+ * - Writers are synchronized, so a patch and a full refresh never interleave their
+ *   read-modify-write. They do disk I/O: call them off the main thread (TaskRepository
+ *   uses its background executor, SyncedTaskStore the Data Layer listener thread).
+ * - More entries than the Tile shows are kept, so a few completions or deletions can be
+ *   absorbed before the next full refresh.
+ */
+public final class UpcomingTasksCache {
+
+    public static class Entry {
+        public final String taskId;
+        public final String title;
+        public final long dueMillis;
+
+        public Entry(String taskId, String title, long dueMillis) {
+            this.taskId = taskId;
+            this.title = title;
+            this.dueMillis = dueMillis;
+        }
+    }
+
+    private static final String TAG = "UpcomingTasksCache";
+    private static final String PREF_NAME = "upcoming_tasks";
+    private static final String KEY_ENTRIES = "entries";
+    private static final int MAX_ENTRIES = 10;
+
+    private UpcomingTasksCache() {}
+
+    /** Rebuilds the summary from the next entries of an up-to-date DueIndex. */
+    public static synchronized void refresh(Context context, DueIndex index) {
+        List<Entry> entries = new ArrayList<>();
+        for (DueIndex.Entry next : index.next(System.currentTimeMillis(), MAX_ENTRIES)) {
+            entries.add(new Entry(next.taskId, next.title, next.dueMillis));
+        }
+        write(context, entries);
+    }
+
+    /** Adds or replaces a single task after a local write. */
+    public static synchronized void upsert(Context context, TaskModel task) {
+        List<Entry> entries = readAll(context);
+        removeById(entries, task.getTaskId());
+        Entry entry = toEntry(task, System.currentTimeMillis());
+        if (entry != null) entries.add(entry);
+        write(context, entries);
+    }
+
+    /** Drops a single task after a local delete or completion. */
+    public static synchronized void remove(Context context, String taskId) {
+        List<Entry> entries = readAll(context);
+        if (removeById(entries, taskId)) write(context, entries);
+    }
+
+    /** Drops the summary and blanks the Tile and complication. */
+    public static synchronized void clear(Context context) {
+        if (!prefs(context).contains(KEY_ENTRIES)) return;
+        prefs(context).edit().remove(KEY_ENTRIES).apply();
+        notifySurfaces(context);
+    }
+
+    /** Cached entries that are not yet due, soonest first. */
+    public static List<Entry> read(Context context) {
+        List<Entry> upcoming = new ArrayList<>();
+        long now = System.currentTimeMillis();
+        for (Entry entry : readAll(context)) {
+            if (entry.dueMillis >= now) upcoming.add(entry);
+        }
+        return upcoming;
+    }
+
+    private static Entry toEntry(TaskModel task, long now) {
+        if (task.getTaskId() == null) return null;
+        // Recurring tasks: the next open occurrence; one-off tasks: their due time
+        long due = Occurrences.nextOpen(task, now);
+        if (due < now) return null;
+        return new Entry(task.getTaskId(), task.getTitle(), due);
+    }
+
+    private static boolean removeById(List<Entry> entries, String taskId) {
+        for (int i = 0; i < entries.size(); i++) {
+            if (entries.get(i).taskId.equals(taskId)) {
+                entries.remove(i);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static List<Entry> readAll(Context context) {
+        List<Entry> entries = new ArrayList<>();
+        String json = prefs(context).getString(KEY_ENTRIES, null);
+        if (json == null) return entries;
+        try {
+            JSONArray array = new JSONArray(json);
+            for (int i = 0; i < array.length(); i++) {
+                JSONObject item = array.getJSONObject(i);
+                entries.add(new Entry(item.getString("taskId"), item.optString("title"), item.getLong("dueMillis")));
+            }
+        } catch (JSONException e) {
+            Log.e(TAG, "Corrupt upcoming cache", e);
+        }
+        return entries;
+    }
+
+    private static void write(Context context, List<Entry> entries) {
+        Collections.sort(entries, (a, b) -> Long.compare(a.dueMillis, b.dueMillis));
+        if (entries.size() > MAX_ENTRIES) {
+            entries = new ArrayList<>(entries.subList(0, MAX_ENTRIES));
+        }
+
+        JSONArray array = new JSONArray();
+        try {
+            for (Entry entry : entries) {
+                JSONObject item = new JSONObject();
+                item.put("taskId", entry.taskId);
+                item.put("title", entry.title);
+                item.put("dueMillis", entry.dueMillis);
+                array.put(item);
+            }
+        } catch (JSONException e) {
+            Log.e(TAG, "Failed to encode upcoming cache", e);
+            return;
+        }
+
+        String json = array.toString();
+        SharedPreferences prefs = prefs(context);
+        if (json.equals(prefs.getString(KEY_ENTRIES, null))) return; // nothing changed
+
+        prefs.edit().putString(KEY_ENTRIES, json).apply();
+        notifySurfaces(context);
+    }
+
+    private static void notifySurfaces(Context context) {
+        TileService.getUpdater(context).requestUpdate(UpcomingTaskTileService.class);
+        ComplicationDataSourceUpdateRequester
+                .create(context, new ComponentName(context, NextTaskComplicationService.class))
+                .requestUpdateAll();
+    }
+
+    private static SharedPreferences prefs(Context context) {
+        return context.getSharedPreferences(PREF_NAME, Context.MODE_PRIVATE);
+    }
+}
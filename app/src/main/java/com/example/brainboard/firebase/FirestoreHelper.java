@@ -4,12 +4,15 @@ import android.content.Context;
 import android.content.SharedPreferences;
 import android.util.Log;
 
+import com.example.brainboard.data.TaskRepository;
 import com.example.brainboard.models.TaskModel;
+import com.example.brainboard.shared.metrics.FirestoreMetrics;
+import com.google.firebase.firestore.DocumentReference;
 import com.google.firebase.firestore.FirebaseFirestore;
-import com.google.firebase.firestore.QueryDocumentSnapshot;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.function.Consumer;
 
 /**
@@ -19,9 +22,10 @@ import java.util.function.Consumer;
  * in the BrainBoard app.
  *
  * Features:
- * - Fetches tasks from Firestore and maps them to TaskModel objects
+ * - Fetches tasks through the shared TaskRepository snapshot
  * - Adds or updates a task in Firestore
  * - Deletes a task from Firestore
+ * - Applies successful writes to TaskRepository so open screens stay current
  *
  * Usage:
  * - Requires access to a valid Firebase UID stored in SharedPreferences ("wearPrefs")
@@ -33,18 +37,21 @@ import java.util.function.Consumer;
  * - TaskModel (custom model class for task objects)
  *
  * Notes:
- * - The `updateTask()` method is an alias for `addTask()` (since Firestore `.set()` overwrites)
+ * - `addTask()` writes the full document with server timestamps; `updateTask()` sends only
+ *   the fields that changed (see TaskFields), so "timestamp" and other fields survive edits
  * - Gracefully handles null UID scenarios and logs errors
+ * - Every write is recorded in FirestoreMetrics under "helper.<method>"
  */
 
 
 public class FirestoreHelper {
 
-    private final FirebaseFirestore db = FirebaseFirestore.getInstance();
+    private final FirebaseFirestore db;
     private final Context context;
 
     public FirestoreHelper(Context context) {
         this.context = context;
+        this.db = FirestoreProvider.get(context);
     }
 
     private String getUid() {
@@ -52,55 +59,66 @@ public class FirestoreHelper {
         return prefs.getString("firebase_uid", null);
     }
 
-    public void fetchTasks(Consumer<List<TaskModel>> callback) {
-        String uid = getUid();
-        if (uid == null) {
-            Log.e("FirestoreHelper", "UID is null");
-            callback.accept(new ArrayList<>());
-            return;
-        }
+    private DocumentReference taskDocument(String uid, String taskId) {
+        return db.collection("users").document(uid).collection("tasks").document(taskId);
+    }
 
-        db.collection("users").document(uid).collection("tasks")
-                .get()
-                .addOnSuccessListener(snapshot -> {
-                    List<TaskModel> list = new ArrayList<>();
-                    for (QueryDocumentSnapshot doc : snapshot) {
-                        list.add(doc.toObject(TaskModel.class));
-                    }
-                    callback.accept(list);
-                })
-                .addOnFailureListener(e -> {
-                    Log.e("FirestoreHelper", "Failed to fetch tasks", e);
-                    callback.accept(new ArrayList<>());
-                });
+    public void fetchTasks(Consumer<List<TaskModel>> callback) {
+        // Served from the shared in-memory snapshot; only the first read hits Firestore
+        TaskRepository.get(context, new TaskRepository.Listener() {
+            @Override
+            public void onTasksChanged(List<TaskModel> tasks) {
+                callback.accept(tasks);
+            }
+
+            @Override
+            public void onLoadFailed(String message) {
+                Log.e("FirestoreHelper", "Failed to fetch tasks: " + message);
+                callback.accept(new ArrayList<>());
+            }
+        });
     }
 
     public void addTask(TaskModel task, Runnable onSuccess) {
         String uid = getUid();
         if (uid == null) return;
 
-        db.collection("users").document(uid)
-                .collection("tasks").document(task.getTaskId())
-                .set(task)
+        Map<String, Object> data = TaskFields.forCreate(task);
+        FirestoreMetrics.trackWrite("helper.addTask", 1, data, taskDocument(uid, task.getTaskId()).set(data))
                 .addOnSuccessListener(aVoid -> {
                     Log.d("FirestoreHelper", "Task added");
+                    TaskRepository.upsert(context, task);
                     onSuccess.run();
                 });
     }
 
-    public void updateTask(TaskModel task, Runnable onSuccess) {
-        addTask(task, onSuccess); // same logic as add
+    public void updateTask(TaskModel original, TaskModel updated, Runnable onSuccess) {
+        String uid = getUid();
+        if (uid == null) return;
+
+        Map<String, Object> changes = TaskFields.diff(original, updated);
+        if (changes.isEmpty()) {
+            onSuccess.run();
+            return;
+        }
+
+        FirestoreMetrics.trackWrite("helper.updateTask", 1, changes,
+                        taskDocument(uid, updated.getTaskId()).update(changes))
+                .addOnSuccessListener(aVoid -> {
+                    Log.d("FirestoreHelper", "Task updated");
+                    TaskRepository.upsert(context, updated);
+                    onSuccess.run();
+                });
     }
 
     public void deleteTask(TaskModel task, Runnable onSuccess) {
         String uid = getUid();
         if (uid == null) return;
 
-        db.collection("users").document(uid)
-                .collection("tasks").document(task.getTaskId())
-                .delete()
+        FirestoreMetrics.trackWrite("helper.deleteTask", 1, null, taskDocument(uid, task.getTaskId()).delete())
                 .addOnSuccessListener(aVoid -> {
                     Log.d("FirestoreHelper", "Task deleted");
+                    TaskRepository.remove(context, task.getTaskId());
                     onSuccess.run();
                 });
     }
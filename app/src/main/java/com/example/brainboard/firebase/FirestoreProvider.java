@@ -0,0 +1,88 @@
+package com.example.brainboard.firebase;
+
+import android.content.Context;
+import android.os.Looper;
+
+import com.google.firebase.FirebaseApp;
+import com.google.firebase.firestore.FirebaseFirestore;
+import com.google.firebase.firestore.FirebaseFirestoreSettings;
+import com.google.firebase.firestore.PersistentCacheIndexManager;
+import com.google.firebase.firestore.PersistentCacheSettings;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * FirestoreProvider.java
+ *
+ * Initializes Firebase and Firestore once per process, lazily, and hands out the shared
+ * FirebaseFirestore instance to the rest of the wear app.
+ *
+ * Startup:
+ * - The automatic FirebaseInitProvider is removed from the manifest, so nothing Firebase
+ *   related runs before the first activity is drawn.
+ * - warmUp() is called by MainActivity once its first frame is idle and initializes
+ *   Firebase on a background thread, off the critical path.
+ * - get() initializes synchronously only if a screen needs Firestore before warm-up ran.
+ *
+ * Settings:
+ * - Persistent (on-disk) cache capped at CACHE_SIZE_BYTES, so cache-first reads in
+ *   TaskRepository work offline and across restarts.
+ * - Persistent cache index auto-creation, so offline queries (e.g. ordered by timestamp)
+ *   do not scan the whole cached collection.
+ *
+ * Notes:
+ * - Screens backed by the phone sync, the Tile and the complication never call get(),
+ *   so they never pay for Firebase initialization.
+ */
+public final class FirestoreProvider {
+
+    // Watch storage is small; the task collection fits comfortably in this
+    private static final long CACHE_SIZE_BYTES = 20L * 1024 * 1024;
+
+    private static final ExecutorService initExecutor = Executors.newSingleThreadExecutor();
+    private static volatile FirebaseFirestore instance;
+
+    private FirestoreProvider() {}
+
+    public static FirebaseFirestore get(Context context) {
+        FirebaseFirestore db = instance;
+        if (db != null) return db;
+
+        synchronized (FirestoreProvider.class) {
+            if (instance == null) {
+                Context appContext = context.getApplicationContext();
+                if (FirebaseApp.getApps(appContext).isEmpty()) {
+                    FirebaseApp.initializeApp(appContext);
+                }
+                instance = configure(FirebaseFirestore.getInstance());
+            }
+            return instance;
+        }
+    }
+
+    private static FirebaseFirestore configure(FirebaseFirestore db) {
+        db.setFirestoreSettings(new FirebaseFirestoreSettings.Builder()
+                .setLocalCacheSettings(PersistentCacheSettings.newBuilder()
+                        .setSizeBytes(CACHE_SIZE_BYTES)
+                        .build())
+                .build());
+
+        PersistentCacheIndexManager indexManager = db.getPersistentCacheIndexManager();
+        if (indexManager != null) {
+            indexManager.enablePersistentCacheIndexAutoCreation();
+        }
+        return db;
+    }
+
+    /** Initializes Firebase in the background so later get() calls return immediately. */
+    public static void warmUp(Context context) {
+        if (instance != null) return;
+        Context appContext = context.getApplicationContext();
+        if (Looper.myLooper() == Looper.getMainLooper()) {
+            initExecutor.execute(() -> get(appContext));
+        } else {
+            get(appContext);
+        }
+    }
+}
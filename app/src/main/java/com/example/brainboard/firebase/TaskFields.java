@@ -0,0 +1,79 @@
+package com.example.brainboard.firebase;
+
+import com.example.brainboard.models.TaskModel;
+import com.google.firebase.firestore.FieldValue;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * TaskFields.java
+ *
+ * Builds the field maps written to task documents (users/{uid}/tasks/{taskId}).
+ *
+ * Features:
+ * - forCreate(): the full document for a new task, stamped with server-side
+ *   "timestamp" (creation, used for ordering) and "updatedAt" values.
+ * - diff(): only the fields an edit actually changed, plus a server "updatedAt",
+ *   for use with update() so untouched fields (timestamp, counters, fields written
+ *   by the other device) are preserved and payloads stay small.
+ * - completedAt(): the "completedAt" value matching a completed flag, stamped on
+ *   completion and cleared on reopen.
+ */
+public final class TaskFields {
+
+    public static final String TASK_ID = "taskId";
+    public static final String TITLE = "title";
+    public static final String DUE_DATE_TIME = "dueDateTime";
+    public static final String COMPLETED = "completed";
+    public static final String TIMESTAMP = "timestamp";
+    public static final String UPDATED_AT = "updatedAt";
+    // Set when a task is marked completed and removed when it is reopened; the archival
+    // job moves tasks completed longer ago than the configured age to users/{uid}/archive
+    public static final String COMPLETED_AT = "completedAt";
+    // Recurring tasks: the RecurrenceRule string and the keys of completed occurrences
+    // (written by the phone; see data/Occurrences)
+    public static final String RECURRENCE = "recurrence";
+    public static final String COMPLETED_OCCURRENCES = "completedOccurrences";
+
+    private TaskFields() {}
+
+    public static Map<String, Object> forCreate(TaskModel task) {
+        Map<String, Object> fields = TaskCodec.toMap(task);
+        fields.put(TIMESTAMP, FieldValue.serverTimestamp());
+        fields.put(UPDATED_AT, FieldValue.serverTimestamp());
+        if (task.isCompleted()) {
+            fields.put(COMPLETED_AT, FieldValue.serverTimestamp());
+        }
+        return fields;
+    }
+
+    /** Changed fields of {@code updated} relative to {@code original}; empty when nothing changed. */
+    public static Map<String, Object> diff(TaskModel original, TaskModel updated) {
+        Map<String, Object> changes = new HashMap<>();
+        if (!Objects.equals(original.getTitle(), updated.getTitle())) {
+            changes.put(TITLE, updated.getTitle());
+        }
+        if (!Objects.equals(original.getDueDateTime(), updated.getDueDateTime())) {
+            changes.put(DUE_DATE_TIME, updated.getDueDateTime());
+        }
+        if (original.isCompleted() != updated.isCompleted()) {
+            changes.put(COMPLETED, updated.isCompleted());
+            changes.put(COMPLETED_AT, completedAt(updated.isCompleted()));
+        }
+        if (!Objects.equals(original.getRecurrence(), updated.getRecurrence())) {
+            changes.put(RECURRENCE, updated.getRecurrence() != null
+                    ? updated.getRecurrence() : FieldValue.delete());
+        }
+        if (!changes.isEmpty()) {
+            changes.put(UPDATED_AT, FieldValue.serverTimestamp());
+        }
+        return changes;
+    }
+
+    /** Value for COMPLETED_AT when the completed flag is set to {@code completed}. */
+    public static Object completedAt(boolean completed) {
+        return completed ? FieldValue.serverTimestamp() : FieldValue.delete();
+    }
+}
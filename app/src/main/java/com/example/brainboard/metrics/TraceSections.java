@@ -0,0 +1,39 @@
+package com.example.brainboard.metrics;
+
+/**
+ * TraceSections.java
+ *
+ * Names of the trace sections and counters the watch app emits with androidx.tracing, so
+ * a Perfetto trace (or a :macrobenchmark TraceSectionMetric) shows where a slow list or
+ * chart frame spent its time.
+ *
+ * Pipeline:
+ * - Firestore: DECODE (documents to TaskModel) -> MERGE (diff against the current
+ *   snapshot) -> PUBLISH (listeners, i.e. adapter updates) -> BIND per row.
+ * - Phone sync: SYNC_DECODE (DataMap to TaskModel) -> PUBLISH -> BIND.
+ * - Chart: CHART_RENDER (async, onCreate to first draw) spans CHART_AGGREGATE and CHART_DRAW.
+ *
+ * Notes:
+ * - androidx.tracing checks whether tracing is on before emitting, so sections cost next
+ *   to nothing in release builds unless a trace is being recorded; the benchmark build
+ *   type is <profileable> (src/benchmark/AndroidManifest.xml), so it can be traced.
+ * - The macrobenchmark module repeats these strings; keep them in sync.
+ */
+public final class TraceSections {
+
+    public static final String DECODE = "TaskRepository.decode";
+    public static final String MERGE = "TaskRepository.merge";
+    public static final String PUBLISH = "TaskRepository.publish";
+    public static final String REINDEX = "TaskRepository.reindex";
+    public static final String SYNC_DECODE = "SyncedTaskStore.decode";
+    public static final String BIND = "TaskAdapter.bind";
+    public static final String CHART_RENDER = "ChartActivity.render";
+    public static final String CHART_AGGREGATE = "ChartActivity.aggregate";
+    public static final String CHART_DRAW = "ChartActivity.drawBarChart";
+    public static final String NOTIFICATION_BUILD = "Notification.build";
+
+    /** Counter: tasks in the published snapshot. */
+    public static final String TASK_COUNT = "TaskRepository.taskCount";
+
+    private TraceSections() {}
+}
@@ -0,0 +1,36 @@
+package com.example.brainboard.models;
+
+/**
+ * FocusSession.java
+ *
+ * A data model representing one Pomodoro focus session recorded by the timer.
+ *
+ * Fields:
+ * - startedAt: Wall-clock start time in milliseconds since epoch
+ * - durationMillis: How long the user actually focused
+ * - taskId: Optional ID of the task the session was linked to (null when unlinked)
+ * - completed: True when the full session ran out, false when it was stopped early
+ */
+
+
+public class FocusSession {
+    private final long startedAt;
+    private final long durationMillis;
+    private final String taskId;
+    private final boolean completed;
+
+    public FocusSession(long startedAt, long durationMillis, String taskId, boolean completed) {
+        this.startedAt = startedAt;
+        this.durationMillis = durationMillis;
+        this.taskId = taskId;
+        this.completed = completed;
+    }
+
+    public long getStartedAt() { return startedAt; }
+
+    public long getDurationMillis() { return durationMillis; }
+
+    public String getTaskId() { return taskId; }
+
+    public boolean isCompleted() { return completed; }
+}
@@ -1,5 +1,9 @@
 package com.example.brainboard.models;
 
+import com.example.brainboard.shared.data.TaskRecord;
+
+import java.util.List;
+
 /**
  * TaskModel.java
  *
@@ -11,17 +15,24 @@ package com.example.brainboard.models;
  * - title: Task description or name
  * - dueDateTime: Due date and time in string format (e.g., "dd/MM/yyyy HH:mm:ss.SSS")
  * - completed: Boolean flag indicating task completion status
+ * - recurrence: RecurrenceRule string for a repeating task, null for a one-off task;
+ *   dueDateTime then starts the series
+ * - completedOccurrences: keys ("yyyyMMdd") of the completed occurrences of a repeating
+ *   task, stored sparsely (see Occurrences); null when there are none
  *
  * Notes:
  * - Provides getters and setters for all fields
+ * - Implements TaskRecord so the :shared search index and Occurrences can read it
  */
 
 
-public class TaskModel {
+public class TaskModel implements TaskRecord {
     private String taskId;
     private String title;
     private String dueDateTime;
     private boolean completed;
+    private String recurrence;
+    private List<String> completedOccurrences;
 
     public TaskModel() {}  // Required by Firestore
 
@@ -32,6 +43,13 @@ public class TaskModel {
         this.completed = completed;
     }
 
+    public TaskModel(String taskId, String title, String dueDateTime, boolean completed,
+                     String recurrence, List<String> completedOccurrences) {
+        this(taskId, title, dueDateTime, completed);
+        this.recurrence = recurrence;
+        this.completedOccurrences = completedOccurrences;
+    }
+
     // Getters and setters
     public String getTaskId() { return taskId; }
     public void setTaskId(String taskId) { this.taskId = taskId; }
@@ -44,4 +62,10 @@ public class TaskModel {
 
     public boolean isCompleted() { return completed; }
     public void setCompleted(boolean completed) { this.completed = completed; }
+
+    public String getRecurrence() { return recurrence; }
+    public void setRecurrence(String recurrence) { this.recurrence = recurrence; }
+
+    public List<String> getCompletedOccurrences() { return completedOccurrences; }
+    public void setCompletedOccurrences(List<String> completedOccurrences) { this.completedOccurrences = completedOccurrences; }
 }
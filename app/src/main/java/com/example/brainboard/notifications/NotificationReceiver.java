@@ -9,8 +9,10 @@ import android.content.Intent;
 import android.os.Build;
 
 import androidx.core.app.NotificationCompat;
+import androidx.tracing.Trace;
 
 import com.example.brainboard.R;
+import com.example.brainboard.metrics.TraceSections;
 
 /**
  * NotificationReceiver.java
@@ -20,6 +22,8 @@ import com.example.brainboard.R;
  *
  * Features:
  * - Displays a notification when a task is due soon
+ * - For a recurring task, schedules the reminder of its next occurrence once this one
+ *   is shown (ReminderScheduler)
  * - Handles three user actions directly from the notification:
  *     - ✔️ Mark as Done: Removes the task from SharedPreferences (can be extended)
  *     - 🔁 Snooze: Reschedules the reminder 5 minutes later
@@ -31,6 +35,7 @@ import com.example.brainboard.R;
  * - Notification includes three interactive action buttons
  *
  * Dependencies:
+ * - ReminderScheduler: Schedules the reminders this receiver shows
  * - NotificationUtils: Utility class to handle rescheduling for snooze
  * - SharedPreferences ("taskPrefs"): Used to simulate marking a task as done
  *
@@ -72,11 +77,21 @@ public class NotificationReceiver extends BroadcastReceiver {
             }
         }
 
-        // Normal notification
+        // Normal notification; a recurring task's reminder also arms its next occurrence
         showNotification(context, taskTitle, taskId);
+        ReminderScheduler.onReminderFired(context, intent);
     }
 
     private void showNotification(Context context, String taskTitle, String taskId) {
+        Trace.beginSection(TraceSections.NOTIFICATION_BUILD);
+        try {
+            buildAndNotify(context, taskTitle, taskId);
+        } finally {
+            Trace.endSection();
+        }
+    }
+
+    private void buildAndNotify(Context context, String taskTitle, String taskId) {
         NotificationManager notificationManager = (NotificationManager)
                 context.getSystemService(Context.NOTIFICATION_SERVICE);
 
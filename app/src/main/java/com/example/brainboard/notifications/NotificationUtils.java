@@ -4,6 +4,7 @@ import android.app.AlarmManager;
 import android.app.PendingIntent;
 import android.content.Context;
 import android.content.Intent;
+import android.net.Uri;
 
 /**
  * NotificationUtils.java
@@ -13,6 +14,8 @@ import android.content.Intent;
  * Features:
  * - Schedules a one-time snoozed notification using AlarmManager.
  * - Accepts a custom delay duration (in milliseconds) for flexible snoozing.
+ * - The alarm carries its own data URI, so it never replaces or is cancelled with the
+ *   task's scheduled reminder (ReminderScheduler).
  *
  * Parameters:
  * - context: Application or activity context
@@ -32,6 +35,7 @@ public class NotificationUtils {
         Intent intent = new Intent(context, NotificationReceiver.class);
         intent.putExtra("taskTitle", taskTitle);
         intent.putExtra("taskId", taskId);
+        intent.setData(Uri.parse("brainboard://snooze/" + Uri.encode(taskId)));
 
         PendingIntent pendingIntent = PendingIntent.getBroadcast(
                 context, taskId.hashCode(), intent, PendingIntent.FLAG_IMMUTABLE);
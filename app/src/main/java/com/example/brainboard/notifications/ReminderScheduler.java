@@ -0,0 +1,143 @@
+package com.example.brainboard.notifications;
+
+import android.app.AlarmManager;
+import android.app.PendingIntent;
+import android.content.Context;
+import android.content.Intent;
+import android.net.Uri;
+
+import com.example.brainboard.data.TaskRepository;
+import com.example.brainboard.models.TaskModel;
+import com.example.brainboard.shared.data.DueDates;
+import com.example.brainboard.shared.data.Occurrences;
+import com.example.brainboard.sync.SyncedTaskStore;
+
+import java.time.ZoneId;
+import java.util.List;
+
+/**
+ * ReminderScheduler.java
+ *
+ * Schedules the "due soon" reminder (NotificationReceiver) an hour before a task is due.
+ *
+ * Features:
+ * - schedule(): a one-off task gets one alarm, moved to a few seconds from now if the
+ *   reminder time has already passed. A recurring task gets an alarm for its next open
+ *   occurrence only (see data/Occurrences); when it fires, NotificationReceiver calls
+ *   onReminderFired(), which arms the one after. A series never holds more than one
+ *   pending alarm, however long it runs.
+ * - scheduleRecurring(): re-arms every recurring task of a snapshot, so series created or
+ *   changed on the phone, and occurrences completed there, reach the alarm.
+ *
+ * Notes:
+ * - Alarms use taskId.hashCode() as request code, so rescheduling a task replaces its
+ *   pending alarm. Recurring alarms also carry a per-task data URI (recurringUri()),
+ *   which makes them a different PendingIntent from one-off alarms: schedule() cancels
+ *   the other kind, so adding or dropping a rule never leaves the old alarm armed.
+ *   Snoozed reminders (NotificationUtils) have a URI of their own and are left alone.
+ * - A recurring reminder whose task is no longer in the repository or the synced
+ *   snapshot is not re-armed.
+ */
+public final class ReminderScheduler {
+
+    public static final long REMINDER_LEAD_MILLIS = 60 * 60 * 1000;
+    private static final long PAST_DUE_DELAY_MILLIS = 3000;
+
+    static final String EXTRA_RECURRENCE = "recurrence";
+    static final String EXTRA_DUE_DATE_TIME = "dueDateTime";
+    static final String EXTRA_OCCURRENCE = "occurrenceMillis";
+
+    private ReminderScheduler() {}
+
+    public static void schedule(Context context, TaskModel task) {
+        if (task.getRecurrence() == null) {
+            // Drop the alarm of a rule the task no longer has
+            Intent recurring = reminderIntent(context, task).setData(recurringUri(task.getTaskId()));
+            alarmManager(context).cancel(pendingIntent(context, recurring, task.getTaskId()));
+
+            long due = DueDates.parse(task.getDueDateTime());
+            if (due < 0 || task.isCompleted()) return;
+            long trigger = Math.max(due - REMINDER_LEAD_MILLIS, System.currentTimeMillis() + PAST_DUE_DELAY_MILLIS);
+            setAlarm(context, reminderIntent(context, task), task.getTaskId(), trigger);
+            return;
+        }
+        // A task that just gained a rule drops its one-off alarm
+        alarmManager(context).cancel(pendingIntent(context, reminderIntent(context, task), task.getTaskId()));
+        // Occurrences whose reminder time has passed are skipped rather than fired late
+        scheduleFrom(context, task, System.currentTimeMillis() + REMINDER_LEAD_MILLIS);
+    }
+
+    public static void scheduleRecurring(Context context, List<TaskModel> tasks) {
+        for (TaskModel task : tasks) {
+            if (task.getRecurrence() != null) schedule(context, task);
+        }
+    }
+
+    /** Arms the occurrence after the one a recurring reminder was just shown for. */
+    static void onReminderFired(Context context, Intent intent) {
+        String recurrence = intent.getStringExtra(EXTRA_RECURRENCE);
+        String taskId = intent.getStringExtra("taskId");
+        if (recurrence == null || taskId == null) return;
+
+        List<TaskModel> known = TaskRepository.getTasks();
+        if (known == null) known = SyncedTaskStore.getTasks(context);
+        TaskModel task = find(known, taskId);
+        if (task == null) {
+            if (known != null) return; // Deleted since the alarm was set
+            task = new TaskModel(taskId, intent.getStringExtra("taskTitle"),
+                    intent.getStringExtra(EXTRA_DUE_DATE_TIME), false, recurrence, null);
+        } else if (task.getRecurrence() == null) {
+            return; // The rule was dropped since the alarm was set
+        }
+        long shown = intent.getLongExtra(EXTRA_OCCURRENCE, System.currentTimeMillis());
+        scheduleFrom(context, task, Math.max(shown + 1, System.currentTimeMillis() + REMINDER_LEAD_MILLIS));
+    }
+
+    private static void scheduleFrom(Context context, TaskModel task, long fromMillis) {
+        long due = Occurrences.firstOpenFrom(task, fromMillis, ZoneId.systemDefault());
+        Intent intent = reminderIntent(context, task);
+        intent.setData(recurringUri(task.getTaskId()));
+        if (due < 0) {
+            // Series ended or task completed: drop any alarm still pending for it
+            alarmManager(context).cancel(pendingIntent(context, intent, task.getTaskId()));
+            return;
+        }
+        intent.putExtra(EXTRA_RECURRENCE, task.getRecurrence());
+        intent.putExtra(EXTRA_DUE_DATE_TIME, task.getDueDateTime());
+        intent.putExtra(EXTRA_OCCURRENCE, due);
+        setAlarm(context, intent, task.getTaskId(), due - REMINDER_LEAD_MILLIS);
+    }
+
+    private static Intent reminderIntent(Context context, TaskModel task) {
+        Intent intent = new Intent(context, NotificationReceiver.class);
+        intent.putExtra("taskTitle", task.getTitle());
+        intent.putExtra("taskId", task.getTaskId());
+        return intent;
+    }
+
+    private static Uri recurringUri(String taskId) {
+        return Uri.parse("brainboard://reminder/" + Uri.encode(taskId));
+    }
+
+    private static void setAlarm(Context context, Intent intent, String taskId, long triggerMillis) {
+        alarmManager(context).setExact(AlarmManager.RTC_WAKEUP, triggerMillis,
+                pendingIntent(context, intent, taskId));
+    }
+
+    private static PendingIntent pendingIntent(Context context, Intent intent, String taskId) {
+        return PendingIntent.getBroadcast(context, taskId.hashCode(), intent,
+                PendingIntent.FLAG_IMMUTABLE | PendingIntent.FLAG_UPDATE_CURRENT);
+    }
+
+    private static AlarmManager alarmManager(Context context) {
+        return (AlarmManager) context.getSystemService(Context.ALARM_SERVICE);
+    }
+
+    private static TaskModel find(List<TaskModel> tasks, String taskId) {
+        if (tasks == null) return null;
+        for (TaskModel task : tasks) {
+            if (taskId.equals(task.getTaskId())) return task;
+        }
+        return null;
+    }
+}
@@ -0,0 +1,127 @@
+package com.example.brainboard.sync;
+
+import android.content.Context;
+import android.os.Handler;
+import android.os.Looper;
+import android.util.Log;
+
+import com.google.android.gms.wearable.CapabilityClient;
+import com.google.android.gms.wearable.DataMap;
+import com.google.android.gms.wearable.Node;
+import com.google.android.gms.wearable.Wearable;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * PhoneSyncClient.java
+ *
+ * Sends task mutations and sync requests from the watch to the paired phone over the
+ * Wearable Data Layer (MessageClient). The phone app (PhoneSyncService) applies them to
+ * Firestore and pushes the updated task snapshot back.
+ *
+ * Features:
+ * - Finds a reachable phone node advertising DataLayerPaths.PHONE_CAPABILITY.
+ * - Sends the mutation as a serialized DataMap tagged with a request ID.
+ * - Runs a fallback (usually the direct Firestore call) when no phone is reachable, the
+ *   message cannot be delivered, the phone answers with an error (e.g. not signed in or
+ *   the write failed), or no answer arrives within ACK_TIMEOUT_MILLIS.
+ *
+ * Notes:
+ * - Routing writes through the phone keeps the watch's own radio idle.
+ * - Answers arrive as DataLayerPaths.TASK_RESULT in TaskSyncListenerService (onResult()).
+ * - The fallbacks repeat the same set/update/delete on the same task ID, so running one
+ *   after a slow phone did write it is harmless.
+ * - Fallbacks run on the main thread.
+ */
+public final class PhoneSyncClient {
+
+    private static final String TAG = "PhoneSyncClient";
+    static final long ACK_TIMEOUT_MILLIS = 30_000;
+
+    private static final Handler mainHandler = new Handler(Looper.getMainLooper());
+    // Request ID -> fallback, for mutations the phone has not answered yet
+    private static final Map<String, Runnable> pending = new ConcurrentHashMap<>();
+
+    private PhoneSyncClient() {}
+
+    /** Sends a task mutation to the phone, or runs {@code fallback} when that is not possible. */
+    public static void sendToPhone(Context context, String path, DataMap payload, Runnable fallback) {
+        Context appContext = context.getApplicationContext();
+        String requestId = null;
+        if (payload != null && fallback != null) {
+            requestId = UUID.randomUUID().toString();
+            payload.putString(DataLayerPaths.KEY_REQUEST_ID, requestId);
+        }
+        byte[] data = payload != null ? payload.toByteArray() : new byte[0];
+        String id = requestId;
+
+        Wearable.getCapabilityClient(appContext)
+                .getCapability(DataLayerPaths.PHONE_CAPABILITY, CapabilityClient.FILTER_REACHABLE)
+                .addOnSuccessListener(info -> {
+                    Node node = pickNode(info.getNodes());
+                    if (node == null) {
+                        if (fallback != null) fallback.run();
+                        return;
+                    }
+                    if (id != null) {
+                        pending.put(id, fallback);
+                        mainHandler.postDelayed(() -> {
+                            if (pending.remove(id) != null) {
+                                Log.w(TAG, "No answer from phone for " + path);
+                                fallback.run();
+                            }
+                        }, ACK_TIMEOUT_MILLIS);
+                    }
+                    Wearable.getMessageClient(appContext)
+                            .sendMessage(node.getId(), path, data)
+                            .addOnFailureListener(e -> {
+                                Log.w(TAG, "Phone unreachable for " + path, e);
+                                if (id == null || pending.remove(id) != null) {
+                                    if (fallback != null) fallback.run();
+                                }
+                            });
+                })
+                .addOnFailureListener(e -> {
+                    Log.w(TAG, "Capability lookup failed", e);
+                    if (fallback != null) fallback.run();
+                });
+    }
+
+    /** Handles the phone's TASK_RESULT: runs the request's fallback if the phone failed it. */
+    static void onResult(DataMap result) {
+        String requestId = result.getString(DataLayerPaths.KEY_REQUEST_ID);
+        Runnable fallback = requestId != null ? pending.remove(requestId) : null;
+        if (fallback == null) return;
+
+        String error = result.getString(DataLayerPaths.KEY_ERROR);
+        if (error != null) {
+            Log.w(TAG, "Phone could not apply request: " + error);
+            mainHandler.post(fallback);
+        }
+    }
+
+    /** Asks the phone to push a fresh task snapshot; does nothing if no phone is reachable. */
+    public static void requestSnapshot(Context context) {
+        sendToPhone(context, DataLayerPaths.TASKS_REQUEST, null, null);
+    }
+
+    public static DataMap taskPayload(String taskId, String title, String dueDateTime) {
+        DataMap payload = new DataMap();
+        payload.putString(DataLayerPaths.KEY_TASK_ID, taskId);
+        if (title != null) payload.putString(DataLayerPaths.KEY_TITLE, title);
+        if (dueDateTime != null) payload.putString(DataLayerPaths.KEY_DUE_DATE_TIME, dueDateTime);
+        return payload;
+    }
+
+    private static Node pickNode(Set<Node> nodes) {
+        Node best = null;
+        for (Node node : nodes) {
+            if (node.isNearby()) return node;
+            best = node;
+        }
+        return best;
+    }
+}
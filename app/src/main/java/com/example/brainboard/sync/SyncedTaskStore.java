@@ -0,0 +1,166 @@
+package com.example.brainboard.sync;
+
+import android.content.Context;
+import android.os.Handler;
+import android.os.Looper;
+import android.util.Log;
+
+import androidx.tracing.Trace;
+
+import com.example.brainboard.data.DueIndex;
+import com.example.brainboard.data.UpcomingTasksCache;
+import com.example.brainboard.metrics.TraceSections;
+import com.example.brainboard.models.TaskModel;
+import com.example.brainboard.notifications.ReminderScheduler;
+import com.google.android.gms.wearable.DataMap;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * SyncedTaskStore.java
+ *
+ * Holds the latest task snapshot pushed by the phone over the Wearable Data Layer.
+ *
+ * Features:
+ * - Keeps the snapshot in memory and persists it to a small file, so the watch can show
+ *   tasks after a restart without any network access.
+ * - Notifies registered listeners on the main thread when a new snapshot arrives.
+ * - Refreshes UpcomingTasksCache so the Tile and complication follow phone changes, from
+ *   a DueIndex that only re-parses the tasks whose due date, title or state changed.
+ * - Re-arms recurring task reminders (ReminderScheduler), since series are created and
+ *   their occurrences completed on the phone.
+ *
+ * Storage:
+ * - files/synced_tasks.bin holds the serialized DataMap exactly as received.
+ *
+ * Notes:
+ * - hasSnapshot() is false until the phone has pushed at least once; screens then fall
+ *   back to reading Firestore directly.
+ */
+public final class SyncedTaskStore {
+
+    public interface Listener {
+        void onTasksChanged(List<TaskModel> tasks);
+    }
+
+    private static final String TAG = "SyncedTaskStore";
+    private static final String FILE_NAME = "synced_tasks.bin";
+
+    private static final Handler mainHandler = new Handler(Looper.getMainLooper());
+    private static final List<Listener> listeners = new CopyOnWriteArrayList<>();
+    private static final DueIndex dueIndex = new DueIndex();
+    private static List<TaskModel> tasks;
+    private static boolean loaded;
+
+    private SyncedTaskStore() {}
+
+    /** True once the phone has pushed a snapshot to this watch. */
+    public static boolean hasSnapshot(Context context) {
+        return getTasks(context) != null;
+    }
+
+    /** Latest snapshot from the phone, or null if none was received yet. */
+    public static synchronized List<TaskModel> getTasks(Context context) {
+        if (!loaded) {
+            loaded = true;
+            File file = new File(context.getFilesDir(), FILE_NAME);
+            if (file.exists()) {
+                try (FileInputStream in = new FileInputStream(file)) {
+                    byte[] bytes = new byte[(int) file.length()];
+                    int read = 0;
+                    while (read < bytes.length) {
+                        int n = in.read(bytes, read, bytes.length - read);
+                        if (n < 0) break;
+                        read += n;
+                    }
+                    tasks = decode(DataMap.fromByteArray(bytes));
+                } catch (IOException | RuntimeException e) {
+                    Log.e(TAG, "Failed to read synced tasks", e);
+                }
+            }
+        }
+        return tasks;
+    }
+
+    /** Stores a snapshot received from the phone and notifies listeners. */
+    public static void save(Context context, DataMap snapshot) {
+        List<TaskModel> decoded = decode(snapshot);
+        synchronized (SyncedTaskStore.class) {
+            tasks = decoded;
+            loaded = true;
+        }
+
+        try (FileOutputStream out = new FileOutputStream(new File(context.getFilesDir(), FILE_NAME))) {
+            out.write(snapshot.toByteArray());
+        } catch (IOException e) {
+            Log.e(TAG, "Failed to persist synced tasks", e);
+        }
+        dueIndex.sync(decoded);
+        UpcomingTasksCache.refresh(context, dueIndex);
+        ReminderScheduler.scheduleRecurring(context, decoded);
+
+        mainHandler.post(() -> {
+            for (Listener listener : listeners) {
+                listener.onTasksChanged(decoded);
+            }
+        });
+    }
+
+    /** Forgets the stored snapshot until the phone pushes again (e.g. the UID changed). */
+    public static synchronized void clear(Context context) {
+        tasks = null;
+        loaded = true;
+        dueIndex.clear();
+        File file = new File(context.getFilesDir(), FILE_NAME);
+        if (file.exists() && !file.delete()) {
+            Log.w(TAG, "Failed to delete synced tasks");
+        }
+    }
+
+    public static void addListener(Listener listener) {
+        listeners.add(listener);
+    }
+
+    public static void removeListener(Listener listener) {
+        listeners.remove(listener);
+    }
+
+    private static List<TaskModel> decode(DataMap map) {
+        Trace.beginSection(TraceSections.SYNC_DECODE);
+        try {
+            return decodeArrays(map);
+        } finally {
+            Trace.endSection();
+        }
+    }
+
+    private static List<TaskModel> decodeArrays(DataMap map) {
+        String[] ids = map.getStringArray(DataLayerPaths.KEY_IDS);
+        String[] titles = map.getStringArray(DataLayerPaths.KEY_TITLES);
+        String[] dues = map.getStringArray(DataLayerPaths.KEY_DUES);
+        byte[] completed = map.getByteArray(DataLayerPaths.KEY_COMPLETED);
+        if (ids == null || titles == null || dues == null || completed == null) {
+            return Collections.emptyList();
+        }
+        // Absent in snapshots from phone versions without recurring tasks
+        String[] recurrences = map.getStringArray(DataLayerPaths.KEY_RECURRENCES);
+        String[] completedOccurrences = map.getStringArray(DataLayerPaths.KEY_COMPLETED_OCCURRENCES);
+
+        List<TaskModel> list = new ArrayList<>(ids.length);
+        for (int i = 0; i < ids.length; i++) {
+            String recurrence = recurrences != null && !recurrences[i].isEmpty() ? recurrences[i] : null;
+            List<String> keys = completedOccurrences != null && !completedOccurrences[i].isEmpty()
+                    ? Arrays.asList(completedOccurrences[i].split(",")) : null;
+            list.add(new TaskModel(ids[i], titles[i], dues[i], completed[i] != 0, recurrence, keys));
+        }
+        return Collections.unmodifiableList(list);
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.brainboard.sync;
+
+import androidx.annotation.NonNull;
+
+import com.google.android.gms.wearable.DataEvent;
+import com.google.android.gms.wearable.DataEventBuffer;
+import com.google.android.gms.wearable.DataMap;
+import com.google.android.gms.wearable.DataMapItem;
+import com.google.android.gms.wearable.MessageEvent;
+import com.google.android.gms.wearable.WearableListenerService;
+
+/**
+ * TaskSyncListenerService.java
+ *
+ * Receives task snapshots pushed by the phone app over the Wearable Data Layer and
+ * hands them to SyncedTaskStore, and the phone's answers to task mutations, which go to
+ * PhoneSyncClient.
+ *
+ * Notes:
+ * - The system starts this service only when the data item at DataLayerPaths.TASKS
+ *   changes, so the watch wakes up only for real task changes.
+ * - TASK_RESULT messages only matter while the sending process is alive; a result for
+ *   a request this process does not know is ignored.
+ */
+public class TaskSyncListenerService extends WearableListenerService {
+
+    @Override
+    public void onDataChanged(@NonNull DataEventBuffer dataEvents) {
+        for (DataEvent event : dataEvents) {
+            if (event.getType() == DataEvent.TYPE_CHANGED
+                    && DataLayerPaths.TASKS.equals(event.getDataItem().getUri().getPath())) {
+                SyncedTaskStore.save(this, DataMapItem.fromDataItem(event.getDataItem()).getDataMap());
+            }
+        }
+    }
+
+    @Override
+    public void onMessageReceived(@NonNull MessageEvent messageEvent) {
+        if (DataLayerPaths.TASK_RESULT.equals(messageEvent.getPath())) {
+            PhoneSyncClient.onResult(DataMap.fromByteArray(messageEvent.getData()));
+        }
+    }
+}
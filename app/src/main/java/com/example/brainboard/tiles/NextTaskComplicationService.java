@@ -0,0 +1,93 @@
+package com.example.brainboard.tiles;
+
+import android.app.PendingIntent;
+import android.content.Intent;
+import android.os.RemoteException;
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.wear.watchface.complications.data.ComplicationData;
+import androidx.wear.watchface.complications.data.ComplicationText;
+import androidx.wear.watchface.complications.data.ComplicationType;
+import androidx.wear.watchface.complications.data.CountDownTimeReference;
+import androidx.wear.watchface.complications.data.LongTextComplicationData;
+import androidx.wear.watchface.complications.data.NoDataComplicationData;
+import androidx.wear.watchface.complications.data.PlainComplicationText;
+import androidx.wear.watchface.complications.data.ShortTextComplicationData;
+import androidx.wear.watchface.complications.data.TimeDifferenceComplicationText;
+import androidx.wear.watchface.complications.data.TimeDifferenceStyle;
+import androidx.wear.watchface.complications.datasource.ComplicationDataSourceService;
+import androidx.wear.watchface.complications.datasource.ComplicationRequest;
+
+import com.example.brainboard.activities.TaskListActivity;
+import com.example.brainboard.data.UpcomingTasksCache;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * NextTaskComplicationService.java
+ *
+ * A complication data source that shows the next task due on the watch face.
+ *
+ * Features:
+ * - SHORT_TEXT: time left until the next task (e.g. "2h"), titled "Due".
+ * - LONG_TEXT: the next task's title with the time left.
+ * - Tapping the complication opens TaskListActivity.
+ *
+ * Notes:
+ * - Data comes from UpcomingTasksCache only; no network or Firebase access.
+ * - The countdown text is rendered by the watch face itself, so the complication is
+ *   pushed only when the cached summary changes (UPDATE_PERIOD_SECONDS = 0).
+ */
+public class NextTaskComplicationService extends ComplicationDataSourceService {
+
+    private static final String TAG = "NextTaskComplication";
+
+    @Override
+    public void onComplicationRequest(@NonNull ComplicationRequest request,
+                                      @NonNull ComplicationRequestListener listener) {
+        List<UpcomingTasksCache.Entry> entries = UpcomingTasksCache.read(this);
+        ComplicationData data = entries.isEmpty()
+                ? new NoDataComplicationData()
+                : build(request.getComplicationType(), entries.get(0));
+        try {
+            listener.onComplicationData(data);
+        } catch (RemoteException e) {
+            Log.e(TAG, "Failed to deliver complication data", e);
+        }
+    }
+
+    @Nullable
+    @Override
+    public ComplicationData getPreviewData(@NonNull ComplicationType type) {
+        return build(type, new UpcomingTasksCache.Entry("preview", "Study chapter 3",
+                System.currentTimeMillis() + 2 * 60 * 60 * 1000));
+    }
+
+    private ComplicationData build(ComplicationType type, UpcomingTasksCache.Entry entry) {
+        ComplicationText timeLeft = new TimeDifferenceComplicationText.Builder(
+                TimeDifferenceStyle.SHORT_SINGLE_UNIT,
+                new CountDownTimeReference(Instant.ofEpochMilli(entry.dueMillis)))
+                .build();
+        ComplicationText title = new PlainComplicationText.Builder(entry.title).build();
+
+        PendingIntent openList = PendingIntent.getActivity(this, 0,
+                new Intent(this, TaskListActivity.class), PendingIntent.FLAG_IMMUTABLE);
+
+        if (type == ComplicationType.LONG_TEXT) {
+            return new LongTextComplicationData.Builder(title, title)
+                    .setTitle(timeLeft)
+                    .setTapAction(openList)
+                    .build();
+        }
+        if (type == ComplicationType.SHORT_TEXT) {
+            return new ShortTextComplicationData.Builder(timeLeft, title)
+                    .setTitle(new PlainComplicationText.Builder("Due").build())
+                    .setTapAction(openList)
+                    .build();
+        }
+        return new NoDataComplicationData();
+    }
+}
@@ -0,0 +1,109 @@
+package com.example.brainboard.tiles;
+
+import androidx.annotation.NonNull;
+import androidx.wear.protolayout.ActionBuilders;
+import androidx.wear.protolayout.ColorBuilders;
+import androidx.wear.protolayout.DimensionBuilders;
+import androidx.wear.protolayout.LayoutElementBuilders;
+import androidx.wear.protolayout.ModifiersBuilders;
+import androidx.wear.protolayout.ResourceBuilders;
+import androidx.wear.protolayout.TimelineBuilders;
+import androidx.wear.tiles.RequestBuilders;
+import androidx.wear.tiles.TileBuilders;
+import androidx.wear.tiles.TileService;
+
+import com.example.brainboard.activities.TaskListActivity;
+import com.example.brainboard.data.UpcomingTasksCache;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * UpcomingTaskTileService.java
+ *
+ * A Wear OS Tile that shows the next few tasks due.
+ *
+ * Features:
+ * - Renders straight from UpcomingTasksCache: no activity launch, no Firebase, no network.
+ * - Tapping the Tile opens TaskListActivity.
+ * - The Tile is refreshed when the cached summary changes, and again when the first
+ *   listed task falls due.
+ */
+public class UpcomingTaskTileService extends TileService {
+
+    private static final String RESOURCES_VERSION = "1";
+    private static final int MAX_ROWS = 3;
+
+    @NonNull
+    @Override
+    protected ListenableFuture<TileBuilders.Tile> onTileRequest(@NonNull RequestBuilders.TileRequest requestParams) {
+        List<UpcomingTasksCache.Entry> entries = UpcomingTasksCache.read(this);
+        SimpleDateFormat format = new SimpleDateFormat("EEE HH:mm", Locale.getDefault());
+
+        LayoutElementBuilders.Column.Builder column = new LayoutElementBuilders.Column.Builder()
+                .setWidth(DimensionBuilders.expand())
+                .addContent(text("Up next", 16, 0xFF03DAC5));
+
+        if (entries.isEmpty()) {
+            column.addContent(text("No upcoming tasks", 14, 0xFFCCCCCC));
+        }
+        for (int i = 0; i < entries.size() && i < MAX_ROWS; i++) {
+            UpcomingTasksCache.Entry entry = entries.get(i);
+            column.addContent(text(entry.title, 14, 0xFFFFFFFF));
+            column.addContent(text(format.format(new Date(entry.dueMillis)), 12, 0xFFAAAAAA));
+        }
+
+        ActionBuilders.LaunchAction openList = new ActionBuilders.LaunchAction.Builder()
+                .setAndroidActivity(new ActionBuilders.AndroidActivity.Builder()
+                        .setPackageName(getPackageName())
+                        .setClassName(TaskListActivity.class.getName())
+                        .build())
+                .build();
+
+        LayoutElementBuilders.Box root = new LayoutElementBuilders.Box.Builder()
+                .setWidth(DimensionBuilders.expand())
+                .setHeight(DimensionBuilders.expand())
+                .setModifiers(new ModifiersBuilders.Modifiers.Builder()
+                        .setClickable(new ModifiersBuilders.Clickable.Builder()
+                                .setId("open_task_list")
+                                .setOnClick(openList)
+                                .build())
+                        .build())
+                .addContent(column.build())
+                .build();
+
+        TileBuilders.Tile.Builder tile = new TileBuilders.Tile.Builder()
+                .setResourcesVersion(RESOURCES_VERSION)
+                .setTileTimeline(TimelineBuilders.Timeline.fromLayoutElement(root));
+        if (!entries.isEmpty()) {
+            // Re-render from the cache once the first task is no longer upcoming
+            long untilDue = entries.get(0).dueMillis - System.currentTimeMillis();
+            tile.setFreshnessIntervalMillis(Math.max(60 * 1000, untilDue));
+        }
+        return Futures.immediateFuture(tile.build());
+    }
+
+    @NonNull
+    @Override
+    protected ListenableFuture<ResourceBuilders.Resources> onTileResourcesRequest(
+            @NonNull RequestBuilders.ResourcesRequest requestParams) {
+        return Futures.immediateFuture(new ResourceBuilders.Resources.Builder()
+                .setVersion(RESOURCES_VERSION)
+                .build());
+    }
+
+    private static LayoutElementBuilders.Text text(String value, float sizeSp, int color) {
+        return new LayoutElementBuilders.Text.Builder()
+                .setText(value != null ? value : "")
+                .setMaxLines(1)
+                .setFontStyle(new LayoutElementBuilders.FontStyle.Builder()
+                        .setSize(DimensionBuilders.sp(sizeSp))
+                        .setColor(ColorBuilders.argb(color))
+                        .build())
+                .build();
+    }
+}
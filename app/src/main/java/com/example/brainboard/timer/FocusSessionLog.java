@@ -0,0 +1,149 @@
+package com.example.brainboard.timer;
+
+import android.content.Context;
+import android.content.SharedPreferences;
+import android.util.Log;
+
+import com.example.brainboard.activities.MainActivity;
+import com.example.brainboard.firebase.FirestoreProvider;
+import com.example.brainboard.models.FocusSession;
+import com.example.brainboard.shared.metrics.FirestoreMetrics;
+import com.google.firebase.firestore.DocumentReference;
+import com.google.firebase.firestore.FieldValue;
+import com.google.firebase.firestore.FirebaseFirestore;
+import com.google.firebase.firestore.SetOptions;
+import com.google.firebase.firestore.WriteBatch;
+
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * FocusSessionLog.java
+ *
+ * Records finished focus sessions and keeps running focus-time totals.
+ *
+ * Features:
+ * - Appends every session (start, duration, optional taskId) to a local log file.
+ * - Adds the session to local per-day and per-task totals, so views read a single
+ *   counter instead of scanning the session history. TimerActivity shows today's total
+ *   and the current task's total.
+ * - Syncs the same totals to Firestore as FieldValue.increment counters, one document
+ *   per day plus an all-time document, instead of one document per session.
+ *
+ * Firebase:
+ * - users/{uid}/focusStats/{yyyy-MM-dd} -> totalSeconds, sessions, tasks.{taskId}
+ * - users/{uid}/focusStats/allTime      -> totalSeconds, sessions, tasks.{taskId}
+ *
+ * Storage:
+ * - Session log: files/focus_sessions.jsonl (one JSON object per line)
+ * - Totals: SharedPreferences ("focus_stats") keys "day_{yyyy-MM-dd}" and "task_{taskId}"
+ *
+ * Notes:
+ * - Sessions shorter than a minute are ignored.
+ * - Local totals are updated on the calling thread (SharedPreferences.apply() updates
+ *   memory at once), so the timer screen shows them as soon as a session ends; only the
+ *   log file append runs on the background executor.
+ * - Firestore queues the increments offline and applies them when the watch reconnects.
+ */
+public final class FocusSessionLog {
+
+    private static final String TAG = "FocusSessionLog";
+    private static final String PREF_NAME = "focus_stats";
+    private static final String LOG_FILE = "focus_sessions.jsonl";
+    private static final long MIN_SESSION_MILLIS = 60 * 1000;
+
+    private static final ExecutorService executor = Executors.newSingleThreadExecutor();
+
+    private FocusSessionLog() {}
+
+    public static void record(Context context, FocusSession session) {
+        if (session.getDurationMillis() < MIN_SESSION_MILLIS) return;
+
+        Context appContext = context.getApplicationContext();
+        addToLocalTotals(appContext, session);
+        executor.execute(() -> appendToLog(appContext, session));
+        syncToFirestore(appContext, session);
+    }
+
+    /** Total focused seconds on the local day containing {@code millis}. */
+    public static long getDayTotalSeconds(Context context, long millis) {
+        return prefs(context).getLong("day_" + dayOf(millis), 0);
+    }
+
+    /** Total focused seconds linked to the given task across all days. */
+    public static long getTaskTotalSeconds(Context context, String taskId) {
+        return prefs(context).getLong("task_" + taskId, 0);
+    }
+
+    private static void appendToLog(Context context, FocusSession session) {
+        try (FileWriter writer = new FileWriter(new File(context.getFilesDir(), LOG_FILE), true)) {
+            JSONObject json = new JSONObject();
+            json.put("startedAt", session.getStartedAt());
+            json.put("durationMillis", session.getDurationMillis());
+            json.put("taskId", session.getTaskId() != null ? session.getTaskId() : JSONObject.NULL);
+            json.put("completed", session.isCompleted());
+            writer.write(json.toString());
+            writer.write('\n');
+        } catch (IOException | JSONException e) {
+            Log.e(TAG, "Failed to append session", e);
+        }
+    }
+
+    private static synchronized void addToLocalTotals(Context context, FocusSession session) {
+        long seconds = session.getDurationMillis() / 1000;
+        String dayKey = "day_" + dayOf(session.getStartedAt());
+
+        SharedPreferences prefs = prefs(context);
+        SharedPreferences.Editor editor = prefs.edit()
+                .putLong(dayKey, prefs.getLong(dayKey, 0) + seconds);
+        if (session.getTaskId() != null) {
+            String taskKey = "task_" + session.getTaskId();
+            editor.putLong(taskKey, prefs.getLong(taskKey, 0) + seconds);
+        }
+        editor.apply();
+    }
+
+    private static void syncToFirestore(Context context, FocusSession session) {
+        String uid = MainActivity.getGlobalUid(context);
+        if (uid == null || uid.isEmpty()) return;
+
+        long seconds = session.getDurationMillis() / 1000;
+        Map<String, Object> counters = new HashMap<>();
+        counters.put("totalSeconds", FieldValue.increment(seconds));
+        counters.put("sessions", FieldValue.increment(1));
+        if (session.getTaskId() != null) {
+            Map<String, Object> tasks = new HashMap<>();
+            tasks.put(session.getTaskId(), FieldValue.increment(seconds));
+            counters.put("tasks", tasks);
+        }
+
+        FirebaseFirestore db = FirestoreProvider.get(context);
+        DocumentReference stats = db.collection("users").document(uid).collection("focusStats").document(dayOf(session.getStartedAt()));
+        DocumentReference allTime = db.collection("users").document(uid).collection("focusStats").document("allTime");
+
+        WriteBatch batch = db.batch();
+        batch.set(stats, counters, SetOptions.merge());
+        batch.set(allTime, counters, SetOptions.merge());
+        FirestoreMetrics.trackWrite("focusLog.commit", 2, 2 * FirestoreMetrics.estimateBytes(counters), batch.commit())
+                .addOnFailureListener(e -> Log.e(TAG, "Failed to sync focus totals", e));
+    }
+
+    private static String dayOf(long millis) {
+        return new SimpleDateFormat("yyyy-MM-dd", Locale.US).format(new Date(millis));
+    }
+
+    private static SharedPreferences prefs(Context context) {
+        return context.getSharedPreferences(PREF_NAME, Context.MODE_PRIVATE);
+    }
+}
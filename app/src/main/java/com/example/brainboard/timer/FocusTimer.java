@@ -0,0 +1,178 @@
+package com.example.brainboard.timer;
+
+import android.app.AlarmManager;
+import android.app.PendingIntent;
+import android.content.Context;
+import android.content.Intent;
+import android.content.SharedPreferences;
+import android.os.Build;
+import android.os.SystemClock;
+
+import androidx.core.content.ContextCompat;
+
+import com.example.brainboard.models.FocusSession;
+
+/**
+ * FocusTimer.java
+ *
+ * Holds the state of the Pomodoro focus timer outside of any activity.
+ *
+ * Timer Logic:
+ * - A running session is stored as a single target deadline on the
+ *   SystemClock.elapsedRealtime() clock, which is monotonic and unaffected by
+ *   wall-clock changes, so the countdown never drifts.
+ * - Remaining time is computed on demand from the deadline; nothing ticks in the background.
+ * - Completion is delivered by an exact AlarmManager alarm (TimerAlarmReceiver), so the
+ *   session still finishes on time if TimerActivity is destroyed.
+ * - FocusTimerService keeps an ongoing countdown notification while a session is running.
+ * - Completed and stopped sessions are handed to FocusSessionLog, optionally linked to a task.
+ *
+ * Persistence:
+ * - SharedPreferences ("focus_timer") under keys "deadline", "duration", "startedAt", "taskId"
+ *   and "taskTitle". The title is kept with the session so the timer screen shows the task
+ *   being timed, not whichever task was tapped to reopen it.
+ * - A deadline further away than the session duration means the device rebooted
+ *   (elapsedRealtime restarted), and the stale session is discarded.
+ */
+public final class FocusTimer {
+
+    public static final long DEFAULT_DURATION_MILLIS = 25 * 60 * 1000; // 25 minutes
+
+    private static final String PREF_NAME = "focus_timer";
+    private static final String KEY_DEADLINE = "deadline";
+    private static final String KEY_DURATION = "duration";
+    private static final String KEY_STARTED_AT = "startedAt";
+    private static final String KEY_TASK_ID = "taskId";
+    private static final String KEY_TASK_TITLE = "taskTitle";
+    private static final int ALARM_REQUEST_CODE = 2500;
+
+    private FocusTimer() {}
+
+    /**
+     * Starts a session of the given length and schedules its completion alarm.
+     * {@code taskId} links the session to a task ({@code taskTitle} is its title for
+     * display); both may be null.
+     */
+    public static void start(Context context, long durationMillis, String taskId, String taskTitle) {
+        long deadline = SystemClock.elapsedRealtime() + durationMillis;
+        prefs(context).edit()
+                .putLong(KEY_DEADLINE, deadline)
+                .putLong(KEY_DURATION, durationMillis)
+                .putLong(KEY_STARTED_AT, System.currentTimeMillis())
+                .putString(KEY_TASK_ID, taskId)
+                .putString(KEY_TASK_TITLE, taskTitle)
+                .apply();
+
+        scheduleAlarm(context, deadline);
+        ContextCompat.startForegroundService(context, new Intent(context, FocusTimerService.class));
+    }
+
+    /** Stops the running session, if any, and records the time focused so far. */
+    public static synchronized void stop(Context context) {
+        long remaining = getRemainingMillis(context);
+        if (remaining < 0) return;
+        if (remaining == 0) {
+            complete(context);
+            return;
+        }
+        FocusSession session = currentSession(context, getDurationMillis(context) - remaining, false);
+        clear(context);
+        FocusSessionLog.record(context, session);
+    }
+
+    /**
+     * Marks the running session as complete. Safe to call from both the alarm receiver
+     * and the activity; only the first caller gets {@code true}.
+     */
+    public static synchronized boolean complete(Context context) {
+        if (!isRunning(context)) return false;
+        FocusSession session = currentSession(context, getDurationMillis(context), true);
+        clear(context);
+        FocusSessionLog.record(context, session);
+        return true;
+    }
+
+    public static boolean isRunning(Context context) {
+        return getDeadline(context) > 0;
+    }
+
+    /** Milliseconds left in the running session, 0 once the deadline passed, -1 when idle. */
+    public static long getRemainingMillis(Context context) {
+        long deadline = getDeadline(context);
+        if (deadline <= 0) return -1;
+        return Math.max(0, deadline - SystemClock.elapsedRealtime());
+    }
+
+    /** Duration of the running session, or the default length when idle. */
+    public static long getDurationMillis(Context context) {
+        return prefs(context).getLong(KEY_DURATION, DEFAULT_DURATION_MILLIS);
+    }
+
+    /** ID of the task the running session is linked to, or null. */
+    public static String getTaskId(Context context) {
+        return prefs(context).getString(KEY_TASK_ID, null);
+    }
+
+    /** Title of the task the running session is linked to, or null. */
+    public static String getTaskTitle(Context context) {
+        return prefs(context).getString(KEY_TASK_TITLE, null);
+    }
+
+    private static FocusSession currentSession(Context context, long focusedMillis, boolean completed) {
+        SharedPreferences prefs = prefs(context);
+        return new FocusSession(prefs.getLong(KEY_STARTED_AT, System.currentTimeMillis()),
+                focusedMillis, prefs.getString(KEY_TASK_ID, null), completed);
+    }
+
+    private static long getDeadline(Context context) {
+        SharedPreferences prefs = prefs(context);
+        long deadline = prefs.getLong(KEY_DEADLINE, 0);
+        if (deadline <= 0) return 0;
+
+        long duration = prefs.getLong(KEY_DURATION, DEFAULT_DURATION_MILLIS);
+        if (deadline - SystemClock.elapsedRealtime() > duration) {
+            // elapsedRealtime restarted, so the stored deadline belongs to a previous boot
+            clear(context);
+            return 0;
+        }
+        return deadline;
+    }
+
+    private static void clear(Context context) {
+        prefs(context).edit()
+                .remove(KEY_DEADLINE)
+                .remove(KEY_STARTED_AT)
+                .remove(KEY_TASK_ID)
+                .remove(KEY_TASK_TITLE)
+                .apply();
+        cancelAlarm(context);
+        context.stopService(new Intent(context, FocusTimerService.class));
+    }
+
+    private static void scheduleAlarm(Context context, long deadline) {
+        AlarmManager alarmManager = (AlarmManager) context.getSystemService(Context.ALARM_SERVICE);
+        PendingIntent pendingIntent = alarmIntent(context);
+
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.S && !alarmManager.canScheduleExactAlarms()) {
+            alarmManager.setAndAllowWhileIdle(AlarmManager.ELAPSED_REALTIME_WAKEUP, deadline, pendingIntent);
+        } else {
+            alarmManager.setExactAndAllowWhileIdle(AlarmManager.ELAPSED_REALTIME_WAKEUP, deadline, pendingIntent);
+        }
+    }
+
+    private static void cancelAlarm(Context context) {
+        AlarmManager alarmManager = (AlarmManager) context.getSystemService(Context.ALARM_SERVICE);
+        alarmManager.cancel(alarmIntent(context));
+    }
+
+    private static PendingIntent alarmIntent(Context context) {
+        Intent intent = new Intent(context, TimerAlarmReceiver.class);
+        intent.setAction(TimerAlarmReceiver.ACTION_TIMER_FINISHED);
+        return PendingIntent.getBroadcast(context, ALARM_REQUEST_CODE, intent,
+                PendingIntent.FLAG_IMMUTABLE | PendingIntent.FLAG_UPDATE_CURRENT);
+    }
+
+    private static SharedPreferences prefs(Context context) {
+        return context.getSharedPreferences(PREF_NAME, Context.MODE_PRIVATE);
+    }
+}
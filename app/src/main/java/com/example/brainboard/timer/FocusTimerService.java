@@ -0,0 +1,94 @@
+package com.example.brainboard.timer;
+
+import android.app.Notification;
+import android.app.NotificationChannel;
+import android.app.NotificationManager;
+import android.app.PendingIntent;
+import android.app.Service;
+import android.content.Intent;
+import android.content.pm.ServiceInfo;
+import android.os.IBinder;
+
+import androidx.core.app.NotificationCompat;
+import androidx.core.app.ServiceCompat;
+import androidx.tracing.Trace;
+
+import com.example.brainboard.R;
+import com.example.brainboard.activities.TimerActivity;
+import com.example.brainboard.metrics.TraceSections;
+
+/**
+ * FocusTimerService.java
+ *
+ * A lightweight foreground service that keeps a running focus session visible and
+ * the app process alive while the countdown is active.
+ *
+ * Features:
+ * - Shows an ongoing notification whose countdown is rendered by the system chronometer,
+ *   so the app does no per-second work while the screen is off.
+ * - Tapping the notification reopens TimerActivity.
+ *
+ * Notes:
+ * - The service holds no timer of its own; FocusTimer owns the deadline and the
+ *   completion alarm, and stops this service when the session ends.
+ * - If the service is started or restarted after the session ended, it still enters the
+ *   foreground (as startForegroundService() requires) and then stops itself.
+ */
+public class FocusTimerService extends Service {
+
+    public static final String CHANNEL_ID = "brainboard_timer_channel";
+    private static final int NOTIFICATION_ID = 2501;
+
+    @Override
+    public int onStartCommand(Intent intent, int flags, int startId) {
+        long remaining = FocusTimer.getRemainingMillis(this);
+
+        // Started with startForegroundService(), so startForeground() is required even when
+        // the session has already ended (e.g. cleared before this command was delivered)
+        ServiceCompat.startForeground(this, NOTIFICATION_ID, buildNotification(Math.max(0, remaining)),
+                ServiceInfo.FOREGROUND_SERVICE_TYPE_SPECIAL_USE);
+        if (remaining <= 0) {
+            ServiceCompat.stopForeground(this, ServiceCompat.STOP_FOREGROUND_REMOVE);
+            stopSelf();
+            return START_NOT_STICKY;
+        }
+        return START_STICKY;
+    }
+
+    private Notification buildNotification(long remainingMillis) {
+        Trace.beginSection(TraceSections.NOTIFICATION_BUILD);
+        try {
+            return createNotification(remainingMillis);
+        } finally {
+            Trace.endSection();
+        }
+    }
+
+    private Notification createNotification(long remainingMillis) {
+        NotificationManager notificationManager = getSystemService(NotificationManager.class);
+        NotificationChannel channel = new NotificationChannel(
+                CHANNEL_ID, "BrainBoard Focus Timer", NotificationManager.IMPORTANCE_LOW);
+        notificationManager.createNotificationChannel(channel);
+
+        PendingIntent openTimer = PendingIntent.getActivity(this, 0,
+                new Intent(this, TimerActivity.class), PendingIntent.FLAG_IMMUTABLE);
+
+        return new NotificationCompat.Builder(this, CHANNEL_ID)
+                .setSmallIcon(R.mipmap.ic_launcher)
+                .setContentTitle("Focus session")
+                .setContentIntent(openTimer)
+                .setOngoing(true)
+                .setOnlyAlertOnce(true)
+                .setCategory(NotificationCompat.CATEGORY_STOPWATCH)
+                .setShowWhen(true)
+                .setUsesChronometer(true)
+                .setChronometerCountDown(true)
+                .setWhen(System.currentTimeMillis() + remainingMillis)
+                .build();
+    }
+
+    @Override
+    public IBinder onBind(Intent intent) {
+        return null;
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.brainboard.timer;
+
+import android.app.NotificationChannel;
+import android.app.NotificationManager;
+import android.content.BroadcastReceiver;
+import android.content.Context;
+import android.content.Intent;
+
+import androidx.core.app.NotificationCompat;
+import androidx.tracing.Trace;
+
+import com.example.brainboard.R;
+import com.example.brainboard.metrics.TraceSections;
+import com.example.brainboard.notifications.NotificationReceiver;
+
+/**
+ * TimerAlarmReceiver.java
+ *
+ * Receives the exact alarm scheduled by FocusTimer at the session deadline.
+ *
+ * Features:
+ * - Completes the running session (clears state and stops FocusTimerService).
+ * - Posts a "Session complete!" notification so the user is alerted even when
+ *   TimerActivity is not on screen.
+ *
+ * Notes:
+ * - If TimerActivity already completed the session, the alarm was cancelled and
+ *   this receiver does nothing.
+ */
+public class TimerAlarmReceiver extends BroadcastReceiver {
+
+    public static final String ACTION_TIMER_FINISHED = "com.example.brainboard.TIMER_FINISHED";
+    private static final int NOTIFICATION_ID = 2502;
+
+    @Override
+    public void onReceive(Context context, Intent intent) {
+        if (!ACTION_TIMER_FINISHED.equals(intent.getAction())) return;
+        if (!FocusTimer.complete(context)) return;
+
+        NotificationManager notificationManager = context.getSystemService(NotificationManager.class);
+        NotificationChannel channel = new NotificationChannel(
+                NotificationReceiver.CHANNEL_ID, "BrainBoard Wear Alerts", NotificationManager.IMPORTANCE_HIGH);
+        notificationManager.createNotificationChannel(channel);
+
+        Trace.beginSection(TraceSections.NOTIFICATION_BUILD);
+        try {
+            NotificationCompat.Builder builder = new NotificationCompat.Builder(context, NotificationReceiver.CHANNEL_ID)
+                    .setSmallIcon(R.mipmap.ic_launcher)
+                    .setContentTitle("Pomodoro")
+                    .setContentText("Session complete!")
+                    .setAutoCancel(true);
+
+            notificationManager.notify(NOTIFICATION_ID, builder.build());
+        } finally {
+            Trace.endSection();
+        }
+    }
+}
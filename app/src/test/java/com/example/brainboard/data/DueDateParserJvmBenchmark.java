@@ -0,0 +1,57 @@
+package com.example.brainboard.data;
+
+import java.util.Locale;
+import java.util.TimeZone;
+
+/**
+ * JVM benchmark for DueDateParser.parse(), run as a plain main() on the development
+ * machine (no device needed). DueDateParserBenchmark in androidTest measures the same loop
+ * on a watch.
+ *
+ * Usage:
+ * - Run main() from the IDE, or after ./gradlew :app:compileDebugUnitTestJavaWithJavac
+ *   with the unit test classes and the app's compiled classes on the classpath.
+ * - Optional arguments: rounds (default 5) and parses per round (default 200000).
+ *
+ * Notes:
+ * - Each round runs a warm-up of the same size first and prints ns per parse; compare
+ *   the later rounds (after JIT compilation) between changes. Not a unit test, so the
+ *   build never fails on timing.
+ */
+public final class DueDateParserJvmBenchmark {
+
+    private static final TimeZone UTC = TimeZone.getTimeZone("UTC");
+    // Wednesday 14/10/2026 10:00 UTC, as in DueDateParserTest
+    private static final long NOW = 1_791_972_000_000L;
+    private static final String[] INPUTS = {
+            "Finish essay tomorrow at 5pm", "call mom in 2 hours", "quiz next Monday",
+            "exam 05/01/2027 at 8:15am", "Read chapter 4", "essay 12th of November"
+    };
+
+    private DueDateParserJvmBenchmark() {}
+
+    public static void main(String[] args) {
+        int rounds = args.length > 0 ? Integer.parseInt(args[0]) : 5;
+        int parses = args.length > 1 ? Integer.parseInt(args[1]) : 200_000;
+
+        long sink = 0;
+        for (int round = 1; round <= rounds; round++) {
+            sink += run(parses); // warm-up
+            long start = System.nanoTime();
+            sink += run(parses);
+            long nanosPerParse = (System.nanoTime() - start) / parses;
+            System.out.println(String.format(Locale.US, "round %d: %d ns/parse", round, nanosPerParse));
+        }
+        // Keeps the JIT from discarding the parses as dead code
+        if (sink == 42) System.out.println();
+    }
+
+    private static long run(int parses) {
+        long sink = 0;
+        for (int i = 0; i < parses; i++) {
+            DueDateParser.Result result = DueDateParser.parse(INPUTS[i % INPUTS.length], NOW, UTC);
+            if (result != null) sink += result.dueMillis;
+        }
+        return sink;
+    }
+}
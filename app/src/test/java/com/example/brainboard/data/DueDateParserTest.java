@@ -0,0 +1,118 @@
+package com.example.brainboard.data;
+
+import org.junit.Test;
+
+import java.util.Calendar;
+import java.util.TimeZone;
+
+import static org.junit.Assert.*;
+
+/**
+ * Local unit tests for DueDateParser; DueDateParserJvmBenchmark (JVM) and
+ * DueDateParserBenchmark (androidTest) time it.
+ * "Now" is Wednesday 14/10/2026 10:00 UTC throughout.
+ */
+public class DueDateParserTest {
+
+    private static final TimeZone UTC = TimeZone.getTimeZone("UTC");
+    private static final long NOW = at(2026, 10, 14, 10, 0);
+
+    @Test
+    public void tomorrowAtTime_stripsPhraseFromTitle() {
+        DueDateParser.Result result = parse("Finish essay tomorrow at 5pm");
+        assertEquals(at(2026, 10, 15, 17, 0), result.dueMillis);
+        assertEquals("Finish essay", result.title);
+    }
+
+    @Test
+    public void relativeHoursAndMinutes_countFromNow() {
+        assertEquals(NOW + 2 * 3_600_000L, parse("call mom in 2 hours").dueMillis);
+        assertEquals(NOW + 30 * 60_000L, parse("stretch in half an hour").dueMillis);
+        assertEquals(NOW + 45 * 60_000L, parse("laundry in 45min").dueMillis);
+        assertEquals("laundry", parse("laundry in 45min").title);
+    }
+
+    @Test
+    public void relativeDays_useDefaultHour() {
+        assertEquals(at(2026, 10, 17, 9, 0), parse("submit lab in 3 days").dueMillis);
+    }
+
+    @Test
+    public void weekdays_resolveToUpcomingDay() {
+        assertEquals(at(2026, 10, 19, 9, 0), parse("quiz next Monday").dueMillis);
+        assertEquals(at(2026, 10, 16, 14, 30), parse("meeting on fri at 14:30").dueMillis);
+        // Today is Wednesday: "wednesday" after its time has passed is next week's
+        assertEquals(at(2026, 10, 21, 9, 0), parse("gym wednesday").dueMillis);
+        assertEquals(at(2026, 10, 21, 9, 0), parse("gym next wednesday").dueMillis);
+    }
+
+    @Test
+    public void absoluteDates_dayFirst() {
+        assertEquals(at(2026, 12, 3, 9, 0), parse("project due 3/12").dueMillis);
+        assertEquals(at(2027, 1, 5, 8, 15), parse("exam 05/01/2027 at 8:15am").dueMillis);
+        assertEquals(at(2026, 11, 12, 9, 0), parse("essay 12th of November").dueMillis);
+        assertEquals(at(2026, 11, 12, 9, 0), parse("essay nov 12").dueMillis);
+        // Already past this year
+        assertEquals(at(2027, 5, 2, 9, 0), parse("renew card May 2").dueMillis);
+    }
+
+    @Test
+    public void timeOnly_rollsToTomorrowWhenPassed() {
+        assertEquals(at(2026, 10, 14, 18, 0), parse("dinner at 6").dueMillis);
+        assertEquals(at(2026, 10, 15, 8, 0), parse("run at 8am").dueMillis);
+        assertEquals(at(2026, 10, 14, 20, 0), parse("review notes tonight").dueMillis);
+        assertEquals(at(2026, 10, 15, 19, 0), parse("call tomorrow evening").dueMillis);
+    }
+
+    @Test
+    public void impossibleDates_areRejected() {
+        assertNull(parse("exam 31/02"));
+        assertNull(parse("exam 31/04/2027"));
+        assertNull(parse("party june 31"));
+        assertNull(parse("leap day 29/02/2027"));
+        assertEquals(at(2028, 2, 29, 9, 0), parse("leap day 29/02/2028").dueMillis);
+    }
+
+    @Test
+    public void shortHours_readAsAfternoonWithOrWithoutMinutes() {
+        assertEquals(at(2026, 10, 14, 17, 30), parse("call at 5:30").dueMillis);
+        assertEquals(at(2026, 10, 14, 17, 0), parse("call at 5").dueMillis);
+        assertEquals(at(2026, 10, 15, 5, 30), parse("flight at 05:30").dueMillis);
+    }
+
+    @Test
+    public void today_isNeverInThePast() {
+        // 8am has passed: same as "at 8am"
+        assertEquals(at(2026, 10, 15, 8, 0), parse("run today at 8am").dueMillis);
+        // Default 9:00 has passed: end of today
+        assertEquals(at(2026, 10, 14, 23, 59), parse("pay rent today").dueMillis);
+        assertEquals(at(2026, 10, 14, 23, 59), parse("stretch this morning").dueMillis);
+        assertEquals(at(2026, 10, 14, 15, 0), parse("email today at 3pm").dueMillis);
+    }
+
+    @Test
+    public void plainWords_areNotDates() {
+        assertNull(parse("Read chapter 4"));
+        assertNull(parse("SAT practice"));
+        assertNull(parse("I may call"));
+        assertNull(parse("meet at home"));
+        assertNull(parse(""));
+    }
+
+    @Test
+    public void titleKeepsOriginalCasingAndPunctuation() {
+        assertEquals("Email Dr. Smith, re: grades", parse("Email Dr. Smith, re: grades by Friday").title);
+        assertEquals("", parse("tomorrow").title);
+    }
+
+    private static DueDateParser.Result parse(String text) {
+        return DueDateParser.parse(text, NOW, UTC);
+    }
+
+    private static long at(int year, int month, int day, int hour, int minute) {
+        Calendar cal = Calendar.getInstance(UTC);
+        cal.clear();
+        cal.set(year, month - 1, day, hour, minute);
+        return cal.getTimeInMillis();
+    }
+}
@@ -0,0 +1,124 @@
+package com.example.brainboard.data;
+
+import com.example.brainboard.models.TaskModel;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Local unit tests for DueIndex: put/replace/remove, sync() and the boundaries of the
+ * next() window. Due dates are in 2099 so they stay upcoming whenever the tests run.
+ */
+public class DueIndexTest {
+
+    private DueIndex index;
+
+    @Before
+    public void setUp() {
+        index = new DueIndex();
+        index.put(task("b", "Quiz", "02/01/2099 09:00"));
+        index.put(task("a", "Essay", "01/01/2099 17:00"));
+        index.put(task("c", "Lab", "03/01/2099 08:00"));
+    }
+
+    @Test
+    public void put_ordersBySoonestDue() {
+        assertEquals(3, index.size());
+        assertEquals(Arrays.asList("a", "b", "c"), ids(index.next(0, 10)));
+        assertEquals(at(2099, 1, 1, 17, 0), index.next(0, 1).get(0).dueMillis);
+        assertEquals("Essay", index.next(0, 1).get(0).title);
+    }
+
+    @Test
+    public void put_replacesAnEditedTask() {
+        index.put(task("a", "Essay (final)", "04/01/2099 12:00"));
+
+        assertEquals(3, index.size());
+        assertEquals(Arrays.asList("b", "c", "a"), ids(index.next(0, 10)));
+        assertEquals("Essay (final)", index.next(0, 10).get(2).title);
+        assertEquals(at(2099, 1, 4, 12, 0), index.next(0, 10).get(2).dueMillis);
+    }
+
+    @Test
+    public void put_dropsCompletedAndUndatedTasks() {
+        TaskModel done = task("b", "Quiz", "02/01/2099 09:00");
+        done.setCompleted(true);
+        index.put(done);
+        index.put(task("d", "No date", null));
+        index.put(task("e", "Bad date", "someday"));
+
+        assertEquals(Arrays.asList("a", "c"), ids(index.next(0, 10)));
+
+        // Reopening puts it back
+        index.put(task("b", "Quiz", "02/01/2099 09:00"));
+        assertEquals(Arrays.asList("a", "b", "c"), ids(index.next(0, 10)));
+    }
+
+    @Test
+    public void remove_dropsTheTask_andIgnoresUnknownIds() {
+        index.remove("b");
+        index.remove("missing");
+
+        assertEquals(2, index.size());
+        assertEquals(Arrays.asList("a", "c"), ids(index.next(0, 10)));
+    }
+
+    @Test
+    public void sync_addsChangesAndRemoves() {
+        index.sync(Arrays.asList(
+                task("a", "Essay", "01/01/2099 17:00"),
+                task("c", "Lab", "31/12/2098 08:00"),
+                task("d", "Reading", "05/01/2099 10:00")));
+
+        assertEquals(Arrays.asList("c", "a", "d"), ids(index.next(0, 10)));
+    }
+
+    @Test
+    public void next_startsAtFromInclusive_andStopsAtLimit() {
+        long quiz = at(2099, 1, 2, 9, 0);
+
+        assertEquals(Arrays.asList("b", "c"), ids(index.next(quiz, 10)));
+        assertEquals(Arrays.asList("c"), ids(index.next(quiz + 1, 10)));
+        assertEquals(Arrays.asList("b"), ids(index.next(quiz, 1)));
+        assertTrue(index.next(at(2099, 1, 3, 8, 1), 10).isEmpty());
+        assertTrue(index.next(0, 0).isEmpty());
+    }
+
+    @Test
+    public void next_keepsTasksDueAtTheSameTime_orderedById() {
+        index.put(task("z", "Also at five", "01/01/2099 17:00"));
+        index.put(task("0", "And this one", "01/01/2099 17:00"));
+
+        assertEquals(Arrays.asList("0", "a", "z"), ids(index.next(at(2099, 1, 1, 17, 0), 3)));
+    }
+
+    @Test
+    public void clear_emptiesTheIndex() {
+        index.clear();
+
+        assertEquals(0, index.size());
+        assertTrue(index.next(0, 10).isEmpty());
+    }
+
+    private static TaskModel task(String id, String title, String due) {
+        return new TaskModel(id, title, due, false);
+    }
+
+    private static List<String> ids(List<DueIndex.Entry> entries) {
+        List<String> ids = new ArrayList<>();
+        for (DueIndex.Entry entry : entries) ids.add(entry.taskId);
+        return ids;
+    }
+
+    private static long at(int year, int month, int day, int hour, int minute) {
+        return LocalDateTime.of(year, month, day, hour, minute).atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
@@ -0,0 +1,45 @@
+plugins {
+    alias(libs.plugins.android.test)
+    alias(libs.plugins.baselineprofile)
+}
+
+android {
+    namespace = "com.example.brainboard.baselineprofile"
+    compileSdk = 35
+
+    defaultConfig {
+        minSdk = 30
+        targetSdk = 35
+
+        testInstrumentationRunner = "androidx.test.runner.AndroidJUnitRunner"
+    }
+    compileOptions {
+        sourceCompatibility = JavaVersion.VERSION_11
+        targetCompatibility = JavaVersion.VERSION_11
+    }
+
+    targetProjectPath = ":app"
+
+    // Emulator the profile is generated on, so release builds need no attached watch
+    testOptions.managedDevices.localDevices {
+        create("wearApi33") {
+            device = "Wear OS Large Round"
+            apiLevel = 33
+            systemImageSource = "android-wear"
+        }
+    }
+}
+
+// Runs as part of :app:assembleRelease (see automaticGenerationDuringBuild in :app), or
+// on its own with ./gradlew :app:generateReleaseBaselineProfile
+baselineProfile {
+    managedDevices += "wearApi33"
+    useConnectedDevices = false
+}
+
+dependencies {
+    implementation(libs.ext.junit)
+    implementation(libs.espresso.core)
+    implementation(libs.uiautomator)
+    implementation(libs.benchmark.macro.junit4)
+}
@@ -0,0 +1,85 @@
+package com.example.brainboard.baselineprofile;
+
+import androidx.benchmark.macro.junit4.BaselineProfileRule;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.uiautomator.By;
+import androidx.test.uiautomator.BySelector;
+import androidx.test.uiautomator.Direction;
+import androidx.test.uiautomator.UiDevice;
+import androidx.test.uiautomator.UiObject2;
+import androidx.test.uiautomator.Until;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import kotlin.Unit;
+
+/**
+ * BaselineProfileGenerator.java
+ *
+ * Generates the baseline profile bundled into the watch app's release build.
+ *
+ * Journey (critical paths run on first use):
+ * - Launch MainActivity
+ * - Open TaskListActivity and fling through the seeded task list
+ * - Open AddTaskActivity and type a title
+ * - Open ChartActivity and wait for the chart
+ *
+ * Notes:
+ * - Runs on the "wearApi33" managed emulator during every release build
+ *   (automaticGenerationDuringBuild); nothing has to be generated or committed by hand.
+ * - The profiled build sets BuildConfig.FAKE_DATA, so the journey runs on the
+ *   FakeTaskSource dataset without a paired phone or a signed-in user.
+ */
+@RunWith(AndroidJUnit4.class)
+public class BaselineProfileGenerator {
+
+    private static final String PACKAGE_NAME = "com.example.brainboardmobile";
+    private static final long TIMEOUT_MILLIS = 5_000;
+
+    @Rule
+    public BaselineProfileRule baselineProfileRule = new BaselineProfileRule();
+
+    @Test
+    public void generate() {
+        baselineProfileRule.collect(PACKAGE_NAME, scope -> {
+            UiDevice device = scope.getDevice();
+            scope.pressHome();
+            scope.startActivityAndWait();
+
+            // Task list
+            clickMainButton(device, "viewTasksButton");
+            UiObject2 list = device.wait(Until.findObject(By.res(PACKAGE_NAME, "taskRecyclerView")), TIMEOUT_MILLIS);
+            device.wait(Until.hasObject(By.res(PACKAGE_NAME, "taskText")), TIMEOUT_MILLIS);
+            list.setGestureMargin(device.getDisplayWidth() / 5);
+            list.fling(Direction.DOWN);
+            device.waitForIdle();
+            device.pressBack();
+
+            // Add task
+            clickMainButton(device, "addTaskButton");
+            UiObject2 input = device.wait(Until.findObject(By.res(PACKAGE_NAME, "taskInput")), TIMEOUT_MILLIS);
+            input.setText("Profile task");
+            device.pressBack();
+            device.pressBack();
+
+            // Chart
+            clickMainButton(device, "chart_root");
+            device.wait(Until.hasObject(By.res(PACKAGE_NAME, "barChart")), TIMEOUT_MILLIS);
+            device.waitForIdle();
+            return Unit.INSTANCE;
+        });
+    }
+
+    private static void clickMainButton(UiDevice device, String id) {
+        BySelector button = By.res(PACKAGE_NAME, id);
+        UiObject2 target = device.wait(Until.findObject(button), TIMEOUT_MILLIS);
+        if (target == null) {
+            // The button list scrolls on small round screens
+            UiObject2 scroll = device.findObject(By.scrollable(true));
+            target = scroll.scrollUntil(Direction.DOWN, Until.findObject(button));
+        }
+        target.click();
+    }
+}
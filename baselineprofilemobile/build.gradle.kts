@@ -0,0 +1,45 @@
+plugins {
+    alias(libs.plugins.android.test)
+    alias(libs.plugins.baselineprofile)
+}
+
+android {
+    namespace = "com.example.brainboardmobile.baselineprofile"
+    compileSdk = 35
+
+    defaultConfig {
+        minSdk = 30
+        targetSdk = 35
+
+        testInstrumentationRunner = "androidx.test.runner.AndroidJUnitRunner"
+    }
+    compileOptions {
+        sourceCompatibility = JavaVersion.VERSION_11
+        targetCompatibility = JavaVersion.VERSION_11
+    }
+
+    targetProjectPath = ":brainboardmobile"
+
+    // Emulator the profile is generated on, so release builds need no attached phone
+    testOptions.managedDevices.localDevices {
+        create("pixel6Api34") {
+            device = "Pixel 6"
+            apiLevel = 34
+            systemImageSource = "aosp"
+        }
+    }
+}
+
+// Runs as part of :brainboardmobile:assembleRelease (see automaticGenerationDuringBuild in
+// :brainboardmobile), or on its own with ./gradlew :brainboardmobile:generateReleaseBaselineProfile
+baselineProfile {
+    managedDevices += "pixel6Api34"
+    useConnectedDevices = false
+}
+
+dependencies {
+    implementation(libs.ext.junit)
+    implementation(libs.espresso.core)
+    implementation(libs.uiautomator)
+    implementation(libs.benchmark.macro.junit4)
+}
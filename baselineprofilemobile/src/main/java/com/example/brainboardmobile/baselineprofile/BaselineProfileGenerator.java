@@ -0,0 +1,68 @@
+package com.example.brainboardmobile.baselineprofile;
+
+import androidx.benchmark.macro.junit4.BaselineProfileRule;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.uiautomator.By;
+import androidx.test.uiautomator.Direction;
+import androidx.test.uiautomator.UiDevice;
+import androidx.test.uiautomator.UiObject2;
+import androidx.test.uiautomator.Until;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import kotlin.Unit;
+
+/**
+ * BaselineProfileGenerator.java (Mobile)
+ *
+ * Generates the baseline profile bundled into the phone app's release build.
+ *
+ * Journey (critical paths run on first use):
+ * - Launch LoginActivity, which forwards to TaskListActivity
+ * - Fling through the seeded task list
+ * - Open AddTaskActivity and type a title
+ *
+ * Notes:
+ * - Runs on the "pixel6Api34" managed emulator during every release build
+ *   (automaticGenerationDuringBuild); nothing has to be generated or committed by hand.
+ * - The profiled build sets BuildConfig.FAKE_DATA, so the journey runs on the
+ *   FakeTaskSource dataset without a signed-in user.
+ */
+@RunWith(AndroidJUnit4.class)
+public class BaselineProfileGenerator {
+
+    private static final String PACKAGE_NAME = "com.example.brainboardmobile";
+    private static final long TIMEOUT_MILLIS = 5_000;
+
+    @Rule
+    public BaselineProfileRule baselineProfileRule = new BaselineProfileRule();
+
+    @Test
+    public void generate() {
+        baselineProfileRule.collect(PACKAGE_NAME, scope -> {
+            UiDevice device = scope.getDevice();
+            scope.pressHome();
+            scope.startActivityAndWait();
+
+            // Task list
+            UiObject2 list = device.wait(Until.findObject(By.res(PACKAGE_NAME, "taskRecyclerView")), TIMEOUT_MILLIS);
+            device.wait(Until.hasObject(By.res(PACKAGE_NAME, "taskText")), TIMEOUT_MILLIS);
+            list.setGestureMargin(device.getDisplayWidth() / 5);
+            list.fling(Direction.DOWN);
+            device.waitForIdle();
+            list.fling(Direction.UP);
+            device.waitForIdle();
+
+            // Add task
+            device.findObject(By.res(PACKAGE_NAME, "addTaskButton")).click();
+            UiObject2 input = device.wait(Until.findObject(By.res(PACKAGE_NAME, "taskTitleInput")), TIMEOUT_MILLIS);
+            input.setText("Profile task");
+            device.pressBack();
+            device.pressBack();
+            device.wait(Until.hasObject(By.res(PACKAGE_NAME, "taskRecyclerView")), TIMEOUT_MILLIS);
+            return Unit.INSTANCE;
+        });
+    }
+}
@@ -0,0 +1,69 @@
+package com.example.brainboardmobile.data;
+
+import androidx.benchmark.BenchmarkState;
+import androidx.benchmark.junit4.BenchmarkRule;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+
+import com.example.brainboard.shared.data.TaskSearchIndex;
+import com.example.brainboardmobile.models.TaskModel;
+
+import org.junit.BeforeClass;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertFalse;
+
+/**
+ * TaskSearchIndexBenchmark.java
+ *
+ * Times TaskSearchIndex queries against TASK_COUNT titles: a multi-word trigram query and
+ * a short word-prefix query, as typed into the search box.
+ *
+ * Notes:
+ * - Runs in the debuggable androidTest build (errors suppressed in build.gradle.kts), so
+ *   read the results relative to each other and to earlier runs.
+ * - TaskSearchIndexTest checks the results; this class only measures them.
+ */
+@RunWith(AndroidJUnit4.class)
+public class TaskSearchIndexBenchmark {
+
+    private static final int TASK_COUNT = 50_000;
+
+    private static TaskSearchIndex index;
+
+    @Rule
+    public BenchmarkRule benchmarkRule = new BenchmarkRule();
+
+    @BeforeClass
+    public static void buildIndex() {
+        String[] subjects = {"math", "history", "biology", "physics", "chemistry", "english"};
+        String[] kinds = {"homework", "quiz", "essay", "lab report", "revision", "reading"};
+        List<TaskModel> tasks = new ArrayList<>();
+        for (int i = 0; i < TASK_COUNT; i++) {
+            tasks.add(new TaskModel("task-" + i,
+                    subjects[i % subjects.length] + " " + kinds[(i / 7) % kinds.length] + " " + i, null, false));
+        }
+        index = new TaskSearchIndex();
+        index.sync(tasks);
+    }
+
+    @Test
+    public void searchTrigrams() {
+        BenchmarkState state = benchmarkRule.getState();
+        while (state.keepRunning()) {
+            assertFalse(index.search("stry essay 4999").isEmpty());
+        }
+    }
+
+    @Test
+    public void searchWordPrefix() {
+        BenchmarkState state = benchmarkRule.getState();
+        while (state.keepRunning()) {
+            assertFalse(index.search("ch").isEmpty());
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package com.example.brainboardmobile.firebase;
+
+import android.content.Context;
+
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.platform.app.InstrumentationRegistry;
+
+import com.example.brainboardmobile.models.TaskModel;
+import com.google.android.gms.tasks.Tasks;
+import com.google.firebase.FirebaseApp;
+import com.google.firebase.firestore.FirebaseFirestore;
+import com.google.firebase.firestore.FirebaseFirestoreSettings;
+import com.google.firebase.firestore.MemoryCacheSettings;
+
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * FindExistingTaskIdsTest.java
+ *
+ * Checks FirestoreHelper.findExistingTaskIds(), which bulk import uses to skip tasks it
+ * imported before: IDs in the active collection and in the archive both count.
+ *
+ * Setup:
+ * - Uses a separate FirebaseApp with an in-memory cache and the network disabled (as
+ *   TaskCodecBenchmark does), so the seeded documents exist only as local pending writes
+ *   and the app's own session and cache are never touched.
+ */
+@RunWith(AndroidJUnit4.class)
+public class FindExistingTaskIdsTest {
+
+    private static final String APP_NAME = "find-existing-test";
+    private static final String UID = "import-test-user";
+
+    private static FirebaseApp app;
+    private static FirestoreHelper helper;
+
+    @BeforeClass
+    public static void seed() throws Exception {
+        Context context = InstrumentationRegistry.getInstrumentation().getTargetContext();
+        app = FirebaseApp.initializeApp(context, FirebaseApp.getInstance().getOptions(), APP_NAME);
+        FirebaseFirestore db = FirebaseFirestore.getInstance(app);
+        db.setFirestoreSettings(new FirebaseFirestoreSettings.Builder()
+                .setLocalCacheSettings(MemoryCacheSettings.newBuilder().build())
+                .build());
+        Tasks.await(db.disableNetwork());
+        helper = new FirestoreHelper(db, UID);
+
+        // Commits never resolve offline; the writes are visible to cache reads right away
+        TaskModel open = new TaskModel("imp-open", "Essay", "12/11/2026 17:00", false);
+        TaskModel archived = new TaskModel("imp-archived", "Quiz", "13/11/2026 09:00", true);
+        helper.addTaskBatch(Arrays.asList(open));
+        helper.getUserArchiveCollection().document(archived.getTaskId()).set(TaskFields.forCreate(archived));
+    }
+
+    @AfterClass
+    public static void tearDown() throws Exception {
+        Tasks.await(FirebaseFirestore.getInstance(app).terminate());
+        app.delete();
+    }
+
+    @Test
+    public void activeAndArchivedTasksBothCountAsExisting() throws Exception {
+        Set<String> existing = Tasks.await(
+                helper.findExistingTaskIds(Arrays.asList("imp-open", "imp-archived", "imp-new")),
+                1, TimeUnit.MINUTES);
+
+        assertEquals(new HashSet<>(Arrays.asList("imp-open", "imp-archived")), existing);
+    }
+
+    @Test
+    public void idsBeyondOneInQueryAreAllLookedUp() throws Exception {
+        List<String> ids = new ArrayList<>();
+        for (int i = 0; i < FirestoreHelper.IN_QUERY_LIMIT * 2; i++) ids.add("imp-missing-" + i);
+        ids.add("imp-archived");
+
+        Set<String> existing = Tasks.await(helper.findExistingTaskIds(ids), 1, TimeUnit.MINUTES);
+
+        assertEquals(new HashSet<>(Arrays.asList("imp-archived")), existing);
+    }
+}
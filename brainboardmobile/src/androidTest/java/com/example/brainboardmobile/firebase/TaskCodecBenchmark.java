@@ -0,0 +1,122 @@
+package com.example.brainboardmobile.firebase;
+
+import android.content.Context;
+
+import androidx.benchmark.BenchmarkState;
+import androidx.benchmark.junit4.BenchmarkRule;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.platform.app.InstrumentationRegistry;
+
+import com.example.brainboardmobile.models.TaskModel;
+import com.google.android.gms.tasks.Tasks;
+import com.google.firebase.FirebaseApp;
+import com.google.firebase.firestore.CollectionReference;
+import com.google.firebase.firestore.DocumentSnapshot;
+import com.google.firebase.firestore.FirebaseFirestore;
+import com.google.firebase.firestore.FirebaseFirestoreSettings;
+import com.google.firebase.firestore.MemoryCacheSettings;
+import com.google.firebase.firestore.Source;
+import com.google.firebase.firestore.WriteBatch;
+
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * TaskCodecBenchmark.java
+ *
+ * Compares decoding DOCUMENT_COUNT task documents with the reflective
+ * DocumentSnapshot.toObject(TaskModel.class) against the hand-written TaskCodec.
+ *
+ * Setup:
+ * - Uses a separate FirebaseApp with an in-memory cache and the network disabled, so the
+ *   seeded documents exist only as local pending writes, never reach the project's
+ *   backend, and disappear when the app is deleted after the run.
+ *
+ * Notes:
+ * - Runs in the debuggable androidTest build (errors suppressed in build.gradle.kts), so
+ *   compare the two results with each other rather than reading them as absolute numbers.
+ */
+@RunWith(AndroidJUnit4.class)
+public class TaskCodecBenchmark {
+
+    private static final String APP_NAME = "task-codec-benchmark";
+    private static final int DOCUMENT_COUNT = 10_000;
+    private static final int BATCH_SIZE = 500;
+
+    private static FirebaseApp app;
+    private static List<DocumentSnapshot> documents;
+
+    @Rule
+    public BenchmarkRule benchmarkRule = new BenchmarkRule();
+
+    @BeforeClass
+    public static void seedDocuments() throws Exception {
+        Context context = InstrumentationRegistry.getInstrumentation().getTargetContext();
+        app = FirebaseApp.initializeApp(context, FirebaseApp.getInstance().getOptions(), APP_NAME);
+        FirebaseFirestore db = FirebaseFirestore.getInstance(app);
+        db.setFirestoreSettings(new FirebaseFirestoreSettings.Builder()
+                .setLocalCacheSettings(MemoryCacheSettings.newBuilder().build())
+                .build());
+        Tasks.await(db.disableNetwork());
+
+        // Commits never resolve offline; the writes are visible to cache reads right away
+        CollectionReference collection = db.collection("benchmark").document("codec").collection("tasks");
+        for (int start = 0; start < DOCUMENT_COUNT; start += BATCH_SIZE) {
+            WriteBatch batch = db.batch();
+            for (int i = start; i < start + BATCH_SIZE; i++) {
+                TaskModel task = new TaskModel("task-" + i, "Study task #" + i, "01/01/2030 09:00", i % 7 == 0);
+                batch.set(collection.document(task.getTaskId()), TaskFields.forCreate(task));
+            }
+            batch.commit();
+        }
+
+        documents = Tasks.await(collection.get(Source.CACHE)).getDocuments();
+        assertEquals(DOCUMENT_COUNT, documents.size());
+    }
+
+    @AfterClass
+    public static void tearDown() throws Exception {
+        Tasks.await(FirebaseFirestore.getInstance(app).terminate());
+        app.delete();
+    }
+
+    @Test
+    public void decodeWithToObject() {
+        BenchmarkState state = benchmarkRule.getState();
+        while (state.keepRunning()) {
+            for (DocumentSnapshot doc : documents) {
+                doc.toObject(TaskModel.class);
+            }
+        }
+    }
+
+    @Test
+    public void decodeWithCodec() {
+        BenchmarkState state = benchmarkRule.getState();
+        while (state.keepRunning()) {
+            for (DocumentSnapshot doc : documents) {
+                TaskCodec.fromSnapshot(doc);
+            }
+        }
+    }
+
+    @Test
+    public void codecMatchesToObject() {
+        for (int i = 0; i < documents.size(); i += 97) {
+            DocumentSnapshot doc = documents.get(i);
+            TaskModel expected = doc.toObject(TaskModel.class);
+            TaskModel actual = TaskCodec.fromSnapshot(doc);
+            assertEquals(expected.getTaskId(), actual.getTaskId());
+            assertEquals(expected.getTitle(), actual.getTitle());
+            assertEquals(expected.getDueDateTime(), actual.getDueDateTime());
+            assertEquals(expected.isCompleted(), actual.isCompleted());
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.example.brainboardmobile.importer;
+
+import androidx.benchmark.BenchmarkState;
+import androidx.benchmark.junit4.BenchmarkRule;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+
+import org.junit.BeforeClass;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.time.ZoneId;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * TaskImportParserBenchmark.java
+ *
+ * Times TaskImportParser over a ROW_COUNT-row CSV file, the parsing side of a bulk import
+ * (TaskImporter adds the Firestore round trips on top).
+ *
+ * Notes:
+ * - Runs in the debuggable androidTest build (errors suppressed in build.gradle.kts), so
+ *   read the results relative to earlier runs rather than as absolute numbers.
+ * - TaskImportParserTest checks the parsed rows; this class only measures them.
+ */
+@RunWith(AndroidJUnit4.class)
+public class TaskImportParserBenchmark {
+
+    private static final int ROW_COUNT = 10_000;
+    private static final ZoneId LONDON = ZoneId.of("Europe/London");
+
+    private static String csv;
+
+    @Rule
+    public BenchmarkRule benchmarkRule = new BenchmarkRule();
+
+    @BeforeClass
+    public static void buildInput() {
+        StringBuilder text = new StringBuilder("title,due\n");
+        for (int i = 0; i < ROW_COUNT; i++) {
+            text.append("Task ").append(i).append(',').append(1 + i % 28).append("/11/2026 09:00\n");
+        }
+        csv = text.toString();
+    }
+
+    @Test
+    public void parseCsv() throws IOException {
+        BenchmarkState state = benchmarkRule.getState();
+        while (state.keepRunning()) {
+            int rows = 0;
+            try (TaskImportParser parser = new TaskImportParser(new StringReader(csv), LONDON)) {
+                while (parser.next() != null) rows++;
+            }
+            assertEquals(ROW_COUNT, rows);
+        }
+    }
+}
@@ -0,0 +1,286 @@
+package com.example.brainboardmobile.loadtest;
+
+import android.content.Context;
+import android.os.Bundle;
+import android.os.SystemClock;
+import android.util.Log;
+
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.platform.app.InstrumentationRegistry;
+
+import com.example.brainboard.shared.metrics.FirestoreMetrics;
+import com.example.brainboardmobile.firebase.FirestoreHelper;
+import com.example.brainboardmobile.firebase.FirestoreProvider;
+import com.example.brainboardmobile.models.TaskModel;
+import com.google.android.gms.tasks.Task;
+import com.google.android.gms.tasks.Tasks;
+import com.google.firebase.FirebaseApp;
+import com.google.firebase.auth.FirebaseAuth;
+import com.google.firebase.firestore.DocumentChange;
+import com.google.firebase.firestore.FirebaseFirestore;
+import com.google.firebase.firestore.ListenerRegistration;
+import com.google.firebase.firestore.QuerySnapshot;
+import com.google.firebase.firestore.Source;
+
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeTrue;
+
+/**
+ * FirestoreLoadTest.java
+ *
+ * Load test of the real FirestoreHelper code paths against the local Firestore and Auth
+ * emulators, seeded with a configurable number of synthetic tasks (SyntheticTasks).
+ *
+ * Measures:
+ * - Seeding: FirestoreHelper.addTasks() write batch throughput (docs/s).
+ * - Fetch: the active-task query (what the task list and the watch load) from the server
+ *   and from the local cache, and the whole collection from the server.
+ * - Listener: FirestoreHelper.fetchAllTasks() time to first server snapshot, then the rate
+ *   at which updateTask() edits arrive as MODIFIED changes and are acknowledged.
+ * - Rewrite: addTasks() over the seeded IDs again, batch throughput on existing documents.
+ *
+ * Setup:
+ * - Skipped unless the "loadTest" instrumentation argument is "true"; run it with
+ *   scripts/firestore-load-test.sh, which starts the emulators, forwards their ports to
+ *   the device and pulls the results.
+ * - Arguments: taskCount (1000, clamped to 1k-100k), completedRatio (0.3), seed (42),
+ *   emulatorHost (10.0.2.2, the host loopback from the Android emulator), firestorePort
+ *   (8080), authPort (9099).
+ * - Runs on its own FirebaseApp (APP_NAME) with a Firestore instance from
+ *   FirestoreProvider.forEmulator() and its own FirebaseAuth, handed to FirestoreHelper
+ *   through its (FirebaseFirestore, uid) constructor. The app's default FirebaseApp, its
+ *   signed-in user and its Firestore cache are never touched.
+ * - Signs in anonymously on the Auth emulator, so every run seeds a fresh user and never
+ *   needs a cleanup pass; the harness's own cache is cleared at the end and its app
+ *   deleted.
+ *
+ * Output:
+ * - One line per measurement in logcat (tag "FirestoreLoadTest") and in a report under
+ *   the app's external files dir ("loadtest/"), followed by FirestoreMetrics.report().
+ *
+ * Notes:
+ * - Everything talks to localhost; no network access or real project is needed.
+ * - Runs in the debuggable androidTest build, so compare runs with each other rather than
+ *   reading the numbers as production latency.
+ */
+@RunWith(AndroidJUnit4.class)
+public class FirestoreLoadTest {
+
+    private static final String TAG = "FirestoreLoadTest";
+    private static final String APP_NAME = "firestore-load-test";
+    private static final String REPORT_DIR = "loadtest";
+    private static final int MIN_TASKS = 1_000;
+    private static final int MAX_TASKS = 100_000;
+    private static final int LISTENER_UPDATES = 500;
+    private static final long TIMEOUT_MINUTES = 10;
+
+    private static final StringBuilder report = new StringBuilder();
+    private static FirebaseApp app;
+    private static FirestoreHelper helper;
+    private static List<TaskModel> tasks;
+    private static int activeCount;
+
+    @BeforeClass
+    public static void seed() throws Exception {
+        Bundle args = InstrumentationRegistry.getArguments();
+        assumeTrue("Load test disabled; pass -e loadTest true", Boolean.parseBoolean(args.getString("loadTest")));
+
+        String host = args.getString("emulatorHost", "10.0.2.2");
+        int firestorePort = Integer.parseInt(args.getString("firestorePort", "8080"));
+        int authPort = Integer.parseInt(args.getString("authPort", "9099"));
+        int count = Math.max(MIN_TASKS, Math.min(MAX_TASKS, Integer.parseInt(args.getString("taskCount", "1000"))));
+        double completedRatio = Double.parseDouble(args.getString("completedRatio", "0.3"));
+        long seed = Long.parseLong(args.getString("seed", "42"));
+
+        Context context = InstrumentationRegistry.getInstrumentation().getTargetContext();
+        app = FirebaseApp.initializeApp(context, FirebaseApp.getInstance().getOptions(), APP_NAME);
+        FirebaseFirestore db = FirestoreProvider.forEmulator(app, host, firestorePort);
+        FirebaseAuth auth = FirebaseAuth.getInstance(app);
+        auth.useEmulator(host, authPort);
+        String uid = Tasks.await(auth.signInAnonymously(), 1, TimeUnit.MINUTES).getUser().getUid();
+        FirestoreMetrics.reset();
+
+        helper = new FirestoreHelper(db, uid);
+        tasks = SyntheticTasks.generate(count, completedRatio, seed, System.currentTimeMillis());
+        for (TaskModel task : tasks) {
+            if (!task.isCompleted()) activeCount++;
+        }
+        line("Seeding %d tasks (%d active, completedRatio %.2f, seed %d) at %s:%d",
+                count, activeCount, completedRatio, seed, host, firestorePort);
+
+        long start = SystemClock.elapsedRealtime();
+        await(helper.addTasks(tasks));
+        throughput("seed.addTasks", count, SystemClock.elapsedRealtime() - start);
+    }
+
+    @AfterClass
+    public static void tearDown() throws Exception {
+        if (helper == null) return;
+        report.append('\n').append(FirestoreMetrics.report());
+        File file = writeReport();
+        Log.i(TAG, "Report written to " + file);
+
+        // The harness's cache lives under APP_NAME; drop it along with the app
+        FirebaseAuth.getInstance(app).signOut();
+        FirebaseFirestore db = FirebaseFirestore.getInstance(app);
+        Tasks.await(db.terminate());
+        Tasks.await(db.clearPersistence());
+        app.delete();
+    }
+
+    @Test
+    public void fetchActiveTasks_server() throws Exception {
+        long start = SystemClock.elapsedRealtime();
+        QuerySnapshot snapshot = await(FirestoreMetrics.trackRead("loadTest.activeServer",
+                helper.getActiveTasksQuery().get(Source.SERVER)));
+        long elapsed = SystemClock.elapsedRealtime() - start;
+
+        assertFalse(snapshot.getMetadata().isFromCache());
+        assertEquals(activeCount, snapshot.size());
+        throughput("fetch.activeServer", snapshot.size(), elapsed);
+    }
+
+    @Test
+    public void fetchActiveTasks_cache() throws Exception {
+        long start = SystemClock.elapsedRealtime();
+        QuerySnapshot snapshot = await(FirestoreMetrics.trackRead("loadTest.activeCache",
+                helper.getActiveTasksQuery().get(Source.CACHE)));
+        long elapsed = SystemClock.elapsedRealtime() - start;
+
+        assertEquals(activeCount, snapshot.size());
+        throughput("fetch.activeCache", snapshot.size(), elapsed);
+    }
+
+    @Test
+    public void fetchAllTasks_server() throws Exception {
+        long start = SystemClock.elapsedRealtime();
+        QuerySnapshot snapshot = await(FirestoreMetrics.trackRead("loadTest.allServer",
+                helper.getUserTasksCollection().get(Source.SERVER)));
+        long elapsed = SystemClock.elapsedRealtime() - start;
+
+        assertEquals(tasks.size(), snapshot.size());
+        throughput("fetch.allServer", snapshot.size(), elapsed);
+    }
+
+    @Test
+    public void listener_firstSnapshotAndUpdateThroughput() throws Exception {
+        int updates = Math.min(LISTENER_UPDATES, tasks.size());
+        CountDownLatch firstServerSnapshot = new CountDownLatch(1);
+        CountDownLatch modified = new CountDownLatch(updates);
+        AtomicLong firstSnapshotAt = new AtomicLong();
+        AtomicInteger snapshots = new AtomicInteger();
+        // The server ack resolves updatedAt and modifies each document a second time
+        Set<String> modifiedIds = ConcurrentHashMap.newKeySet();
+
+        long attachedAt = SystemClock.elapsedRealtime();
+        ListenerRegistration registration = helper.fetchAllTasks((value, error) -> {
+            if (value == null) return;
+            snapshots.incrementAndGet();
+            if (firstServerSnapshot.getCount() > 0) {
+                if (!value.getMetadata().isFromCache() && value.size() == tasks.size()) {
+                    firstSnapshotAt.set(SystemClock.elapsedRealtime());
+                    firstServerSnapshot.countDown();
+                }
+                return;
+            }
+            for (DocumentChange change : value.getDocumentChanges()) {
+                if (change.getType() == DocumentChange.Type.MODIFIED
+                        && modifiedIds.add(change.getDocument().getId())) {
+                    modified.countDown();
+                }
+            }
+        });
+
+        try {
+            assertTrue("No server snapshot", firstServerSnapshot.await(TIMEOUT_MINUTES, TimeUnit.MINUTES));
+            line("listener.firstSnapshot: %d docs in %d ms", tasks.size(), firstSnapshotAt.get() - attachedAt);
+
+            CountDownLatch acked = new CountDownLatch(updates);
+            AtomicInteger failed = new AtomicInteger();
+            snapshots.set(0);
+            long start = SystemClock.elapsedRealtime();
+            for (int i = 0; i < updates; i++) {
+                TaskModel original = tasks.get(i);
+                TaskModel edited = new TaskModel(original.getTaskId(), original.getTitle() + " (edited)",
+                        original.getDueDateTime(), original.isCompleted());
+                helper.updateTask(original, edited, unused -> acked.countDown(), e -> {
+                    failed.incrementAndGet();
+                    acked.countDown();
+                });
+            }
+
+            assertTrue("Missing MODIFIED events", modified.await(TIMEOUT_MINUTES, TimeUnit.MINUTES));
+            long delivered = SystemClock.elapsedRealtime() - start;
+            assertTrue("Missing acknowledgements", acked.await(TIMEOUT_MINUTES, TimeUnit.MINUTES));
+            long acknowledged = SystemClock.elapsedRealtime() - start;
+
+            assertEquals(0, failed.get());
+            throughput("listener.modifiedEvents", updates, delivered);
+            line("listener.snapshots: %d snapshots for %d updates", snapshots.get(), updates);
+            throughput("listener.updateAcks", updates, acknowledged);
+        } finally {
+            registration.remove();
+        }
+    }
+
+    @Test
+    public void rewriteBatches_existingDocuments() throws Exception {
+        long start = SystemClock.elapsedRealtime();
+        await(helper.addTasks(tasks));
+        throughput("rewrite.addTasks", tasks.size(), SystemClock.elapsedRealtime() - start);
+    }
+
+    private static <T> T await(Task<T> task) throws Exception {
+        return Tasks.await(task, TIMEOUT_MINUTES, TimeUnit.MINUTES);
+    }
+
+    private static void throughput(String name, int documents, long elapsedMs) {
+        line("%s: %d docs in %d ms (%.0f docs/s)", name, documents, elapsedMs,
+                documents * 1000.0 / Math.max(elapsedMs, 1));
+    }
+
+    private static synchronized void line(String format, Object... args) {
+        String text = String.format(Locale.US, format, args);
+        Log.i(TAG, text);
+        report.append(text).append('\n');
+    }
+
+    private static File writeReport() {
+        Context context = InstrumentationRegistry.getInstrumentation().getTargetContext();
+        File base = context.getExternalFilesDir(null);
+        File dir = new File(base != null ? base : context.getFilesDir(), REPORT_DIR);
+        if (!dir.isDirectory() && !dir.mkdirs()) return null;
+
+        String stamp = new SimpleDateFormat("yyyyMMdd-HHmmss", Locale.US).format(new Date());
+        File file = new File(dir, "firestore-load-" + tasks.size() + "-" + stamp + ".txt");
+        try (Writer writer = new FileWriter(file)) {
+            writer.write(report.toString());
+            return file;
+        } catch (IOException e) {
+            Log.e(TAG, "Failed to write report", e);
+            return null;
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.example.brainboardmobile.loadtest;
+
+import com.example.brainboardmobile.models.TaskModel;
+
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+
+/**
+ * SyntheticTasks.java
+ *
+ * Deterministic task data for FirestoreLoadTest.
+ *
+ * Features:
+ * - IDs are "load-000000", "load-000001", ... so a run can address any seeded task
+ *   without reading it back.
+ * - Titles combine a verb, a subject and a number, giving varied lengths like real input.
+ * - Due dates are spread from 30 days before to 90 days after {@code now}, at a random
+ *   minute, in the mobile "dd/MM/yyyy HH:mm" format.
+ * - About {@code completedRatio} of the tasks are completed; completed tasks are mostly
+ *   past due and open ones mostly upcoming, as in real lists.
+ *
+ * Notes:
+ * - The same seed and now always produce the same list.
+ */
+final class SyntheticTasks {
+
+    private static final String[] VERBS = {
+            "Read", "Review", "Finish", "Submit", "Revise", "Practice", "Outline", "Email", "Print", "Study"
+    };
+    private static final String[] SUBJECTS = {
+            "chapter", "lab report", "calculus problem set", "essay draft", "history notes",
+            "group project slides", "flashcards", "past exam paper", "reading list", "professor about grades"
+    };
+    private static final long DAY_MS = 24L * 60 * 60 * 1000;
+    private static final long PAST_MS = 30 * DAY_MS;
+    private static final long FUTURE_MS = 90 * DAY_MS;
+
+    private SyntheticTasks() {}
+
+    static String idOf(int index) {
+        return String.format(Locale.US, "load-%06d", index);
+    }
+
+    static List<TaskModel> generate(int count, double completedRatio, long seed, long now) {
+        Random random = new Random(seed);
+        SimpleDateFormat format = new SimpleDateFormat("dd/MM/yyyy HH:mm", Locale.getDefault());
+        List<TaskModel> tasks = new ArrayList<>(count);
+
+        for (int i = 0; i < count; i++) {
+            boolean completed = random.nextDouble() < completedRatio;
+            // Completed tasks are 80% past due, open tasks 15% (overdue)
+            boolean past = random.nextDouble() < (completed ? 0.8 : 0.15);
+            long offset = (long) (random.nextDouble() * (past ? PAST_MS : FUTURE_MS));
+            long due = past ? now - offset : now + offset;
+            due -= due % 60_000;
+
+            String title = VERBS[random.nextInt(VERBS.length)] + " "
+                    + SUBJECTS[random.nextInt(SUBJECTS.length)] + " #" + (i + 1);
+            tasks.add(new TaskModel(idOf(i), title, format.format(new Date(due)), completed));
+        }
+        return tasks;
+    }
+}
@@ -7,6 +7,7 @@ import android.content.Intent;
 import android.content.pm.PackageManager;
 import android.os.Bundle;
 import android.speech.RecognizerIntent;
+import android.widget.ArrayAdapter;
 import android.widget.Toast;
 
 import androidx.activity.result.ActivityResultLauncher;
@@ -16,13 +17,18 @@ import androidx.appcompat.app.AppCompatActivity;
 import androidx.core.app.ActivityCompat;
 import androidx.core.content.ContextCompat;
 
+import com.example.brainboard.shared.data.RecurrenceRule;
+import com.example.brainboard.shared.speech.VoiceInput;
+import com.example.brainboardmobile.R;
 import com.example.brainboardmobile.databinding.ActivityAddTaskBinding;
 import com.example.brainboardmobile.firebase.FirestoreHelper;
 import com.example.brainboardmobile.models.TaskModel;
 
 import java.text.SimpleDateFormat;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Calendar;
+import java.util.List;
 import java.util.Locale;
 import java.util.UUID;
 
@@ -33,8 +39,13 @@ import java.util.UUID;
  *
  * Features:
  * - Create new tasks or update existing ones (edit mode via Intent extras)
- * - Supports speech-to-text input for task title (requires RECORD_AUDIO permission)
- * - Date and time pickers for setting task deadlines
+ * - Supports speech-to-text input for task title (requires RECORD_AUDIO permission); the
+ *   recognizer runs inside the activity (VoiceInput, on-device when available) and streams
+ *   partial text into the field, with the system voice UI as a fallback
+ * - Date and time pickers for setting task deadlines; the due date starts the series of a
+ *   recurring task and sets the time of every occurrence
+ * - Repeat picker (repeatSpinner) with the common rules (REPEAT_RULES); an edited task
+ *   whose rule is not a preset keeps it as an extra entry (see data/RecurrenceRule)
  * - Task data is saved or updated in Firebase Firestore via FirestoreHelper
  *
  * UI Components:
@@ -42,6 +53,7 @@ import java.util.UUID;
  * - dueDateTimeText: TextView displaying selected date and time
  * - btnVoiceInput: Triggers speech recognition input
  * - btnPickDateTime: Launches date and time pickers
+ * - repeatSpinner: Chooses whether and how the task repeats
  * - btnSaveTask: Saves or updates the task in Firestore
  *
  * Dependencies:
@@ -58,11 +70,24 @@ import java.util.UUID;
 
 public class AddTaskActivity extends AppCompatActivity {
 
+    // Rules offered by repeatSpinner, in the order of R.array.repeat_options; null = one-off
+    private static final String[] REPEAT_RULES = {
+            null,
+            "FREQ=DAILY",
+            "FREQ=WEEKLY;BYDAY=MO,TU,WE,TH,FR",
+            "FREQ=WEEKLY",
+            "FREQ=WEEKLY;INTERVAL=2",
+            "FREQ=MONTHLY"
+    };
+
     private ActivityAddTaskBinding binding;
     private final Calendar calendar = Calendar.getInstance();
     private final FirestoreHelper firestoreHelper = new FirestoreHelper();
     private String formattedDateTime = null;
     private String taskIdToEdit = null;
+    private TaskModel originalTask = null;
+    private final List<String> repeatRules = new ArrayList<>(Arrays.asList(REPEAT_RULES));
+    private VoiceInput voiceInput;
 
     private final ActivityResultLauncher<Intent> speechLauncher =
             registerForActivityResult(new ActivityResultContracts.StartActivityForResult(), result -> {
@@ -87,12 +112,37 @@ public class AddTaskActivity extends AppCompatActivity {
             taskIdToEdit = intent.getStringExtra("taskId");
             binding.taskTitleInput.setText(intent.getStringExtra("title"));
             formattedDateTime = intent.getStringExtra("dueDateTime");
+            originalTask = new TaskModel(taskIdToEdit, intent.getStringExtra("title"), formattedDateTime, false,
+                    intent.getStringExtra("recurrence"), null);
             binding.dueDateTimeText.setText("Due: " + formattedDateTime);
         }
+        setUpRepeatSpinner(originalTask != null ? originalTask.getRecurrence() : null);
+
+        // Voice input streams partial text into the title field
+        voiceInput = new VoiceInput(this, new VoiceInput.Callback() {
+            @Override
+            public void onPartialText(String text) {
+                showSpokenText(text);
+            }
+
+            @Override
+            public void onFinalText(String text) {
+                showSpokenText(text);
+                binding.btnVoiceInput.setText(R.string.use_voice_input);
+            }
+
+            @Override
+            public void onError(String message) {
+                binding.btnVoiceInput.setText(R.string.use_voice_input);
+                Toast.makeText(AddTaskActivity.this, message, Toast.LENGTH_SHORT).show();
+            }
+        });
 
         // Microphone permissions and launch
         binding.btnVoiceInput.setOnClickListener(v -> {
-            if (ContextCompat.checkSelfPermission(this, Manifest.permission.RECORD_AUDIO)
+            if (voiceInput.isListening()) {
+                voiceInput.stop();
+            } else if (ContextCompat.checkSelfPermission(this, Manifest.permission.RECORD_AUDIO)
                     == PackageManager.PERMISSION_GRANTED) {
                 startVoiceInput();
             } else {
@@ -111,7 +161,28 @@ public class AddTaskActivity extends AppCompatActivity {
         });
     }
 
+    @Override
+    protected void onDestroy() {
+        voiceInput.destroy();
+        super.onDestroy();
+    }
+
     private void startVoiceInput() {
+        if (!VoiceInput.isAvailable(this)) {
+            startSystemVoiceInput();
+            return;
+        }
+        voiceInput.start();
+        binding.btnVoiceInput.setText(R.string.listening);
+    }
+
+    private void showSpokenText(String text) {
+        binding.taskTitleInput.setText(text);
+        binding.taskTitleInput.setSelection(text.length());
+    }
+
+    /** Fallback for devices without a recognition service: the system voice UI. */
+    private void startSystemVoiceInput() {
         Intent intent = new Intent(RecognizerIntent.ACTION_RECOGNIZE_SPEECH);
         intent.putExtra(RecognizerIntent.EXTRA_LANGUAGE_MODEL, RecognizerIntent.LANGUAGE_MODEL_FREE_FORM);
         intent.putExtra(RecognizerIntent.EXTRA_LANGUAGE, Locale.getDefault());
@@ -140,6 +211,29 @@ public class AddTaskActivity extends AppCompatActivity {
         }
     }
 
+    /** Fills repeatSpinner with the presets, plus the task's own rule if it is not one of them. */
+    private void setUpRepeatSpinner(String currentRule) {
+        List<String> labels = new ArrayList<>(Arrays.asList(getResources().getStringArray(R.array.repeat_options)));
+        RecurrenceRule rule = RecurrenceRule.parse(currentRule);
+        int selected = 0;
+        if (rule != null) {
+            selected = repeatRules.indexOf(rule.toString());
+            if (selected < 0) {
+                repeatRules.add(rule.toString());
+                labels.add(rule.describe());
+                selected = labels.size() - 1;
+            }
+        }
+        ArrayAdapter<String> adapter = new ArrayAdapter<>(this, android.R.layout.simple_spinner_item, labels);
+        adapter.setDropDownViewResource(android.R.layout.simple_spinner_dropdown_item);
+        binding.repeatSpinner.setAdapter(adapter);
+        binding.repeatSpinner.setSelection(selected);
+    }
+
+    private String selectedRule() {
+        return repeatRules.get(binding.repeatSpinner.getSelectedItemPosition());
+    }
+
     private void showDatePicker() {
         DatePickerDialog datePickerDialog = new DatePickerDialog(this,
                 (view, year, month, dayOfMonth) -> {
@@ -183,7 +277,8 @@ public class AddTaskActivity extends AppCompatActivity {
             return;
         }
 
-        TaskModel task = new TaskModel(UUID.randomUUID().toString(), title, formattedDateTime, false);
+        TaskModel task = new TaskModel(UUID.randomUUID().toString(), title, formattedDateTime, false,
+                selectedRule(), null);
 
         firestoreHelper.addTask(task,
                 unused -> {
@@ -207,9 +302,11 @@ public class AddTaskActivity extends AppCompatActivity {
             return;
         }
 
-        TaskModel updatedTask = new TaskModel(taskIdToEdit, title, formattedDateTime, false);
+        // Completed occurrences are left as stored; TaskFields.diff() only writes the rule
+        TaskModel updatedTask = new TaskModel(taskIdToEdit, title, formattedDateTime, false,
+                selectedRule(), null);
 
-        firestoreHelper.updateTask(updatedTask,
+        firestoreHelper.updateTask(originalTask, updatedTask,
                 unused -> {
                     Toast.makeText(this, "Task updated!", Toast.LENGTH_SHORT).show();
                     finish();
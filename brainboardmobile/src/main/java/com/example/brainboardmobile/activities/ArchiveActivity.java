@@ -0,0 +1,158 @@
+package com.example.brainboardmobile.activities;
+
+import android.os.Bundle;
+import android.view.View;
+import android.widget.ArrayAdapter;
+import android.widget.Toast;
+
+import androidx.appcompat.app.AppCompatActivity;
+
+import com.example.brainboard.shared.metrics.FirestoreMetrics;
+import com.example.brainboardmobile.archive.ArchiveWorker;
+import com.example.brainboardmobile.databinding.ActivityArchiveBinding;
+import com.example.brainboardmobile.firebase.FirestoreHelper;
+import com.example.brainboardmobile.firebase.TaskCodec;
+import com.example.brainboardmobile.firebase.TaskFields;
+import com.example.brainboardmobile.models.TaskModel;
+import com.google.firebase.firestore.DocumentSnapshot;
+import com.google.firebase.firestore.Query;
+import com.google.firebase.firestore.QueryDocumentSnapshot;
+import com.google.firebase.firestore.QuerySnapshot;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * ArchiveActivity.java (Mobile)
+ *
+ * Shows completed tasks, which the main list no longer loads.
+ *
+ * Features:
+ * - Lists recently completed tasks (still in users/{uid}/tasks) followed by archived
+ *   tasks (users/{uid}/archive), newest completion first.
+ * - Both sections are read on demand, PAGE_SIZE at a time, with a "Load more" button:
+ *   completed pages come first (cursor lastCompleted); once they run out, the same
+ *   button pages through the archive (cursor lastArchived).
+ * - Lets the user change how many days after completion a task is archived, and start
+ *   an archival run right away (ArchiveWorker).
+ *
+ * Notes:
+ * - Nothing here keeps a realtime listener; each page is a single one-off query.
+ */
+public class ArchiveActivity extends AppCompatActivity {
+
+    private static final int PAGE_SIZE = 50;
+
+    private ActivityArchiveBinding binding;
+    private final FirestoreHelper firestoreHelper = new FirestoreHelper();
+    private final List<String> rows = new ArrayList<>();
+    private ArrayAdapter<String> adapter;
+    private DocumentSnapshot lastCompleted;
+    private boolean completedDone = false;
+    private DocumentSnapshot lastArchived;
+
+    @Override
+    protected void onCreate(Bundle savedInstanceState) {
+        super.onCreate(savedInstanceState);
+        binding = ActivityArchiveBinding.inflate(getLayoutInflater());
+        setContentView(binding.getRoot());
+
+        adapter = new ArrayAdapter<>(this, android.R.layout.simple_list_item_1, rows);
+        binding.completedListView.setAdapter(adapter);
+
+        binding.archiveDaysInput.setText(String.valueOf(ArchiveWorker.getArchiveAfterDays(this)));
+        binding.archiveNowButton.setOnClickListener(v -> {
+            saveArchiveDays();
+            ArchiveWorker.runNow(this);
+            Toast.makeText(this, "Archiving in the background", Toast.LENGTH_SHORT).show();
+        });
+        binding.loadMoreButton.setOnClickListener(v -> loadNextPage());
+
+        loadNextPage();
+    }
+
+    @Override
+    protected void onPause() {
+        saveArchiveDays();
+        super.onPause();
+    }
+
+    private void saveArchiveDays() {
+        String text = binding.archiveDaysInput.getText().toString().trim();
+        if (text.isEmpty()) return;
+        try {
+            ArchiveWorker.setArchiveAfterDays(this, Integer.parseInt(text));
+        } catch (NumberFormatException e) {
+            Toast.makeText(this, "Invalid number of days", Toast.LENGTH_SHORT).show();
+        }
+    }
+
+    private void loadNextPage() {
+        binding.loadMoreButton.setVisibility(View.GONE);
+        if (completedDone) {
+            loadArchivedPage();
+        } else {
+            loadCompletedPage();
+        }
+    }
+
+    private void loadCompletedPage() {
+        Query query = firestoreHelper.getUserTasksCollection()
+                .whereEqualTo(TaskFields.COMPLETED, true)
+                .orderBy(TaskFields.COMPLETED_AT, Query.Direction.DESCENDING)
+                .limit(PAGE_SIZE);
+        if (lastCompleted != null) {
+            query = query.startAfter(lastCompleted);
+        }
+
+        FirestoreMetrics.trackRead("archive.completedPage", query.get())
+                .addOnSuccessListener(snapshot -> {
+                    addRows(snapshot, "");
+                    if (!snapshot.isEmpty()) {
+                        lastCompleted = snapshot.getDocuments().get(snapshot.size() - 1);
+                    }
+                    if (snapshot.size() == PAGE_SIZE) {
+                        binding.loadMoreButton.setVisibility(View.VISIBLE);
+                    } else {
+                        // Fewer than a page left: continue straight into the archive
+                        completedDone = true;
+                        loadArchivedPage();
+                    }
+                })
+                .addOnFailureListener(e -> {
+                    binding.loadMoreButton.setVisibility(View.VISIBLE);
+                    Toast.makeText(this, "Error loading completed tasks", Toast.LENGTH_SHORT).show();
+                });
+    }
+
+    private void loadArchivedPage() {
+        Query query = firestoreHelper.getUserArchiveCollection()
+                .orderBy(TaskFields.COMPLETED_AT, Query.Direction.DESCENDING)
+                .limit(PAGE_SIZE);
+        if (lastArchived != null) {
+            query = query.startAfter(lastArchived);
+        }
+
+        FirestoreMetrics.trackRead("archive.archivedPage", query.get())
+                .addOnSuccessListener(snapshot -> {
+                    addRows(snapshot, " (archived)");
+                    if (!snapshot.isEmpty()) {
+                        lastArchived = snapshot.getDocuments().get(snapshot.size() - 1);
+                    }
+                    binding.loadMoreButton.setVisibility(
+                            snapshot.size() == PAGE_SIZE ? View.VISIBLE : View.GONE);
+                })
+                .addOnFailureListener(e -> {
+                    binding.loadMoreButton.setVisibility(View.VISIBLE);
+                    Toast.makeText(this, "Error loading archive", Toast.LENGTH_SHORT).show();
+                });
+    }
+
+    private void addRows(QuerySnapshot snapshot, String suffix) {
+        for (QueryDocumentSnapshot doc : snapshot) {
+            TaskModel task = TaskCodec.fromSnapshot(doc);
+            rows.add("✔ " + task.getTitle() + suffix + "\nDue: " + task.getDueDateTime());
+        }
+        adapter.notifyDataSetChanged();
+    }
+}
@@ -0,0 +1,237 @@
+package com.example.brainboardmobile.activities;
+
+import android.content.Intent;
+import android.database.Cursor;
+import android.net.Uri;
+import android.os.Bundle;
+import android.provider.OpenableColumns;
+import android.text.TextUtils;
+import android.util.Log;
+import android.view.View;
+import android.widget.Toast;
+
+import androidx.activity.result.ActivityResultLauncher;
+import androidx.activity.result.contract.ActivityResultContracts;
+import androidx.annotation.NonNull;
+import androidx.appcompat.app.AppCompatActivity;
+import androidx.work.WorkInfo;
+import androidx.work.WorkManager;
+
+import com.example.brainboardmobile.databinding.ActivityImportBinding;
+import com.example.brainboardmobile.importer.ImportCheckpoint;
+import com.example.brainboardmobile.importer.ImportWorker;
+import com.example.brainboardmobile.importer.TaskImporter;
+import com.google.firebase.auth.FirebaseAuth;
+import com.google.firebase.auth.FirebaseUser;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * ImportActivity.java (Mobile)
+ *
+ * Bulk import of tasks from pasted text or a CSV / calendar (.ics) file.
+ *
+ * Features:
+ * - Paste one task per line ("title, dd/MM/yyyy HH:mm"), or choose a file with the
+ *   system picker; see TaskImportParser for the accepted formats.
+ * - Runs TaskImporter in ImportWorker: rows are parsed as the input is read and written
+ *   in WriteBatches, with a progress bar (share of the input read) and a running count
+ *   after every batch. Tasks that already exist are skipped and counted, not overwritten.
+ * - Rejected rows are listed with their line number and reason; the rest are imported.
+ * - An import that was interrupted (screen closed, offline, app killed) resumes from its
+ *   checkpoint when the same text or file is imported again by the same user.
+ *
+ * UI Components:
+ * - pasteInput: Multi-line text to import
+ * - chooseFileButton: Picks a file; a picked file is imported instead of the text
+ * - importButton: Starts the import
+ * - importProgress / importStatus / importErrors: Progress, counts and rejected rows
+ *
+ * Dependencies:
+ * - ImportWorker (WorkManager), TaskImporter, ImportCheckpoint
+ * - FirebaseAuth for the signed-in user
+ *
+ * Notes:
+ * - Imported tasks reach the list through TaskRepository's listener like any other write.
+ * - The import outlives the screen: rotating or reopening it re-attaches to the running
+ *   work through getWorkInfosForUniqueWorkLiveData(). Picked files are kept readable with
+ *   a persistable Uri permission, so a retry after the process is killed can reopen them.
+ */
+public class ImportActivity extends AppCompatActivity {
+
+    private static final String TAG = "ImportActivity";
+    private static final String[] FILE_TYPES = {"text/*", "application/octet-stream"};
+    private static final String STATE_PICKED_FILE = "picked_file";
+    private static final String STATE_WATCHING = "watching";
+
+    private ActivityImportBinding binding;
+    private Uri pickedFile;
+    // True once this screen started or saw the running import, so its result is reported
+    // here instead of the result of some earlier run
+    private boolean watching;
+
+    private final ActivityResultLauncher<String[]> filePicker =
+            registerForActivityResult(new ActivityResultContracts.OpenDocument(), uri -> {
+                if (uri == null) return;
+                pickedFile = uri;
+                binding.importStatus.setText("Selected: " + displayName(uri));
+            });
+
+    @Override
+    protected void onCreate(Bundle savedInstanceState) {
+        super.onCreate(savedInstanceState);
+        binding = ActivityImportBinding.inflate(getLayoutInflater());
+        setContentView(binding.getRoot());
+
+        if (savedInstanceState != null) {
+            pickedFile = savedInstanceState.getParcelable(STATE_PICKED_FILE);
+            watching = savedInstanceState.getBoolean(STATE_WATCHING);
+        }
+
+        binding.chooseFileButton.setOnClickListener(v -> filePicker.launch(FILE_TYPES));
+        binding.importButton.setOnClickListener(v -> startImport());
+        WorkManager.getInstance(this)
+                .getWorkInfosForUniqueWorkLiveData(ImportWorker.WORK_NAME)
+                .observe(this, this::onWorkChanged);
+    }
+
+    @Override
+    protected void onSaveInstanceState(@NonNull Bundle outState) {
+        super.onSaveInstanceState(outState);
+        outState.putParcelable(STATE_PICKED_FILE, pickedFile);
+        outState.putBoolean(STATE_WATCHING, watching);
+    }
+
+    private void startImport() {
+        FirebaseUser user = FirebaseAuth.getInstance().getCurrentUser();
+        if (user == null) {
+            Toast.makeText(this, "Please login first", Toast.LENGTH_SHORT).show();
+            return;
+        }
+
+        Uri uri;
+        long size;
+        String sourceKey;
+        if (pickedFile != null) {
+            uri = pickedFile;
+            size = fileSize(uri);
+            sourceKey = user.getUid() + "|file|" + uri + "|" + size;
+            try {
+                getContentResolver().takePersistableUriPermission(uri, Intent.FLAG_GRANT_READ_URI_PERMISSION);
+            } catch (SecurityException e) {
+                // Provider without persistable grants; the import still runs while the grant lasts
+                Log.w(TAG, "No persistable permission for " + uri, e);
+            }
+        } else {
+            String text = binding.pasteInput.getText().toString();
+            if (text.trim().isEmpty()) {
+                Toast.makeText(this, "Paste tasks or choose a file", Toast.LENGTH_SHORT).show();
+                return;
+            }
+            byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+            File file = ImportWorker.pastedTextFile(this);
+            try (OutputStream out = new FileOutputStream(file)) {
+                out.write(bytes);
+            } catch (IOException e) {
+                Log.e(TAG, "Could not save the pasted text", e);
+                Toast.makeText(this, "Could not start the import", Toast.LENGTH_SHORT).show();
+                return;
+            }
+            uri = Uri.fromFile(file);
+            size = bytes.length;
+            sourceKey = user.getUid() + "|text|" + text.hashCode() + "|" + bytes.length;
+        }
+
+        int resumeAfter = ImportCheckpoint.rowsDone(this, sourceKey);
+        watching = true;
+        setRunning(true);
+        binding.importErrors.setText("");
+        binding.importStatus.setText(resumeAfter > 0
+                ? "Resuming after " + resumeAfter + " tasks…" : "Importing…");
+        ImportWorker.enqueue(this, uri, size, sourceKey);
+    }
+
+    private void onWorkChanged(List<WorkInfo> infos) {
+        if (infos == null || infos.isEmpty()) return;
+        WorkInfo info = infos.get(infos.size() - 1);
+
+        if (!info.getState().isFinished()) {
+            watching = true;
+            setRunning(true);
+            TaskImporter.Progress progress = ImportWorker.progressOf(info.getProgress());
+            if (progress != null) {
+                showProgress(progress);
+            } else if (info.getRunAttemptCount() > 0) {
+                binding.importStatus.setText("Import paused, resuming when back online…");
+            }
+            return;
+        }
+
+        setRunning(false);
+        if (!watching) return;
+        watching = false;
+        if (info.getState() == WorkInfo.State.SUCCEEDED) {
+            TaskImporter.Progress result = ImportWorker.progressOf(info.getOutputData());
+            if (result != null) onImportDone(result);
+        } else if (info.getState() == WorkInfo.State.FAILED) {
+            onImportFailed(info.getOutputData().getString(ImportWorker.KEY_ERROR));
+        }
+    }
+
+    private void showProgress(TaskImporter.Progress progress) {
+        binding.importProgress.setIndeterminate(progress.fraction < 0);
+        if (progress.fraction >= 0) binding.importProgress.setProgress(Math.round(progress.fraction * 100));
+        binding.importStatus.setText(summary(progress));
+        binding.importErrors.setText(TextUtils.join("\n", progress.errors));
+    }
+
+    private void onImportDone(TaskImporter.Progress result) {
+        showProgress(result);
+        pickedFile = null;
+        Toast.makeText(this, "Imported " + (result.written + result.resumed) + " tasks", Toast.LENGTH_SHORT).show();
+    }
+
+    private void onImportFailed(String reason) {
+        binding.importStatus.setText("Import interrupted (" + reason + "). Import the same data again to resume.");
+    }
+
+    private static String summary(TaskImporter.Progress progress) {
+        StringBuilder text = new StringBuilder(progress.finished ? "Imported " : "Importing… ")
+                .append(progress.written).append(progress.written == 1 ? " task" : " tasks");
+        if (progress.resumed > 0) text.append(" (").append(progress.resumed).append(" before resuming)");
+        if (progress.existing > 0) text.append(", ").append(progress.existing).append(" already imported");
+        if (progress.rejected > 0) text.append(", ").append(progress.rejected).append(" rows skipped");
+        return text.toString();
+    }
+
+    private void setRunning(boolean running) {
+        binding.importButton.setEnabled(!running);
+        binding.chooseFileButton.setEnabled(!running);
+        binding.pasteInput.setEnabled(!running);
+        binding.importProgress.setVisibility(running ? View.VISIBLE : View.GONE);
+        if (running) {
+            binding.importProgress.setIndeterminate(true);
+            binding.importProgress.setProgress(0);
+        }
+    }
+
+    private String displayName(Uri uri) {
+        try (Cursor cursor = getContentResolver().query(uri, new String[]{OpenableColumns.DISPLAY_NAME}, null, null, null)) {
+            if (cursor != null && cursor.moveToFirst() && !cursor.isNull(0)) return cursor.getString(0);
+        }
+        return uri.getLastPathSegment();
+    }
+
+    /** Size of the picked file in bytes, or -1 if the provider does not know it. */
+    private long fileSize(Uri uri) {
+        try (Cursor cursor = getContentResolver().query(uri, new String[]{OpenableColumns.SIZE}, null, null, null)) {
+            if (cursor != null && cursor.moveToFirst() && !cursor.isNull(0)) return cursor.getLong(0);
+        }
+        return -1;
+    }
+}
@@ -7,6 +7,7 @@ import android.widget.Toast;
 
 import androidx.appcompat.app.AppCompatActivity;
 
+import com.example.brainboardmobile.BuildConfig;
 import com.example.brainboardmobile.databinding.ActivityLoginBinding;
 import com.google.firebase.auth.FirebaseAuth;
 
@@ -20,6 +21,7 @@ import com.google.firebase.auth.FirebaseAuth;
  * - Redirects to TaskListActivity upon successful login.
  * - Redirects to RegisterActivity for new account creation.
  * - Automatically skips login screen if the user is already authenticated.
+ * - Always skips it in the "benchmark" build (BuildConfig.FAKE_DATA), which runs on seeded data.
  *
  * UI Components:
  * - emailInput: EditText for user email
@@ -51,11 +53,12 @@ public class LoginActivity extends AppCompatActivity {
         firebaseAuth = FirebaseAuth.getInstance();
 
         // If user already logged in, skip login screen
-        if (firebaseAuth.getCurrentUser() != null) {
+        if (firebaseAuth.getCurrentUser() != null || BuildConfig.FAKE_DATA) {
             Intent intent = new Intent(this, TaskListActivity.class);
             intent.setFlags(Intent.FLAG_ACTIVITY_NEW_TASK | Intent.FLAG_ACTIVITY_CLEAR_TASK);
             startActivity(intent);
             finish();
+            return;
         }
 
         // Login button click
@@ -0,0 +1,57 @@
+package com.example.brainboardmobile.activities;
+
+import android.os.Bundle;
+import android.widget.Toast;
+
+import androidx.appcompat.app.AppCompatActivity;
+
+import com.example.brainboard.shared.metrics.FirestoreMetrics;
+import com.example.brainboardmobile.databinding.ActivityMetricsBinding;
+
+import java.io.File;
+
+/**
+ * MetricsActivity.java (Mobile)
+ *
+ * Debug screen for FirestoreMetrics: per-operation call counts, latency percentiles and
+ * histogram, server vs cache reads, writes and payload sizes since launch (or last reset).
+ *
+ * Features:
+ * - Refresh re-reads the counters; Reset starts a new measuring window.
+ * - Save writes the report to a file (Android/data/<package>/files/metrics/) for adb pull.
+ *
+ * Notes:
+ * - Only reachable from TaskListActivity in debug builds.
+ */
+public class MetricsActivity extends AppCompatActivity {
+
+    private ActivityMetricsBinding binding;
+
+    @Override
+    protected void onCreate(Bundle savedInstanceState) {
+        super.onCreate(savedInstanceState);
+        binding = ActivityMetricsBinding.inflate(getLayoutInflater());
+        setContentView(binding.getRoot());
+
+        binding.refreshMetricsButton.setOnClickListener(v -> showReport());
+        binding.resetMetricsButton.setOnClickListener(v -> {
+            FirestoreMetrics.reset();
+            showReport();
+        });
+        binding.saveMetricsButton.setOnClickListener(v -> {
+            File file = FirestoreMetrics.writeReport(this);
+            Toast.makeText(this, file != null ? "Saved to " + file.getAbsolutePath() : "Could not save metrics",
+                    Toast.LENGTH_LONG).show();
+        });
+    }
+
+    @Override
+    protected void onResume() {
+        super.onResume();
+        showReport();
+    }
+
+    private void showReport() {
+        binding.metricsText.setText(FirestoreMetrics.report());
+    }
+}
@@ -6,20 +6,27 @@ import android.content.ClipboardManager;
 import android.content.Context;
 import android.content.Intent;
 import android.os.Bundle;
+import android.text.Editable;
+import android.text.TextWatcher;
+import android.view.View;
 import android.widget.Toast;
 
 import androidx.appcompat.app.AppCompatActivity;
 import androidx.recyclerview.widget.LinearLayoutManager;
 
+import com.example.brainboardmobile.BuildConfig;
+import com.example.brainboardmobile.R;
 import com.example.brainboardmobile.adapters.TaskAdapter;
+import com.example.brainboardmobile.archive.ArchiveWorker;
+import com.example.brainboardmobile.data.TaskRepository;
 import com.example.brainboardmobile.databinding.ActivityTaskListBinding;
-import com.example.brainboardmobile.firebase.FirestoreHelper;
 import com.example.brainboardmobile.models.TaskModel;
+import com.google.android.material.snackbar.Snackbar;
 import com.google.firebase.auth.FirebaseAuth;
-import com.google.firebase.firestore.DocumentChange;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
 
 /**
  * TaskListActivity.java (Mobile)
@@ -27,38 +34,57 @@ import java.util.List;
  * Displays a real-time list of user tasks in the BrainBoard mobile app.
  *
  * Features:
- * - Uses Firestore snapshot listener to reflect task changes (add, edit, delete) in real-time.
+ * - Observes the shared TaskRepository listener to reflect task changes (add, edit, delete) in real-time.
  * - Allows users to:
  *     - View their UID and copy it to the clipboard
  *     - Add new tasks via AddTaskActivity
+ *     - Search task titles as they type (prefix and substring, no Firestore query)
+ *     - Open ArchiveActivity for completed and archived tasks
+ *     - Import many tasks at once via ImportActivity
  *     - Log out securely with confirmation
  *
  * UI Components:
+ * - Search box filtering the list through TaskRepository.search()
  * - RecyclerView for displaying tasks using TaskAdapter
  * - UID TextView (tap to copy UID)
  * - Add Task button
+ * - Import Tasks button
+ * - Firestore metrics button (debug builds only, opens MetricsActivity)
  * - Logout button with AlertDialog confirmation
  *
  * Data Handling:
- * - Uses FirestoreHelper to connect to Firebase Firestore
- * - Updates taskList and notifies TaskAdapter on Firestore document changes (ADDED, MODIFIED, REMOVED)
+ * - TaskRepository owns the single Firestore snapshot listener and the watch sync; it stays
+ *   attached across rotations and is detached shortly after the list leaves the screen
+ * - Submits every repository update to TaskAdapter, which diffs it and updates only
+ *   the changed rows; bursts of snapshots arrive coalesced to one update per frame
+ * - Deletes hide the row at once and open a short undo window (Snackbar); the Firestore
+ *   delete is sent when the window closes, and the row comes back if it fails
+ * - Completion toggles show immediately and are reverted if the write fails; the list only
+ *   holds open tasks, so a completed task leaves it once the write is applied
+ * - Schedules the daily ArchiveWorker, which moves long-completed tasks to the archive
+ * - The "benchmark" build (BuildConfig.FAKE_DATA) shows the seeded FakeTaskSource dataset
+ *   without signing in
  *
  * Dependencies:
  * - ViewBinding (ActivityTaskListBinding)
  * - FirebaseAuth for current user context and logout
- * - FirestoreHelper and TaskModel for backend interaction
+ * - TaskRepository and TaskModel for task data and writes
  *
  * Notes:
  * - Uses `FirebaseAuth.getInstance().getCurrentUser().getUid()` to fetch and show UID
  */
 
 
-public class TaskListActivity extends AppCompatActivity {
+public class TaskListActivity extends AppCompatActivity implements TaskAdapter.TaskActions {
+
+    private static final int UNDO_WINDOW_MILLIS = 4000;
 
     private ActivityTaskListBinding binding;
     private TaskAdapter taskAdapter;
-    private final List<TaskModel> taskList = new ArrayList<>();
-    private final FirestoreHelper firestoreHelper = new FirestoreHelper();
+    private TaskRepository repository;
+    private Snackbar undoSnackbar;
+    private List<TaskModel> currentTasks = new ArrayList<>();
+    private String searchQuery = "";
 
     @Override
     protected void onCreate(Bundle savedInstanceState) {
@@ -68,12 +94,12 @@ public class TaskListActivity extends AppCompatActivity {
 
         // Set up RecyclerView
         binding.taskRecyclerView.setLayoutManager(new LinearLayoutManager(this));
-        taskAdapter = new TaskAdapter(taskList, this, firestoreHelper);
+        taskAdapter = new TaskAdapter(this, this);
         binding.taskRecyclerView.setAdapter(taskAdapter);
 
 
     // Display UID
-    String uid = FirebaseAuth.getInstance().getCurrentUser().getUid();
+    String uid = BuildConfig.FAKE_DATA ? "benchmark" : FirebaseAuth.getInstance().getCurrentUser().getUid();
     binding.uidTextView.setText("UID: " + uid);
 
     // Copy UID to clipboard on click
@@ -84,8 +110,32 @@ public class TaskListActivity extends AppCompatActivity {
         Toast.makeText(this, "UID copied to clipboard", Toast.LENGTH_SHORT).show();
     });
 
-        // Load tasks in real-time
-        fetchTasksRealtime();
+        // Load tasks in real-time from the shared listener
+        repository = TaskRepository.getInstance(this);
+        repository.getTasks().observe(this, tasks -> {
+            currentTasks = tasks;
+            showTasks();
+        });
+        repository.getErrors().observe(this, error -> {
+            if (error != null) {
+                Toast.makeText(this, "Error loading tasks", Toast.LENGTH_SHORT).show();
+            }
+        });
+
+        // Search box filters the list from the in-memory title index
+        binding.searchEditText.addTextChangedListener(new TextWatcher() {
+            @Override
+            public void beforeTextChanged(CharSequence s, int start, int count, int after) {}
+
+            @Override
+            public void onTextChanged(CharSequence s, int start, int before, int count) {}
+
+            @Override
+            public void afterTextChanged(Editable s) {
+                searchQuery = s.toString().trim();
+                showTasks();
+            }
+        });
 
         // Add Task button (assuming it's present in layout)
         binding.addTaskButton.setOnClickListener(v -> {
@@ -93,43 +143,72 @@ public class TaskListActivity extends AppCompatActivity {
             startActivity(intent);
         });
 
+        // Completed and archived tasks are loaded on demand
+        binding.archiveButton.setOnClickListener(v -> startActivity(new Intent(this, ArchiveActivity.class)));
+        if (!BuildConfig.FAKE_DATA) {
+            ArchiveWorker.schedule(this);
+        }
+
+        // Bulk import from pasted text or a CSV / .ics file
+        binding.importButton.setOnClickListener(v -> startActivity(new Intent(this, ImportActivity.class)));
+
+        // Firestore cost breakdown, debug builds only
+        if (BuildConfig.DEBUG) {
+            binding.metricsButton.setVisibility(View.VISIBLE);
+            binding.metricsButton.setOnClickListener(v -> startActivity(new Intent(this, MetricsActivity.class)));
+        }
+
         // Logout button
         binding.logoutButton.setOnClickListener(view -> showLogoutConfirmation());
     }
 
-    private void fetchTasksRealtime() {
-        firestoreHelper.getUserTasksCollection().addSnapshotListener((value, error) -> {
-            if (error != null) {
-                Toast.makeText(TaskListActivity.this, "Error loading tasks", Toast.LENGTH_SHORT).show();
-                return;
-            }
+    private void showTasks() {
+        if (searchQuery.isEmpty()) {
+            taskAdapter.submitList(currentTasks);
+            return;
+        }
+
+        Set<String> matches = repository.search(searchQuery);
+        List<TaskModel> filtered = new ArrayList<>();
+        for (TaskModel task : currentTasks) {
+            if (matches.contains(task.getTaskId())) filtered.add(task);
+        }
+        taskAdapter.submitList(filtered);
+    }
+
+    @Override
+    protected void onStop() {
+        // Leaving the screen ends the undo window; dismissing commits the pending delete
+        if (undoSnackbar != null) undoSnackbar.dismiss();
+        super.onStop();
+    }
 
-            if (value != null) {
-                for (DocumentChange doc : value.getDocumentChanges()) {
-                    TaskModel task = doc.getDocument().toObject(TaskModel.class);
-
-                    switch (doc.getType()) {
-                        case ADDED:
-                            taskList.add(task);
-                            break;
-
-                        case MODIFIED:
-                            for (int i = 0; i < taskList.size(); i++) {
-                                if (taskList.get(i).getTaskId().equals(task.getTaskId())) {
-                                    taskList.set(i, task);
-                                    break;
-                                }
-                            }
-                            break;
-
-                        case REMOVED:
-                            taskList.removeIf(t -> t.getTaskId().equals(task.getTaskId()));
-                            break;
+    @Override
+    public void onDelete(TaskModel task) {
+        // A new delete closes the previous undo window
+        if (undoSnackbar != null) undoSnackbar.dismiss();
+
+        String taskId = task.getTaskId();
+        repository.stageDelete(taskId);
+        undoSnackbar = Snackbar.make(binding.getRoot(), R.string.task_deleted, UNDO_WINDOW_MILLIS)
+                .setAction(R.string.undo, v -> repository.undoDelete(taskId))
+                .addCallback(new Snackbar.Callback() {
+                    @Override
+                    public void onDismissed(Snackbar snackbar, int event) {
+                        if (undoSnackbar == snackbar) undoSnackbar = null;
+                        if (event != DISMISS_EVENT_ACTION) {
+                            repository.commitDelete(taskId, e -> Toast.makeText(TaskListActivity.this,
+                                    "Delete failed: " + e.getMessage(), Toast.LENGTH_SHORT).show());
+                        }
                     }
-                }
-                taskAdapter.notifyDataSetChanged();
-            }
-        });
+                });
+        undoSnackbar.show();
+    }
+
+    @Override
+    public void onCompletedChanged(TaskModel task, boolean completed) {
+        repository.setCompleted(task.getTaskId(), completed, e -> Toast.makeText(this,
+                "Update failed: " + e.getMessage(), Toast.LENGTH_SHORT).show());
     }
 
     private void showLogoutConfirmation() {
@@ -138,6 +217,7 @@ public class TaskListActivity extends AppCompatActivity {
                 .setMessage("Are you sure you want to logout?")
                 .setPositiveButton("Yes", (dialog, which) -> {
                     FirebaseAuth.getInstance().signOut();
+                    TaskRepository.getInstance(this).reset();
                     Intent intent = new Intent(this, LoginActivity.class);
                     intent.setFlags(Intent.FLAG_ACTIVITY_NEW_TASK | Intent.FLAG_ACTIVITY_CLEAR_TASK);
                     startActivity(intent);
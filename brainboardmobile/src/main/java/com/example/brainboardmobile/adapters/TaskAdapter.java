@@ -1,21 +1,32 @@
 package com.example.brainboardmobile.adapters;
 
-import android.app.AlertDialog;
 import android.content.Context;
 import android.content.Intent;
 import android.view.LayoutInflater;
 import android.view.ViewGroup;
-import android.widget.Toast;
 
 import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.recyclerview.widget.DiffUtil;
+import androidx.recyclerview.widget.ListAdapter;
 import androidx.recyclerview.widget.RecyclerView;
+import androidx.tracing.Trace;
 
+import com.example.brainboard.shared.data.DueDates;
+import com.example.brainboard.shared.data.Occurrences;
+import com.example.brainboard.shared.data.RecurrenceRule;
 import com.example.brainboardmobile.activities.AddTaskActivity;
 import com.example.brainboardmobile.databinding.ItemTaskBinding;
-import com.example.brainboardmobile.firebase.FirestoreHelper;
+import com.example.brainboardmobile.metrics.TraceSections;
 import com.example.brainboardmobile.models.TaskModel;
 
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
 
 /**
  * TaskAdapter.java (Mobile)
@@ -27,34 +38,70 @@ import java.util.List;
  * - Displays each task title in a custom list item layout (item_task.xml via ViewBinding)
  * - Allows users to:
  *     - Edit a task by opening AddTaskActivity with existing data
- *     - Delete a task with confirmation via AlertDialog
+ *     - Delete a task or toggle its completion; both are handed to TaskActions
+ *       (TaskListActivity), which applies them optimistically with undo/rollback
  *
  * Data Flow:
- * - Accepts a list of TaskModel objects to render
- * - Uses FirestoreHelper to perform delete operations on Firebase Firestore
+ * - A ListAdapter: submitList() diffs the new TaskModel list against the current one
+ *   (by taskId, then title/due/completed/recurrence) on a background thread and dispatches only
+ *   the changed rows
+ * - Stable item IDs are derived from taskId, and click handlers act on the bound task
+ *   rather than an adapter position, so a list change never redirects a tap to another row
+ * - Traced: each diff as the async section "TaskAdapter.diff" (submit to commit) and each
+ *   bind as "TaskAdapter.bind" (TraceSections)
  *
  * UI Components per item:
- * - taskText: Displays the task title
+ * - completedCheckBox: Toggles the task's completed state; on a recurring task it completes
+ *   the next open occurrence and stays unchecked
+ * - taskText: Displays the task title, and for a recurring task its rule and next open
+ *   occurrence (one row per series, see data/Occurrences)
  * - editTaskButton: Launches edit screen
- * - deleteTaskButton: Prompts for and deletes task
+ * - deleteTaskButton: Deletes the task (undoable from the list screen)
  *
  * Dependencies:
  * - ViewBinding (ItemTaskBinding)
  * - TaskModel (data class for task details)
- * - FirestoreHelper (backend interaction for deleting tasks)
  * - AddTaskActivity (for editing)
  */
 
-public class TaskAdapter extends RecyclerView.Adapter<TaskAdapter.TaskViewHolder> {
+public class TaskAdapter extends ListAdapter<TaskModel, TaskAdapter.TaskViewHolder> {
 
-    private final List<TaskModel> taskList;
-    private final Context context;
-    private final FirestoreHelper firestoreHelper;
+    private static final DiffUtil.ItemCallback<TaskModel> DIFF_CALLBACK = new DiffUtil.ItemCallback<TaskModel>() {
+        @Override
+        public boolean areItemsTheSame(@NonNull TaskModel oldItem, @NonNull TaskModel newItem) {
+            return Objects.equals(oldItem.getTaskId(), newItem.getTaskId());
+        }
+
+        @Override
+        public boolean areContentsTheSame(@NonNull TaskModel oldItem, @NonNull TaskModel newItem) {
+            return oldItem.isCompleted() == newItem.isCompleted()
+                    && Objects.equals(oldItem.getTitle(), newItem.getTitle())
+                    && Objects.equals(oldItem.getDueDateTime(), newItem.getDueDateTime())
+                    && Objects.equals(oldItem.getRecurrence(), newItem.getRecurrence())
+                    && Objects.equals(oldItem.getCompletedOccurrences(), newItem.getCompletedOccurrences());
+        }
+    };
+
+    /** Row actions, applied by the list screen. */
+    public interface TaskActions {
+        void onDelete(TaskModel task);
 
-    public TaskAdapter(List<TaskModel> taskList, Context context, FirestoreHelper firestoreHelper) {
-        this.taskList = taskList;
+        void onCompletedChanged(TaskModel task, boolean completed);
+    }
+
+    private final Context context;
+    private final TaskActions actions;
+    // taskId -> RecyclerView item ID, assigned on first sight and kept for the adapter's lifetime
+    private final Map<String, Long> itemIds = new HashMap<>();
+    // Trace cookies for the async diff section; main thread only
+    private int diffCookie;
+    private int pendingDiff;
+
+    public TaskAdapter(Context context, TaskActions actions) {
+        super(DIFF_CALLBACK);
         this.context = context;
-        this.firestoreHelper = firestoreHelper;
+        this.actions = actions;
+        setHasStableIds(true);
     }
 
     public static class TaskViewHolder extends RecyclerView.ViewHolder {
@@ -65,34 +112,34 @@ public class TaskAdapter extends RecyclerView.Adapter<TaskAdapter.TaskViewHolder
             this.binding = binding;
         }
 
-        public void bind(TaskModel task, Context context, FirestoreHelper firestoreHelper, TaskAdapter adapter, int position) {
-            binding.taskText.setText(task.getTitle());
+        public void bind(TaskModel task, Context context, TaskActions actions) {
+            binding.taskText.setText(rowText(task));
+
+            binding.completedCheckBox.setOnCheckedChangeListener(null);
+            binding.completedCheckBox.setChecked(task.isCompleted());
+            binding.completedCheckBox.setOnCheckedChangeListener(
+                    (button, checked) -> actions.onCompletedChanged(task, checked));
 
             binding.editTaskButton.setOnClickListener(v -> {
                 Intent intent = new Intent(context, AddTaskActivity.class);
                 intent.putExtra("taskId", task.getTaskId());
                 intent.putExtra("title", task.getTitle());
                 intent.putExtra("dueDateTime", task.getDueDateTime());
+                intent.putExtra("recurrence", task.getRecurrence());
                 context.startActivity(intent);
             });
 
-            binding.deleteTaskButton.setOnClickListener(v -> {
-                new AlertDialog.Builder(context)
-                        .setTitle("Delete Task")
-                        .setMessage("Are you sure you want to delete this task?")
-                        .setPositiveButton("Yes", (dialog, which) -> {
-                            firestoreHelper.deleteTask(task.getTaskId(),
-                                    unused -> {
-                                        adapter.taskList.remove(position);
-                                        adapter.notifyItemRemoved(position);
-                                        Toast.makeText(context, "Task deleted", Toast.LENGTH_SHORT).show();
-                                    },
-                                    e -> Toast.makeText(context, "Delete failed: " + e.getMessage(), Toast.LENGTH_SHORT).show()
-                            );
-                        })
-                        .setNegativeButton("No", null)
-                        .show();
-            });
+            binding.deleteTaskButton.setOnClickListener(v -> actions.onDelete(task));
+        }
+
+        /** Title, plus the rule and next open occurrence of a recurring task. */
+        private static String rowText(TaskModel task) {
+            RecurrenceRule rule = RecurrenceRule.parse(task.getRecurrence());
+            if (rule == null) return task.getTitle();
+            long next = Occurrences.nextOpen(task, System.currentTimeMillis());
+            String when = next < 0 ? "ended"
+                    : "next " + new SimpleDateFormat(DueDates.MOBILE_FORMAT, Locale.getDefault()).format(new Date(next));
+            return task.getTitle() + "\n\u21bb " + rule.describe() + " \u00b7 " + when;
         }
     }
 
@@ -103,13 +150,47 @@ public class TaskAdapter extends RecyclerView.Adapter<TaskAdapter.TaskViewHolder
         return new TaskViewHolder(binding);
     }
 
+    @Override
+    public void submitList(@Nullable List<TaskModel> list) {
+        submitList(list, null);
+    }
+
+    @Override
+    public void submitList(@Nullable List<TaskModel> list, @Nullable Runnable commitCallback) {
+        // A newer list cancels the pending diff without running its callback; close its section
+        if (pendingDiff != 0) {
+            Trace.endAsyncSection(TraceSections.DIFF, pendingDiff);
+        }
+        int cookie = ++diffCookie;
+        pendingDiff = cookie;
+        Trace.beginAsyncSection(TraceSections.DIFF, cookie);
+        super.submitList(list, () -> {
+            if (pendingDiff == cookie) {
+                Trace.endAsyncSection(TraceSections.DIFF, cookie);
+                pendingDiff = 0;
+            }
+            if (commitCallback != null) commitCallback.run();
+        });
+    }
+
     @Override
     public void onBindViewHolder(@NonNull TaskViewHolder holder, int position) {
-        holder.bind(taskList.get(position), context, firestoreHelper, this, position);
+        Trace.beginSection(TraceSections.BIND);
+        try {
+            holder.bind(getItem(position), context, actions);
+        } finally {
+            Trace.endSection();
+        }
     }
 
     @Override
-    public int getItemCount() {
-        return taskList.size();
+    public long getItemId(int position) {
+        String taskId = getItem(position).getTaskId();
+        Long id = itemIds.get(taskId);
+        if (id == null) {
+            id = (long) itemIds.size();
+            itemIds.put(taskId, id);
+        }
+        return id;
     }
 }
@@ -0,0 +1,107 @@
+package com.example.brainboardmobile.archive;
+
+import android.content.Context;
+import android.content.SharedPreferences;
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+import androidx.work.Constraints;
+import androidx.work.ExistingPeriodicWorkPolicy;
+import androidx.work.NetworkType;
+import androidx.work.OneTimeWorkRequest;
+import androidx.work.PeriodicWorkRequest;
+import androidx.work.WorkManager;
+import androidx.work.Worker;
+import androidx.work.WorkerParameters;
+
+import com.google.firebase.Timestamp;
+import com.google.firebase.auth.FirebaseAuth;
+
+import java.util.Date;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ArchiveWorker.java (Mobile)
+ *
+ * Background job that runs TaskArchiver once a day for the signed-in user.
+ *
+ * Features:
+ * - schedule(): enqueues the daily job (unique, kept across app starts), constrained to
+ *   a connected network while the battery is not low.
+ * - runNow(): a one-off run, e.g. from ArchiveActivity.
+ * - The archive age (days since completion) is configurable and stored in
+ *   SharedPreferences ("archive_settings", key "archive_after_days").
+ *
+ * Notes:
+ * - A failed run is retried with WorkManager's backoff; because TaskArchiver resumes from
+ *   its query, a retry never repeats work that was already committed.
+ * - Does nothing while signed out.
+ */
+public class ArchiveWorker extends Worker {
+
+    public static final int DEFAULT_ARCHIVE_AFTER_DAYS = 30;
+
+    private static final String TAG = "ArchiveWorker";
+    private static final String WORK_NAME = "task-archive";
+    private static final String PREF_NAME = "archive_settings";
+    private static final String KEY_ARCHIVE_AFTER_DAYS = "archive_after_days";
+
+    public ArchiveWorker(@NonNull Context context, @NonNull WorkerParameters params) {
+        super(context, params);
+    }
+
+    public static void schedule(Context context) {
+        PeriodicWorkRequest request = new PeriodicWorkRequest.Builder(ArchiveWorker.class, 1, TimeUnit.DAYS)
+                .setConstraints(constraints())
+                .build();
+        WorkManager.getInstance(context)
+                .enqueueUniquePeriodicWork(WORK_NAME, ExistingPeriodicWorkPolicy.KEEP, request);
+    }
+
+    public static void runNow(Context context) {
+        OneTimeWorkRequest request = new OneTimeWorkRequest.Builder(ArchiveWorker.class)
+                .setConstraints(constraints())
+                .build();
+        WorkManager.getInstance(context).enqueue(request);
+    }
+
+    public static int getArchiveAfterDays(Context context) {
+        return prefs(context).getInt(KEY_ARCHIVE_AFTER_DAYS, DEFAULT_ARCHIVE_AFTER_DAYS);
+    }
+
+    public static void setArchiveAfterDays(Context context, int days) {
+        prefs(context).edit().putInt(KEY_ARCHIVE_AFTER_DAYS, Math.max(1, days)).apply();
+    }
+
+    @NonNull
+    @Override
+    public Result doWork() {
+        if (FirebaseAuth.getInstance().getCurrentUser() == null) return Result.success();
+
+        long ageMillis = TimeUnit.DAYS.toMillis(getArchiveAfterDays(getApplicationContext()));
+        Timestamp cutoff = new Timestamp(new Date(System.currentTimeMillis() - ageMillis));
+        try {
+            int moved = TaskArchiver.archiveCompletedBefore(cutoff, this::isStopped);
+            Log.d(TAG, "Archived " + moved + " tasks");
+            return Result.success();
+        } catch (ExecutionException e) {
+            Log.e(TAG, "Archival failed, will retry", e);
+            return Result.retry();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return Result.retry();
+        }
+    }
+
+    private static Constraints constraints() {
+        return new Constraints.Builder()
+                .setRequiredNetworkType(NetworkType.CONNECTED)
+                .setRequiresBatteryNotLow(true)
+                .build();
+    }
+
+    private static SharedPreferences prefs(Context context) {
+        return context.getSharedPreferences(PREF_NAME, Context.MODE_PRIVATE);
+    }
+}
@@ -0,0 +1,91 @@
+package com.example.brainboardmobile.archive;
+
+import com.example.brainboard.shared.metrics.FirestoreMetrics;
+import com.example.brainboardmobile.firebase.FirestoreHelper;
+import com.example.brainboardmobile.firebase.FirestoreProvider;
+import com.example.brainboardmobile.firebase.TaskFields;
+import com.google.android.gms.tasks.Tasks;
+import com.google.firebase.Timestamp;
+import com.google.firebase.firestore.CollectionReference;
+import com.google.firebase.firestore.FieldValue;
+import com.google.firebase.firestore.FirebaseFirestore;
+import com.google.firebase.firestore.Query;
+import com.google.firebase.firestore.QueryDocumentSnapshot;
+import com.google.firebase.firestore.QuerySnapshot;
+import com.google.firebase.firestore.Source;
+import com.google.firebase.firestore.WriteBatch;
+
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.function.BooleanSupplier;
+
+/**
+ * TaskArchiver.java (Mobile)
+ *
+ * Moves tasks that were completed long ago out of the active collection
+ * (users/{uid}/tasks) into users/{uid}/archive, so list, chart and watch queries only
+ * ever read open and recently completed tasks.
+ *
+ * Process:
+ * - Queries completed tasks whose completedAt is older than the cutoff, oldest first,
+ *   BATCH_SIZE at a time (server read, never the local cache).
+ * - Each page is moved in one WriteBatch: the document is copied into the archive with an
+ *   "archivedAt" stamp and deleted from the active collection, atomically.
+ * - Repeats until a short page comes back or the caller asks to stop.
+ *
+ * Resuming:
+ * - No checkpoint is needed: committed pages are gone from the query, so a stopped or
+ *   failed run simply continues where it left off the next time it runs.
+ *
+ * Notes:
+ * - Blocking; call from a worker thread (ArchiveWorker).
+ * - The query needs the (completed, completedAt) composite index in firestore.indexes.json.
+ * - Tasks completed before completedAt existed carry no timestamp and are never archived.
+ */
+public final class TaskArchiver {
+
+    public static final String ARCHIVED_AT = "archivedAt";
+
+    // Two writes per task, well under Firestore's 500 writes per batch
+    private static final int BATCH_SIZE = 200;
+
+    private TaskArchiver() {}
+
+    /**
+     * Archives tasks completed before {@code cutoff}. Returns the number moved; stops early
+     * (after the current page) once {@code stopped} returns true.
+     */
+    public static int archiveCompletedBefore(Timestamp cutoff, BooleanSupplier stopped)
+            throws ExecutionException, InterruptedException {
+        FirestoreHelper helper = new FirestoreHelper();
+        FirebaseFirestore db = FirestoreProvider.get();
+        CollectionReference archive = helper.getUserArchiveCollection();
+        Query expired = helper.getUserTasksCollection()
+                .whereEqualTo(TaskFields.COMPLETED, true)
+                .whereLessThan(TaskFields.COMPLETED_AT, cutoff)
+                .orderBy(TaskFields.COMPLETED_AT)
+                .limit(BATCH_SIZE);
+
+        int moved = 0;
+        while (!stopped.getAsBoolean()) {
+            QuerySnapshot page = Tasks.await(
+                    FirestoreMetrics.trackRead("archiver.expiredPage", expired.get(Source.SERVER)));
+            if (page.isEmpty()) break;
+
+            WriteBatch batch = db.batch();
+            long bytes = 0;
+            for (QueryDocumentSnapshot doc : page) {
+                Map<String, Object> data = doc.getData();
+                data.put(ARCHIVED_AT, FieldValue.serverTimestamp());
+                batch.set(archive.document(doc.getId()), data);
+                batch.delete(doc.getReference());
+                bytes += FirestoreMetrics.estimateBytes(data);
+            }
+            Tasks.await(FirestoreMetrics.trackWrite("archiver.moveBatch", 2 * page.size(), bytes, batch.commit()));
+
+            moved += page.size();
+            if (page.size() < BATCH_SIZE) break;
+        }
+        return moved;
+    }
+}
@@ -0,0 +1,400 @@
+package com.example.brainboardmobile.data;
+
+import android.content.Context;
+import android.os.Handler;
+import android.os.Looper;
+import android.util.Log;
+import android.view.Choreographer;
+
+import androidx.lifecycle.LiveData;
+import androidx.lifecycle.MutableLiveData;
+import androidx.tracing.Trace;
+
+import com.example.brainboard.shared.data.Occurrences;
+import com.example.brainboard.shared.data.TaskSearchIndex;
+import com.example.brainboard.shared.metrics.FirestoreMetrics;
+import com.example.brainboardmobile.BuildConfig;
+import com.example.brainboardmobile.firebase.FirestoreHelper;
+import com.example.brainboardmobile.firebase.TaskCodec;
+import com.example.brainboardmobile.metrics.TraceSections;
+import com.example.brainboardmobile.models.TaskModel;
+import com.example.brainboardmobile.sync.WearSyncPublisher;
+import com.google.android.gms.tasks.OnFailureListener;
+import com.google.firebase.auth.FirebaseAuth;
+import com.google.firebase.firestore.DocumentChange;
+import com.google.firebase.firestore.FirebaseFirestoreException;
+import com.google.firebase.firestore.ListenerRegistration;
+import com.google.firebase.firestore.QuerySnapshot;
+
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * TaskRepository.java (Mobile)
+ *
+ * Process-wide owner of the realtime Firestore listener on the signed-in user's open tasks
+ * (completed == false); completed and archived tasks are loaded on demand by ArchiveActivity.
+ *
+ * Features:
+ * - Exposes the task list as LiveData; every screen observes the same instance.
+ * - Attaches one snapshot listener when the first observer becomes active and detaches
+ *   it DETACH_GRACE_MILLIS after the last one goes away, so rotations and short trips to
+ *   AddTaskActivity reuse the listener instead of stacking new ones.
+ * - Applies document changes to a map keyed by taskId, so a re-attached listener
+ *   replaying ADDED events never duplicates tasks.
+ * - Pushes every updated list to the paired watch via WearSyncPublisher.
+ * - Keeps a TaskSearchIndex over task titles in step with every document change, so
+ *   search() answers from memory instead of querying Firestore.
+ * - Deletes and completion toggles are optimistic: they are applied to the published list
+ *   at once through a small overlay (hidden IDs, completion overrides) and rolled back if
+ *   the Firestore write fails. Completing a recurring task adds its next open occurrence
+ *   to completedOccurrences the same way (see Occurrences). A staged delete is only sent by commitDelete(), which
+ *   leaves the caller room for an undo window.
+ *
+ * Threading:
+ * - Snapshot events are delivered to a background executor, where documents are decoded
+ *   and merged; only the finished list is posted to the main thread.
+ * - Lists reaching the main thread are coalesced per frame (Choreographer): only the
+ *   newest one is delivered, so hundreds of snapshots in a burst (bulk import, another
+ *   device syncing) cause at most one LiveData update and one watch push per frame.
+ * - Both stages are trace sections (TraceSections.APPLY_SNAPSHOT, DELIVER), with list size
+ *   and change count as trace counters.
+ *
+ * Notes:
+ * - Call reset() on logout to detach immediately and drop the previous user's tasks.
+ * - The "benchmark" build (BuildConfig.FAKE_DATA) serves FakeTaskSource instead of Firestore.
+ */
+public final class TaskRepository {
+
+    private static final String TAG = "TaskRepository";
+    private static final long DETACH_GRACE_MILLIS = 10_000;
+
+    private static TaskRepository instance;
+
+    private final Context appContext;
+    private final FirestoreHelper firestoreHelper = new FirestoreHelper();
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+    private final ExecutorService decodeExecutor = Executors.newSingleThreadExecutor();
+    private final TasksLiveData tasks = new TasksLiveData();
+    private final MutableLiveData<FirebaseFirestoreException> errors = new MutableLiveData<>();
+    private final Runnable detachRunnable = this::detach;
+
+    // Only touched on decodeExecutor
+    private final Map<String, TaskModel> tasksById = new LinkedHashMap<>();
+    private boolean hasSnapshot;
+    private final TaskSearchIndex searchIndex = new TaskSearchIndex();
+
+    // Frame coalescing, main thread only
+    private final Choreographer.FrameCallback deliverFrame = this::deliverPending;
+    private List<TaskModel> pendingList;
+    private boolean frameScheduled;
+
+    // Optimistic overlay on top of the last snapshot list, main thread only
+    private List<TaskModel> snapshotList = new ArrayList<>();
+    private final Set<String> hiddenIds = new HashSet<>();
+    private final Map<String, Boolean> completedOverrides = new HashMap<>();
+    // Recurring tasks: taskId -> occurrence keys completed but not yet in a snapshot
+    private final Map<String, Set<String>> occurrenceOverrides = new HashMap<>();
+
+    private ListenerRegistration registration;
+    // Bumped on every attach and reset, so results of an older listener are dropped
+    private volatile int generation;
+
+    private TaskRepository(Context context) {
+        appContext = context.getApplicationContext();
+    }
+
+    public static synchronized TaskRepository getInstance(Context context) {
+        if (instance == null) {
+            instance = new TaskRepository(context);
+        }
+        return instance;
+    }
+
+    public LiveData<List<TaskModel>> getTasks() {
+        return tasks;
+    }
+
+    /** Last listener error, cleared again by the next successful snapshot. */
+    public LiveData<FirebaseFirestoreException> getErrors() {
+        return errors;
+    }
+
+    /** IDs of tasks whose title matches {@code query} (prefix or substring of every word). */
+    public Set<String> search(String query) {
+        return searchIndex.search(query);
+    }
+
+    /** Detaches the listener and forgets the current user's tasks (e.g. on logout). */
+    public void reset() {
+        mainHandler.removeCallbacks(detachRunnable);
+        detach();
+        generation++;
+        pendingList = null;
+        hiddenIds.clear();
+        completedOverrides.clear();
+        occurrenceOverrides.clear();
+        decodeExecutor.execute(this::clearSnapshot);
+        snapshotList = new ArrayList<>();
+        tasks.setValue(snapshotList);
+    }
+
+    /** Hides the task right away; the delete is sent by commitDelete() or dropped by undoDelete(). */
+    public void stageDelete(String taskId) {
+        if (hiddenIds.add(taskId)) republish();
+    }
+
+    public void undoDelete(String taskId) {
+        if (hiddenIds.remove(taskId)) republish();
+    }
+
+    /** Sends a staged delete; the task reappears and {@code onFailure} runs if the write fails. */
+    public void commitDelete(String taskId, OnFailureListener onFailure) {
+        if (!hiddenIds.contains(taskId) || BuildConfig.FAKE_DATA) return;
+
+        // Firestore's local write removes the document from the next snapshot, so the
+        // overlay entry is no longer needed once the delete is acknowledged
+        firestoreHelper.deleteTask(taskId,
+                unused -> hiddenIds.remove(taskId),
+                e -> {
+                    Log.e(TAG, "Delete failed: " + taskId, e);
+                    undoDelete(taskId);
+                    onFailure.onFailure(e);
+                });
+    }
+
+    /**
+     * Shows the new completion state at once and reverts it if the write fails. Completing
+     * a recurring task completes its next open occurrence instead; it cannot be reopened.
+     */
+    public void setCompleted(String taskId, boolean completed, OnFailureListener onFailure) {
+        TaskModel task = findVisible(taskId);
+        if (task != null && Occurrences.isRecurring(task)) {
+            if (completed) completeOccurrence(task, onFailure);
+            return;
+        }
+        completedOverrides.put(taskId, completed);
+        republish();
+        if (BuildConfig.FAKE_DATA) return;
+
+        firestoreHelper.markTaskCompleted(taskId, completed,
+                unused -> clearOverride(taskId, completed),
+                e -> {
+                    Log.e(TAG, "Completion update failed: " + taskId, e);
+                    clearOverride(taskId, completed);
+                    onFailure.onFailure(e);
+                });
+    }
+
+    private void completeOccurrence(TaskModel task, OnFailureListener onFailure) {
+        long now = System.currentTimeMillis();
+        long due = Occurrences.nextOpen(task, now);
+        if (due < 0) return;
+        String taskId = task.getTaskId();
+        String key = Occurrences.keyOf(due, ZoneId.systemDefault());
+        // A set, so a second quick tap never reopens the occurrence the first one completed
+        occurrenceOverrides.computeIfAbsent(taskId, id -> new LinkedHashSet<>()).add(key);
+        republish();
+        if (BuildConfig.FAKE_DATA) return;
+
+        // The task passed in already carries any pending key, so the write includes it
+        firestoreHelper.completeOccurrence(task, key,
+                unused -> clearOccurrenceOverride(taskId, key),
+                e -> {
+                    Log.e(TAG, "Occurrence update failed: " + taskId, e);
+                    clearOccurrenceOverride(taskId, key);
+                    onFailure.onFailure(e);
+                });
+    }
+
+    private void clearOccurrenceOverride(String taskId, String key) {
+        Set<String> keys = occurrenceOverrides.get(taskId);
+        if (keys == null || !keys.remove(key)) return;
+        if (keys.isEmpty()) occurrenceOverrides.remove(taskId);
+        republish();
+    }
+
+    /** The task as currently published (overlay included), or null. */
+    private TaskModel findVisible(String taskId) {
+        List<TaskModel> visible = tasks.getValue();
+        if (visible == null) return null;
+        for (TaskModel task : visible) {
+            if (task.getTaskId().equals(taskId)) return task;
+        }
+        return null;
+    }
+
+    /** Drops an override unless a newer toggle of the same task replaced it. */
+    private void clearOverride(String taskId, boolean completed) {
+        Boolean current = completedOverrides.get(taskId);
+        if (current != null && current == completed) {
+            completedOverrides.remove(taskId);
+            republish();
+        }
+    }
+
+    private void republish() {
+        tasks.setValue(withOverlay(snapshotList));
+    }
+
+    private List<TaskModel> withOverlay(List<TaskModel> list) {
+        if (hiddenIds.isEmpty() && completedOverrides.isEmpty() && occurrenceOverrides.isEmpty()) return list;
+
+        List<TaskModel> visible = new ArrayList<>(list.size());
+        for (TaskModel task : list) {
+            if (hiddenIds.contains(task.getTaskId())) continue;
+
+            Boolean completed = completedOverrides.get(task.getTaskId());
+            if (completed != null && completed != task.isCompleted()) {
+                // Copy instead of mutating, the adapter diffs against the old instance
+                task = new TaskModel(task.getTaskId(), task.getTitle(), task.getDueDateTime(), completed,
+                        task.getRecurrence(), task.getCompletedOccurrences());
+            }
+            Set<String> pendingKeys = occurrenceOverrides.get(task.getTaskId());
+            List<String> done = task.getCompletedOccurrences();
+            if (pendingKeys != null && (done == null || !done.containsAll(pendingKeys))) {
+                List<String> withKeys = done != null ? new ArrayList<>(done) : new ArrayList<>();
+                for (String key : pendingKeys) {
+                    if (!withKeys.contains(key)) withKeys.add(key);
+                }
+                task = new TaskModel(task.getTaskId(), task.getTitle(), task.getDueDateTime(), task.isCompleted(),
+                        task.getRecurrence(), withKeys);
+            }
+            visible.add(task);
+        }
+        return visible;
+    }
+
+    private void attach() {
+        if (registration != null) return;
+
+        if (BuildConfig.FAKE_DATA) {
+            snapshotList = FakeTaskSource.getTasks();
+            List<TaskModel> fake = snapshotList;
+            decodeExecutor.execute(() -> searchIndex.sync(fake));
+            republish();
+            return;
+        }
+        if (FirebaseAuth.getInstance().getCurrentUser() == null) return;
+
+        // The new listener replays every document as ADDED
+        int attachGeneration = ++generation;
+        decodeExecutor.execute(this::clearSnapshot);
+        FirestoreMetrics.ListenerMetrics metrics = FirestoreMetrics.listener("taskList.listen");
+        registration = firestoreHelper.getActiveTasksQuery().addSnapshotListener(decodeExecutor, (value, error) -> {
+            if (attachGeneration != generation) return;
+            if (error != null) {
+                metrics.onError();
+                Log.e(TAG, "Task listener failed", error);
+                errors.postValue(error);
+                return;
+            }
+            if (value != null) {
+                metrics.onSnapshot(value);
+                Trace.beginSection(TraceSections.APPLY_SNAPSHOT);
+                try {
+                    Trace.setCounter(TraceSections.SNAPSHOT_CHANGES, value.getDocumentChanges().size());
+                    applySnapshot(value, attachGeneration);
+                } finally {
+                    Trace.endSection();
+                }
+            }
+        });
+    }
+
+    private void detach() {
+        if (registration != null) {
+            registration.remove();
+            registration = null;
+        }
+    }
+
+    private void clearSnapshot() {
+        tasksById.clear();
+        searchIndex.clear();
+        hasSnapshot = false;
+    }
+
+    /** Runs on decodeExecutor; only the finished list is handed to the main thread. */
+    private void applySnapshot(QuerySnapshot value, int snapshotGeneration) {
+        if (errors.getValue() != null) errors.postValue(null);
+        if (value.getDocumentChanges().isEmpty() && hasSnapshot) return;
+        hasSnapshot = true;
+
+        for (DocumentChange doc : value.getDocumentChanges()) {
+            TaskModel task = TaskCodec.fromSnapshot(doc.getDocument());
+            String id = doc.getDocument().getId();
+
+            switch (doc.getType()) {
+                case ADDED:
+                case MODIFIED:
+                    tasksById.put(id, task);
+                    searchIndex.put(id, task.getTitle());
+                    break;
+
+                case REMOVED:
+                    tasksById.remove(id);
+                    searchIndex.remove(id);
+                    break;
+            }
+        }
+
+        List<TaskModel> list = new ArrayList<>(tasksById.values());
+        mainHandler.post(() -> {
+            if (snapshotGeneration == generation) {
+                deliverOnNextFrame(list);
+            }
+        });
+    }
+
+    /**
+     * Keeps only the newest list and hands it to observers (and the watch) on the next
+     * frame, so a burst of snapshots costs at most one UI update per frame.
+     */
+    private void deliverOnNextFrame(List<TaskModel> list) {
+        pendingList = list;
+        if (frameScheduled) return;
+        frameScheduled = true;
+        Choreographer.getInstance().postFrameCallback(deliverFrame);
+    }
+
+    private void deliverPending(long frameTimeNanos) {
+        frameScheduled = false;
+        List<TaskModel> list = pendingList;
+        pendingList = null;
+        if (list == null) return;
+
+        Trace.beginSection(TraceSections.DELIVER);
+        try {
+            Trace.setCounter(TraceSections.TASK_COUNT, list.size());
+            snapshotList = list;
+            republish();
+        } finally {
+            Trace.endSection();
+        }
+        decodeExecutor.execute(() -> WearSyncPublisher.publish(appContext, list));
+    }
+
+    private class TasksLiveData extends LiveData<List<TaskModel>> {
+
+        @Override
+        protected void onActive() {
+            mainHandler.removeCallbacks(detachRunnable);
+            attach();
+        }
+
+        @Override
+        protected void onInactive() {
+            mainHandler.postDelayed(detachRunnable, DETACH_GRACE_MILLIS);
+        }
+    }
+}
@@ -4,15 +4,30 @@ import android.util.Log;
 
 import androidx.annotation.NonNull;
 
+import com.example.brainboard.shared.metrics.FirestoreMetrics;
 import com.example.brainboardmobile.models.TaskModel;
 import com.google.android.gms.tasks.OnFailureListener;
 import com.google.android.gms.tasks.OnSuccessListener;
+import com.google.android.gms.tasks.Task;
+import com.google.android.gms.tasks.Tasks;
 import com.google.firebase.auth.FirebaseAuth;
 import com.google.firebase.firestore.CollectionReference;
+import com.google.firebase.firestore.DocumentSnapshot;
 import com.google.firebase.firestore.EventListener;
+import com.google.firebase.firestore.FieldPath;
+import com.google.firebase.firestore.FieldValue;
 import com.google.firebase.firestore.FirebaseFirestore;
+import com.google.firebase.firestore.ListenerRegistration;
+import com.google.firebase.firestore.Query;
 import com.google.firebase.firestore.QuerySnapshot;
+import com.google.firebase.firestore.WriteBatch;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 
 /**
@@ -27,11 +42,21 @@ import java.util.UUID;
  *
  * Methods:
  * - getUserTasksCollection(): Returns the Firestore CollectionReference for the current user's tasks.
- * - addTask(): Adds a new task or overwrites an existing one by ID.
+ * - getActiveTasksQuery(): Open tasks only (completed == false); what lists and the watch show.
+ * - getUserArchiveCollection(): Tasks moved out of the active collection by TaskArchiver.
+ * - addTask(): Creates a task document by ID, stamped with server timestamps.
+ * - addTasks(): Creates many tasks in WriteBatches of BATCH_LIMIT documents.
+ * - addTaskBatch(): Creates up to BATCH_LIMIT tasks in one WriteBatch (bulk import).
+ * - findExistingTaskIds(): Which of a list of task IDs already exist, active or archived,
+ *   IN_QUERY_LIMIT IDs per query (bulk import skips them instead of overwriting).
  * - deleteTask(): Deletes a task by its ID.
- * - updateTask(): Rewrites a task document with updated information.
- * - fetchAllTasks(): Attaches a snapshot listener to keep task list updated in real-time.
- * - markTaskCompleted(): Updates the `completed` status field of a task.
+ * - updateTask(): Sends only the fields that differ from the original task (update(), not set()).
+ * - fetchAllTasks(): Attaches a snapshot listener to keep task list updated in real-time;
+ *   remove the returned registration when done.
+ * - markTaskCompleted(): Updates the `completed` status field of a task and stamps/clears `completedAt`.
+ * - completeOccurrence(): Adds one occurrence key to a recurring task's `completedOccurrences`.
+ * - Every mutation sets a server-side `updatedAt` (see TaskFields).
+ * - Every call is recorded in FirestoreMetrics under "helper.<method>".
  *
  * Dependencies:
  * - FirebaseFirestore for backend storage
@@ -42,18 +67,49 @@ import java.util.UUID;
  * - All operations use Firestore's async task listeners for success and failure handling.
  * - Ensures that each task has a unique ID (UUID generated if not provided).
  * - Assumes the user is authenticated and UID is always available (no null checks for `getCurrentUser()`).
+ * - The (FirebaseFirestore, uid) constructor is for androidTest code on a separate
+ *   FirebaseApp; the app itself always uses the no-argument one.
  */
 
 
 public class FirestoreHelper {
     private static final String TAG = "FirestoreHelper";
+    // Firestore allows at most 500 writes per batch
+    public static final int BATCH_LIMIT = 500;
+    // Firestore allows at most 30 values in one whereIn()
+    static final int IN_QUERY_LIMIT = 30;
 
-    private final FirebaseFirestore db = FirebaseFirestore.getInstance();
-    private final FirebaseAuth auth = FirebaseAuth.getInstance();
+    private final FirebaseFirestore db;
+    // Set only by the test constructor; null means the signed-in user
+    private final String fixedUid;
+
+    public FirestoreHelper() {
+        this(FirestoreProvider.get(), null);
+    }
+
+    /**
+     * Helper bound to {@code db} and {@code uid} instead of the shared instance and the
+     * signed-in user, for androidTest code running on its own FirebaseApp.
+     */
+    public FirestoreHelper(FirebaseFirestore db, String uid) {
+        this.db = db;
+        this.fixedUid = uid;
+    }
 
     public CollectionReference getUserTasksCollection() {
-        String uid = auth.getCurrentUser().getUid();
-        return db.collection("users").document(uid).collection("tasks");
+        return db.collection("users").document(uid()).collection("tasks");
+    }
+
+    public Query getActiveTasksQuery() {
+        return getUserTasksCollection().whereEqualTo(TaskFields.COMPLETED, false);
+    }
+
+    public CollectionReference getUserArchiveCollection() {
+        return db.collection("users").document(uid()).collection("archive");
+    }
+
+    private String uid() {
+        return fixedUid != null ? fixedUid : FirebaseAuth.getInstance().getCurrentUser().getUid();
     }
 
     public void addTask(TaskModel task, OnSuccessListener<Void> onSuccess, OnFailureListener onFailure) {
@@ -61,42 +117,133 @@ public class FirestoreHelper {
             task.setTaskId(UUID.randomUUID().toString());
         }
 
-        getUserTasksCollection()
-                .document(task.getTaskId())
-                .set(task)
+        Map<String, Object> data = TaskFields.forCreate(task);
+        FirestoreMetrics.trackWrite("helper.addTask", 1, data,
+                        getUserTasksCollection().document(task.getTaskId()).set(data))
                 .addOnSuccessListener(onSuccess)
                 .addOnFailureListener(onFailure);
     }
 
+    /**
+     * Writes {@code tasks} as new documents, BATCH_LIMIT per WriteBatch, all batches in
+     * flight at once. The returned Task completes when every batch has committed.
+     */
+    public Task<Void> addTasks(List<TaskModel> tasks) {
+        List<Task<Void>> commits = new ArrayList<>();
+        for (int start = 0; start < tasks.size(); start += BATCH_LIMIT) {
+            int end = Math.min(start + BATCH_LIMIT, tasks.size());
+            commits.add(commitBatch("helper.addTasks", tasks.subList(start, end)));
+        }
+        return Tasks.whenAll(commits);
+    }
+
+    /**
+     * Writes up to BATCH_LIMIT tasks in a single WriteBatch, for callers that pace their own
+     * batches (TaskImporter). Existing documents with the same IDs are overwritten, so
+     * callers importing data skip them first (findExistingTaskIds()).
+     */
+    public Task<Void> addTaskBatch(List<TaskModel> tasks) {
+        if (tasks.size() > BATCH_LIMIT) {
+            throw new IllegalArgumentException("At most " + BATCH_LIMIT + " tasks per batch: " + tasks.size());
+        }
+        return commitBatch("helper.addTaskBatch", tasks);
+    }
+
+    /**
+     * IDs among {@code taskIds} that already have a document, in the active collection or
+     * in the archive (a task TaskArchiver moved away must not come back as a new one).
+     * Reads only the matching documents (at least one billed read per query).
+     */
+    public Task<Set<String>> findExistingTaskIds(List<String> taskIds) {
+        List<Task<QuerySnapshot>> queries = new ArrayList<>();
+        for (int start = 0; start < taskIds.size(); start += IN_QUERY_LIMIT) {
+            List<String> part = new ArrayList<>(taskIds.subList(start, Math.min(start + IN_QUERY_LIMIT, taskIds.size())));
+            queries.add(FirestoreMetrics.trackRead("helper.findExistingTaskIds",
+                    getUserTasksCollection().whereIn(FieldPath.documentId(), part).get()));
+            queries.add(FirestoreMetrics.trackRead("helper.findExistingTaskIds",
+                    getUserArchiveCollection().whereIn(FieldPath.documentId(), part).get()));
+        }
+        return Tasks.whenAllSuccess(queries).continueWith(done -> {
+            Set<String> existing = new HashSet<>();
+            for (Object result : done.getResult()) {
+                for (DocumentSnapshot doc : ((QuerySnapshot) result).getDocuments()) {
+                    existing.add(doc.getId());
+                }
+            }
+            return existing;
+        });
+    }
+
+    private Task<Void> commitBatch(String operation, List<TaskModel> tasks) {
+        CollectionReference collection = getUserTasksCollection();
+        WriteBatch batch = db.batch();
+        long bytes = 0;
+        for (TaskModel task : tasks) {
+            if (task.getTaskId() == null) {
+                task.setTaskId(UUID.randomUUID().toString());
+            }
+            Map<String, Object> data = TaskFields.forCreate(task);
+            batch.set(collection.document(task.getTaskId()), data);
+            bytes += FirestoreMetrics.estimateBytes(data);
+        }
+        return FirestoreMetrics.trackWrite(operation, tasks.size(), bytes, batch.commit());
+    }
+
     public void deleteTask(String taskId, OnSuccessListener<Void> onSuccess, OnFailureListener onFailure) {
-        getUserTasksCollection()
-                .document(taskId)
-                .delete()
+        FirestoreMetrics.trackWrite("helper.deleteTask", 1, null,
+                        getUserTasksCollection().document(taskId).delete())
                 .addOnSuccessListener(onSuccess)
                 .addOnFailureListener(onFailure);
     }
 
-    public void updateTask(TaskModel task, OnSuccessListener<Void> onSuccess, OnFailureListener onFailure) {
-        getUserTasksCollection()
-                .document(task.getTaskId())
-                .set(task)
+    public void updateTask(TaskModel original, TaskModel updated,
+                           OnSuccessListener<Void> onSuccess, OnFailureListener onFailure) {
+        Map<String, Object> changes = TaskFields.diff(original, updated);
+        if (changes.isEmpty()) {
+            onSuccess.onSuccess(null);
+            return;
+        }
+
+        FirestoreMetrics.trackWrite("helper.updateTask", 1, changes,
+                        getUserTasksCollection().document(updated.getTaskId()).update(changes))
                 .addOnSuccessListener(onSuccess)
                 .addOnFailureListener(onFailure);
     }
 
-    public void fetchAllTasks(
+    public ListenerRegistration fetchAllTasks(
             EventListener<QuerySnapshot> listener
     ) {
-        getUserTasksCollection()
+        FirestoreMetrics.ListenerMetrics metrics = FirestoreMetrics.listener("helper.fetchAllTasks");
+        return getUserTasksCollection()
                 .orderBy("dueDateTime")
-                .addSnapshotListener(listener);
+                .addSnapshotListener((value, error) -> {
+                    if (error != null) {
+                        metrics.onError();
+                    } else if (value != null) {
+                        metrics.onSnapshot(value);
+                    }
+                    listener.onEvent(value, error);
+                });
     }
 
     public void markTaskCompleted(String taskId, boolean completed,
                                   OnSuccessListener<Void> onSuccess, OnFailureListener onFailure) {
-        getUserTasksCollection()
-                .document(taskId)
-                .update("completed", completed)
+        Map<String, Object> changes = new HashMap<>();
+        changes.put(TaskFields.COMPLETED, completed);
+        changes.put(TaskFields.COMPLETED_AT, TaskFields.completedAt(completed));
+        changes.put(TaskFields.UPDATED_AT, FieldValue.serverTimestamp());
+        FirestoreMetrics.trackWrite("helper.markTaskCompleted", 1, changes,
+                        getUserTasksCollection().document(taskId).update(changes))
+                .addOnSuccessListener(onSuccess)
+                .addOnFailureListener(onFailure);
+    }
+
+    /** Marks one occurrence of a recurring task done; the task itself stays open. */
+    public void completeOccurrence(TaskModel task, String occurrenceKey,
+                                   OnSuccessListener<Void> onSuccess, OnFailureListener onFailure) {
+        Map<String, Object> changes = TaskFields.completeOccurrence(task, occurrenceKey, System.currentTimeMillis());
+        FirestoreMetrics.trackWrite("helper.completeOccurrence", 1, changes,
+                        getUserTasksCollection().document(task.getTaskId()).update(changes))
                 .addOnSuccessListener(onSuccess)
                 .addOnFailureListener(onFailure);
     }
@@ -0,0 +1,72 @@
+package com.example.brainboardmobile.firebase;
+
+import com.google.firebase.FirebaseApp;
+import com.google.firebase.firestore.FirebaseFirestore;
+import com.google.firebase.firestore.FirebaseFirestoreSettings;
+import com.google.firebase.firestore.PersistentCacheIndexManager;
+import com.google.firebase.firestore.PersistentCacheSettings;
+
+/**
+ * FirestoreProvider.java (Mobile)
+ *
+ * Hands out the shared FirebaseFirestore instance, configured once per process before
+ * any other Firestore call.
+ *
+ * Settings:
+ * - Persistent (on-disk) cache capped at CACHE_SIZE_BYTES, so the task list renders from
+ *   the local copy immediately and keeps working offline.
+ * - Persistent cache index auto-creation, so offline queries do not scan the whole
+ *   cached collection.
+ *
+ * Testing:
+ * - forEmulator() configures the instance of a separate FirebaseApp the same way and
+ *   points it at a local Firestore emulator; the androidTest load harness
+ *   (loadtest/FirestoreLoadTest) hands it to FirestoreHelper, so the real code paths run
+ *   against seeded data while the shared instance, its cache and the user's session are
+ *   left alone.
+ */
+public final class FirestoreProvider {
+
+    private static final long CACHE_SIZE_BYTES = 50L * 1024 * 1024;
+
+    private static volatile FirebaseFirestore instance;
+
+    private FirestoreProvider() {}
+
+    public static FirebaseFirestore get() {
+        FirebaseFirestore db = instance;
+        if (db != null) return db;
+
+        synchronized (FirestoreProvider.class) {
+            if (instance == null) {
+                instance = configure(FirebaseFirestore.getInstance());
+            }
+            return instance;
+        }
+    }
+
+    /**
+     * The instance of {@code app} (never the default app), with get()'s settings and
+     * connected to the Firestore emulator at {@code host}:{@code port}. Call once per app,
+     * before anything else uses its instance.
+     */
+    public static FirebaseFirestore forEmulator(FirebaseApp app, String host, int port) {
+        FirebaseFirestore db = FirebaseFirestore.getInstance(app);
+        db.useEmulator(host, port);
+        return configure(db);
+    }
+
+    private static FirebaseFirestore configure(FirebaseFirestore db) {
+        db.setFirestoreSettings(new FirebaseFirestoreSettings.Builder()
+                .setLocalCacheSettings(PersistentCacheSettings.newBuilder()
+                        .setSizeBytes(CACHE_SIZE_BYTES)
+                        .build())
+                .build());
+
+        PersistentCacheIndexManager indexManager = db.getPersistentCacheIndexManager();
+        if (indexManager != null) {
+            indexManager.enablePersistentCacheIndexAutoCreation();
+        }
+        return db;
+    }
+}
@@ -0,0 +1,69 @@
+package com.example.brainboardmobile.firebase;
+
+import com.example.brainboardmobile.models.TaskModel;
+import com.google.firebase.firestore.DocumentSnapshot;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * TaskCodec.java (Mobile)
+ *
+ * Hand-written mapping between task documents and TaskModel, used instead of
+ * DocumentSnapshot.toObject() and set(TaskModel).
+ *
+ * Features:
+ * - fromSnapshot(): reads the known fields directly; the task ID falls back to the
+ *   document ID when the "taskId" field is missing.
+ * - toMap(): the document fields of a task, for writes. "recurrence" and
+ *   "completedOccurrences" are only written when set, so one-off tasks stay as small
+ *   as before.
+ *
+ * Notes:
+ * - No reflective bean mapping per document, which is measurably cheaper on large
+ *   snapshots (see TaskCodecBenchmark in the phone app's androidTest) and keeps working
+ *   if release builds shrink or rename TaskModel's getters and setters.
+ * - Field names live in TaskFields.
+ */
+public final class TaskCodec {
+
+    private TaskCodec() {}
+
+    public static TaskModel fromSnapshot(DocumentSnapshot doc) {
+        String taskId = doc.getString(TaskFields.TASK_ID);
+        return new TaskModel(
+                taskId != null ? taskId : doc.getId(),
+                doc.getString(TaskFields.TITLE),
+                doc.getString(TaskFields.DUE_DATE_TIME),
+                Boolean.TRUE.equals(doc.getBoolean(TaskFields.COMPLETED)),
+                doc.getString(TaskFields.RECURRENCE),
+                stringList(doc.get(TaskFields.COMPLETED_OCCURRENCES)));
+    }
+
+    public static Map<String, Object> toMap(TaskModel task) {
+        Map<String, Object> fields = new HashMap<>();
+        fields.put(TaskFields.TASK_ID, task.getTaskId());
+        fields.put(TaskFields.TITLE, task.getTitle());
+        fields.put(TaskFields.DUE_DATE_TIME, task.getDueDateTime());
+        fields.put(TaskFields.COMPLETED, task.isCompleted());
+        if (task.getRecurrence() != null) {
+            fields.put(TaskFields.RECURRENCE, task.getRecurrence());
+        }
+        List<String> completedOccurrences = task.getCompletedOccurrences();
+        if (completedOccurrences != null && !completedOccurrences.isEmpty()) {
+            fields.put(TaskFields.COMPLETED_OCCURRENCES, completedOccurrences);
+        }
+        return fields;
+    }
+
+    private static List<String> stringList(Object value) {
+        if (!(value instanceof List)) return null;
+        List<String> strings = new ArrayList<>();
+        for (Object item : (List<?>) value) {
+            if (item instanceof String) strings.add((String) item);
+        }
+        return strings;
+    }
+}
@@ -0,0 +1,46 @@
+package com.example.brainboardmobile.importer;
+
+import android.content.Context;
+import android.content.SharedPreferences;
+
+/**
+ * ImportCheckpoint.java (Mobile)
+ *
+ * Remembers how far the last unfinished import got, so TaskImporter can resume it instead
+ * of starting over.
+ *
+ * Storage:
+ * - SharedPreferences ("import_checkpoint"): the source key of the import and the number
+ *   of valid rows whose batches Firestore has acknowledged.
+ *
+ * Notes:
+ * - Only one import is tracked; starting a different source replaces it.
+ * - Source keys are built by the caller and should include the user ID, so a file
+ *   imported for one account is never resumed for another.
+ */
+public final class ImportCheckpoint {
+
+    private static final String PREF_NAME = "import_checkpoint";
+    private static final String KEY_SOURCE = "source";
+    private static final String KEY_ROWS_DONE = "rows_done";
+
+    private ImportCheckpoint() {}
+
+    /** Rows already committed for {@code source}, or 0 if it is not the interrupted import. */
+    public static int rowsDone(Context context, String source) {
+        SharedPreferences prefs = prefs(context);
+        return source.equals(prefs.getString(KEY_SOURCE, null)) ? prefs.getInt(KEY_ROWS_DONE, 0) : 0;
+    }
+
+    static void save(Context context, String source, int rowsDone) {
+        prefs(context).edit().putString(KEY_SOURCE, source).putInt(KEY_ROWS_DONE, rowsDone).apply();
+    }
+
+    static void clear(Context context) {
+        prefs(context).edit().clear().apply();
+    }
+
+    private static SharedPreferences prefs(Context context) {
+        return context.getSharedPreferences(PREF_NAME, Context.MODE_PRIVATE);
+    }
+}
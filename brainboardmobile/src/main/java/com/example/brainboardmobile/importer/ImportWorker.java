@@ -0,0 +1,159 @@
+package com.example.brainboardmobile.importer;
+
+import android.content.Context;
+import android.net.Uri;
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+import androidx.work.Constraints;
+import androidx.work.Data;
+import androidx.work.ExistingWorkPolicy;
+import androidx.work.NetworkType;
+import androidx.work.OneTimeWorkRequest;
+import androidx.work.WorkManager;
+import androidx.work.Worker;
+import androidx.work.WorkerParameters;
+
+import com.google.firebase.auth.FirebaseAuth;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * ImportWorker.java (Mobile)
+ *
+ * Background job that runs TaskImporter for ImportActivity, so an import keeps going when
+ * the screen rotates, is left, or the app process is killed.
+ *
+ * Features:
+ * - enqueue(): starts the import of a content or file Uri as unique work (WORK_NAME),
+ *   constrained to a connected network. A second enqueue while one is running is ignored.
+ * - Publishes a TaskImporter.Progress after every chunk as progress data; the final one
+ *   is the output data. progressOf() turns either back into a Progress.
+ * - A failed run's reason is in the output data under KEY_ERROR.
+ *
+ * Notes:
+ * - A lookup or commit timeout (offline) or a stop by WorkManager is retried with
+ *   WorkManager's backoff; the retry resumes from ImportCheckpoint.
+ * - An unreadable input or a signed-out user fails the run without retrying.
+ * - Pasted text is imported from a file in filesDir (see pastedTextFile()), deleted once
+ *   the import finishes.
+ */
+public class ImportWorker extends Worker {
+
+    public static final String WORK_NAME = "task-import";
+    public static final String KEY_ERROR = "error";
+
+    private static final String TAG = "ImportWorker";
+    private static final String KEY_URI = "uri";
+    private static final String KEY_SIZE = "size";
+    private static final String KEY_SOURCE = "source";
+    private static final String KEY_WRITTEN = "written";
+    private static final String KEY_RESUMED = "resumed";
+    private static final String KEY_EXISTING = "existing";
+    private static final String KEY_REJECTED = "rejected";
+    private static final String KEY_FRACTION = "fraction";
+    private static final String KEY_FINISHED = "finished";
+    private static final String KEY_ERRORS = "errors";
+    private static final String PASTE_FILE = "import_paste.txt";
+    // Keeps the progress Data well under WorkManager's 10 KB limit
+    private static final int MAX_ERROR_CHARS = 120;
+
+    public ImportWorker(@NonNull Context context, @NonNull WorkerParameters params) {
+        super(context, params);
+    }
+
+    /** Imports {@code uri} ({@code size} bytes, or -1 if unknown) under {@code sourceKey}. */
+    public static void enqueue(Context context, Uri uri, long size, String sourceKey) {
+        Data input = new Data.Builder()
+                .putString(KEY_URI, uri.toString())
+                .putLong(KEY_SIZE, size)
+                .putString(KEY_SOURCE, sourceKey)
+                .build();
+        OneTimeWorkRequest request = new OneTimeWorkRequest.Builder(ImportWorker.class)
+                .setInputData(input)
+                .setConstraints(new Constraints.Builder()
+                        .setRequiredNetworkType(NetworkType.CONNECTED)
+                        .build())
+                .build();
+        WorkManager.getInstance(context).enqueueUniqueWork(WORK_NAME, ExistingWorkPolicy.KEEP, request);
+    }
+
+    /** Where ImportActivity writes pasted text before enqueueing it. */
+    public static File pastedTextFile(Context context) {
+        return new File(context.getFilesDir(), PASTE_FILE);
+    }
+
+    /** The progress in {@code data} (progress or output data), or null if it has none yet. */
+    public static TaskImporter.Progress progressOf(Data data) {
+        if (!data.getKeyValueMap().containsKey(KEY_WRITTEN)) return null;
+        String[] errors = data.getStringArray(KEY_ERRORS);
+        return new TaskImporter.Progress(
+                data.getInt(KEY_WRITTEN, 0),
+                data.getInt(KEY_RESUMED, 0),
+                data.getInt(KEY_EXISTING, 0),
+                data.getInt(KEY_REJECTED, 0),
+                data.getFloat(KEY_FRACTION, -1f),
+                data.getBoolean(KEY_FINISHED, false),
+                errors != null ? Arrays.asList(errors) : Collections.emptyList());
+    }
+
+    @NonNull
+    @Override
+    public Result doWork() {
+        if (FirebaseAuth.getInstance().getCurrentUser() == null) {
+            return Result.failure(error("signed out"));
+        }
+
+        Context context = getApplicationContext();
+        Uri uri = Uri.parse(getInputData().getString(KEY_URI));
+        long size = getInputData().getLong(KEY_SIZE, -1);
+        String sourceKey = getInputData().getString(KEY_SOURCE);
+        try (InputStream in = context.getContentResolver().openInputStream(uri)) {
+            if (in == null) throw new IOException("Could not open the file");
+            TaskImporter.Progress result = TaskImporter.run(context, in, size, sourceKey,
+                    this::isStopped, progress -> setProgressAsync(toData(progress)));
+            if (!result.finished) return Result.retry();
+
+            pastedTextFile(context).delete();
+            Log.d(TAG, "Imported " + result.written + " tasks");
+            return Result.success(toData(result));
+        } catch (IOException | SecurityException e) {
+            Log.e(TAG, "Import failed", e);
+            return Result.failure(error(e.getMessage()));
+        } catch (ExecutionException | TimeoutException e) {
+            Log.e(TAG, "Import interrupted, will retry", e);
+            return Result.retry();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return Result.retry();
+        }
+    }
+
+    private static Data toData(TaskImporter.Progress progress) {
+        List<String> errors = new ArrayList<>(progress.errors.size());
+        for (String error : progress.errors) {
+            errors.add(error.length() > MAX_ERROR_CHARS ? error.substring(0, MAX_ERROR_CHARS) + "…" : error);
+        }
+        return new Data.Builder()
+                .putInt(KEY_WRITTEN, progress.written)
+                .putInt(KEY_RESUMED, progress.resumed)
+                .putInt(KEY_EXISTING, progress.existing)
+                .putInt(KEY_REJECTED, progress.rejected)
+                .putFloat(KEY_FRACTION, progress.fraction)
+                .putBoolean(KEY_FINISHED, progress.finished)
+                .putStringArray(KEY_ERRORS, errors.toArray(new String[0]))
+                .build();
+    }
+
+    private static Data error(String reason) {
+        return new Data.Builder().putString(KEY_ERROR, reason).build();
+    }
+}
@@ -0,0 +1,520 @@
+package com.example.brainboardmobile.importer;
+
+import com.example.brainboard.shared.data.DueDates;
+import com.example.brainboard.shared.data.RecurrenceRule;
+import com.example.brainboardmobile.models.TaskModel;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeFormatterBuilder;
+import java.time.format.DateTimeParseException;
+import java.time.format.ResolverStyle;
+import java.time.temporal.TemporalQuery;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * TaskImportParser.java (Mobile)
+ *
+ * Streaming parser for bulk task import (TaskImporter): reads one record at a time from a
+ * Reader and turns it into a validated TaskModel or a rejected row with a reason, so a
+ * file of any size is imported in constant memory (apart from the duplicate check).
+ *
+ * Formats (detected from the first non-blank line):
+ * - ICS: a "BEGIN:VCALENDAR" file. Every VTODO and VEVENT is a task: SUMMARY is the title,
+ *   DUE (else DTSTART) the due time, in UTC, local or TZID time; all-day dates are due at
+ *   23:59. An RRULE inside RecurrenceRule's subset becomes the task's recurrence, other
+ *   rules import as one-off tasks. STATUS:COMPLETED marks the task completed.
+ * - CSV: a header naming a title column ("title", "task", "summary", "subject" or "name")
+ *   and a due column ("due", "due date", "deadline", "date" or "start date"), optionally
+ *   "time"/"start time", "repeat"/"recurrence"/"rrule" and "completed"/"done". Quoted
+ *   fields (RFC 4180) may contain commas, quotes and line breaks.
+ * - Text: anything else, one task per line as "title, due" (the last tab, comma or
+ *   semicolon splits the line). Blank lines and lines starting with '#' are skipped.
+ *
+ * Validation:
+ * - Titles must be non-empty and at most MAX_TITLE_LENGTH characters.
+ * - Due dates are day first: "dd/MM/yyyy HH:mm", "dd/MM/yyyy", "yyyy-MM-dd HH:mm",
+ *   "yyyy-MM-ddTHH:mm[:ss]" or "yyyy-MM-dd"; a date without a time is due at 23:59.
+ *   Times in a separate column may also be "h:mm AM".
+ * - A record that produces the same task ID as an earlier one is rejected as a duplicate.
+ *
+ * IDs:
+ * - Deterministic: "import-" plus a SHA-1 prefix of the ICS UID, or of title, due and
+ *   rule. Importing the same data again overwrites the tasks it created rather than
+ *   duplicating them, which is what makes TaskImporter's resume safe.
+ *
+ * Notes:
+ * - Not thread-safe; one parser per import.
+ */
+public final class TaskImportParser implements Closeable {
+
+    public enum Format { TEXT, CSV, ICS }
+
+    /** One record of the input: a task, or the reason it was rejected. */
+    public static final class Row {
+        public final int line;
+        public final TaskModel task;
+        public final String error;
+
+        private Row(int line, TaskModel task, String error) {
+            this.line = line;
+            this.task = task;
+            this.error = error;
+        }
+    }
+
+    public static final int MAX_TITLE_LENGTH = 200;
+    static final String ID_PREFIX = "import-";
+
+    private static final LocalTime DATE_ONLY_TIME = LocalTime.of(23, 59);
+    private static final DateTimeFormatter DUE_FORMAT = DateTimeFormatter.ofPattern(DueDates.MOBILE_FORMAT, Locale.US);
+    private static final DateTimeFormatter[] DATE_TIMES = {
+            strict("d/M/uuuu H:mm"), strict("uuuu-M-d H:mm"), strict("uuuu-M-d'T'H:mm[:ss]")
+    };
+    private static final DateTimeFormatter[] DATES = {strict("d/M/uuuu"), strict("uuuu-M-d")};
+    private static final DateTimeFormatter[] TIMES = {strict("H:mm[:ss]"), strict("h:mm[ ]a")};
+    private static final DateTimeFormatter ICS_DATE_TIME = strict("uuuuMMdd'T'HHmmss");
+    private static final DateTimeFormatter ICS_DATE = strict("uuuuMMdd");
+
+    private static final List<String> TITLE_HEADERS = Arrays.asList("title", "task", "summary", "subject", "name");
+    private static final List<String> DUE_HEADERS = Arrays.asList("due", "due date", "duedate", "due_date", "deadline", "date", "start date");
+    private static final List<String> TIME_HEADERS = Arrays.asList("time", "due time", "start time");
+    private static final List<String> REPEAT_HEADERS = Arrays.asList("repeat", "recurrence", "rrule");
+    private static final List<String> COMPLETED_HEADERS = Arrays.asList("completed", "done");
+
+    private final BufferedReader reader;
+    private final MessageDigest sha1;
+    private final ZoneId zone;
+    // Task ID -> line it was first seen on
+    private final Map<String, Integer> seen = new HashMap<>();
+    private final Format format;
+
+    private int lineNumber;
+    private String pending;
+    private int pendingLine;
+    // First physical line of the last readUnfolded() result
+    private int unfoldedLine;
+
+    // CSV column positions; -1 when absent
+    private int titleColumn = -1;
+    private int dueColumn = -1;
+    private int timeColumn = -1;
+    private int repeatColumn = -1;
+    private int completedColumn = -1;
+
+    public TaskImportParser(Reader input, ZoneId zone) throws IOException {
+        this.reader = input instanceof BufferedReader ? (BufferedReader) input : new BufferedReader(input);
+        this.zone = zone;
+        try {
+            sha1 = MessageDigest.getInstance("SHA-1");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+
+        String first = readLine();
+        while (first != null && first.trim().isEmpty()) first = readLine();
+        if (first != null && first.startsWith("\uFEFF")) first = first.substring(1);
+
+        if (first == null) {
+            format = Format.TEXT;
+        } else if (first.trim().equalsIgnoreCase("BEGIN:VCALENDAR")) {
+            format = Format.ICS;
+        } else if (readHeader(first)) {
+            format = Format.CSV;
+            if (dueColumn < 0) throw new IOException("The CSV header has no due date column");
+        } else {
+            format = Format.TEXT;
+            unread(first);
+        }
+    }
+
+    public Format getFormat() {
+        return format;
+    }
+
+    /** The next task or rejected record, or null at the end of the input. */
+    public Row next() throws IOException {
+        switch (format) {
+            case ICS:
+                return nextIcs();
+            case CSV:
+                return nextCsv();
+            default:
+                return nextText();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    private Row nextText() throws IOException {
+        String line;
+        while ((line = readLine()) != null) {
+            String trimmed = line.trim();
+            if (trimmed.isEmpty() || trimmed.startsWith("#")) continue;
+
+            int cut = Math.max(trimmed.lastIndexOf('\t'), Math.max(trimmed.lastIndexOf(','), trimmed.lastIndexOf(';')));
+            if (cut < 0) return reject(lineNumber, "Expected \"title, due date\"");
+            String dueText = unquote(trimmed.substring(cut + 1));
+            LocalDateTime due = parseDue(dueText, null);
+            if (due == null) return reject(lineNumber, "Unrecognized due date \"" + dueText + "\"");
+            return accept(lineNumber, unquote(trimmed.substring(0, cut)), due, null, false, null);
+        }
+        return null;
+    }
+
+    private boolean readHeader(String line) throws IOException {
+        List<String> names = splitCsv(line);
+        for (int i = 0; i < names.size(); i++) {
+            String name = names.get(i).trim().toLowerCase(Locale.US);
+            if (titleColumn < 0 && TITLE_HEADERS.contains(name)) titleColumn = i;
+            else if (dueColumn < 0 && DUE_HEADERS.contains(name)) dueColumn = i;
+            else if (timeColumn < 0 && TIME_HEADERS.contains(name)) timeColumn = i;
+            else if (repeatColumn < 0 && REPEAT_HEADERS.contains(name)) repeatColumn = i;
+            else if (completedColumn < 0 && COMPLETED_HEADERS.contains(name)) completedColumn = i;
+        }
+        return titleColumn >= 0;
+    }
+
+    private Row nextCsv() throws IOException {
+        String line;
+        while ((line = readLine()) != null) {
+            if (line.trim().isEmpty()) continue;
+            int recordLine = lineNumber;
+            // A quoted field can run over several lines
+            StringBuilder record = new StringBuilder(line);
+            while (openQuote(record)) {
+                String more = readLine();
+                if (more == null) return reject(recordLine, "Unterminated quoted field");
+                record.append('\n').append(more);
+            }
+
+            List<String> fields = splitCsv(record.toString());
+            String title = field(fields, titleColumn);
+            String dueText = field(fields, dueColumn);
+            LocalDateTime due = parseDue(dueText, field(fields, timeColumn));
+            if (due == null) return reject(recordLine, "Unrecognized due date \"" + dueText + "\"");
+
+            String repeat = field(fields, repeatColumn);
+            String recurrence = null;
+            if (!repeat.isEmpty()) {
+                RecurrenceRule rule = RecurrenceRule.parse(repeat.toUpperCase(Locale.US));
+                if (rule == null) return reject(recordLine, "Unsupported repeat rule \"" + repeat + "\"");
+                recurrence = rule.toString();
+            }
+            return accept(recordLine, title, due, recurrence, isTrue(field(fields, completedColumn)), null);
+        }
+        return null;
+    }
+
+    private static boolean openQuote(CharSequence record) {
+        int quotes = 0;
+        for (int i = 0; i < record.length(); i++) {
+            if (record.charAt(i) == '"') quotes++;
+        }
+        return quotes % 2 != 0;
+    }
+
+    static List<String> splitCsv(String record) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < record.length(); i++) {
+            char c = record.charAt(i);
+            if (quoted) {
+                if (c != '"') {
+                    field.append(c);
+                } else if (i + 1 < record.length() && record.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else {
+                    quoted = false;
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    private static String field(List<String> fields, int column) {
+        return column >= 0 && column < fields.size() ? fields.get(column).trim() : "";
+    }
+
+    private static boolean isTrue(String value) {
+        switch (value.toLowerCase(Locale.US)) {
+            case "true":
+            case "yes":
+            case "y":
+            case "1":
+            case "x":
+            case "done":
+            case "completed":
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    private Row nextIcs() throws IOException {
+        String line;
+        while ((line = readUnfolded()) != null) {
+            if (line.equalsIgnoreCase("BEGIN:VTODO") || line.equalsIgnoreCase("BEGIN:VEVENT")) {
+                return readComponent(unfoldedLine, line.substring("BEGIN:".length()));
+            }
+        }
+        return null;
+    }
+
+    private Row readComponent(int startLine, String name) throws IOException {
+        String summary = null;
+        String uid = null;
+        String rrule = null;
+        String[] due = null;
+        String[] start = null;
+        boolean completed = false;
+        boolean changedOccurrence = false;
+
+        int nested = 0;
+        String line;
+        while ((line = readUnfolded()) != null) {
+            String upper = line.toUpperCase(Locale.US);
+            if (upper.startsWith("BEGIN:")) {
+                nested++;
+                continue;
+            }
+            if (upper.startsWith("END:")) {
+                if (nested-- > 0) continue;
+                break;
+            }
+            if (nested > 0) continue; // VALARM and other sub-components
+
+            int colon = line.indexOf(':');
+            if (colon < 0) continue;
+            String[] nameAndParams = line.substring(0, colon).split(";");
+            String property = nameAndParams[0].toUpperCase(Locale.US);
+            String value = line.substring(colon + 1);
+            switch (property) {
+                case "SUMMARY":
+                    summary = unescapeIcs(value);
+                    break;
+                case "UID":
+                    uid = value.trim();
+                    break;
+                case "RRULE":
+                    rrule = value.trim();
+                    break;
+                case "DUE":
+                    due = new String[]{value.trim(), tzid(nameAndParams)};
+                    break;
+                case "DTSTART":
+                    start = new String[]{value.trim(), tzid(nameAndParams)};
+                    break;
+                case "STATUS":
+                    completed = value.trim().equalsIgnoreCase("COMPLETED");
+                    break;
+                case "COMPLETED":
+                    completed = true;
+                    break;
+                case "RECURRENCE-ID":
+                    changedOccurrence = true;
+                    break;
+                default:
+                    break;
+            }
+        }
+
+        if (changedOccurrence) return reject(startLine, "Changed occurrence of a repeating " + name + ", skipped");
+        String[] when = due != null ? due : start;
+        if (when == null) return reject(startLine, name + " has no DUE or DTSTART");
+        LocalDateTime dueTime = parseIcsTime(when[0], when[1]);
+        if (dueTime == null) return reject(startLine, "Unrecognized date \"" + when[0] + "\"");
+        return accept(startLine, summary, dueTime, icsRecurrence(rrule), completed, uid);
+    }
+
+    /** Reads a logical ICS line: continuation lines (leading space or tab) are appended. */
+    private String readUnfolded() throws IOException {
+        String line = readLine();
+        if (line == null) return null;
+        unfoldedLine = lineNumber;
+        StringBuilder unfolded = new StringBuilder(line);
+        String next;
+        while ((next = readLine()) != null) {
+            if (next.startsWith(" ") || next.startsWith("\t")) {
+                unfolded.append(next, 1, next.length());
+            } else {
+                unread(next);
+                break;
+            }
+        }
+        return unfolded.toString().trim();
+    }
+
+    private static String tzid(String[] nameAndParams) {
+        for (int i = 1; i < nameAndParams.length; i++) {
+            String param = nameAndParams[i];
+            if (param.regionMatches(true, 0, "TZID=", 0, 5)) return param.substring(5).replace("\"", "");
+        }
+        return null;
+    }
+
+    private LocalDateTime parseIcsTime(String value, String tzid) {
+        try {
+            if (value.length() == 8) return LocalDate.parse(value, ICS_DATE).atTime(DATE_ONLY_TIME);
+            if (value.endsWith("Z")) {
+                return LocalDateTime.parse(value.substring(0, value.length() - 1), ICS_DATE_TIME)
+                        .atOffset(ZoneOffset.UTC).atZoneSameInstant(zone).toLocalDateTime();
+            }
+            LocalDateTime local = LocalDateTime.parse(value, ICS_DATE_TIME);
+            if (tzid == null) return local;
+            try {
+                return local.atZone(ZoneId.of(tzid)).withZoneSameInstant(zone).toLocalDateTime();
+            } catch (DateTimeException e) {
+                return local; // Unknown (e.g. Outlook-named) zone: take the time as local
+            }
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+
+    /** The RRULE in RecurrenceRule's subset, or null to import as a one-off task. */
+    private static String icsRecurrence(String rrule) {
+        if (rrule == null) return null;
+        StringBuilder kept = new StringBuilder();
+        for (String part : rrule.toUpperCase(Locale.US).split(";")) {
+            if (part.startsWith("WKST=")) continue;
+            // UNTIL may be a date-time; the rule only keeps the date
+            if (part.startsWith("UNTIL=") && part.length() > "UNTIL=".length() + 8) {
+                part = part.substring(0, "UNTIL=".length() + 8);
+            }
+            if (kept.length() > 0) kept.append(';');
+            kept.append(part);
+        }
+        RecurrenceRule rule = RecurrenceRule.parse(kept.toString());
+        return rule != null ? rule.toString() : null;
+    }
+
+    private static String unescapeIcs(String value) {
+        StringBuilder text = new StringBuilder(value.length());
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '\\' && i + 1 < value.length()) {
+                char escaped = value.charAt(++i);
+                text.append(escaped == 'n' || escaped == 'N' ? ' ' : escaped);
+            } else {
+                text.append(c);
+            }
+        }
+        return text.toString();
+    }
+
+    private Row accept(int line, String title, LocalDateTime due, String recurrence, boolean completed, String uid) {
+        title = title != null ? title.trim() : "";
+        if (title.isEmpty()) return reject(line, "Missing title");
+        if (title.length() > MAX_TITLE_LENGTH) return reject(line, "Title longer than " + MAX_TITLE_LENGTH + " characters");
+
+        String dueText = due.format(DUE_FORMAT);
+        String taskId = idOf(uid != null && !uid.isEmpty()
+                ? "uid\n" + uid
+                : "task\n" + title + "\n" + dueText + "\n" + (recurrence != null ? recurrence : ""));
+        Integer firstLine = seen.putIfAbsent(taskId, line);
+        if (firstLine != null) return reject(line, "Duplicate of line " + firstLine);
+
+        return new Row(line, new TaskModel(taskId, title, dueText, completed, recurrence, null), null);
+    }
+
+    private static Row reject(int line, String error) {
+        return new Row(line, null, error);
+    }
+
+    private String idOf(String key) {
+        byte[] hash = sha1.digest(key.getBytes(StandardCharsets.UTF_8));
+        StringBuilder id = new StringBuilder(ID_PREFIX);
+        for (int i = 0; i < 10; i++) {
+            id.append(Character.forDigit((hash[i] >> 4) & 0xF, 16)).append(Character.forDigit(hash[i] & 0xF, 16));
+        }
+        return id.toString();
+    }
+
+    /** Due time from a date (optionally with time) and an optional separate time. */
+    static LocalDateTime parseDue(String dateText, String timeText) {
+        if (dateText == null || dateText.isEmpty()) return null;
+        if (timeText != null && !timeText.isEmpty()) {
+            LocalDate date = parse(dateText, DATES, LocalDate::from);
+            LocalTime time = parse(timeText.toUpperCase(Locale.US), TIMES, LocalTime::from);
+            return date != null && time != null ? date.atTime(time) : null;
+        }
+        LocalDateTime dateTime = parse(dateText, DATE_TIMES, LocalDateTime::from);
+        if (dateTime != null) return dateTime;
+        LocalDate date = parse(dateText, DATES, LocalDate::from);
+        return date != null ? date.atTime(DATE_ONLY_TIME) : null;
+    }
+
+    private static <T> T parse(String text, DateTimeFormatter[] formats,
+                               TemporalQuery<T> query) {
+        for (DateTimeFormatter format : formats) {
+            try {
+                return format.parse(text.trim(), query);
+            } catch (DateTimeParseException ignored) {
+                // Try the next format
+            }
+        }
+        return null;
+    }
+
+    private static String unquote(String text) {
+        String trimmed = text.trim();
+        if (trimmed.length() >= 2 && trimmed.startsWith("\"") && trimmed.endsWith("\"")) {
+            return trimmed.substring(1, trimmed.length() - 1).replace("\"\"", "\"").trim();
+        }
+        return trimmed;
+    }
+
+    private static DateTimeFormatter strict(String pattern) {
+        return new DateTimeFormatterBuilder().parseCaseInsensitive().appendPattern(pattern)
+                .toFormatter(Locale.US).withResolverStyle(ResolverStyle.STRICT);
+    }
+
+    private String readLine() throws IOException {
+        if (pending != null) {
+            String line = pending;
+            pending = null;
+            lineNumber = pendingLine;
+            return line;
+        }
+        String line = reader.readLine();
+        if (line != null) lineNumber++;
+        return line;
+    }
+
+    private void unread(String line) {
+        pending = line;
+        pendingLine = lineNumber;
+        lineNumber--;
+    }
+}
@@ -0,0 +1,207 @@
+package com.example.brainboardmobile.importer;
+
+import android.content.Context;
+
+import com.example.brainboardmobile.firebase.FirestoreHelper;
+import com.example.brainboardmobile.models.TaskModel;
+import com.google.android.gms.tasks.Tasks;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.BooleanSupplier;
+
+/**
+ * TaskImporter.java (Mobile)
+ *
+ * Bulk task import: streams rows out of TaskImportParser and writes them to the user's
+ * task collection in WriteBatches of CHUNK_SIZE, so a semester of deadlines takes a
+ * handful of round trips instead of one set() per task.
+ *
+ * Process:
+ * - Parses while writing: at most one chunk of tasks is held in memory.
+ * - Each chunk is one FirestoreHelper.addTaskBatch() commit; the next chunk is only sent
+ *   once the previous one is acknowledged.
+ * - Tasks whose IDs already exist, active or archived, are left out of the batch
+ *   (FirestoreHelper.findExistingTaskIds()), so importing a file again never resets or
+ *   revives a task the user has since completed, edited or archived; they are counted in
+ *   Progress.existing.
+ * - After every acknowledged chunk, progress (rows written, rows rejected, share of the
+ *   input read) goes to the listener and the row count to ImportCheckpoint.
+ *
+ * Resuming:
+ * - A run for a source key with a checkpoint skips the rows the checkpoint covers. Task
+ *   IDs are derived from the rows (see TaskImportParser), so the tasks of a chunk whose
+ *   ack was lost are found as existing on the next run instead of being duplicated.
+ * - The checkpoint is cleared once the whole input is written.
+ *
+ * Notes:
+ * - Blocking; call from a worker thread. Stops between chunks once {@code stopped}
+ *   returns true, keeping the checkpoint.
+ * - A lookup or commit not answered within COMMIT_TIMEOUT_SECONDS (e.g. offline) fails the run;
+ *   Firestore still holds the queued writes and sends them when back online.
+ */
+public final class TaskImporter {
+
+    public interface ProgressListener {
+        /** Called on the importing thread after every chunk and once at the end. */
+        void onProgress(Progress progress);
+    }
+
+    /** Snapshot of an import. */
+    public static final class Progress {
+        public final int written;
+        public final int resumed;
+        // Valid rows skipped because a task with the same ID exists, active or archived
+        public final int existing;
+        public final int rejected;
+        // Share of the input read so far, or -1 if its size is unknown
+        public final float fraction;
+        public final boolean finished;
+        // The first MAX_ERRORS rejected rows as "Line n: reason"
+        public final List<String> errors;
+
+        Progress(int written, int resumed, int existing, int rejected, float fraction, boolean finished,
+                 List<String> errors) {
+            this.written = written;
+            this.resumed = resumed;
+            this.existing = existing;
+            this.rejected = rejected;
+            this.fraction = fraction;
+            this.finished = finished;
+            this.errors = Collections.unmodifiableList(new ArrayList<>(errors));
+        }
+    }
+
+    // Well under FirestoreHelper.BATCH_LIMIT, so progress moves a few times even for 500 rows
+    static final int CHUNK_SIZE = 100;
+    static final int MAX_ERRORS = 50;
+    private static final long COMMIT_TIMEOUT_SECONDS = 60;
+
+    private TaskImporter() {}
+
+    /**
+     * Imports everything in {@code input} ({@code totalBytes} long, or -1 if unknown) and
+     * returns the final progress; {@code finished} is false if the run was stopped.
+     */
+    public static Progress run(Context context, InputStream input, long totalBytes, String sourceKey,
+                               BooleanSupplier stopped, ProgressListener listener)
+            throws IOException, ExecutionException, InterruptedException, TimeoutException {
+        FirestoreHelper helper = new FirestoreHelper();
+        CountingInputStream counted = new CountingInputStream(input);
+        int resumeAfter = ImportCheckpoint.rowsDone(context, sourceKey);
+
+        int valid = 0;
+        int written = 0;
+        int existing = 0;
+        int rejected = 0;
+        List<String> errors = new ArrayList<>();
+        List<TaskModel> chunk = new ArrayList<>(CHUNK_SIZE);
+
+        try (TaskImportParser parser = new TaskImportParser(
+                new InputStreamReader(counted, StandardCharsets.UTF_8), ZoneId.systemDefault())) {
+            for (TaskImportParser.Row row = parser.next(); row != null; row = parser.next()) {
+                if (row.task == null) {
+                    rejected++;
+                    if (errors.size() < MAX_ERRORS) errors.add("Line " + row.line + ": " + row.error);
+                    continue;
+                }
+                // Already committed by the interrupted run
+                if (valid++ < resumeAfter) continue;
+
+                chunk.add(row.task);
+                if (chunk.size() == CHUNK_SIZE) {
+                    if (stopped.getAsBoolean()) {
+                        return new Progress(written, resumeAfter, existing, rejected,
+                                fraction(counted, totalBytes), false, errors);
+                    }
+                    int sent = chunk.size();
+                    int added = commit(context, helper, chunk, sourceKey, resumeAfter + written + existing);
+                    written += added;
+                    existing += sent - added;
+                    listener.onProgress(new Progress(written, resumeAfter, existing, rejected,
+                            fraction(counted, totalBytes), false, errors));
+                }
+            }
+            if (!chunk.isEmpty()) {
+                int sent = chunk.size();
+                int added = commit(context, helper, chunk, sourceKey, resumeAfter + written + existing);
+                written += added;
+                existing += sent - added;
+            }
+        }
+
+        ImportCheckpoint.clear(context);
+        Progress done = new Progress(written, Math.min(resumeAfter, valid), existing, rejected, 1f, true, errors);
+        listener.onProgress(done);
+        return done;
+    }
+
+    /**
+     * Commits the tasks of {@code chunk} that do not exist yet, checkpoints the chunk and
+     * empties it; returns the number written.
+     */
+    private static int commit(Context context, FirestoreHelper helper, List<TaskModel> chunk,
+                              String sourceKey, int doneBefore)
+            throws ExecutionException, InterruptedException, TimeoutException {
+        int size = chunk.size();
+        List<String> ids = new ArrayList<>(size);
+        for (TaskModel task : chunk) ids.add(task.getTaskId());
+        Set<String> existing = Tasks.await(helper.findExistingTaskIds(ids), COMMIT_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+
+        List<TaskModel> fresh = new ArrayList<>(size);
+        for (TaskModel task : chunk) {
+            if (!existing.contains(task.getTaskId())) fresh.add(task);
+        }
+        if (!fresh.isEmpty()) {
+            Tasks.await(helper.addTaskBatch(fresh), COMMIT_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        }
+        ImportCheckpoint.save(context, sourceKey, doneBefore + size);
+        chunk.clear();
+        return fresh.size();
+    }
+
+    private static float fraction(CountingInputStream counted, long totalBytes) {
+        return totalBytes > 0 ? Math.min(1f, counted.count / (float) totalBytes) : -1f;
+    }
+
+    /** Counts bytes handed to the reader, for progress through inputs of known size. */
+    private static final class CountingInputStream extends FilterInputStream {
+        private long count;
+
+        CountingInputStream(InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0) count++;
+            return b;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            int n = super.read(buffer, offset, length);
+            if (n > 0) count += n;
+            return n;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            long skipped = super.skip(n);
+            count += skipped;
+            return skipped;
+        }
+    }
+}
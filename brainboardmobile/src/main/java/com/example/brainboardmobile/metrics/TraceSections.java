@@ -0,0 +1,35 @@
+package com.example.brainboardmobile.metrics;
+
+/**
+ * TraceSections.java (Mobile)
+ *
+ * Names of the trace sections and counters the phone app emits with androidx.tracing, so
+ * a Perfetto trace (or a :macrobenchmark TraceSectionMetric) shows where a slow list
+ * frame spent its time.
+ *
+ * Pipeline:
+ * - APPLY_SNAPSHOT (listener thread: document changes to TaskModel, search index) ->
+ *   DELIVER (main thread, once per frame) -> DIFF (async, submitList() to commit) ->
+ *   BIND per row; WEAR_PUBLISH packs the same list for the watch.
+ *
+ * Notes:
+ * - androidx.tracing checks whether tracing is on before emitting, so sections cost next
+ *   to nothing in release builds unless a trace is being recorded; the benchmark build
+ *   type is <profileable> (src/benchmark/AndroidManifest.xml), so it can be traced.
+ * - The macrobenchmark module repeats these strings; keep them in sync.
+ */
+public final class TraceSections {
+
+    public static final String APPLY_SNAPSHOT = "TaskRepository.applySnapshot";
+    public static final String DELIVER = "TaskRepository.deliver";
+    public static final String DIFF = "TaskAdapter.diff";
+    public static final String BIND = "TaskAdapter.bind";
+    public static final String WEAR_PUBLISH = "WearSyncPublisher.publish";
+
+    /** Counter: tasks in the list handed to observers. */
+    public static final String TASK_COUNT = "TaskRepository.taskCount";
+    /** Counter: document changes in the latest snapshot. */
+    public static final String SNAPSHOT_CHANGES = "TaskRepository.snapshotChanges";
+
+    private TraceSections() {}
+}
@@ -1,5 +1,9 @@
 package com.example.brainboardmobile.models;
 
+import com.example.brainboard.shared.data.TaskRecord;
+
+import java.util.List;
+
 /**
  * TaskModel.java (Mobile)
  *
@@ -11,6 +15,10 @@ package com.example.brainboardmobile.models;
  * - title: The task description or title
  * - dueDateTime: Due date and time as a string (Format: "dd/MM/yyyy HH:mm")
  * - completed: Boolean flag indicating whether the task is completed
+ * - recurrence: RecurrenceRule string for a repeating task, null for a one-off task;
+ *   dueDateTime then starts the series
+ * - completedOccurrences: keys ("yyyyMMdd") of the completed occurrences of a repeating
+ *   task, stored sparsely (see Occurrences); null when there are none
  *
  * Constructors:
  * - Empty constructor required for Firebase deserialization
@@ -19,13 +27,16 @@ package com.example.brainboardmobile.models;
  * Notes:
  * - All fields use standard Java getters and setters
  * - Used across FirestoreHelper, adapters, and UI components
+ * - Implements TaskRecord so the :shared search index and Occurrences can read it
  */
 
-public class TaskModel {
+public class TaskModel implements TaskRecord {
     private String taskId;
     private String title;
     private String dueDateTime; // Format: "dd/MM/yyyy HH:mm"
     private boolean completed;
+    private String recurrence; // RecurrenceRule, e.g. "FREQ=WEEKLY;BYDAY=MO,WE"
+    private List<String> completedOccurrences;
 
     // Required empty constructor for Firebase
     public TaskModel() {
@@ -38,6 +49,13 @@ public class TaskModel {
         this.completed = completed;
     }
 
+    public TaskModel(String taskId, String title, String dueDateTime, boolean completed,
+                     String recurrence, List<String> completedOccurrences) {
+        this(taskId, title, dueDateTime, completed);
+        this.recurrence = recurrence;
+        this.completedOccurrences = completedOccurrences;
+    }
+
     // Getters and Setters
     public String getTaskId() {
         return taskId;
@@ -70,4 +88,20 @@ public class TaskModel {
     public void setCompleted(boolean completed) {
         this.completed = completed;
     }
+
+    public String getRecurrence() {
+        return recurrence;
+    }
+
+    public void setRecurrence(String recurrence) {
+        this.recurrence = recurrence;
+    }
+
+    public List<String> getCompletedOccurrences() {
+        return completedOccurrences;
+    }
+
+    public void setCompletedOccurrences(List<String> completedOccurrences) {
+        this.completedOccurrences = completedOccurrences;
+    }
 }
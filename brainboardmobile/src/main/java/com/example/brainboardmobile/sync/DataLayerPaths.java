@@ -0,0 +1,50 @@
+package com.example.brainboardmobile.sync;
+
+/**
+ * DataLayerPaths.java (Mobile)
+ *
+ * Paths and keys shared by the phone and watch apps on the Wearable Data Layer.
+ * The wear app keeps an identical copy in com.example.brainboard.sync.
+ *
+ * Phone -> Watch (DataClient):
+ * - TASKS: compact snapshot of the user's tasks as parallel arrays
+ *
+ * Watch -> Phone (MessageClient, payload is a serialized DataMap):
+ * - TASK_ADD / TASK_UPDATE / TASK_DELETE: task mutations for the phone to apply
+ * - TASKS_REQUEST: asks the phone to push a fresh snapshot
+ *
+ * Phone -> Watch (MessageClient):
+ * - TASK_RESULT: outcome of one mutation, matched to it by KEY_REQUEST_ID; KEY_ERROR is
+ *   set when the phone could not apply it
+ *
+ * Capability:
+ * - PHONE_CAPABILITY is advertised by the phone app (res/values/wear.xml) so the watch
+ *   can find a reachable phone node.
+ */
+public final class DataLayerPaths {
+
+    public static final String PHONE_CAPABILITY = "brainboard_phone";
+
+    public static final String TASKS = "/tasks";
+    public static final String TASKS_REQUEST = "/tasks/request";
+    public static final String TASK_ADD = "/task/add";
+    public static final String TASK_UPDATE = "/task/update";
+    public static final String TASK_DELETE = "/task/delete";
+    public static final String TASK_RESULT = "/task/result";
+
+    public static final String KEY_IDS = "ids";
+    public static final String KEY_TITLES = "titles";
+    public static final String KEY_DUES = "dues";
+    public static final String KEY_COMPLETED = "completed";
+    // Recurring tasks: rule per task ("" for one-off), completed occurrence keys comma-joined
+    public static final String KEY_RECURRENCES = "recurrences";
+    public static final String KEY_COMPLETED_OCCURRENCES = "completedOccurrences";
+
+    public static final String KEY_TASK_ID = "taskId";
+    public static final String KEY_TITLE = "title";
+    public static final String KEY_DUE_DATE_TIME = "dueDateTime";
+    public static final String KEY_REQUEST_ID = "requestId";
+    public static final String KEY_ERROR = "error";
+
+    private DataLayerPaths() {}
+}
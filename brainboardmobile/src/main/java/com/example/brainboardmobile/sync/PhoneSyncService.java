@@ -0,0 +1,155 @@
+package com.example.brainboardmobile.sync;
+
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+
+import com.example.brainboard.shared.metrics.FirestoreMetrics;
+import com.example.brainboardmobile.firebase.FirestoreHelper;
+import com.example.brainboardmobile.firebase.TaskCodec;
+import com.example.brainboardmobile.firebase.TaskFields;
+import com.example.brainboardmobile.models.TaskModel;
+import com.google.android.gms.wearable.DataMap;
+import com.google.android.gms.wearable.MessageEvent;
+import com.google.android.gms.wearable.Wearable;
+import com.google.android.gms.wearable.WearableListenerService;
+import com.google.firebase.auth.FirebaseAuth;
+import com.google.firebase.firestore.FieldValue;
+import com.google.firebase.firestore.QueryDocumentSnapshot;
+import com.google.firebase.firestore.Source;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * PhoneSyncService.java (Mobile)
+ *
+ * Receives task mutations and sync requests sent by the watch over the Wearable
+ * Data Layer (MessageClient) and applies them to Firestore on the watch's behalf.
+ *
+ * Features:
+ * - TASK_ADD / TASK_UPDATE / TASK_DELETE: applies the mutation through FirestoreHelper and
+ *   replies with TASK_RESULT (the request ID, plus an error if it failed), so the watch can
+ *   fall back to writing Firestore itself.
+ * - TASKS_REQUEST: pushes the open tasks (completed == false) from the local Firestore cache.
+ * - After every applied mutation, the cached open tasks are pushed back to the watch.
+ *
+ * Notes:
+ * - Requires the phone user to be signed in; mutations are answered with an error otherwise.
+ * - Snapshots for the watch are read with Source.CACHE, which is not billed: the cache
+ *   already holds what TaskRepository's listener last saw plus the phone's own pending
+ *   writes. An empty cache publishes nothing, so the watch keeps the last DataItem.
+ * - All network I/O happens on the phone, keeping the watch radio idle.
+ * - Firestore calls made for the watch are recorded in FirestoreMetrics as "sync.*".
+ */
+public class PhoneSyncService extends WearableListenerService {
+
+    private static final String TAG = "PhoneSyncService";
+    // Decodes snapshots for the watch off the main thread
+    private static final ExecutorService decodeExecutor = Executors.newSingleThreadExecutor();
+
+    @Override
+    public void onMessageReceived(@NonNull MessageEvent messageEvent) {
+        String path = messageEvent.getPath();
+        boolean signedIn = FirebaseAuth.getInstance().getCurrentUser() != null;
+
+        if (DataLayerPaths.TASKS_REQUEST.equals(path)) {
+            if (signedIn) publishSnapshot(new FirestoreHelper());
+            return;
+        }
+
+        DataMap payload = DataMap.fromByteArray(messageEvent.getData());
+        String taskId = payload.getString(DataLayerPaths.KEY_TASK_ID);
+        if (taskId == null) return;
+
+        if (!signedIn) {
+            Log.w(TAG, "Rejecting " + path + ": no signed-in user");
+            reply(messageEvent, payload, "Phone is not signed in");
+            return;
+        }
+
+        FirestoreHelper firestoreHelper = new FirestoreHelper();
+        switch (path) {
+            case DataLayerPaths.TASK_ADD:
+                TaskModel task = new TaskModel(taskId, payload.getString(DataLayerPaths.KEY_TITLE),
+                        payload.getString(DataLayerPaths.KEY_DUE_DATE_TIME), false);
+
+                Map<String, Object> data = TaskFields.forCreate(task);
+                FirestoreMetrics.trackWrite("sync.watchAdd", 1, data,
+                                firestoreHelper.getUserTasksCollection().document(taskId).set(data))
+                        .addOnSuccessListener(unused -> onApplied(messageEvent, payload, firestoreHelper))
+                        .addOnFailureListener(e -> onFailed(messageEvent, payload, "Failed to add task from watch", e));
+                break;
+
+            case DataLayerPaths.TASK_UPDATE:
+                // The watch only sends the fields it changed
+                Map<String, Object> changes = new HashMap<>();
+                if (payload.containsKey(DataLayerPaths.KEY_TITLE)) {
+                    changes.put(TaskFields.TITLE, payload.getString(DataLayerPaths.KEY_TITLE));
+                }
+                if (payload.containsKey(DataLayerPaths.KEY_DUE_DATE_TIME)) {
+                    changes.put(TaskFields.DUE_DATE_TIME, payload.getString(DataLayerPaths.KEY_DUE_DATE_TIME));
+                }
+                if (changes.isEmpty()) {
+                    reply(messageEvent, payload, null);
+                    return;
+                }
+                changes.put(TaskFields.UPDATED_AT, FieldValue.serverTimestamp());
+
+                FirestoreMetrics.trackWrite("sync.watchUpdate", 1, changes,
+                                firestoreHelper.getUserTasksCollection().document(taskId).update(changes))
+                        .addOnSuccessListener(unused -> onApplied(messageEvent, payload, firestoreHelper))
+                        .addOnFailureListener(e -> onFailed(messageEvent, payload, "Failed to update task from watch", e));
+                break;
+
+            case DataLayerPaths.TASK_DELETE:
+                firestoreHelper.deleteTask(taskId,
+                        unused -> onApplied(messageEvent, payload, firestoreHelper),
+                        e -> onFailed(messageEvent, payload, "Failed to delete task from watch", e));
+                break;
+
+            default:
+                Log.w(TAG, "Unknown path: " + path);
+        }
+    }
+
+    private void onApplied(MessageEvent request, DataMap payload, FirestoreHelper firestoreHelper) {
+        reply(request, payload, null);
+        publishSnapshot(firestoreHelper);
+    }
+
+    private void onFailed(MessageEvent request, DataMap payload, String message, Exception e) {
+        Log.e(TAG, message, e);
+        reply(request, payload, e.getMessage() != null ? e.getMessage() : message);
+    }
+
+    /** Sends TASK_RESULT for {@code payload}'s request back to the watch that sent it. */
+    private void reply(MessageEvent request, DataMap payload, String error) {
+        String requestId = payload.getString(DataLayerPaths.KEY_REQUEST_ID);
+        if (requestId == null) return;
+
+        DataMap result = new DataMap();
+        result.putString(DataLayerPaths.KEY_REQUEST_ID, requestId);
+        if (error != null) result.putString(DataLayerPaths.KEY_ERROR, error);
+        Wearable.getMessageClient(getApplicationContext())
+                .sendMessage(request.getSourceNodeId(), DataLayerPaths.TASK_RESULT, result.toByteArray())
+                .addOnFailureListener(e -> Log.w(TAG, "Failed to answer " + request.getPath(), e));
+    }
+
+    private void publishSnapshot(FirestoreHelper firestoreHelper) {
+        FirestoreMetrics.trackRead("sync.publishSnapshot", firestoreHelper.getActiveTasksQuery().get(Source.CACHE))
+                .addOnSuccessListener(decodeExecutor, snapshot -> {
+                    if (snapshot.isEmpty()) return;
+                    List<TaskModel> tasks = new ArrayList<>();
+                    for (QueryDocumentSnapshot doc : snapshot) {
+                        tasks.add(TaskCodec.fromSnapshot(doc));
+                    }
+                    WearSyncPublisher.publish(this, tasks);
+                })
+                .addOnFailureListener(e -> Log.e(TAG, "Failed to read cached tasks for watch", e));
+    }
+}
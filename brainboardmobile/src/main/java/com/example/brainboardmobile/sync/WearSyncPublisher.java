@@ -0,0 +1,99 @@
+package com.example.brainboardmobile.sync;
+
+import android.content.Context;
+import android.text.TextUtils;
+import android.util.Log;
+
+import androidx.tracing.Trace;
+
+import com.example.brainboardmobile.metrics.TraceSections;
+import com.example.brainboardmobile.models.TaskModel;
+import com.google.android.gms.wearable.DataMap;
+import com.google.android.gms.wearable.PutDataMapRequest;
+import com.google.android.gms.wearable.PutDataRequest;
+import com.google.android.gms.wearable.Wearable;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * WearSyncPublisher.java (Mobile)
+ *
+ * Pushes a compact snapshot of the user's tasks to the paired watch over the
+ * Wearable Data Layer (DataClient), so the watch never has to query Firestore itself.
+ *
+ * Snapshot Format (DataMap at DataLayerPaths.TASKS):
+ * - ids, titles, dues: parallel String arrays
+ * - completed: byte array of 0/1 flags, same order
+ * - recurrences, completedOccurrences: String arrays, same order; "" for one-off tasks
+ *   and tasks with no completed occurrence (keys are comma-joined otherwise)
+ *
+ * Notes:
+ * - Identical snapshots (byte-for-byte the same DataMap) are skipped locally, and the
+ *   Data Layer itself only transfers a data item when its content changed, so repeated
+ *   publishes are cheap.
+ * - The item is marked urgent so the watch sees edits promptly.
+ */
+public final class WearSyncPublisher {
+
+    private static final String TAG = "WearSyncPublisher";
+    // Serialized DataMap of the last snapshot handed to the Data Layer
+    private static byte[] lastPublished;
+
+    private WearSyncPublisher() {}
+
+    public static synchronized void publish(Context context, List<TaskModel> tasks) {
+        Trace.beginSection(TraceSections.WEAR_PUBLISH);
+        try {
+            putSnapshot(context, tasks);
+        } finally {
+            Trace.endSection();
+        }
+    }
+
+    private static void putSnapshot(Context context, List<TaskModel> tasks) {
+        int size = tasks.size();
+        String[] ids = new String[size];
+        String[] titles = new String[size];
+        String[] dues = new String[size];
+        byte[] completed = new byte[size];
+        String[] recurrences = new String[size];
+        String[] completedOccurrences = new String[size];
+
+        for (int i = 0; i < size; i++) {
+            TaskModel task = tasks.get(i);
+            ids[i] = task.getTaskId();
+            titles[i] = task.getTitle();
+            dues[i] = task.getDueDateTime();
+            completed[i] = (byte) (task.isCompleted() ? 1 : 0);
+            recurrences[i] = task.getRecurrence() != null ? task.getRecurrence() : "";
+            List<String> keys = task.getCompletedOccurrences();
+            completedOccurrences[i] = keys != null ? TextUtils.join(",", keys) : "";
+        }
+
+        PutDataMapRequest request = PutDataMapRequest.create(DataLayerPaths.TASKS);
+        DataMap map = request.getDataMap();
+        map.putStringArray(DataLayerPaths.KEY_IDS, ids);
+        map.putStringArray(DataLayerPaths.KEY_TITLES, titles);
+        map.putStringArray(DataLayerPaths.KEY_DUES, dues);
+        map.putByteArray(DataLayerPaths.KEY_COMPLETED, completed);
+        map.putStringArray(DataLayerPaths.KEY_RECURRENCES, recurrences);
+        map.putStringArray(DataLayerPaths.KEY_COMPLETED_OCCURRENCES, completedOccurrences);
+
+        // Full comparison rather than a hash, so no real change is ever mistaken for a repeat
+        byte[] serialized = map.toByteArray();
+        if (Arrays.equals(serialized, lastPublished)) return;
+        lastPublished = serialized;
+
+        PutDataRequest putRequest = request.asPutDataRequest().setUrgent();
+        Wearable.getDataClient(context.getApplicationContext())
+                .putDataItem(putRequest)
+                .addOnFailureListener(e -> {
+                    synchronized (WearSyncPublisher.class) {
+                        // Let the next publish retry, unless a newer snapshot went out since
+                        if (lastPublished == serialized) lastPublished = null;
+                    }
+                    Log.e(TAG, "Failed to publish task snapshot", e);
+                });
+    }
+}
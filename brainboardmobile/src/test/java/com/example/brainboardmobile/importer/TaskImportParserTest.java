@@ -0,0 +1,148 @@
+package com.example.brainboardmobile.importer;
+
+import com.example.brainboardmobile.models.TaskModel;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Local unit tests for TaskImportParser: format detection, validation and deterministic
+ * IDs. Parse throughput is measured by TaskImportParserBenchmark in androidTest.
+ */
+public class TaskImportParserTest {
+
+    private static final ZoneId LONDON = ZoneId.of("Europe/London");
+
+    @Test
+    public void text_splitsAtLastSeparator_andReportsBadLines() throws IOException {
+        List<TaskImportParser.Row> rows = parse(
+                "# Semester deadlines\n"
+                        + "Essay draft, part 2, 12/11/2026 17:00\n"
+                        + "\n"
+                        + "Lab report\t2026-11-20\n"
+                        + "No date here\n"
+                        + ", 01/12/2026\n"
+                        + "Quiz; 31/02/2026\n");
+
+        assertEquals(5, rows.size());
+        assertTask(rows.get(0), 2, "Essay draft, part 2", "12/11/2026 17:00");
+        assertTask(rows.get(1), 4, "Lab report", "20/11/2026 23:59");
+        assertError(rows.get(2), 5, "Expected");
+        assertError(rows.get(3), 6, "Missing title");
+        assertError(rows.get(4), 7, "Unrecognized due date");
+    }
+
+    @Test
+    public void csv_readsColumnsByHeader_withQuotedFields() throws IOException {
+        TaskImportParser parser = new TaskImportParser(new StringReader(
+                "Subject,Start Date,Start Time,Repeat\n"
+                        + "\"Read \"\"Dune\"\", ch. 1\",03/11/2026,9:30 AM,\n"
+                        + "\"Two\nlines\",2026-11-04,14:00,FREQ=WEEKLY\n"
+                        + "Gym,05/11/2026,7:00,FREQ=HOURLY\n"), LONDON);
+        List<TaskImportParser.Row> rows = drain(parser);
+
+        assertEquals(TaskImportParser.Format.CSV, parser.getFormat());
+        assertEquals(3, rows.size());
+        assertTask(rows.get(0), 2, "Read \"Dune\", ch. 1", "03/11/2026 09:30");
+        assertTask(rows.get(1), 3, "Two\nlines", "04/11/2026 14:00");
+        assertEquals("FREQ=WEEKLY", rows.get(1).task.getRecurrence());
+        assertError(rows.get(2), 5, "Unsupported repeat rule");
+    }
+
+    @Test
+    public void ics_readsTodosAndEvents() throws IOException {
+        TaskImportParser parser = new TaskImportParser(new StringReader(
+                "BEGIN:VCALENDAR\r\n"
+                        + "BEGIN:VTODO\r\n"
+                        + "UID:abc-1\r\n"
+                        + "SUMMARY:Submit essay\\, final\r\n"
+                        + "  version\r\n"
+                        + "DUE:20261112T170000Z\r\n"
+                        + "BEGIN:VALARM\r\n"
+                        + "SUMMARY:Alarm text\r\n"
+                        + "END:VALARM\r\n"
+                        + "END:VTODO\r\n"
+                        + "BEGIN:VEVENT\r\n"
+                        + "SUMMARY:Seminar\r\n"
+                        + "DTSTART;TZID=America/New_York:20261013T100000\r\n"
+                        + "RRULE:FREQ=WEEKLY;BYDAY=TU;UNTIL=20261215T235959Z;WKST=MO\r\n"
+                        + "END:VEVENT\r\n"
+                        + "BEGIN:VEVENT\r\n"
+                        + "SUMMARY:Holiday\r\n"
+                        + "DTSTART;VALUE=DATE:20261224\r\n"
+                        + "END:VEVENT\r\n"
+                        + "END:VCALENDAR\r\n"), LONDON);
+        List<TaskImportParser.Row> rows = drain(parser);
+
+        assertEquals(TaskImportParser.Format.ICS, parser.getFormat());
+        assertEquals(3, rows.size());
+        assertTask(rows.get(0), 2, "Submit essay, final version", "12/11/2026 17:00");
+        assertTask(rows.get(1), 11, "Seminar", "13/10/2026 15:00");
+        assertEquals("FREQ=WEEKLY;BYDAY=TU;UNTIL=20261215", rows.get(1).task.getRecurrence());
+        assertTask(rows.get(2), 16, "Holiday", "24/12/2026 23:59");
+    }
+
+    @Test
+    public void ids_areDeterministic_andDuplicatesRejected() throws IOException {
+        String input = "Essay, 12/11/2026 17:00\nQuiz, 13/11/2026\nEssay, 12/11/2026 17:00\n";
+        List<TaskImportParser.Row> first = parse(input);
+        List<TaskImportParser.Row> second = parse(input);
+
+        assertTrue(first.get(0).task.getTaskId().startsWith(TaskImportParser.ID_PREFIX));
+        assertEquals(first.get(0).task.getTaskId(), second.get(0).task.getTaskId());
+        assertNotEquals(first.get(0).task.getTaskId(), first.get(1).task.getTaskId());
+        assertError(first.get(2), 3, "Duplicate of line 1");
+    }
+
+    @Test(expected = IOException.class)
+    public void csv_withoutDueColumn_isRejected() throws IOException {
+        new TaskImportParser(new StringReader("title,notes\nEssay,none\n"), LONDON);
+    }
+
+    @Test
+    public void csv_parses10kRowsInOrder() throws IOException {
+        StringBuilder csv = new StringBuilder("title,due\n");
+        for (int i = 0; i < 10_000; i++) {
+            csv.append("Task ").append(i).append(',').append(1 + i % 28).append("/11/2026 09:00\n");
+        }
+
+        List<TaskImportParser.Row> rows = parse(csv.toString());
+
+        assertEquals(10_000, rows.size());
+        for (TaskImportParser.Row row : rows) assertNull(row.error);
+        assertTask(rows.get(9_999), 10_001, "Task 9999", "04/11/2026 09:00");
+    }
+
+    private static List<TaskImportParser.Row> parse(String input) throws IOException {
+        return drain(new TaskImportParser(new StringReader(input), LONDON));
+    }
+
+    private static List<TaskImportParser.Row> drain(TaskImportParser parser) throws IOException {
+        List<TaskImportParser.Row> rows = new ArrayList<>();
+        for (TaskImportParser.Row row = parser.next(); row != null; row = parser.next()) {
+            rows.add(row);
+        }
+        return rows;
+    }
+
+    private static void assertTask(TaskImportParser.Row row, int line, String title, String due) {
+        assertNull(row.error, row.error);
+        TaskModel task = row.task;
+        assertEquals(line, row.line);
+        assertEquals(title, task.getTitle());
+        assertEquals(due, task.getDueDateTime());
+    }
+
+    private static void assertError(TaskImportParser.Row row, int line, String prefix) {
+        assertNull(row.task);
+        assertEquals(line, row.line);
+        assertTrue(row.error, row.error.startsWith(prefix));
+    }
+}
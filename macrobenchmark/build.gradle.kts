@@ -0,0 +1,47 @@
+plugins {
+    alias(libs.plugins.android.test)
+}
+
+android {
+    namespace = "com.example.brainboard.macrobenchmark"
+    compileSdk = 35
+
+    defaultConfig {
+        minSdk = 30
+        targetSdk = 35
+
+        testInstrumentationRunner = "androidx.test.runner.AndroidJUnitRunner"
+    }
+
+    buildTypes {
+        // Matches the "benchmark" build type of the measured app
+        create("benchmark") {
+            isDebuggable = true
+            signingConfig = signingConfigs.getByName("debug")
+            matchingFallbacks += listOf("release")
+        }
+    }
+    compileOptions {
+        sourceCompatibility = JavaVersion.VERSION_11
+        targetCompatibility = JavaVersion.VERSION_11
+    }
+
+    // Both apps share one applicationId, so one module measures either of them:
+    // ./gradlew :macrobenchmark:connectedBenchmarkAndroidTest                               (watch, :app)
+    // ./gradlew :macrobenchmark:connectedBenchmarkAndroidTest -PbenchmarkTarget=:brainboardmobile (phone)
+    targetProjectPath = (findProperty("benchmarkTarget") as String?) ?: ":app"
+    experimentalProperties["android.experimental.self-instrumenting"] = true
+}
+
+dependencies {
+    implementation(libs.ext.junit)
+    implementation(libs.espresso.core)
+    implementation(libs.uiautomator)
+    implementation(libs.benchmark.macro.junit4)
+}
+
+androidComponents {
+    beforeVariants(selector().all()) {
+        it.enable = it.buildType == "benchmark"
+    }
+}
@@ -0,0 +1,80 @@
+package com.example.brainboard.macrobenchmark;
+
+import android.content.pm.PackageManager;
+
+import androidx.benchmark.macro.MacrobenchmarkScope;
+import androidx.test.platform.app.InstrumentationRegistry;
+import androidx.test.uiautomator.By;
+import androidx.test.uiautomator.BySelector;
+import androidx.test.uiautomator.Direction;
+import androidx.test.uiautomator.UiDevice;
+import androidx.test.uiautomator.UiObject2;
+import androidx.test.uiautomator.Until;
+
+/**
+ * BrainBoardJourneys.java
+ *
+ * UI Automator steps shared by the benchmarks, written against the view IDs both
+ * apps already use so the same journey runs on the watch and on the phone.
+ *
+ * Notes:
+ * - The measured app must be the "benchmark" build, which shows seeded FakeTaskSource data
+ *   and skips sign-in, so no account or network is needed.
+ * - The watch opens on MainActivity; the phone opens straight into TaskListActivity.
+ */
+final class BrainBoardJourneys {
+
+    // Shared by the watch and phone apps (Wearable Data Layer requirement)
+    static final String PACKAGE_NAME = "com.example.brainboardmobile";
+
+    private static final long TIMEOUT_MILLIS = 5_000;
+
+    private BrainBoardJourneys() {}
+
+    static boolean isWatch() {
+        return InstrumentationRegistry.getInstrumentation().getContext()
+                .getPackageManager().hasSystemFeature(PackageManager.FEATURE_WATCH);
+    }
+
+    /** Opens the task list from the launcher screen and waits for it to be populated. */
+    static UiObject2 openTaskList(MacrobenchmarkScope scope) {
+        UiDevice device = scope.getDevice();
+        if (isWatch()) {
+            clickMainButton(device, "viewTasksButton");
+        }
+        UiObject2 list = device.wait(Until.findObject(By.res(PACKAGE_NAME, "taskRecyclerView")), TIMEOUT_MILLIS);
+        device.wait(Until.hasObject(By.res(PACKAGE_NAME, "taskText")), TIMEOUT_MILLIS);
+        return list;
+    }
+
+    /** Flings the task list down a few times, then back to the top. */
+    static void scrollTaskList(MacrobenchmarkScope scope, UiObject2 list) {
+        UiDevice device = scope.getDevice();
+        list.setGestureMargin(device.getDisplayWidth() / 5);
+        for (int i = 0; i < 3; i++) {
+            list.fling(Direction.DOWN);
+            device.waitForIdle();
+        }
+        list.fling(Direction.UP);
+        device.waitForIdle();
+    }
+
+    /** Opens ChartActivity from the watch's MainActivity and waits for the chart view. */
+    static void openChart(MacrobenchmarkScope scope) {
+        UiDevice device = scope.getDevice();
+        clickMainButton(device, "chart_root");
+        device.wait(Until.hasObject(By.res(PACKAGE_NAME, "barChart")), TIMEOUT_MILLIS);
+        device.waitForIdle();
+    }
+
+    private static void clickMainButton(UiDevice device, String id) {
+        BySelector button = By.res(PACKAGE_NAME, id);
+        UiObject2 target = device.wait(Until.findObject(button), TIMEOUT_MILLIS);
+        if (target == null) {
+            // The button list scrolls on small round screens
+            UiObject2 scroll = device.findObject(By.scrollable(true));
+            target = scroll.scrollUntil(Direction.DOWN, Until.findObject(button));
+        }
+        target.click();
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.brainboard.macrobenchmark;
+
+import androidx.benchmark.macro.CompilationMode;
+import androidx.benchmark.macro.FrameTimingMetric;
+import androidx.benchmark.macro.TraceSectionMetric;
+import androidx.benchmark.macro.junit4.MacrobenchmarkRule;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.Arrays;
+
+import kotlin.Unit;
+
+/**
+ * ChartRenderBenchmark.java
+ *
+ * Measures how long the watch's ChartActivity takes to aggregate the FakeTaskSource
+ * dataset and draw its bar chart, using the "ChartActivity.render" trace section the
+ * activity emits, split into its "ChartActivity.aggregate" (background grouping) and
+ * "ChartActivity.drawBarChart" (main thread) sections, plus the frame timing of the transition.
+ *
+ * Notes:
+ * - ChartActivity only exists in the watch app, so this is skipped on phones.
+ */
+@RunWith(AndroidJUnit4.class)
+public class ChartRenderBenchmark {
+
+    private static final String RENDER_TRACE = "ChartActivity.render";
+    private static final String AGGREGATE_TRACE = "ChartActivity.aggregate";
+    private static final String DRAW_TRACE = "ChartActivity.drawBarChart";
+    private static final int ITERATIONS = 10;
+
+    @Rule
+    public MacrobenchmarkRule benchmarkRule = new MacrobenchmarkRule();
+
+    @Before
+    public void requireWatch() {
+        Assume.assumeTrue(BrainBoardJourneys.isWatch());
+    }
+
+    @Test
+    public void chartRender() {
+        benchmarkRule.measureRepeated(
+                BrainBoardJourneys.PACKAGE_NAME,
+                Arrays.asList(new TraceSectionMetric(RENDER_TRACE), new TraceSectionMetric(AGGREGATE_TRACE),
+                        new TraceSectionMetric(DRAW_TRACE), new FrameTimingMetric()),
+                CompilationMode.DEFAULT,
+                null,
+                ITERATIONS,
+                scope -> {
+                    scope.pressHome();
+                    scope.startActivityAndWait();
+                    return Unit.INSTANCE;
+                },
+                scope -> {
+                    BrainBoardJourneys.openChart(scope);
+                    return Unit.INSTANCE;
+                });
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.brainboard.macrobenchmark;
+
+import androidx.benchmark.macro.CompilationMode;
+import androidx.benchmark.macro.StartupMode;
+import androidx.benchmark.macro.StartupTimingMetric;
+import androidx.benchmark.macro.junit4.MacrobenchmarkRule;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.Collections;
+
+import kotlin.Unit;
+
+/**
+ * StartupBenchmark.java
+ *
+ * Measures cold and warm startup (time to initial display) of the app installed on the
+ * connected device: the watch app by default, the phone app with -PbenchmarkTarget=:brainboardmobile.
+ *
+ * The "NoCompilation" variant ignores the bundled baseline profile, so comparing it with
+ * startupCold shows what the profile buys.
+ */
+@RunWith(AndroidJUnit4.class)
+public class StartupBenchmark {
+
+    private static final int ITERATIONS = 10;
+
+    @Rule
+    public MacrobenchmarkRule benchmarkRule = new MacrobenchmarkRule();
+
+    @Test
+    public void startupCold() {
+        startup(CompilationMode.DEFAULT, StartupMode.COLD);
+    }
+
+    @Test
+    public void startupColdNoCompilation() {
+        startup(new CompilationMode.None(), StartupMode.COLD);
+    }
+
+    @Test
+    public void startupWarm() {
+        startup(CompilationMode.DEFAULT, StartupMode.WARM);
+    }
+
+    private void startup(CompilationMode compilationMode, StartupMode startupMode) {
+        benchmarkRule.measureRepeated(
+                BrainBoardJourneys.PACKAGE_NAME,
+                Collections.singletonList(new StartupTimingMetric()),
+                compilationMode,
+                startupMode,
+                ITERATIONS,
+                scope -> {
+                    scope.pressHome();
+                    return Unit.INSTANCE;
+                },
+                scope -> {
+                    scope.startActivityAndWait();
+                    return Unit.INSTANCE;
+                });
+    }
+}
@@ -0,0 +1,69 @@
+package com.example.brainboard.macrobenchmark;
+
+import androidx.benchmark.macro.CompilationMode;
+import androidx.benchmark.macro.FrameTimingMetric;
+import androidx.benchmark.macro.TraceSectionMetric;
+import androidx.benchmark.macro.junit4.MacrobenchmarkRule;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.uiautomator.UiObject2;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.Arrays;
+
+import kotlin.Unit;
+
+/**
+ * TaskListScrollBenchmark.java
+ *
+ * Measures frame timing (jank) while flinging through TaskListActivity with the
+ * FakeTaskSource dataset (1.5k tasks) on either the watch or the phone, plus the total
+ * and count of "TaskAdapter.bind" trace sections, which both apps emit per bound row.
+ *
+ * The "NoCompilation" variant ignores the bundled baseline profile, which approximates
+ * the first scroll after install.
+ */
+@RunWith(AndroidJUnit4.class)
+public class TaskListScrollBenchmark {
+
+    private static final String BIND_TRACE = "TaskAdapter.bind";
+    private static final int ITERATIONS = 5;
+
+    @Rule
+    public MacrobenchmarkRule benchmarkRule = new MacrobenchmarkRule();
+
+    private UiObject2 list;
+
+    @Test
+    public void scrollTaskList() {
+        scroll(CompilationMode.DEFAULT);
+    }
+
+    @Test
+    public void scrollTaskListNoCompilation() {
+        scroll(new CompilationMode.None());
+    }
+
+    private void scroll(CompilationMode compilationMode) {
+        benchmarkRule.measureRepeated(
+                BrainBoardJourneys.PACKAGE_NAME,
+                Arrays.asList(new FrameTimingMetric(),
+                        new TraceSectionMetric(BIND_TRACE, TraceSectionMetric.Mode.Sum.INSTANCE),
+                        new TraceSectionMetric(BIND_TRACE, TraceSectionMetric.Mode.Count.INSTANCE)),
+                compilationMode,
+                null,
+                ITERATIONS,
+                scope -> {
+                    scope.pressHome();
+                    scope.startActivityAndWait();
+                    list = BrainBoardJourneys.openTaskList(scope);
+                    return Unit.INSTANCE;
+                },
+                scope -> {
+                    BrainBoardJourneys.scrollTaskList(scope, list);
+                    return Unit.INSTANCE;
+                });
+    }
+}
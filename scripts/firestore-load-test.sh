@@ -0,0 +1,65 @@
+#!/usr/bin/env bash
+#
+# firestore-load-test.sh
+#
+# Runs FirestoreLoadTest (brainboardmobile androidTest) against the local Firestore and
+# Auth emulators and copies the report into build/loadtest/.
+#
+# Usage: scripts/firestore-load-test.sh [taskCount] [completedRatio] [seed]
+#   e.g. scripts/firestore-load-test.sh 100000
+#
+# Requirements:
+# - firebase-tools and a JDK on PATH; the emulator jars must have been downloaded once
+#   (firebase setup:emulators:firestore), after which no network access is needed.
+# - One device or Android emulator attached (adb devices). Ports are forwarded with
+#   adb reverse, so the test reaches the emulators on the device's own 127.0.0.1.
+#
+# Isolation:
+# - The test runs in the installed debug app's process but on its own named FirebaseApp,
+#   Auth and Firestore cache, so the app's signed-in user and its local data (including
+#   unsynced writes) are left as they were.
+#
+# Environment:
+# - FIREBASE_PROJECT: project ID the app is built with. Defaults to the one in
+#   brainboardmobile/google-services.json, then to "demo-brainboard".
+
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+
+TASKS="${1:-1000}"
+COMPLETED_RATIO="${2:-0.3}"
+SEED="${3:-42}"
+FIRESTORE_PORT=8080
+AUTH_PORT=9099
+APP_ID=com.example.brainboardmobile
+
+PROJECT_ID="${FIREBASE_PROJECT:-}"
+if [[ -z "$PROJECT_ID" && -f brainboardmobile/google-services.json ]]; then
+    PROJECT_ID="$(sed -n 's/.*"project_id": *"\([^"]*\)".*/\1/p' brainboardmobile/google-services.json | head -n 1)"
+fi
+PROJECT_ID="${PROJECT_ID:-demo-brainboard}"
+
+adb reverse tcp:$FIRESTORE_PORT tcp:$FIRESTORE_PORT
+adb reverse tcp:$AUTH_PORT tcp:$AUTH_PORT
+trap 'adb reverse --remove tcp:$FIRESTORE_PORT; adb reverse --remove tcp:$AUTH_PORT' EXIT
+
+# Installed up front and run with am instrument: connectedAndroidTest would uninstall
+# the app, and its report, when it finishes
+./gradlew :brainboardmobile:installDebug :brainboardmobile:installDebugAndroidTest
+
+firebase emulators:exec --only firestore,auth --project "$PROJECT_ID" \
+    "adb shell am instrument -w \
+        -e class $APP_ID.loadtest.FirestoreLoadTest \
+        -e loadTest true \
+        -e emulatorHost 127.0.0.1 \
+        -e firestorePort $FIRESTORE_PORT \
+        -e authPort $AUTH_PORT \
+        -e taskCount $TASKS \
+        -e completedRatio $COMPLETED_RATIO \
+        -e seed $SEED \
+        $APP_ID.test/androidx.test.runner.AndroidJUnitRunner"
+
+mkdir -p build/loadtest
+adb pull "/sdcard/Android/data/$APP_ID/files/loadtest/." build/loadtest/
+echo "Reports in build/loadtest/"
@@ -23,3 +23,7 @@ dependencyResolutionManagement {
 rootProject.name = "BrainBoard"
 include(":app")
 include(":brainboardmobile")
+include(":shared")
+include(":macrobenchmark")
+include(":baselineprofile")
+include(":baselineprofilemobile")
@@ -0,0 +1,29 @@
+plugins {
+    alias(libs.plugins.android.library)
+}
+
+// Code both apps run unchanged: recurrence rules, due date formats, title search,
+// Firestore metrics and streaming voice input. App-specific code stays in :app and
+// :brainboardmobile; a task model only has to implement TaskRecord to use it.
+android {
+    namespace = "com.example.brainboard.shared"
+    compileSdk = 35
+
+    defaultConfig {
+        minSdk = 30
+    }
+
+    compileOptions {
+        sourceCompatibility = JavaVersion.VERSION_11
+        targetCompatibility = JavaVersion.VERSION_11
+    }
+
+    buildFeatures {
+        buildConfig = true
+    }
+}
+
+dependencies {
+    implementation(libs.firebase.firestore)
+    testImplementation(libs.junit)
+}
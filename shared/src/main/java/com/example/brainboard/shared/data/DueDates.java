@@ -0,0 +1,35 @@
+package com.example.brainboard.shared.data;
+
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+import java.util.Locale;
+
+/**
+ * DueDates.java
+ *
+ * Parses the dueDateTime strings stored on tasks into epoch milliseconds.
+ *
+ * Supported Formats:
+ * - "dd/MM/yyyy HH:mm:ss.SSS" (written by the wear app)
+ * - "dd/MM/yyyy HH:mm" (written by the mobile app and synced to the watch)
+ *
+ * Notes:
+ * - Returns -1 for null or unparseable values instead of throwing.
+ */
+public final class DueDates {
+
+    public static final String WEAR_FORMAT = "dd/MM/yyyy HH:mm:ss.SSS";
+    public static final String MOBILE_FORMAT = "dd/MM/yyyy HH:mm";
+
+    private DueDates() {}
+
+    public static long parse(String dueDateTime) {
+        if (dueDateTime == null) return -1;
+        String pattern = dueDateTime.length() > MOBILE_FORMAT.length() ? WEAR_FORMAT : MOBILE_FORMAT;
+        try {
+            return new SimpleDateFormat(pattern, Locale.getDefault()).parse(dueDateTime).getTime();
+        } catch (ParseException e) {
+            return -1;
+        }
+    }
+}
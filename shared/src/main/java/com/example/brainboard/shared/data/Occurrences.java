@@ -0,0 +1,126 @@
+package com.example.brainboard.shared.data;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Occurrences.java
+ *
+ * Task-level view of recurrence for lists, the chart, the due index and reminders: which
+ * occurrence of a task is open, and which fall inside a window.
+ *
+ * Rules:
+ * - A one-off task has a single occurrence, its dueDateTime.
+ * - A recurring task (TaskRecord.getRecurrence(), see RecurrenceRule) has one per date the
+ *   rule selects; an occurrence is done when its key (local date, "yyyyMMdd") is in the
+ *   task's completedOccurrences. Only completions are stored, never the occurrences.
+ * - Open occurrences start at the beginning of today: today's stays until it is completed
+ *   (overdue once its time has passed), earlier missed ones drop off. Keys before today
+ *   are never read again, so withCompleted() prunes them on the next completion and the
+ *   stored list stays a handful of entries long.
+ *
+ * Notes:
+ * - Nothing is materialized: every call walks a RecurrenceRule.Cursor only as far as its
+ *   window, or the first open occurrence, needs.
+ */
+public final class Occurrences {
+
+    private static final DateTimeFormatter KEY_FORMAT = DateTimeFormatter.BASIC_ISO_DATE;
+
+    private Occurrences() {}
+
+    public static boolean isRecurring(TaskRecord task) {
+        return RecurrenceRule.parse(task.getRecurrence()) != null;
+    }
+
+    public static long nextOpen(TaskRecord task, long nowMillis) {
+        return nextOpen(task, nowMillis, ZoneId.systemDefault());
+    }
+
+    /**
+     * Due time of the occurrence to show for the task: the due time of a one-off task, the
+     * first open occurrence from the start of today for a recurring one. -1 if the task is
+     * completed, has no parseable due date or its series has ended.
+     */
+    public static long nextOpen(TaskRecord task, long nowMillis, ZoneId zone) {
+        if (task.isCompleted()) return -1;
+        long first = DueDates.parse(task.getDueDateTime());
+        RecurrenceRule rule = RecurrenceRule.parse(task.getRecurrence());
+        if (rule == null || first < 0) return first;
+        return firstOpen(task, rule, first, startOfDay(nowMillis, zone), zone);
+    }
+
+    /** First open occurrence due at or after {@code fromMillis}, or -1. */
+    public static long firstOpenFrom(TaskRecord task, long fromMillis, ZoneId zone) {
+        if (task.isCompleted()) return -1;
+        long first = DueDates.parse(task.getDueDateTime());
+        RecurrenceRule rule = RecurrenceRule.parse(task.getRecurrence());
+        if (rule == null || first < 0) return first >= fromMillis ? first : -1;
+        return firstOpen(task, rule, first, fromMillis, zone);
+    }
+
+    /** Up to {@code limit} open occurrences due in [{@code fromMillis}, {@code toMillis}), soonest first. */
+    public static List<Long> openBetween(TaskRecord task, long fromMillis, long toMillis, int limit, ZoneId zone) {
+        List<Long> result = new ArrayList<>();
+        if (task.isCompleted() || limit <= 0) return result;
+        long first = DueDates.parse(task.getDueDateTime());
+        if (first < 0) return result;
+
+        RecurrenceRule rule = RecurrenceRule.parse(task.getRecurrence());
+        if (rule == null) {
+            if (first >= fromMillis && first < toMillis) result.add(first);
+            return result;
+        }
+        List<String> done = completed(task);
+        RecurrenceRule.Cursor cursor = rule.cursor(first, fromMillis, zone);
+        for (long due = cursor.next(); due >= 0 && due < toMillis && result.size() < limit; due = cursor.next()) {
+            if (!done.contains(keyOf(due, zone))) result.add(due);
+        }
+        return result;
+    }
+
+    /** The completedOccurrences key of the occurrence due at {@code dueMillis}. */
+    public static String keyOf(long dueMillis, ZoneId zone) {
+        return Instant.ofEpochMilli(dueMillis).atZone(zone).toLocalDate().format(KEY_FORMAT);
+    }
+
+    /** {@code keys} plus {@code key}, without the keys before today that are no longer read. */
+    public static List<String> withCompleted(List<String> keys, String key, long nowMillis, ZoneId zone) {
+        String today = keyOf(nowMillis, zone);
+        List<String> kept = new ArrayList<>();
+        if (keys != null) {
+            for (String existing : keys) {
+                // yyyyMMdd keys compare in date order
+                if (existing.compareTo(today) >= 0 && !kept.contains(existing)) kept.add(existing);
+            }
+        }
+        if (!kept.contains(key)) kept.add(key);
+        return kept;
+    }
+
+    public static long startOfDay(long millis, ZoneId zone) {
+        return Instant.ofEpochMilli(millis).atZone(zone).toLocalDate()
+                .atStartOfDay(zone).toInstant().toEpochMilli();
+    }
+
+    private static long firstOpen(TaskRecord task, RecurrenceRule rule, long first, long fromMillis, ZoneId zone) {
+        List<String> done = completed(task);
+        RecurrenceRule.Cursor cursor = rule.cursor(first, fromMillis, zone);
+        long due = cursor.next();
+        // Each stored key can hide at most one occurrence
+        for (int skipped = 0; due >= 0 && skipped <= done.size(); skipped++) {
+            if (!done.contains(keyOf(due, zone))) return due;
+            due = cursor.next();
+        }
+        return -1;
+    }
+
+    private static List<String> completed(TaskRecord task) {
+        List<String> keys = task.getCompletedOccurrences();
+        return keys != null ? keys : Collections.emptyList();
+    }
+}
@@ -0,0 +1,300 @@
+package com.example.brainboard.shared.data;
+
+import java.time.DayOfWeek;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.YearMonth;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+import java.util.Locale;
+import java.util.Objects;
+
+/**
+ * RecurrenceRule.java
+ *
+ * How a recurring task repeats, stored once on the task document ("recurrence") instead
+ * of one document per repetition. The task's dueDateTime starts the series and fixes the
+ * time of day of every occurrence; occurrences fall on the days the rule selects from
+ * that date on.
+ *
+ * Format (a subset of RFC 5545 RRULE):
+ * - "FREQ=DAILY|WEEKLY|MONTHLY" with optional ";INTERVAL=n" (every n days/weeks/months),
+ *   ";BYDAY=MO,WE,FR" (weekly only; defaults to the first occurrence's weekday) and
+ *   ";UNTIL=yyyyMMdd" (last possible date, inclusive).
+ * - e.g. "FREQ=WEEKLY;INTERVAL=2;BYDAY=TU,TH;UNTIL=20261218"
+ *
+ * Expansion:
+ * - cursor() yields occurrences from a given instant onwards, one at a time. The first
+ *   one is found arithmetically from the start of the series (no walk over earlier
+ *   occurrences), so expanding a window costs O(occurrences in it) however old the
+ *   series is.
+ * - Occurrences keep their wall-clock time across DST changes.
+ * - Monthly rules skip months without the day (a series on the 31st skips April).
+ *
+ * Notes:
+ * - Immutable; parse() returns null for null, empty or unsupported rules.
+ */
+public final class RecurrenceRule {
+
+    public enum Frequency { DAILY, WEEKLY, MONTHLY }
+
+    private static final String[] DAY_CODES = {"MO", "TU", "WE", "TH", "FR", "SA", "SU"};
+    private static final String[] DAY_NAMES = {"Mon", "Tue", "Wed", "Thu", "Fri", "Sat", "Sun"};
+    private static final int MAX_INTERVAL = 999;
+    // A monthly series on the 29th-31st can skip months; Feb 29 every 12 months skips 3 years
+    private static final int MAX_MONTH_SKIPS = 48;
+
+    private final Frequency frequency;
+    private final int interval;
+    // Bit (dayOfWeek - 1), Monday = bit 0; 0 means "the first occurrence's weekday"
+    private final int weekdays;
+    private final LocalDate until;
+
+    private RecurrenceRule(Frequency frequency, int interval, int weekdays, LocalDate until) {
+        this.frequency = frequency;
+        this.interval = interval;
+        this.weekdays = weekdays;
+        this.until = until;
+    }
+
+    public static RecurrenceRule daily(int interval) {
+        return new RecurrenceRule(Frequency.DAILY, checkInterval(interval), 0, null);
+    }
+
+    public static RecurrenceRule weekly(int interval, DayOfWeek... days) {
+        int mask = 0;
+        for (DayOfWeek day : days) mask |= 1 << (day.getValue() - 1);
+        return new RecurrenceRule(Frequency.WEEKLY, checkInterval(interval), mask, null);
+    }
+
+    public static RecurrenceRule monthly(int interval) {
+        return new RecurrenceRule(Frequency.MONTHLY, checkInterval(interval), 0, null);
+    }
+
+    /** This rule ending on {@code lastDate} (inclusive), or never if null. */
+    public RecurrenceRule until(LocalDate lastDate) {
+        return new RecurrenceRule(frequency, interval, weekdays, lastDate);
+    }
+
+    public static RecurrenceRule parse(String rule) {
+        if (rule == null || rule.isEmpty()) return null;
+
+        Frequency frequency = null;
+        int interval = 1;
+        int weekdays = 0;
+        LocalDate until = null;
+        try {
+            for (String part : rule.split(";")) {
+                int eq = part.indexOf('=');
+                if (eq < 0) return null;
+                String value = part.substring(eq + 1);
+                switch (part.substring(0, eq)) {
+                    case "FREQ":
+                        frequency = Frequency.valueOf(value);
+                        break;
+                    case "INTERVAL":
+                        interval = Integer.parseInt(value);
+                        if (interval < 1 || interval > MAX_INTERVAL) return null;
+                        break;
+                    case "BYDAY":
+                        for (String code : value.split(",")) {
+                            int day = dayIndex(code);
+                            if (day < 0) return null;
+                            weekdays |= 1 << day;
+                        }
+                        break;
+                    case "UNTIL":
+                        until = LocalDate.parse(value, DateTimeFormatter.BASIC_ISO_DATE);
+                        break;
+                    default:
+                        return null;
+                }
+            }
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            return null;
+        }
+        if (frequency == null || (weekdays != 0 && frequency != Frequency.WEEKLY)) return null;
+        return new RecurrenceRule(frequency, interval, weekdays, until);
+    }
+
+    public Frequency getFrequency() {
+        return frequency;
+    }
+
+    public int getInterval() {
+        return interval;
+    }
+
+    public LocalDate getUntil() {
+        return until;
+    }
+
+    /** Short English summary for list rows, e.g. "Every 2 weeks on Tue, Thu". */
+    public String describe() {
+        StringBuilder text = new StringBuilder();
+        String unit = frequency == Frequency.DAILY ? "day" : frequency == Frequency.WEEKLY ? "week" : "month";
+        if (interval == 1) {
+            text.append(frequency == Frequency.DAILY ? "Daily" : frequency == Frequency.WEEKLY ? "Weekly" : "Monthly");
+        } else {
+            text.append("Every ").append(interval).append(' ').append(unit).append('s');
+        }
+        if (weekdays != 0) {
+            text.append(" on ");
+            boolean first = true;
+            for (int day = 0; day < 7; day++) {
+                if ((weekdays & (1 << day)) == 0) continue;
+                if (!first) text.append(", ");
+                text.append(DAY_NAMES[day]);
+                first = false;
+            }
+        }
+        if (until != null) {
+            text.append(" until ").append(until.format(DateTimeFormatter.ofPattern("dd/MM/yyyy", Locale.US)));
+        }
+        return text.toString();
+    }
+
+    /** Occurrences of the series starting at {@code firstMillis}, at or after {@code fromMillis}. */
+    public Cursor cursor(long firstMillis, long fromMillis, ZoneId zone) {
+        return new Cursor(Instant.ofEpochMilli(firstMillis).atZone(zone), fromMillis);
+    }
+
+    /** Lazily expanded occurrences; call next() until it returns -1. */
+    public final class Cursor {
+        private final LocalDate firstDate;
+        private final LocalTime time;
+        private final ZoneId zone;
+        private final int mask;
+        private LocalDate date;
+
+        private Cursor(ZonedDateTime first, long fromMillis) {
+            firstDate = first.toLocalDate();
+            time = first.toLocalTime();
+            zone = first.getZone();
+            mask = weekdays != 0 ? weekdays : 1 << (firstDate.getDayOfWeek().getValue() - 1);
+
+            LocalDate fromDate = Instant.ofEpochMilli(fromMillis).atZone(zone).toLocalDate();
+            date = firstOnOrAfter(fromDate.isAfter(firstDate) ? fromDate : firstDate);
+            // The first candidate may be on fromDate but earlier in the day
+            if (date != null && millisOf(date) < fromMillis) {
+                date = firstOnOrAfter(date.plusDays(1));
+            }
+        }
+
+        /** Epoch millis of the next occurrence, or -1 once the series has ended. */
+        public long next() {
+            if (date == null) return -1;
+            long millis = millisOf(date);
+            date = firstOnOrAfter(date.plusDays(1));
+            return millis;
+        }
+
+        private long millisOf(LocalDate day) {
+            return ZonedDateTime.of(day, time, zone).toInstant().toEpochMilli();
+        }
+
+        /** First occurrence date on or after {@code start} (never before the first date). */
+        private LocalDate firstOnOrAfter(LocalDate start) {
+            LocalDate found;
+            switch (frequency) {
+                case DAILY: {
+                    long days = ChronoUnit.DAYS.between(firstDate, start);
+                    found = firstDate.plusDays(ceilDiv(days, interval) * interval);
+                    break;
+                }
+                case WEEKLY:
+                    found = nextWeekly(start);
+                    break;
+                default:
+                    found = nextMonthly(start);
+            }
+            return found != null && (until == null || !found.isAfter(until)) ? found : null;
+        }
+
+        private LocalDate nextWeekly(LocalDate start) {
+            LocalDate firstWeek = firstDate.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+            LocalDate day = start;
+            // At most one skip to an active week plus seven days within it
+            for (int steps = 0; steps < 16; steps++) {
+                LocalDate week = day.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+                long offset = ChronoUnit.WEEKS.between(firstWeek, week) % interval;
+                if (offset != 0) {
+                    day = week.plusWeeks(interval - offset);
+                    continue;
+                }
+                if ((mask & (1 << (day.getDayOfWeek().getValue() - 1))) != 0) return day;
+                day = day.plusDays(1);
+            }
+            return null;
+        }
+
+        private LocalDate nextMonthly(LocalDate start) {
+            YearMonth firstMonth = YearMonth.from(firstDate);
+            long months = ChronoUnit.MONTHS.between(firstMonth, YearMonth.from(start));
+            YearMonth month = firstMonth.plusMonths(ceilDiv(months, interval) * interval);
+            int dayOfMonth = firstDate.getDayOfMonth();
+            for (int skips = 0; skips < MAX_MONTH_SKIPS; skips++) {
+                if (month.isValidDay(dayOfMonth)) {
+                    LocalDate day = month.atDay(dayOfMonth);
+                    if (!day.isBefore(start)) return day;
+                }
+                month = month.plusMonths(interval);
+            }
+            return null;
+        }
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder rule = new StringBuilder("FREQ=").append(frequency.name());
+        if (interval != 1) rule.append(";INTERVAL=").append(interval);
+        if (weekdays != 0) {
+            rule.append(";BYDAY=");
+            boolean first = true;
+            for (int day = 0; day < 7; day++) {
+                if ((weekdays & (1 << day)) == 0) continue;
+                if (!first) rule.append(',');
+                rule.append(DAY_CODES[day]);
+                first = false;
+            }
+        }
+        if (until != null) rule.append(";UNTIL=").append(until.format(DateTimeFormatter.BASIC_ISO_DATE));
+        return rule.toString();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (!(o instanceof RecurrenceRule)) return false;
+        RecurrenceRule other = (RecurrenceRule) o;
+        return frequency == other.frequency && interval == other.interval
+                && weekdays == other.weekdays && Objects.equals(until, other.until);
+    }
+
+    @Override
+    public int hashCode() {
+        return toString().hashCode();
+    }
+
+    private static int dayIndex(String code) {
+        for (int i = 0; i < DAY_CODES.length; i++) {
+            if (DAY_CODES[i].equals(code)) return i;
+        }
+        return -1;
+    }
+
+    private static long ceilDiv(long value, long divisor) {
+        return value <= 0 ? 0 : (value + divisor - 1) / divisor;
+    }
+
+    private static int checkInterval(int interval) {
+        if (interval < 1 || interval > MAX_INTERVAL) {
+            throw new IllegalArgumentException("interval out of range: " + interval);
+        }
+        return interval;
+    }
+}
@@ -0,0 +1,29 @@
+package com.example.brainboard.shared.data;
+
+import java.util.List;
+
+/**
+ * TaskRecord.java
+ *
+ * The task fields shared code reads. Each app's TaskModel implements it, so
+ * TaskSearchIndex and Occurrences work on either app's tasks without knowing the model.
+ *
+ * Fields:
+ * - taskId, title, dueDateTime (see DueDates for the two formats), completed
+ * - recurrence: RecurrenceRule string, null for a one-off task
+ * - completedOccurrences: keys ("yyyyMMdd") of completed occurrences, or null
+ */
+public interface TaskRecord {
+
+    String getTaskId();
+
+    String getTitle();
+
+    String getDueDateTime();
+
+    boolean isCompleted();
+
+    String getRecurrence();
+
+    List<String> getCompletedOccurrences();
+}
@@ -0,0 +1,207 @@
+package com.example.brainboard.shared.data;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+/**
+ * TaskSearchIndex.java
+ *
+ * In-memory full-text index over task titles, answering prefix and substring queries
+ * without a Firestore query.
+ *
+ * Index Structure:
+ * - Titles are normalized once (lower case, accents stripped, punctuation to spaces).
+ * - Trigram postings: every 3-character window of a title -> IDs of tasks containing it.
+ *   A query of 3+ characters intersects the postings of its trigrams, starting with the
+ *   rarest, and confirms the survivors with a plain contains() on the stored title.
+ * - Word prefixes: a sorted map of title words -> task IDs. Queries shorter than three
+ *   characters are answered from the range of words starting with the query.
+ *
+ * Updates:
+ * - put()/remove() re-index a single task; sync() diffs a full list against the index
+ *   and only re-indexes tasks whose title changed, so a snapshot costs O(changes) index
+ *   work plus one pass over the list.
+ *
+ * Notes:
+ * - All methods are synchronized; writers and readers may live on different threads.
+ * - Multi-word queries match tasks containing every word (in any order).
+ */
+public class TaskSearchIndex {
+
+    private static final int GRAM = 3;
+
+    private final Map<String, String> titles = new HashMap<>();
+    private final Map<String, Set<String>> trigrams = new HashMap<>();
+    private final TreeMap<String, Set<String>> words = new TreeMap<>();
+
+    /** Indexes (or re-indexes) one task's title. */
+    public synchronized void put(String taskId, String title) {
+        String normalized = normalize(title);
+        String previous = titles.get(taskId);
+        if (normalized.equals(previous)) return;
+
+        if (previous != null) unindex(taskId, previous);
+        titles.put(taskId, normalized);
+        for (String gram : gramsOf(normalized)) {
+            postings(trigrams, gram).add(taskId);
+        }
+        for (String word : wordsOf(normalized)) {
+            postings(words, word).add(taskId);
+        }
+    }
+
+    public synchronized void remove(String taskId) {
+        String previous = titles.remove(taskId);
+        if (previous != null) unindex(taskId, previous);
+    }
+
+    /** Makes the index match {@code tasks}, touching only added, changed and removed tasks. */
+    public synchronized void sync(List<? extends TaskRecord> tasks) {
+        Set<String> present = new HashSet<>();
+        for (TaskRecord task : tasks) {
+            present.add(task.getTaskId());
+            put(task.getTaskId(), task.getTitle());
+        }
+        for (String taskId : new ArrayList<>(titles.keySet())) {
+            if (!present.contains(taskId)) remove(taskId);
+        }
+    }
+
+    public synchronized void clear() {
+        titles.clear();
+        trigrams.clear();
+        words.clear();
+    }
+
+    public synchronized int size() {
+        return titles.size();
+    }
+
+    /** IDs of tasks whose title contains every word of {@code query}; empty for a blank query. */
+    public synchronized Set<String> search(String query) {
+        List<String> terms = wordsOf(normalize(query));
+        if (terms.isEmpty()) return Collections.emptySet();
+
+        Set<String> result = null;
+        for (String term : terms) {
+            Set<String> matches = term.length() < GRAM ? prefixMatches(term) : substringMatches(term);
+            if (result == null) {
+                result = matches;
+            } else {
+                result.retainAll(matches);
+            }
+            if (result.isEmpty()) break;
+        }
+        return result;
+    }
+
+    private Set<String> prefixMatches(String prefix) {
+        Set<String> result = new HashSet<>();
+        SortedMap<String, Set<String>> range = words.subMap(prefix, prefix + Character.MAX_VALUE);
+        for (Set<String> ids : range.values()) {
+            result.addAll(ids);
+        }
+        return result;
+    }
+
+    private Set<String> substringMatches(String term) {
+        List<Set<String>> lists = new ArrayList<>();
+        for (String gram : gramsOf(term)) {
+            Set<String> ids = trigrams.get(gram);
+            if (ids == null) return new HashSet<>();
+            lists.add(ids);
+        }
+        // Intersect from the rarest trigram so the candidate set stays small
+        Collections.sort(lists, (a, b) -> Integer.compare(a.size(), b.size()));
+
+        Set<String> result = new HashSet<>();
+        for (String taskId : lists.get(0)) {
+            if (containsAll(lists, taskId) && titles.get(taskId).contains(term)) {
+                result.add(taskId);
+            }
+        }
+        return result;
+    }
+
+    private static boolean containsAll(List<Set<String>> lists, String taskId) {
+        for (int i = 1; i < lists.size(); i++) {
+            if (!lists.get(i).contains(taskId)) return false;
+        }
+        return true;
+    }
+
+    private void unindex(String taskId, String normalized) {
+        for (String gram : gramsOf(normalized)) {
+            removePosting(trigrams, gram, taskId);
+        }
+        for (String word : wordsOf(normalized)) {
+            removePosting(words, word, taskId);
+        }
+    }
+
+    private static Set<String> postings(Map<String, Set<String>> index, String key) {
+        Set<String> ids = index.get(key);
+        if (ids == null) {
+            ids = new HashSet<>();
+            index.put(key, ids);
+        }
+        return ids;
+    }
+
+    private static void removePosting(Map<String, Set<String>> index, String key, String taskId) {
+        Set<String> ids = index.get(key);
+        if (ids == null) return;
+        ids.remove(taskId);
+        if (ids.isEmpty()) index.remove(key);
+    }
+
+    /** Distinct trigrams of {@code text}, including those spanning word boundaries. */
+    private static Collection<String> gramsOf(String text) {
+        Set<String> grams = new HashSet<>();
+        for (int i = 0; i + GRAM <= text.length(); i++) {
+            grams.add(text.substring(i, i + GRAM));
+        }
+        return grams;
+    }
+
+    private static List<String> wordsOf(String text) {
+        List<String> result = new ArrayList<>();
+        for (String word : text.split(" ")) {
+            if (!word.isEmpty()) result.add(word);
+        }
+        return result;
+    }
+
+    /** Lower case, no accents, letters and digits only, single spaces. */
+    static String normalize(String text) {
+        if (text == null) return "";
+        String decomposed = Normalizer.normalize(text, Normalizer.Form.NFD).toLowerCase(Locale.ROOT);
+
+        StringBuilder out = new StringBuilder(decomposed.length());
+        boolean space = true;
+        for (int i = 0; i < decomposed.length(); i++) {
+            char c = decomposed.charAt(i);
+            if (Character.getType(c) == Character.NON_SPACING_MARK) continue;
+            if (Character.isLetterOrDigit(c)) {
+                out.append(c);
+                space = false;
+            } else if (!space) {
+                out.append(' ');
+                space = true;
+            }
+        }
+        int end = out.length();
+        if (end > 0 && out.charAt(end - 1) == ' ') out.setLength(end - 1);
+        return out.toString();
+    }
+}
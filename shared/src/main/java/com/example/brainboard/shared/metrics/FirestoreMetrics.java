@@ -0,0 +1,286 @@
+package com.example.brainboard.shared.metrics;
+
+import android.content.Context;
+import android.os.SystemClock;
+import android.util.Log;
+
+import com.example.brainboard.shared.BuildConfig;
+import com.google.android.gms.tasks.Task;
+import com.google.firebase.Timestamp;
+import com.google.firebase.firestore.Blob;
+import com.google.firebase.firestore.DocumentChange;
+import com.google.firebase.firestore.DocumentReference;
+import com.google.firebase.firestore.DocumentSnapshot;
+import com.google.firebase.firestore.GeoPoint;
+import com.google.firebase.firestore.QuerySnapshot;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * FirestoreMetrics.java
+ *
+ * Process-wide latency, read/write and payload accounting for every Firestore call the
+ * app (watch or phone) makes, so battery and quota cost can be attributed to the screen
+ * that caused it.
+ *
+ * Usage:
+ * - Operations are named "<screen or component>.<action>", e.g. "repository.serverFetch",
+ *   "addTask.save", "focusLog.commit"; each name gets its own OperationStats.
+ * - One-off reads and writes: wrap the Task where it is created and keep chaining on the
+ *   returned Task, e.g. trackWrite("helper.addTask", 1, data, ref.set(data)).
+ * - Snapshot listeners: create a ListenerMetrics when attaching and pass it every
+ *   snapshot; the first snapshot records time-to-first-data, later ones only their reads.
+ *
+ * Accounting:
+ * - Query reads count the documents returned, split by metadata.isFromCache(); a server
+ *   query that returns nothing still counts one billed read, as Firestore charges it.
+ * - Listener updates count only added/modified documents, which is what is billed.
+ * - Byte counts follow Firestore's storage size rules (estimateBytes), not wire size.
+ *
+ * Output:
+ * - report() is shown by MetricsActivity; writeReport() saves it under the app's external
+ *   files dir ("metrics/"), readable with adb pull.
+ *
+ * Notes:
+ * - Debug builds only (ENABLED): in release builds every track/listener call passes the
+ *   Task straight through and estimateBytes() returns 0 without walking the data.
+ *   ENABLED reads this library's BuildConfig, whose variant follows the app's build type
+ *   (benchmark builds fall back to release).
+ * - Recording is cheap (a map lookup and a few counter updates under a per-operation
+ *   lock); sizing walks the document data, which is small for tasks.
+ * - Counters live in memory only and reset with the process (or reset()). Listener
+ *   metrics look their OperationStats up on every snapshot, so listeners attached before
+ *   a reset() keep reporting after it.
+ */
+public final class FirestoreMetrics {
+
+    private static final String TAG = "FirestoreMetrics";
+    private static final String DUMP_DIR = "metrics";
+    // Firestore adds 32 bytes of overhead per document, plus the document name
+    private static final int DOCUMENT_OVERHEAD = 32;
+
+    // The metrics screen is debug-only, so release builds skip recording altogether
+    public static final boolean ENABLED = BuildConfig.DEBUG;
+
+    private static final Map<String, OperationStats> operations = new ConcurrentHashMap<>();
+    private static volatile long startedAt = System.currentTimeMillis();
+
+    private FirestoreMetrics() {}
+
+    public static OperationStats stats(String operation) {
+        OperationStats stats = operations.get(operation);
+        if (stats == null) {
+            stats = operations.computeIfAbsent(operation, OperationStats::new);
+        }
+        return stats;
+    }
+
+    /** Records latency and the documents read once {@code task} completes. */
+    public static <T> Task<T> trackRead(String operation, Task<T> task) {
+        if (!ENABLED) return task;
+        long start = SystemClock.elapsedRealtime();
+        task.addOnCompleteListener(done -> {
+            OperationStats stats = stats(operation);
+            stats.record(SystemClock.elapsedRealtime() - start, !done.isSuccessful());
+            if (done.isSuccessful()) {
+                recordResult(stats, done.getResult());
+            }
+        });
+        return task;
+    }
+
+    /** Records latency and {@code documents} writes of {@code payload} once {@code task} completes. */
+    public static <T> Task<T> trackWrite(String operation, int documents, Object payload, Task<T> task) {
+        if (!ENABLED) return task;
+        return trackWrite(operation, documents, payload != null ? estimateBytes(payload) : 0, task);
+    }
+
+    /** As above, with the payload already sized (batches, which are built document by document). */
+    public static <T> Task<T> trackWrite(String operation, int documents, long bytes, Task<T> task) {
+        if (!ENABLED) return task;
+        long start = SystemClock.elapsedRealtime();
+        task.addOnCompleteListener(done -> {
+            OperationStats stats = stats(operation);
+            stats.record(SystemClock.elapsedRealtime() - start, !done.isSuccessful());
+            if (done.isSuccessful()) {
+                stats.addWrites(documents, bytes);
+            }
+        });
+        return task;
+    }
+
+    public static ListenerMetrics listener(String operation) {
+        return new ListenerMetrics(operation);
+    }
+
+    /** Per-registration state for a snapshot listener; create a new one on every attach. */
+    public static final class ListenerMetrics {
+        private final String operation;
+        private final long attachedAt = SystemClock.elapsedRealtime();
+        private volatile boolean first = true;
+
+        private ListenerMetrics(String operation) {
+            this.operation = operation;
+        }
+
+        public void onSnapshot(QuerySnapshot snapshot) {
+            if (!ENABLED) return;
+            // Looked up every time: reset() replaces the stats object
+            OperationStats stats = stats(operation);
+            stats.record(first ? SystemClock.elapsedRealtime() - attachedAt : -1, false);
+            first = false;
+
+            int changed = 0;
+            long bytes = 0;
+            for (DocumentChange change : snapshot.getDocumentChanges()) {
+                if (change.getType() == DocumentChange.Type.REMOVED) continue;
+                changed++;
+                bytes += documentBytes(change.getDocument());
+            }
+            stats.addReads(changed, snapshot.getMetadata().isFromCache(), bytes);
+        }
+
+        public void onError() {
+            if (!ENABLED) return;
+            stats(operation).record(first ? SystemClock.elapsedRealtime() - attachedAt : -1, true);
+            first = false;
+        }
+    }
+
+    private static void recordResult(OperationStats stats, Object result) {
+        if (result instanceof QuerySnapshot) {
+            QuerySnapshot snapshot = (QuerySnapshot) result;
+            boolean fromCache = snapshot.getMetadata().isFromCache();
+            long bytes = 0;
+            for (DocumentSnapshot doc : snapshot.getDocuments()) {
+                bytes += documentBytes(doc);
+            }
+            int reads = snapshot.size() == 0 && !fromCache ? 1 : snapshot.size();
+            stats.addReads(reads, fromCache, bytes);
+        } else if (result instanceof DocumentSnapshot) {
+            DocumentSnapshot doc = (DocumentSnapshot) result;
+            stats.addReads(1, doc.getMetadata().isFromCache(), documentBytes(doc));
+        }
+    }
+
+    static long documentBytes(DocumentSnapshot doc) {
+        Map<String, Object> data = doc.getData();
+        return DOCUMENT_OVERHEAD + stringBytes(doc.getReference().getPath())
+                + (data != null ? sizeOf(data) : 0);
+    }
+
+    /**
+     * Storage size of a Firestore value: strings are UTF-8 bytes + 1, numbers, dates and
+     * timestamps 8, booleans and null 1, map entries the key plus the value.
+     * FieldValue sentinels (server timestamps, deletes) count as 8.
+     */
+    public static long estimateBytes(Object value) {
+        return ENABLED ? sizeOf(value) : 0;
+    }
+
+    private static long sizeOf(Object value) {
+        if (value == null || value instanceof Boolean) return 1;
+        if (value instanceof String) return stringBytes((String) value);
+        if (value instanceof Number || value instanceof Timestamp || value instanceof Date) return 8;
+        if (value instanceof GeoPoint) return 16;
+        if (value instanceof Blob) return ((Blob) value).toBytes().length;
+        if (value instanceof DocumentReference) return stringBytes(((DocumentReference) value).getPath()) + 16;
+        if (value instanceof Map) {
+            long size = 0;
+            for (Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+                size += stringBytes(String.valueOf(entry.getKey())) + sizeOf(entry.getValue());
+            }
+            return size;
+        }
+        if (value instanceof List) {
+            long size = 0;
+            for (Object item : (List<?>) value) {
+                size += sizeOf(item);
+            }
+            return size;
+        }
+        return 8;
+    }
+
+    private static long stringBytes(String s) {
+        long bytes = 1;
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            if (c < 0x80) {
+                bytes += 1;
+            } else if (c < 0x800) {
+                bytes += 2;
+            } else if (Character.isHighSurrogate(c)) {
+                bytes += 4;
+                i++;
+            } else {
+                bytes += 3;
+            }
+        }
+        return bytes;
+    }
+
+    /** Operations sorted by name, so a screen's calls sit together. */
+    public static List<OperationStats> snapshot() {
+        List<OperationStats> list = new ArrayList<>(operations.values());
+        Collections.sort(list, Comparator.comparing(OperationStats::getName));
+        return list;
+    }
+
+    public static String report() {
+        List<OperationStats> list = snapshot();
+        long serverReads = 0;
+        long cacheReads = 0;
+        long writes = 0;
+        for (OperationStats stats : list) {
+            serverReads += stats.getServerReads();
+            cacheReads += stats.getCacheReads();
+            writes += stats.getWrites();
+        }
+
+        StringBuilder out = new StringBuilder();
+        out.append("Firestore metrics since ")
+                .append(new SimpleDateFormat("dd/MM/yyyy HH:mm:ss", Locale.getDefault()).format(new Date(startedAt)))
+                .append('\n');
+        out.append(String.format(Locale.US, "Total: %d server reads, %d cache reads, %d writes\n\n",
+                serverReads, cacheReads, writes));
+        for (OperationStats stats : list) {
+            stats.appendTo(out);
+        }
+        return out.toString();
+    }
+
+    /** Writes report() to a timestamped file and returns it, or null if writing failed. */
+    public static File writeReport(Context context) {
+        File base = context.getExternalFilesDir(null);
+        File dir = new File(base != null ? base : context.getFilesDir(), DUMP_DIR);
+        if (!dir.isDirectory() && !dir.mkdirs()) return null;
+
+        String stamp = new SimpleDateFormat("yyyyMMdd-HHmmss", Locale.US).format(new Date());
+        File file = new File(dir, "firestore-" + stamp + ".txt");
+        try (Writer writer = new FileWriter(file)) {
+            writer.write(report());
+            return file;
+        } catch (IOException e) {
+            Log.e(TAG, "Failed to write metrics", e);
+            return null;
+        }
+    }
+
+    public static void reset() {
+        operations.clear();
+        startedAt = System.currentTimeMillis();
+    }
+}
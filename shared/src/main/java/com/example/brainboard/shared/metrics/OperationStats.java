@@ -0,0 +1,150 @@
+package com.example.brainboard.shared.metrics;
+
+import java.util.Locale;
+
+/**
+ * OperationStats.java
+ *
+ * Running totals for one named Firestore operation (see FirestoreMetrics).
+ *
+ * Tracks:
+ * - Calls and failures, plus a latency histogram with fixed buckets (BUCKET_BOUNDS_MS,
+ *   upper bounds in ms; the last bucket is open-ended) for percentile estimates.
+ * - Documents read from the server (billed) and from the local cache (free).
+ * - Documents written (set/update/delete, one per document in a batch).
+ * - Estimated bytes read and written (FirestoreMetrics.estimateBytes).
+ *
+ * Notes:
+ * - Fixed buckets keep record() allocation-free; percentiles are reported as the upper
+ *   bound of the bucket they fall in.
+ * - Thread-safe; Firestore callbacks arrive on the main thread and on executors.
+ */
+public final class OperationStats {
+
+    static final long[] BUCKET_BOUNDS_MS = {5, 10, 25, 50, 100, 250, 500, 1000, 2500, 5000};
+
+    private final String name;
+    private final long[] buckets = new long[BUCKET_BOUNDS_MS.length + 1];
+    private long calls;
+    private long failures;
+    private long timedCalls;
+    private long totalLatencyMs;
+    private long maxLatencyMs;
+    private long serverReads;
+    private long cacheReads;
+    private long writes;
+    private long bytesRead;
+    private long bytesWritten;
+
+    public OperationStats(String name) {
+        this.name = name;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /** Records one call; pass a negative latency for events that have none (listener updates). */
+    public synchronized void record(long latencyMs, boolean failed) {
+        calls++;
+        if (failed) failures++;
+        if (latencyMs < 0) return;
+
+        timedCalls++;
+        totalLatencyMs += latencyMs;
+        maxLatencyMs = Math.max(maxLatencyMs, latencyMs);
+        buckets[bucketOf(latencyMs)]++;
+    }
+
+    public synchronized void addReads(int documents, boolean fromCache, long bytes) {
+        if (fromCache) {
+            cacheReads += documents;
+        } else {
+            serverReads += documents;
+        }
+        bytesRead += bytes;
+    }
+
+    public synchronized void addWrites(int documents, long bytes) {
+        writes += documents;
+        bytesWritten += bytes;
+    }
+
+    public synchronized long getCalls() {
+        return calls;
+    }
+
+    public synchronized long getFailures() {
+        return failures;
+    }
+
+    public synchronized long getServerReads() {
+        return serverReads;
+    }
+
+    public synchronized long getCacheReads() {
+        return cacheReads;
+    }
+
+    public synchronized long getWrites() {
+        return writes;
+    }
+
+    public synchronized long getBytesRead() {
+        return bytesRead;
+    }
+
+    public synchronized long getBytesWritten() {
+        return bytesWritten;
+    }
+
+    /**
+     * Upper bucket bound containing the given percentile (0-100) of timed calls, the max
+     * latency for the open-ended last bucket, or -1 with no timed calls.
+     */
+    public synchronized long percentileMs(int percentile) {
+        if (timedCalls == 0) return -1;
+        long rank = (long) Math.ceil(timedCalls * percentile / 100.0);
+        long seen = 0;
+        for (int i = 0; i < buckets.length; i++) {
+            seen += buckets[i];
+            if (seen >= Math.max(rank, 1)) {
+                return i < BUCKET_BOUNDS_MS.length ? Math.min(BUCKET_BOUNDS_MS[i], maxLatencyMs) : maxLatencyMs;
+            }
+        }
+        return maxLatencyMs;
+    }
+
+    /** One human-readable block for the debug screen and the dump file. */
+    public synchronized void appendTo(StringBuilder out) {
+        out.append(name).append('\n');
+        out.append(String.format(Locale.US, "  calls %d, failed %d", calls, failures));
+        if (timedCalls > 0) {
+            out.append(String.format(Locale.US, ", avg %d ms, p50 %d, p90 %d, p99 %d, max %d",
+                    totalLatencyMs / timedCalls, percentileMs(50), percentileMs(90),
+                    percentileMs(99), maxLatencyMs));
+        }
+        out.append('\n');
+        out.append(String.format(Locale.US, "  reads %d server / %d cache, %s; writes %d, %s\n",
+                serverReads, cacheReads, formatBytes(bytesRead), writes, formatBytes(bytesWritten)));
+        out.append("  latency");
+        for (int i = 0; i < buckets.length; i++) {
+            if (buckets[i] == 0) continue;
+            out.append(i < BUCKET_BOUNDS_MS.length ? " <=" + BUCKET_BOUNDS_MS[i] : " >" + BUCKET_BOUNDS_MS[i - 1])
+                    .append(':').append(buckets[i]);
+        }
+        out.append('\n');
+    }
+
+    private static int bucketOf(long latencyMs) {
+        for (int i = 0; i < BUCKET_BOUNDS_MS.length; i++) {
+            if (latencyMs <= BUCKET_BOUNDS_MS[i]) return i;
+        }
+        return BUCKET_BOUNDS_MS.length;
+    }
+
+    private static String formatBytes(long bytes) {
+        if (bytes < 1024) return bytes + " B";
+        return String.format(Locale.US, "%.1f KB", bytes / 1024.0);
+    }
+}
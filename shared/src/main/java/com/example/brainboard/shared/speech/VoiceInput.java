@@ -0,0 +1,192 @@
+package com.example.brainboard.shared.speech;
+
+import android.content.Context;
+import android.content.Intent;
+import android.os.Build;
+import android.os.Bundle;
+import android.speech.RecognitionListener;
+import android.speech.RecognizerIntent;
+import android.speech.SpeechRecognizer;
+
+import java.util.ArrayList;
+import java.util.Locale;
+
+/**
+ * VoiceInput.java
+ *
+ * In-activity speech recognition session used for task titles and voice search, replacing
+ * the RecognizerIntent activity round trip.
+ *
+ * Features:
+ * - Streams partial results to the caller while the user is still speaking, then delivers
+ *   the final text.
+ * - Prefers the on-device recognizer (API 31+) so capture works offline and skips the
+ *   network round trip; falls back to the default recognition service otherwise, and
+ *   also if the on-device model does not support the current language.
+ * - One SpeechRecognizer is created lazily and reused for every session of the activity.
+ *
+ * Usage:
+ * - isAvailable() first; callers keep RecognizerIntent as a fallback for devices without
+ *   a recognition service.
+ * - start()/stop() from the UI, destroy() from onDestroy(). Callbacks run on the main thread.
+ *
+ * Notes:
+ * - Requires the RECORD_AUDIO runtime permission (the RecognizerIntent UI did not).
+ * - The manifest's <queries> entry for android.speech.RecognitionService is what makes the
+ *   default recognizer visible (package visibility); without it isAvailable() is false on
+ *   API 30 and the fallback from the on-device recognizer cannot bind.
+ */
+public class VoiceInput {
+
+    public interface Callback {
+        void onPartialText(String text);
+
+        void onFinalText(String text);
+
+        /** Session ended without text; {@code message} is user-facing. */
+        void onError(String message);
+    }
+
+    private final Context context;
+    private final Callback callback;
+    private SpeechRecognizer recognizer;
+    private boolean onDevice;
+    private boolean listening;
+
+    public VoiceInput(Context context, Callback callback) {
+        this.context = context;
+        this.callback = callback;
+    }
+
+    public static boolean isAvailable(Context context) {
+        return onDeviceAvailable(context) || SpeechRecognizer.isRecognitionAvailable(context);
+    }
+
+    public boolean isListening() {
+        return listening;
+    }
+
+    public void start() {
+        if (recognizer == null) {
+            create(onDeviceAvailable(context));
+        }
+        listening = true;
+        recognizer.startListening(recognizerIntent());
+    }
+
+    /** Stops listening; whatever was heard so far is still delivered as the final text. */
+    public void stop() {
+        if (recognizer != null && listening) {
+            recognizer.stopListening();
+        }
+    }
+
+    public void destroy() {
+        listening = false;
+        if (recognizer != null) {
+            recognizer.destroy();
+            recognizer = null;
+        }
+    }
+
+    private void create(boolean useOnDevice) {
+        onDevice = useOnDevice;
+        recognizer = useOnDevice && Build.VERSION.SDK_INT >= Build.VERSION_CODES.S
+                ? SpeechRecognizer.createOnDeviceSpeechRecognizer(context)
+                : SpeechRecognizer.createSpeechRecognizer(context);
+        recognizer.setRecognitionListener(new Listener());
+    }
+
+    private static boolean onDeviceAvailable(Context context) {
+        return Build.VERSION.SDK_INT >= Build.VERSION_CODES.S
+                && SpeechRecognizer.isOnDeviceRecognitionAvailable(context);
+    }
+
+    private static Intent recognizerIntent() {
+        Intent intent = new Intent(RecognizerIntent.ACTION_RECOGNIZE_SPEECH);
+        intent.putExtra(RecognizerIntent.EXTRA_LANGUAGE_MODEL, RecognizerIntent.LANGUAGE_MODEL_FREE_FORM);
+        intent.putExtra(RecognizerIntent.EXTRA_LANGUAGE, Locale.getDefault().toLanguageTag());
+        intent.putExtra(RecognizerIntent.EXTRA_PARTIAL_RESULTS, true);
+        intent.putExtra(RecognizerIntent.EXTRA_PREFER_OFFLINE, true);
+        intent.putExtra(RecognizerIntent.EXTRA_MAX_RESULTS, 1);
+        return intent;
+    }
+
+    private static String firstResult(Bundle results) {
+        if (results == null) return null;
+        ArrayList<String> texts = results.getStringArrayList(SpeechRecognizer.RESULTS_RECOGNITION);
+        return texts != null && !texts.isEmpty() ? texts.get(0) : null;
+    }
+
+    private class Listener implements RecognitionListener {
+
+        @Override
+        public void onPartialResults(Bundle partialResults) {
+            String text = firstResult(partialResults);
+            if (text != null && !text.isEmpty()) callback.onPartialText(text);
+        }
+
+        @Override
+        public void onResults(Bundle results) {
+            listening = false;
+            String text = firstResult(results);
+            if (text != null && !text.isEmpty()) {
+                callback.onFinalText(text);
+            } else {
+                callback.onError("Didn't catch that");
+            }
+        }
+
+        @Override
+        public void onError(int error) {
+            if (onDevice && isLanguageError(error)) {
+                // The on-device model lacks this language; retry once with the default service
+                recognizer.destroy();
+                create(false);
+                recognizer.startListening(recognizerIntent());
+                return;
+            }
+
+            listening = false;
+            switch (error) {
+                case SpeechRecognizer.ERROR_NO_MATCH:
+                case SpeechRecognizer.ERROR_SPEECH_TIMEOUT:
+                    callback.onError("Didn't catch that");
+                    break;
+                case SpeechRecognizer.ERROR_INSUFFICIENT_PERMISSIONS:
+                    callback.onError("Microphone permission needed");
+                    break;
+                case SpeechRecognizer.ERROR_NETWORK:
+                case SpeechRecognizer.ERROR_NETWORK_TIMEOUT:
+                    callback.onError("Voice input needs a connection on this device");
+                    break;
+                default:
+                    callback.onError("Voice input failed");
+            }
+        }
+
+        private boolean isLanguageError(int error) {
+            return Build.VERSION.SDK_INT >= Build.VERSION_CODES.S
+                    && (error == SpeechRecognizer.ERROR_LANGUAGE_NOT_SUPPORTED
+                    || error == SpeechRecognizer.ERROR_LANGUAGE_UNAVAILABLE);
+        }
+
+        @Override
+        public void onReadyForSpeech(Bundle params) {}
+
+        @Override
+        public void onBeginningOfSpeech() {}
+
+        @Override
+        public void onRmsChanged(float rmsdB) {}
+
+        @Override
+        public void onBufferReceived(byte[] buffer) {}
+
+        @Override
+        public void onEndOfSpeech() {}
+
+        @Override
+        public void onEvent(int eventType, Bundle params) {}
+    }
+}
@@ -0,0 +1,135 @@
+package com.example.brainboard.shared.data;
+
+import org.junit.Test;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Local unit tests for RecurrenceRule expansion and the Occurrences rules built on it.
+ * Expansion runs in Europe/London so the DST change on 25/10/2026 is covered. Cursor
+ * timing is measured by RecurrenceRuleBenchmark in androidTest.
+ */
+public class RecurrenceRuleTest {
+
+    private static final ZoneId LONDON = ZoneId.of("Europe/London");
+
+    @Test
+    public void parse_roundTripsAndRejectsUnsupportedRules() {
+        String rule = "FREQ=WEEKLY;INTERVAL=2;BYDAY=TU,TH;UNTIL=20261218";
+        assertEquals(rule, RecurrenceRule.parse(rule).toString());
+        assertEquals("FREQ=DAILY", RecurrenceRule.daily(1).toString());
+        assertEquals(RecurrenceRule.weekly(1, DayOfWeek.FRIDAY, DayOfWeek.MONDAY),
+                RecurrenceRule.parse("FREQ=WEEKLY;BYDAY=MO,FR"));
+
+        assertNull(RecurrenceRule.parse(null));
+        assertNull(RecurrenceRule.parse(""));
+        assertNull(RecurrenceRule.parse("FREQ=YEARLY"));
+        assertNull(RecurrenceRule.parse("FREQ=DAILY;INTERVAL=0"));
+        assertNull(RecurrenceRule.parse("FREQ=DAILY;BYDAY=MO"));
+        assertNull(RecurrenceRule.parse("FREQ=WEEKLY;BYDAY=XX"));
+        assertNull(RecurrenceRule.parse("INTERVAL=2"));
+    }
+
+    @Test
+    public void describe_summarizesRule() {
+        assertEquals("Daily", RecurrenceRule.daily(1).describe());
+        assertEquals("Every 2 weeks on Tue, Thu until 18/12/2026",
+                RecurrenceRule.parse("FREQ=WEEKLY;INTERVAL=2;BYDAY=TU,TH;UNTIL=20261218").describe());
+    }
+
+    @Test
+    public void daily_keepsWallClockTimeAcrossDst() {
+        long first = at(2026, 10, 23, 9, 0);
+        List<Long> dues = expand(RecurrenceRule.daily(1), first, first, 4);
+        assertEquals(Arrays.asList(first, at(2026, 10, 24, 9, 0), at(2026, 10, 25, 9, 0), at(2026, 10, 26, 9, 0)), dues);
+        // Clocks go back on the night of 24-25/10: that step is 25 hours, the next 24
+        assertEquals(25 * 3_600_000L, dues.get(2) - dues.get(1));
+        assertEquals(24 * 3_600_000L, dues.get(3) - dues.get(2));
+    }
+
+    @Test
+    public void weekly_withIntervalAndDays_startsFromRequestedInstant() {
+        // Series starts Tue 06/10/2026 at 17:00, every other week on Tue and Thu
+        RecurrenceRule rule = RecurrenceRule.parse("FREQ=WEEKLY;INTERVAL=2;BYDAY=TU,TH");
+        long first = at(2026, 10, 6, 17, 0);
+
+        assertEquals(Arrays.asList(first, at(2026, 10, 8, 17, 0), at(2026, 10, 20, 17, 0), at(2026, 10, 22, 17, 0)),
+                expand(rule, first, first, 4));
+        // From Tue 20/10 18:00 the 17:00 occurrence that day has passed
+        assertEquals(Arrays.asList(at(2026, 10, 22, 17, 0), at(2026, 11, 3, 17, 0)),
+                expand(rule, first, at(2026, 10, 20, 18, 0), 2));
+    }
+
+    @Test
+    public void monthly_skipsMonthsWithoutTheDay_andStopsAtUntil() {
+        RecurrenceRule rule = RecurrenceRule.monthly(1).until(LocalDate.of(2027, 3, 31));
+        long first = at(2026, 12, 31, 8, 0);
+        assertEquals(Arrays.asList(first, at(2027, 1, 31, 8, 0), at(2027, 3, 31, 8, 0)),
+                expand(rule, first, first, 10));
+    }
+
+    @Test
+    public void cursor_jumpsStraightToAFarWindow() {
+        RecurrenceRule rule = RecurrenceRule.daily(3);
+        long first = at(2000, 1, 1, 7, 30);
+        long from = at(2026, 10, 19, 0, 0);
+        RecurrenceRule.Cursor cursor = rule.cursor(first, from, LONDON);
+
+        // 19/10/2026 is 9788 days after 01/01/2000; the next multiple of 3 is the 20th
+        assertEquals(at(2026, 10, 20, 7, 30), cursor.next());
+        assertEquals(at(2026, 10, 23, 7, 30), cursor.next());
+    }
+
+    @Test
+    public void nextOpen_skipsCompletedOccurrencesFromStartOfToday() {
+        ZoneId zone = ZoneId.systemDefault();
+        long now = LocalDateTime.of(2026, 10, 21, 12, 0).atZone(zone).toInstant().toEpochMilli();
+        TestTask task = new TestTask("t1", "Gym", "19/10/2026 08:00", false, "FREQ=DAILY", null);
+
+        // Today's 08:00 occurrence is overdue but still open
+        assertEquals(local(zone, 2026, 10, 21, 8, 0), Occurrences.nextOpen(task, now, zone));
+
+        task.setCompletedOccurrences(Arrays.asList("20261021", "20261022"));
+        assertEquals(local(zone, 2026, 10, 23, 8, 0), Occurrences.nextOpen(task, now, zone));
+        assertEquals(Arrays.asList(local(zone, 2026, 10, 23, 8, 0), local(zone, 2026, 10, 24, 8, 0)),
+                Occurrences.openBetween(task, now, local(zone, 2026, 10, 25, 0, 0), 10, zone));
+
+        TestTask oneOff = new TestTask("t2", "Essay", "19/10/2026 08:00", false);
+        assertEquals(local(zone, 2026, 10, 19, 8, 0), Occurrences.nextOpen(oneOff, now, zone));
+        assertEquals(-1, Occurrences.firstOpenFrom(oneOff, now, zone));
+    }
+
+    @Test
+    public void withCompleted_prunesKeysBeforeToday() {
+        ZoneId zone = ZoneId.systemDefault();
+        long now = LocalDateTime.of(2026, 10, 21, 12, 0).atZone(zone).toInstant().toEpochMilli();
+        assertEquals(Arrays.asList("20261022", "20261021"),
+                Occurrences.withCompleted(Arrays.asList("20261001", "20261020", "20261022"), "20261021", now, zone));
+        assertEquals(Arrays.asList("20261021"), Occurrences.withCompleted(null, "20261021", now, zone));
+    }
+
+    private static List<Long> expand(RecurrenceRule rule, long first, long from, int limit) {
+        RecurrenceRule.Cursor cursor = rule.cursor(first, from, LONDON);
+        List<Long> dues = new ArrayList<>();
+        for (long due = cursor.next(); due >= 0 && dues.size() < limit; due = cursor.next()) {
+            dues.add(due);
+        }
+        return dues;
+    }
+
+    private static long at(int year, int month, int day, int hour, int minute) {
+        return local(LONDON, year, month, day, hour, minute);
+    }
+
+    private static long local(ZoneId zone, int year, int month, int day, int hour, int minute) {
+        return LocalDateTime.of(year, month, day, hour, minute).atZone(zone).toInstant().toEpochMilli();
+    }
+}
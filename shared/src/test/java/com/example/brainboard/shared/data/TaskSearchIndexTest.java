@@ -0,0 +1,112 @@
+package com.example.brainboard.shared.data;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.Assert.*;
+
+/**
+ * Local unit tests for TaskSearchIndex. Search timing over a large index is measured by
+ * TaskSearchIndexBenchmark in androidTest.
+ */
+public class TaskSearchIndexTest {
+
+    private TaskSearchIndex index;
+
+    @Before
+    public void setUp() {
+        index = new TaskSearchIndex();
+        index.put("1", "Math homework");
+        index.put("2", "Read chapter 4 (History)");
+        index.put("3", "Café meeting with Maths group");
+    }
+
+    @Test
+    public void substring_matchesInsideWords() {
+        assertEquals(ids("1"), index.search("ework"));
+        assertEquals(ids("1", "3"), index.search("math"));
+    }
+
+    @Test
+    public void shortQuery_matchesWordPrefixes() {
+        assertEquals(ids("1", "3"), index.search("ma"));
+        assertEquals(ids("2"), index.search("4"));
+    }
+
+    @Test
+    public void normalization_ignoresCaseAccentsAndPunctuation() {
+        assertEquals(ids("3"), index.search("CAFE"));
+        assertEquals(ids("2"), index.search("history)"));
+    }
+
+    @Test
+    public void multipleWords_mustAllMatch() {
+        assertEquals(ids("3"), index.search("group math"));
+        assertTrue(index.search("math chapter").isEmpty());
+    }
+
+    @Test
+    public void blankQuery_returnsNothing() {
+        assertTrue(index.search("  ").isEmpty());
+    }
+
+    @Test
+    public void put_reindexesChangedTitle() {
+        index.put("1", "Physics lab");
+        assertEquals(ids("3"), index.search("math"));
+        assertEquals(ids("1"), index.search("lab"));
+    }
+
+    @Test
+    public void sync_addsChangesAndRemoves() {
+        index.sync(Arrays.asList(
+                new TestTask("1", "Math homework", null, false),
+                new TestTask("4", "Biology quiz", null, false)));
+
+        assertEquals(2, index.size());
+        assertEquals(ids("1"), index.search("math"));
+        assertEquals(ids("4"), index.search("quiz"));
+        assertTrue(index.search("history").isEmpty());
+    }
+
+    @Test
+    public void search_largeIndexMatchesAPlainScan() {
+        String[] subjects = {"math", "history", "biology", "physics", "chemistry", "english"};
+        String[] kinds = {"homework", "quiz", "essay", "lab report", "revision", "reading"};
+        List<TestTask> tasks = new ArrayList<>();
+        for (int i = 0; i < 5_000; i++) {
+            tasks.add(new TestTask("task-" + i,
+                    subjects[i % subjects.length] + " " + kinds[(i / 7) % kinds.length] + " " + i, null, false));
+        }
+        index.sync(tasks);
+
+        assertEquals(scan(tasks, "stry", "say", "100"), index.search("stry say 100"));
+        assertFalse(index.search("stry say 100").isEmpty());
+        Set<String> chem = new HashSet<>();
+        for (TestTask task : tasks) {
+            if (task.getTitle().startsWith("chemistry ")) chem.add(task.getTaskId());
+        }
+        assertEquals(chem, index.search("ch"));
+    }
+
+    /** IDs of the tasks whose title contains every one of {@code parts} (3+ characters each). */
+    private static Set<String> scan(List<TestTask> tasks, String... parts) {
+        Set<String> ids = new HashSet<>();
+        for (TestTask task : tasks) {
+            boolean all = true;
+            for (String part : parts) all &= task.getTitle().contains(part);
+            if (all) ids.add(task.getTaskId());
+        }
+        return ids;
+    }
+
+    private static Set<String> ids(String... ids) {
+        return new HashSet<>(Arrays.asList(ids));
+    }
+}
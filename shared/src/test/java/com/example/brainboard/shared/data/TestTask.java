@@ -0,0 +1,50 @@
+package com.example.brainboard.shared.data;
+
+import java.util.List;
+
+/** Minimal TaskRecord for the shared module's unit tests, shaped like the apps' TaskModel. */
+class TestTask implements TaskRecord {
+
+    private final String taskId;
+    private final String title;
+    private final String dueDateTime;
+    private final boolean completed;
+    private final String recurrence;
+    private List<String> completedOccurrences;
+
+    TestTask(String taskId, String title, String dueDateTime, boolean completed) {
+        this(taskId, title, dueDateTime, completed, null, null);
+    }
+
+    TestTask(String taskId, String title, String dueDateTime, boolean completed,
+             String recurrence, List<String> completedOccurrences) {
+        this.taskId = taskId;
+        this.title = title;
+        this.dueDateTime = dueDateTime;
+        this.completed = completed;
+        this.recurrence = recurrence;
+        this.completedOccurrences = completedOccurrences;
+    }
+
+    @Override
+    public String getTaskId() { return taskId; }
+
+    @Override
+    public String getTitle() { return title; }
+
+    @Override
+    public String getDueDateTime() { return dueDateTime; }
+
+    @Override
+    public boolean isCompleted() { return completed; }
+
+    @Override
+    public String getRecurrence() { return recurrence; }
+
+    @Override
+    public List<String> getCompletedOccurrences() { return completedOccurrences; }
+
+    void setCompletedOccurrences(List<String> completedOccurrences) {
+        this.completedOccurrences = completedOccurrences;
+    }
+}
@@ -0,0 +1,74 @@
+package com.example.brainboard.shared.metrics;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Local unit tests for OperationStats counters, histogram percentiles and report text.
+ */
+public class OperationStatsTest {
+
+    private OperationStats stats;
+
+    @Before
+    public void setUp() {
+        stats = new OperationStats("taskList.listen");
+    }
+
+    @Test
+    public void percentiles_reportBucketUpperBounds() {
+        for (int i = 0; i < 90; i++) stats.record(8, false);
+        for (int i = 0; i < 9; i++) stats.record(180, false);
+        stats.record(7000, false);
+
+        assertEquals(10, stats.percentileMs(50));
+        assertEquals(10, stats.percentileMs(90));
+        assertEquals(250, stats.percentileMs(99));
+        assertEquals(7000, stats.percentileMs(100));
+    }
+
+    @Test
+    public void percentiles_neverExceedMaxLatency() {
+        stats.record(30, false);
+        assertEquals(30, stats.percentileMs(50));
+    }
+
+    @Test
+    public void untimedEvents_countCallsButNotLatency() {
+        stats.record(-1, false);
+        stats.record(-1, true);
+
+        assertEquals(2, stats.getCalls());
+        assertEquals(1, stats.getFailures());
+        assertEquals(-1, stats.percentileMs(50));
+    }
+
+    @Test
+    public void readsAndWrites_areSplitBySource() {
+        stats.addReads(20, false, 4000);
+        stats.addReads(5, true, 1000);
+        stats.addWrites(2, 300);
+
+        assertEquals(20, stats.getServerReads());
+        assertEquals(5, stats.getCacheReads());
+        assertEquals(5000, stats.getBytesRead());
+        assertEquals(2, stats.getWrites());
+        assertEquals(300, stats.getBytesWritten());
+    }
+
+    @Test
+    public void appendTo_includesNameCountsAndHistogram() {
+        stats.record(40, false);
+        stats.addReads(3, false, 2048);
+
+        StringBuilder out = new StringBuilder();
+        stats.appendTo(out);
+        String report = out.toString();
+
+        assertTrue(report, report.startsWith("taskList.listen\n"));
+        assertTrue(report, report.contains("reads 3 server / 0 cache, 2.0 KB"));
+        assertTrue(report, report.contains("<=50:1"));
+    }
+}